@@ -3,7 +3,7 @@ package com.example.backend;
 import org.springframework.web.bind.annotation.*;
 import java.util.*;
 
-@RestController
+@RestController("legacyBeneficioController")
 @RequestMapping("/api/v1/beneficios")
 public class BeneficioController {
 
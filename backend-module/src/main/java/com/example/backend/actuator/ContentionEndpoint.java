@@ -0,0 +1,34 @@
+package com.example.backend.actuator;
+
+import com.example.backend.service.transfer.ContentionManager;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Endpoint {@code /actuator/contention}: benefícios escalados para o caminho
+ * pessimista e conflitos registrados na janela corrente.
+ */
+@Component
+@Endpoint(id = "contention")
+public class ContentionEndpoint {
+
+    private final ContentionManager contentionManager;
+
+    public ContentionEndpoint(ContentionManager contentionManager) {
+        this.contentionManager = contentionManager;
+    }
+
+    @ReadOperation
+    public Map<String, Object> contention() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("threshold", contentionManager.getThreshold());
+        body.put("maxTracked", contentionManager.getMaxTracked());
+        body.put("escalated", contentionManager.getEscalated());
+        body.put("conflicts", contentionManager.getConflictCounts());
+        return body;
+    }
+}
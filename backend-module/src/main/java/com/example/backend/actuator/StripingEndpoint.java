@@ -0,0 +1,33 @@
+package com.example.backend.actuator;
+
+import com.example.backend.service.transfer.StripedBalances;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Endpoint {@code /actuator/striping}: benefícios com saldo listrado e a
+ * quantidade de slots de cada um. Somente leitura; a listragem é configurada em
+ * {@code app.transfer.striping.beneficios}.
+ */
+@Component
+@Endpoint(id = "striping")
+public class StripingEndpoint {
+
+    private final StripedBalances stripedBalances;
+
+    public StripingEndpoint(StripedBalances stripedBalances) {
+        this.stripedBalances = stripedBalances;
+    }
+
+    @ReadOperation
+    public Map<String, Object> striping() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("maxSlots", StripedBalances.MAX_SLOTS);
+        body.put("striped", stripedBalances.getListrados());
+        return body;
+    }
+}
@@ -24,6 +24,9 @@ public class CorsConfig {
         // Permitir todos os headers
         config.setAllowedHeaders(Arrays.asList("*"));
         
+        // Cursor de paginação e ETag das consultas, legíveis por clientes de outra origem
+        config.setExposedHeaders(Arrays.asList("X-Next-Cursor", "Link", "ETag"));
+        
         // Permitir credenciais
         config.setAllowCredentials(true);
         
@@ -0,0 +1,30 @@
+package com.example.backend.config;
+
+import com.example.backend.journal.MappedTransferJournal;
+import com.example.backend.journal.PoliticaFsync;
+import com.example.backend.journal.TransferJournal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Journal de transferências do motor em memória. O journal só é aberto (e os
+ * arquivos criados) quando o motor está ativo.
+ */
+@Configuration
+public class JournalConfig {
+
+    @Bean
+    public TransferJournal transferJournal(
+            @Value("${app.transfer.engine.journal.dir:./data/journal}") Path directory,
+            @Value("${app.transfer.engine.journal.segment-size:64MB}") DataSize segmentSize,
+            @Value("${app.transfer.engine.journal.fsync:CADA_ESCRITA}") PoliticaFsync fsync,
+            @Value("${app.transfer.engine.journal.fsync-interval:10ms}") Duration fsyncInterval,
+            @Value("${app.transfer.engine.journal.fsync-records:256}") int fsyncRecords) {
+        return new MappedTransferJournal(directory, segmentSize.toBytes(), fsync, fsyncInterval, fsyncRecords);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita tarefas agendadas ({@code @Scheduled}), como a limpeza de
+ * Idempotency-Keys expiradas.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,7 +1,12 @@
 package com.example.backend.controller;
 
 import com.example.backend.dto.*;
+import com.example.backend.service.BeneficioExportService;
 import com.example.backend.service.BeneficioService;
+import com.example.backend.service.TransferHistoryService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,11 +17,24 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/beneficios")
@@ -25,53 +43,245 @@ public class BeneficioController {
 
     private static final Logger log = LoggerFactory.getLogger(BeneficioController.class);
 
+    /**
+     * Header opcional para escolher a estratégia de transferência por requisição.
+     */
+    public static final String TRANSFER_STRATEGY_HEADER = "X-Transfer-Strategy";
+
+    /**
+     * Header opcional que torna a transferência idempotente: repetições com a
+     * mesma chave recebem a resposta da primeira execução.
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * Header das listagens com o cursor da próxima página, ausente na última.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    public static final String CSV_VALUE = "text/csv";
+
+    private static final String CSV_CABECALHO = "id,nome,descricao,valor,ativo,version,createdAt,updatedAt";
+
     private final BeneficioService service;
+    private final TransferHistoryService historyService;
+    private final BeneficioExportService exportService;
+    private final ObjectMapper objectMapper;
 
-    public BeneficioController(BeneficioService service) {
+    public BeneficioController(BeneficioService service, TransferHistoryService historyService,
+                               BeneficioExportService exportService, ObjectMapper objectMapper) {
         this.service = service;
+        this.historyService = historyService;
+        this.exportService = exportService;
+        this.objectMapper = objectMapper;
     }
 
     /**
-     * Lista todos os benefícios.
+     * Lista uma página de todos os benefícios.
+     * 
+     * <p>O corpo continua sendo o array de benefícios; o cursor da próxima página
+     * vai no header {@value #NEXT_CURSOR_HEADER} e em {@code Link rel="next"},
+     * ausentes na última página.</p>
+     * 
+     * <p>Cada página traz a ETag do seu conteúdo e dos parâmetros pedidos
+     * ({@link BeneficioService.Pagina#etag}); com {@code If-None-Match} igual a
+     * ela, responde 304 sem corpo. A página é lida de qualquer forma (só as
+     * linhas dela, pelo cursor): o 304 economiza a serialização e a transferência,
+     * não a consulta.</p>
      * 
-     * @return lista de benefícios
+     * @param ifNoneMatch ETags de respostas anteriores
+     * @param after cursor da página anterior
+     * @param limit tamanho da página
+     * @param sort campo de ordenação, opcionalmente com {@code ,asc} ou {@code ,desc}
+     * @return página de benefícios
      */
     @GetMapping
     @Operation(summary = "Listar todos os benefícios", 
-               description = "Retorna uma lista com todos os benefícios cadastrados no sistema (ativos e inativos)")
+               description = "Retorna uma página dos benefícios cadastrados no sistema (ativos e inativos), "
+                       + "ordenada por ID por padrão; o cursor da próxima página vem no header "
+                       + NEXT_CURSOR_HEADER)
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso",
+        @ApiResponse(responseCode = "200", description = "Página retornada com sucesso",
+                     content = @Content(mediaType = "application/json",
+                                       schema = @Schema(implementation = BeneficioDTO.class))),
+        @ApiResponse(responseCode = "304", description = "Página não mudou desde a ETag informada"),
+        @ApiResponse(responseCode = "400", description = "Cursor, limite ou ordenação inválidos",
                      content = @Content(mediaType = "application/json",
-                                       schema = @Schema(implementation = BeneficioDTO.class)))
+                                       schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<List<BeneficioDTO>> findAll() {
-        log.debug("GET /api/beneficios - Listar todos");
-        List<BeneficioDTO> beneficios = service.findAll();
-        return ResponseEntity.ok(beneficios);
+    public ResponseEntity<List<BeneficioDTO>> findAll(
+            @Parameter(description = "ETag de uma resposta anterior; 304 se a página não mudou")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @Parameter(description = "Cursor devolvido em " + NEXT_CURSOR_HEADER + " pela página anterior")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Tamanho da página (1 a " + BeneficioService.MAX_LIMIT + ")", example = "50")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Campo de ordenação (id, nome, createdAt), opcionalmente com ,asc ou ,desc",
+                       example = "nome,asc")
+            @RequestParam(required = false) String sort) {
+        log.debug("GET /api/beneficios - Listar todos - after: {}, limit: {}, sort: {}", after, limit, sort);
+        return pagina(service.findAll(after, limit, sort), ifNoneMatch);
     }
 
     /**
-     * Lista apenas os benefícios ativos.
+     * Lista uma página dos benefícios ativos.
      * 
-     * @return lista de benefícios ativos
+     * @return página de benefícios ativos
+     * @see #findAll(String, String, Integer, String)
      */
     @GetMapping("/ativos")
     @Operation(summary = "Listar benefícios ativos", 
-               description = "Retorna uma lista com todos os benefícios ativos cadastrados no sistema")
+               description = "Retorna uma página dos benefícios ativos, ordenada por nome por padrão; "
+                       + "o cursor da próxima página vem no header " + NEXT_CURSOR_HEADER)
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso",
+        @ApiResponse(responseCode = "200", description = "Página retornada com sucesso",
+                     content = @Content(mediaType = "application/json",
+                                       schema = @Schema(implementation = BeneficioDTO.class))),
+        @ApiResponse(responseCode = "304", description = "Página não mudou desde a ETag informada"),
+        @ApiResponse(responseCode = "400", description = "Cursor, limite ou ordenação inválidos",
                      content = @Content(mediaType = "application/json",
-                                       schema = @Schema(implementation = BeneficioDTO.class)))
+                                       schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<List<BeneficioDTO>> findAllAtivos() {
-        log.debug("GET /api/beneficios/ativos - Listar apenas ativos");
-        List<BeneficioDTO> beneficios = service.findAllAtivos();
-        return ResponseEntity.ok(beneficios);
+    public ResponseEntity<List<BeneficioDTO>> findAllAtivos(
+            @Parameter(description = "ETag de uma resposta anterior; 304 se a página não mudou")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @Parameter(description = "Cursor devolvido em " + NEXT_CURSOR_HEADER + " pela página anterior")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Tamanho da página (1 a " + BeneficioService.MAX_LIMIT + ")", example = "50")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Campo de ordenação (id, nome, createdAt), opcionalmente com ,asc ou ,desc",
+                       example = "nome,asc")
+            @RequestParam(required = false) String sort) {
+        log.debug("GET /api/beneficios/ativos - Listar apenas ativos - after: {}, limit: {}, sort: {}",
+                after, limit, sort);
+        return pagina(service.findAllAtivos(after, limit, sort), ifNoneMatch);
+    }
+
+    private ResponseEntity<List<BeneficioDTO>> pagina(BeneficioService.Pagina pagina, String ifNoneMatch) {
+        String etag = quoted(pagina.etag());
+        if (ifNoneMatch != null && corresponde(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag);
+        if (pagina.proximoCursor() != null) {
+            String proxima = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", pagina.proximoCursor())
+                    .toUriString();
+            response.header(NEXT_CURSOR_HEADER, pagina.proximoCursor())
+                    .header(HttpHeaders.LINK, "<" + proxima + ">; rel=\"next\"");
+        }
+        return response.body(pagina.beneficios());
+    }
+
+    /**
+     * Exporta todos os benefícios, em ordem de ID, para processamento em lote.
+     * 
+     * <p>As linhas são escritas na resposta à medida que são lidas do banco, sem
+     * montar a lista em memória: o consumo de memória não depende do tamanho da
+     * tabela. Em NDJSON, cada linha é um {@link BeneficioDTO}; em CSV, a primeira
+     * linha é o cabeçalho.</p>
+     * 
+     * @param formato {@code ndjson} (padrão) ou {@code csv}
+     * @return corpo escrito em streaming
+     */
+    @GetMapping(value = "/export", produces = {NDJSON_VALUE, CSV_VALUE})
+    @Operation(summary = "Exportar todos os benefícios",
+               description = "Exporta a tabela inteira, em ordem de ID, como NDJSON (um benefício por linha) "
+                       + "ou CSV, escrevendo as linhas à medida que são lidas do banco")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportação em andamento",
+                     content = {@Content(mediaType = NDJSON_VALUE,
+                                         schema = @Schema(implementation = BeneficioDTO.class)),
+                                @Content(mediaType = CSV_VALUE)}),
+        @ApiResponse(responseCode = "400", description = "Formato inválido",
+                     content = @Content(mediaType = "application/json",
+                                       schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Formato da exportação: ndjson ou csv", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String formato) {
+        log.debug("GET /api/beneficios/export - formato: {}", formato);
+        StreamingResponseBody body;
+        MediaType mediaType;
+        if ("ndjson".equalsIgnoreCase(formato)) {
+            mediaType = MediaType.parseMediaType(NDJSON_VALUE);
+            ObjectWriter writer = objectMapper.writerFor(BeneficioDTO.class);
+            body = outputStream -> exportService.export(beneficio -> {
+                try {
+                    outputStream.write(writer.writeValueAsBytes(beneficio));
+                    outputStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } else if ("csv".equalsIgnoreCase(formato)) {
+            mediaType = new MediaType("text", "csv", StandardCharsets.UTF_8);
+            body = outputStream -> {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+                writer.write(CSV_CABECALHO);
+                writer.write("\r\n");
+                exportService.export(beneficio -> {
+                    try {
+                        writeCsv(writer, beneficio);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.flush();
+            };
+        } else {
+            throw new IllegalArgumentException("Formato de exportação inválido: " + formato + ". Use ndjson ou csv");
+        }
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"beneficios." + formato.toLowerCase(Locale.ROOT) + "\"")
+                .body(body);
+    }
+
+    private static void writeCsv(Writer writer, BeneficioDTO beneficio) throws IOException {
+        writer.write(String.valueOf(beneficio.getId()));
+        writer.write(',');
+        writer.write(csv(beneficio.getNome()));
+        writer.write(',');
+        writer.write(csv(beneficio.getDescricao()));
+        writer.write(',');
+        writer.write(beneficio.getValor().toPlainString());
+        writer.write(',');
+        writer.write(String.valueOf(beneficio.getAtivo()));
+        writer.write(',');
+        writer.write(beneficio.getVersion() != null ? beneficio.getVersion().toString() : "");
+        writer.write(',');
+        writer.write(beneficio.getCreatedAt() != null ? beneficio.getCreatedAt().toString() : "");
+        writer.write(',');
+        writer.write(beneficio.getUpdatedAt() != null ? beneficio.getUpdatedAt().toString() : "");
+        writer.write("\r\n");
+    }
+
+    /**
+     * Campo CSV (RFC 4180): entre aspas, com aspas duplicadas, se contiver
+     * separador, aspas ou quebra de linha.
+     */
+    private static String csv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0
+                && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
     }
 
     /**
      * Busca um benefício por ID.
      * 
+     * <p>A resposta traz a ETag do benefício ({@link BeneficioService#etag}). Com
+     * {@code If-None-Match}, a ETag atual é lida pela chave primária, sem carregar
+     * o benefício, e uma correspondência responde 304 sem corpo.</p>
+     * 
+     * @param ifNoneMatch ETags de respostas anteriores
      * @param id ID do benefício
      * @return benefício encontrado
      */
@@ -82,16 +292,106 @@ public class BeneficioController {
         @ApiResponse(responseCode = "200", description = "Benefício encontrado",
                      content = @Content(mediaType = "application/json",
                                        schema = @Schema(implementation = BeneficioDTO.class))),
+        @ApiResponse(responseCode = "304", description = "Benefício não mudou desde a ETag informada"),
         @ApiResponse(responseCode = "404", description = "Benefício não encontrado",
                      content = @Content(mediaType = "application/json",
                                        schema = @Schema(implementation = ErrorResponse.class)))
     })
     public ResponseEntity<BeneficioDTO> findById(
+            @Parameter(description = "ETag de uma resposta anterior; 304 se o benefício não mudou")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @Parameter(description = "ID do benefício", required = true, example = "1")
             @PathVariable Long id) {
         log.debug("GET /api/v1/beneficios/{} - Buscar por ID", id);
+        if (ifNoneMatch != null) {
+            Optional<String> etag = service.findEtag(id).map(BeneficioController::quoted);
+            if (etag.isPresent() && corresponde(ifNoneMatch, etag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).build();
+            }
+        }
         BeneficioDTO beneficio = service.findById(id);
-        return ResponseEntity.ok(beneficio);
+        return ResponseEntity.ok()
+                .eTag(quoted(BeneficioService.etag(beneficio)))
+                .body(beneficio);
+    }
+
+    private static String quoted(String etag) {
+        return '"' + etag + '"';
+    }
+
+    /**
+     * Compara as ETags de {@code If-None-Match} com a atual. Segue o RFC 9110:
+     * comparação fraca (o prefixo {@code W/} é ignorado) e {@code *}
+     * corresponde a qualquer representação existente.
+     */
+    private static boolean corresponde(String ifNoneMatch, String etag) {
+        for (String candidata : ifNoneMatch.split(",")) {
+            String valor = candidata.trim();
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals("*") || valor.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lista as transferências de um benefício, da mais recente para a mais antiga.
+     * 
+     * <p>A paginação é por cursor: {@code proximoCursor} da resposta deve ser
+     * enviado em {@code after} para obter a página seguinte, e vem {@code null}
+     * na última página. As movimentações são escritas na resposta à medida que
+     * são lidas do banco.</p>
+     * 
+     * @param id ID do benefício
+     * @param after cursor da página anterior
+     * @param limit quantidade máxima de movimentações
+     * @return corpo JSON com {@code movimentacoes} e {@code proximoCursor}
+     */
+    @GetMapping(value = "/{id}/transferencias", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Histórico de transferências do benefício", 
+               description = "Retorna {\"movimentacoes\": [...], \"proximoCursor\": \"...\"} com as transferências "
+                       + "em que o benefício foi origem (DEBITO) ou destino (CREDITO), da mais recente para a mais antiga")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página do histórico",
+                     content = @Content(mediaType = "application/json",
+                                       schema = @Schema(implementation = MovimentacaoDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido",
+                     content = @Content(mediaType = "application/json",
+                                       schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Benefício não encontrado",
+                     content = @Content(mediaType = "application/json",
+                                       schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> findTransferencias(
+            @Parameter(description = "ID do benefício", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Cursor devolvido em proximoCursor pela página anterior")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Quantidade máxima de movimentações (1 a " + TransferHistoryService.MAX_LIMIT
+                    + ")", example = "50")
+            @RequestParam(required = false) Integer limit) {
+        log.debug("GET /api/v1/beneficios/{}/transferencias - after: {}, limit: {}", id, after, limit);
+        TransferHistoryService.HistoryQuery query = historyService.prepare(id, after, limit);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("movimentacoes");
+                String proximoCursor = historyService.stream(query, movimentacao -> {
+                    try {
+                        generator.writeObject(movimentacao);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+                generator.writeStringField("proximoCursor", proximoCursor);
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     /**
@@ -182,8 +482,12 @@ public class BeneficioController {
     /**
      * Realiza transferência de valor entre benefícios.
      * 
+     * <p>A requisição é processada de forma assíncrona: a thread do servidor é
+     * liberada enquanto a transferência e eventuais retries rodam no pool de
+     * transferências.</p>
+     * 
      * @param requestDTO dados da transferência
-     * @return resposta com detalhes da transferência
+     * @return future com a resposta e os detalhes da transferência
      */
     @PostMapping("/transferir")
     @Operation(summary = "Transferir valor entre benefícios", 
@@ -192,24 +496,60 @@ public class BeneficioController {
         @ApiResponse(responseCode = "200", description = "Transferência realizada com sucesso",
                      content = @Content(mediaType = "application/json",
                                        schema = @Schema(implementation = TransferenciaResponseDTO.class))),
-        @ApiResponse(responseCode = "400", description = "Dados inválidos",
+        @ApiResponse(responseCode = "400", description = "Dados inválidos, estratégia desconhecida ou "
+                     + "Idempotency-Key reutilizada com outros dados",
                      content = @Content(mediaType = "application/json",
                                        schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "404", description = "Benefício não encontrado",
                      content = @Content(mediaType = "application/json",
                                        schema = @Schema(implementation = ErrorResponse.class))),
-        @ApiResponse(responseCode = "409", description = "Conflito - saldo insuficiente ou benefício inativo",
+        @ApiResponse(responseCode = "409", description = "Conflito - saldo insuficiente, benefício inativo "
+                     + "ou Idempotency-Key em processamento",
                      content = @Content(mediaType = "application/json",
                                        schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<TransferenciaResponseDTO> transfer(
+    public CompletableFuture<ResponseEntity<TransferenciaResponseDTO>> transfer(
             @Parameter(description = "Dados da transferência", required = true)
-            @Valid @RequestBody TransferenciaRequestDTO requestDTO) {
+            @Valid @RequestBody TransferenciaRequestDTO requestDTO,
+            @Parameter(description = "Estratégia de transferência (optimistic, pessimistic, atomic, serializable, adaptive); "
+                    + "omitido usa app.transfer.strategy", example = "pessimistic")
+            @RequestHeader(value = TRANSFER_STRATEGY_HEADER, required = false) String strategy,
+            @Parameter(description = "Chave de idempotência; repetições com a mesma chave devolvem a primeira resposta",
+                    example = "7f9c2a4e-1b3d-4c5e-8f6a-0b1c2d3e4f5a")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         log.info("POST /api/v1/beneficios/transferir - {} -> {}, valor: {}", 
                 requestDTO.getBeneficioOrigemId(), 
                 requestDTO.getBeneficioDestinoId(), 
                 requestDTO.getValor());
-        TransferenciaResponseDTO response = service.transfer(requestDTO);
+        return service.transferAsync(requestDTO, strategy, idempotencyKey).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Executa um lote de transferências em uma única transação.
+     * 
+     * @param requestDTO transferências do lote e modo de aplicação
+     * @return resultado de cada transferência do lote
+     */
+    @PostMapping("/transferir/lote")
+    @Operation(summary = "Transferir valores em lote", 
+               description = "Executa várias transferências em uma única transação, bloqueando os benefícios "
+                       + "em ordem crescente de ID. Em TUDO_OU_NADA qualquer item inválido impede todo o lote; "
+                       + "em MELHOR_ESFORCO apenas os itens válidos são efetivados.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote processado; verifique o resultado de cada item",
+                     content = @Content(mediaType = "application/json",
+                                       schema = @Schema(implementation = TransferenciaLoteResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Dados inválidos",
+                     content = @Content(mediaType = "application/json",
+                                       schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<TransferenciaLoteResponseDTO> transferBatch(
+            @Parameter(description = "Lote de transferências", required = true)
+            @Valid @RequestBody TransferenciaLoteRequestDTO requestDTO) {
+        log.info("POST /api/v1/beneficios/transferir/lote - {} itens, modo: {}", 
+                requestDTO.getTransferencias().size(), 
+                requestDTO.getModo());
+        TransferenciaLoteResponseDTO response = service.transferBatch(requestDTO);
         return ResponseEntity.ok(response);
     }
 }
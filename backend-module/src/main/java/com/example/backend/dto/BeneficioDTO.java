@@ -47,6 +47,17 @@ public class BeneficioDTO implements Serializable {
         this.version = version;
     }
 
+    /**
+     * Construtor completo, usado nas projeções JPQL ({@code SELECT new ...}) do
+     * {@link com.example.backend.repository.BeneficioRepository}.
+     */
+    public BeneficioDTO(Long id, String nome, String descricao, BigDecimal valor, Boolean ativo, Long version,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, nome, descricao, valor, ativo, version);
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters e Setters
 
     public Long getId() {
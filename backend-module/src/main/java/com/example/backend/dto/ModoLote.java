@@ -0,0 +1,20 @@
+package com.example.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Modo de aplicação de um lote de transferências.
+ */
+@Schema(description = "Modo de aplicação do lote de transferências")
+public enum ModoLote {
+
+    /**
+     * Qualquer item inválido impede a aplicação de todo o lote.
+     */
+    TUDO_OU_NADA,
+
+    /**
+     * Itens válidos são aplicados; falhas são apenas reportadas.
+     */
+    MELHOR_ESFORCO
+}
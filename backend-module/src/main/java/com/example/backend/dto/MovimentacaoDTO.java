@@ -0,0 +1,102 @@
+package com.example.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Schema(description = "Movimentação de um benefício no histórico de transferências")
+public class MovimentacaoDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Sentido da movimentação do ponto de vista do benefício consultado.
+     */
+    public enum Tipo {
+        DEBITO,
+        CREDITO
+    }
+
+    @Schema(description = "ID do lançamento no livro-razão", example = "1051")
+    private Long id;
+
+    @Schema(description = "DEBITO quando o benefício foi a origem; CREDITO quando foi o destino", example = "DEBITO")
+    private Tipo tipo;
+
+    @Schema(description = "ID do outro benefício da transferência", example = "2")
+    private Long contraparteId;
+
+    @Schema(description = "Valor transferido", example = "300.00")
+    private BigDecimal valor;
+
+    @Schema(description = "Saldo do benefício após a transferência", example = "700.00")
+    private BigDecimal saldo;
+
+    @Schema(description = "Momento da transferência", example = "2025-11-08T10:30:00")
+    private LocalDateTime timestamp;
+
+    public MovimentacaoDTO() {
+    }
+
+    public MovimentacaoDTO(Long id, Tipo tipo, Long contraparteId, BigDecimal valor,
+                           BigDecimal saldo, LocalDateTime timestamp) {
+        this.id = id;
+        this.tipo = tipo;
+        this.contraparteId = contraparteId;
+        this.valor = valor;
+        this.saldo = saldo;
+        this.timestamp = timestamp;
+    }
+
+    // Getters e Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(Tipo tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getContraparteId() {
+        return contraparteId;
+    }
+
+    public void setContraparteId(Long contraparteId) {
+        this.contraparteId = contraparteId;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public void setValor(BigDecimal valor) {
+        this.valor = valor;
+    }
+
+    public BigDecimal getSaldo() {
+        return saldo;
+    }
+
+    public void setSaldo(BigDecimal saldo) {
+        this.saldo = saldo;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Requisição para executar um lote de transferências em uma única transação")
+public class TransferenciaLoteRequestDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotEmpty(message = "Lote deve conter ao menos uma transferência")
+    @Size(max = 5000, message = "Lote deve conter no máximo 5000 transferências")
+    @Valid
+    @Schema(description = "Transferências do lote, aplicadas na ordem informada", required = true)
+    private List<TransferenciaRequestDTO> transferencias = new ArrayList<>();
+
+    @Schema(description = "Modo de aplicação do lote (padrão definido em app.transfer.lote.modo-padrao)",
+            example = "TUDO_OU_NADA")
+    private ModoLote modo;
+
+    public TransferenciaLoteRequestDTO() {
+    }
+
+    public TransferenciaLoteRequestDTO(List<TransferenciaRequestDTO> transferencias, ModoLote modo) {
+        this.transferencias = transferencias;
+        this.modo = modo;
+    }
+
+    // Getters e Setters
+
+    public List<TransferenciaRequestDTO> getTransferencias() {
+        return transferencias;
+    }
+
+    public void setTransferencias(List<TransferenciaRequestDTO> transferencias) {
+        this.transferencias = transferencias;
+    }
+
+    public ModoLote getModo() {
+        return modo;
+    }
+
+    public void setModo(ModoLote modo) {
+        this.modo = modo;
+    }
+
+    @Override
+    public String toString() {
+        return "TransferenciaLoteRequestDTO{" +
+                "itens=" + (transferencias != null ? transferencias.size() : 0) +
+                ", modo=" + modo +
+                '}';
+    }
+}
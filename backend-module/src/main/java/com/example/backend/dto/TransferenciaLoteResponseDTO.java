@@ -0,0 +1,170 @@
+package com.example.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Resultado da execução de um lote de transferências")
+public class TransferenciaLoteResponseDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "Modo utilizado na aplicação do lote", example = "TUDO_OU_NADA")
+    private ModoLote modo;
+
+    @Schema(description = "Indica se alguma alteração do lote foi efetivada", example = "true")
+    private Boolean aplicado;
+
+    @Schema(description = "Quantidade de transferências recebidas", example = "3")
+    private Integer total;
+
+    @Schema(description = "Quantidade de transferências efetivadas", example = "3")
+    private Integer sucessos;
+
+    @Schema(description = "Quantidade de transferências não efetivadas", example = "0")
+    private Integer falhas;
+
+    @Schema(description = "Resultado de cada transferência, na ordem da requisição")
+    private List<ResultadoItemDTO> resultados = new ArrayList<>();
+
+    public TransferenciaLoteResponseDTO() {
+    }
+
+    public TransferenciaLoteResponseDTO(ModoLote modo, Boolean aplicado, List<ResultadoItemDTO> resultados) {
+        this.modo = modo;
+        this.aplicado = aplicado;
+        this.resultados = resultados;
+        this.total = resultados.size();
+        this.sucessos = (int) resultados.stream().filter(r -> Boolean.TRUE.equals(r.getSucesso())).count();
+        this.falhas = this.total - this.sucessos;
+    }
+
+    // Getters e Setters
+
+    public ModoLote getModo() {
+        return modo;
+    }
+
+    public void setModo(ModoLote modo) {
+        this.modo = modo;
+    }
+
+    public Boolean getAplicado() {
+        return aplicado;
+    }
+
+    public void setAplicado(Boolean aplicado) {
+        this.aplicado = aplicado;
+    }
+
+    public Integer getTotal() {
+        return total;
+    }
+
+    public void setTotal(Integer total) {
+        this.total = total;
+    }
+
+    public Integer getSucessos() {
+        return sucessos;
+    }
+
+    public void setSucessos(Integer sucessos) {
+        this.sucessos = sucessos;
+    }
+
+    public Integer getFalhas() {
+        return falhas;
+    }
+
+    public void setFalhas(Integer falhas) {
+        this.falhas = falhas;
+    }
+
+    public List<ResultadoItemDTO> getResultados() {
+        return resultados;
+    }
+
+    public void setResultados(List<ResultadoItemDTO> resultados) {
+        this.resultados = resultados;
+    }
+
+    /**
+     * DTO interno representando o resultado de um item do lote.
+     */
+    @Schema(description = "Resultado de uma transferência do lote")
+    public static class ResultadoItemDTO implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @Schema(description = "Posição do item na requisição (base 0)", example = "0")
+        private Integer indice;
+
+        @Schema(description = "Indica se a transferência foi efetivada", example = "true")
+        private Boolean sucesso;
+
+        @Schema(description = "Mensagem descritiva do resultado", example = "Transferência realizada com sucesso")
+        private String mensagem;
+
+        @Schema(description = "Detalhes da transação (apenas quando efetivada)")
+        private TransferenciaResponseDTO.TransacaoDTO transacao;
+
+        public ResultadoItemDTO() {
+        }
+
+        public ResultadoItemDTO(Integer indice, Boolean sucesso, String mensagem,
+                                TransferenciaResponseDTO.TransacaoDTO transacao) {
+            this.indice = indice;
+            this.sucesso = sucesso;
+            this.mensagem = mensagem;
+            this.transacao = transacao;
+        }
+
+        // Getters e Setters
+
+        public Integer getIndice() {
+            return indice;
+        }
+
+        public void setIndice(Integer indice) {
+            this.indice = indice;
+        }
+
+        public Boolean getSucesso() {
+            return sucesso;
+        }
+
+        public void setSucesso(Boolean sucesso) {
+            this.sucesso = sucesso;
+        }
+
+        public String getMensagem() {
+            return mensagem;
+        }
+
+        public void setMensagem(String mensagem) {
+            this.mensagem = mensagem;
+        }
+
+        public TransferenciaResponseDTO.TransacaoDTO getTransacao() {
+            return transacao;
+        }
+
+        public void setTransacao(TransferenciaResponseDTO.TransacaoDTO transacao) {
+            this.transacao = transacao;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TransferenciaLoteResponseDTO{" +
+                "modo=" + modo +
+                ", aplicado=" + aplicado +
+                ", total=" + total +
+                ", sucessos=" + sucessos +
+                ", falhas=" + falhas +
+                '}';
+    }
+}
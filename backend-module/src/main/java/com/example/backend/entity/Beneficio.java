@@ -11,8 +11,18 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
+/**
+ * Benefício e seu saldo.
+ *
+ * <p>Os índices {@code (NOME, ID)} e {@code (CREATED_AT, ID)} sustentam a
+ * paginação por cursor das listagens; no PostgreSQL, as variantes parciais
+ * {@code WHERE ATIVO} da listagem de ativos estão em {@code db/006-beneficio-listagem.sql}.</p>
+ */
 @Entity
-@Table(name = "BENEFICIO")
+@Table(name = "BENEFICIO", indexes = {
+        @Index(name = "IDX_BENEFICIO_NOME", columnList = "NOME, ID"),
+        @Index(name = "IDX_BENEFICIO_CREATED_AT", columnList = "CREATED_AT, ID")
+})
 public class Beneficio implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -39,6 +49,13 @@ public class Beneficio implements Serializable {
     @Column(name = "ATIVO", nullable = false)
     private Boolean ativo = true;
 
+    /**
+     * Quantidade de saldos parciais ({@link SaldoParcial}); 0 quando o saldo
+     * está inteiro em {@link #valor}.
+     */
+    @Column(name = "SLOTS", nullable = false)
+    private Integer slots = 0;
+
     @Version
     @Column(name = "VERSION")
     private Long version;
@@ -131,6 +148,14 @@ public class Beneficio implements Serializable {
         this.ativo = ativo;
     }
 
+    public Integer getSlots() {
+        return slots;
+    }
+
+    public void setSlots(Integer slots) {
+        this.slots = slots;
+    }
+
     public Long getVersion() {
         return version;
     }
@@ -0,0 +1,151 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Registro de uma {@code Idempotency-Key} de transferência.
+ *
+ * <p>A linha é inserida antes da execução, sem resposta, e funciona como reserva
+ * da chave entre nós; ao concluir, recebe a resposta serializada em JSON. A chave
+ * é atribuída pelo cliente, por isso a entidade implementa {@link Persistable}
+ * para que {@code save} sempre faça {@code INSERT} de registros novos e uma
+ * reserva concorrente falhe por chave duplicada.</p>
+ */
+@Entity
+@Table(name = "CHAVE_IDEMPOTENCIA")
+public class ChaveIdempotencia implements Persistable<String>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "CHAVE", length = 128)
+    private String chave;
+
+    @Column(name = "REQUISICAO", nullable = false, length = 100)
+    private String requisicao;
+
+    @Column(name = "RESPOSTA", length = 4000)
+    private String resposta;
+
+    @Column(name = "CREATED_AT", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "EXPIRA_EM", nullable = false)
+    private LocalDateTime expiraEm;
+
+    @Transient
+    private boolean novo = true;
+
+    /**
+     * Construtor padrão.
+     */
+    public ChaveIdempotencia() {
+    }
+
+    /**
+     * Cria a reserva de uma chave ainda sem resposta.
+     *
+     * @param chave valor do header {@code Idempotency-Key}
+     * @param requisicao identificação da requisição original
+     * @param expiraEm prazo da execução; depois dele, a reserva sem resposta passa a
+     *                 aguardar reconciliação (nunca é descartada automaticamente)
+     */
+    public ChaveIdempotencia(String chave, String requisicao, LocalDateTime expiraEm) {
+        this.chave = chave;
+        this.requisicao = requisicao;
+        this.expiraEm = expiraEm;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @PostPersist
+    @PostLoad
+    protected void markNotNew() {
+        this.novo = false;
+    }
+
+    @Override
+    public String getId() {
+        return chave;
+    }
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    /**
+     * Indica se a transferência associada já foi concluída.
+     */
+    public boolean isConcluida() {
+        return resposta != null;
+    }
+
+    // Getters e Setters
+
+    public String getChave() {
+        return chave;
+    }
+
+    public void setChave(String chave) {
+        this.chave = chave;
+    }
+
+    public String getRequisicao() {
+        return requisicao;
+    }
+
+    public void setRequisicao(String requisicao) {
+        this.requisicao = requisicao;
+    }
+
+    public String getResposta() {
+        return resposta;
+    }
+
+    public void setResposta(String resposta) {
+        this.resposta = resposta;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getExpiraEm() {
+        return expiraEm;
+    }
+
+    public void setExpiraEm(LocalDateTime expiraEm) {
+        this.expiraEm = expiraEm;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ChaveIdempotencia that = (ChaveIdempotencia) o;
+        return Objects.equals(chave, that.chave);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(chave);
+    }
+
+    @Override
+    public String toString() {
+        return "ChaveIdempotencia[" +
+                "chave='" + chave + '\'' +
+                ", concluida=" + isConcluida() +
+                ", expiraEm=" + expiraEm +
+                ']';
+    }
+}
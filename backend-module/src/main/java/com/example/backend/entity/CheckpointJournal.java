@@ -0,0 +1,73 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Última sequência do journal de transferências já aplicada ao banco pelo
+ * write-behind do motor em memória.
+ *
+ * <p>Atualizada na mesma transação que aplica os lançamentos; na inicialização,
+ * o motor reaplica apenas os lançamentos do journal posteriores a ela. Tabela de
+ * linha única ({@link #ID_UNICO}).</p>
+ */
+@Entity
+@Table(name = "CHECKPOINT_JOURNAL")
+public class CheckpointJournal implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final Long ID_UNICO = 1L;
+
+    @Id
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "SEQUENCIA", nullable = false)
+    private Long sequencia;
+
+    @Column(name = "UPDATED_AT", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Construtor padrão.
+     */
+    public CheckpointJournal() {
+    }
+
+    public CheckpointJournal(Long sequencia) {
+        this.id = ID_UNICO;
+        this.sequencia = sequencia;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters e Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getSequencia() {
+        return sequencia;
+    }
+
+    public void setSequencia(Long sequencia) {
+        this.sequencia = sequencia;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "CheckpointJournal[sequencia=" + sequencia + ", updatedAt=" + updatedAt + ']';
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Parte do saldo de um benefício listrado ({@link Beneficio#getSlots()} &gt; 0).
+ *
+ * <p>O saldo do benefício é {@link Beneficio#getValor()} mais a soma dos seus
+ * slots. Créditos concorrentes vão para slots diferentes, de modo que não
+ * disputam o lock da mesma linha; o merger move periodicamente os slots para
+ * o valor base.</p>
+ */
+@Entity
+@Table(name = "SALDO_PARCIAL")
+@IdClass(SaldoParcial.Chave.class)
+public class SaldoParcial implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "BENEFICIO_ID")
+    private Long beneficioId;
+
+    @Id
+    @Column(name = "SLOT")
+    private Integer slot;
+
+    @Column(name = "VALOR", nullable = false, precision = 15, scale = 2)
+    private BigDecimal valor;
+
+    /**
+     * Construtor padrão.
+     */
+    public SaldoParcial() {
+    }
+
+    public SaldoParcial(Long beneficioId, Integer slot, BigDecimal valor) {
+        this.beneficioId = beneficioId;
+        this.slot = slot;
+        this.valor = valor;
+    }
+
+    // Getters e Setters
+
+    public Long getBeneficioId() {
+        return beneficioId;
+    }
+
+    public Integer getSlot() {
+        return slot;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public void setValor(BigDecimal valor) {
+        this.valor = valor;
+    }
+
+    @Override
+    public String toString() {
+        return "SaldoParcial[" +
+                "beneficioId=" + beneficioId +
+                ", slot=" + slot +
+                ", valor=" + valor +
+                ']';
+    }
+
+    /**
+     * Chave composta (benefício, slot).
+     */
+    public static class Chave implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long beneficioId;
+        private Integer slot;
+
+        public Chave() {
+        }
+
+        public Chave(Long beneficioId, Integer slot) {
+            this.beneficioId = beneficioId;
+            this.slot = slot;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Chave chave = (Chave) o;
+            return Objects.equals(beneficioId, chave.beneficioId) && Objects.equals(slot, chave.slot);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(beneficioId, slot);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Lançamento do livro-razão de transferências (append-only).
+ *
+ * <p>Cada transferência efetivada grava uma linha com os saldos resultantes,
+ * permitindo reconstruir o histórico de um benefício sem depender da linha
+ * {@code BENEFICIO}. O ID vem de uma sequence com alocação em blocos
+ * ({@code allocationSize}), o que mantém o JDBC batching dos INSERTs; com
+ * IDENTITY o Hibernate precisaria executar cada INSERT isoladamente.</p>
+ *
+ * <p>No PostgreSQL a tabela é particionada por mês de {@code CREATED_AT}
+ * (ver {@code db/002-transferencia.sql}); os índices do histórico por benefício,
+ * com as colunas lidas em {@code INCLUDE}, estão em {@code db/003-transferencia-historico.sql}.</p>
+ */
+@Entity
+@Immutable
+@Table(name = "TRANSFERENCIA", indexes = {
+        @Index(name = "IDX_TRANSFERENCIA_ORIGEM_HIST", columnList = "BENEFICIO_ORIGEM_ID, CREATED_AT DESC, ID DESC"),
+        @Index(name = "IDX_TRANSFERENCIA_DESTINO_HIST", columnList = "BENEFICIO_DESTINO_ID, CREATED_AT DESC, ID DESC")
+})
+public class Transferencia implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transferenciaSeq")
+    @SequenceGenerator(name = "transferenciaSeq", sequenceName = "TRANSFERENCIA_SEQ", allocationSize = 50)
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "BENEFICIO_ORIGEM_ID", nullable = false, updatable = false)
+    private Long beneficioOrigemId;
+
+    @Column(name = "BENEFICIO_DESTINO_ID", nullable = false, updatable = false)
+    private Long beneficioDestinoId;
+
+    @Column(name = "VALOR", nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal valor;
+
+    @Column(name = "SALDO_ORIGEM", nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal saldoOrigem;
+
+    @Column(name = "SALDO_DESTINO", nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal saldoDestino;
+
+    @Column(name = "CREATED_AT", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Construtor padrão.
+     */
+    public Transferencia() {
+    }
+
+    /**
+     * Construtor com todos os dados do lançamento.
+     *
+     * @param saldoOrigem saldo da origem após a transferência
+     * @param saldoDestino saldo do destino após a transferência
+     */
+    public Transferencia(Long beneficioOrigemId, Long beneficioDestinoId, BigDecimal valor,
+                         BigDecimal saldoOrigem, BigDecimal saldoDestino, LocalDateTime createdAt) {
+        this.beneficioOrigemId = beneficioOrigemId;
+        this.beneficioDestinoId = beneficioDestinoId;
+        this.valor = valor;
+        this.saldoOrigem = saldoOrigem;
+        this.saldoDestino = saldoDestino;
+        this.createdAt = createdAt;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+    }
+
+    // Getters (lançamentos são imutáveis)
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getBeneficioOrigemId() {
+        return beneficioOrigemId;
+    }
+
+    public Long getBeneficioDestinoId() {
+        return beneficioDestinoId;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public BigDecimal getSaldoOrigem() {
+        return saldoOrigem;
+    }
+
+    public BigDecimal getSaldoDestino() {
+        return saldoDestino;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Transferencia that = (Transferencia) o;
+        return id != null && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "Transferencia[" +
+                "id=" + id +
+                ", origem=" + beneficioOrigemId +
+                ", destino=" + beneficioDestinoId +
+                ", valor=" + valor +
+                ", createdAt=" + createdAt +
+                ']';
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.backend.exception;
+
+/**
+ * A transferência pode ter sido efetivada, mas a confirmação se perdeu (falha
+ * no commit ou na gravação do journal). Responde 409 como um conflito; a
+ * {@code Idempotency-Key} da requisição não é liberada, para que uma repetição
+ * não aplique a transferência duas vezes.
+ */
+public class ResultadoIncertoException extends BeneficioConflictException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ResultadoIncertoException(String message) {
+        super(message);
+    }
+
+    public ResultadoIncertoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
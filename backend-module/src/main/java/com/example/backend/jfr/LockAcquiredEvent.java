@@ -0,0 +1,14 @@
+package com.example.backend.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Duração: do início da tentativa até os locks dos benefícios serem obtidos.
+ */
+@Name("com.example.backend.LockAcquired")
+@Label("Lock obtido")
+@Description("Do início da tentativa até os locks pessimistas dos benefícios serem obtidos")
+class LockAcquiredEvent extends TransferPhaseEvent {
+}
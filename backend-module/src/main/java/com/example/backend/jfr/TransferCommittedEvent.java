@@ -0,0 +1,17 @@
+package com.example.backend.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Duração: do fim do flush até o término da transação.
+ */
+@Name("com.example.backend.TransferCommitted")
+@Label("Commit")
+@Description("Do fim do flush até o término (commit ou rollback) da transação da tentativa")
+class TransferCommittedEvent extends TransferPhaseEvent {
+
+    @Label("Sucesso")
+    boolean sucesso;
+}
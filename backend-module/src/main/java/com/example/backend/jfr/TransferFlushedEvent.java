@@ -0,0 +1,17 @@
+package com.example.backend.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Duração: flush da sessão do Hibernate.
+ */
+@Name("com.example.backend.TransferFlushed")
+@Label("Flush")
+@Description("Flush da sessão do Hibernate na transação da tentativa")
+class TransferFlushedEvent extends TransferPhaseEvent {
+
+    @Label("Entidades")
+    int entidades;
+}
@@ -0,0 +1,35 @@
+package com.example.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base dos eventos JFR de uma tentativa de transferência: benefícios e número
+ * da tentativa. A duração do evento é a da fase.
+ *
+ * <p>Desabilitados por padrão ({@link Enabled}): sem o perfil
+ * {@code jfr/transferencias.jfc}, não custam nada.</p>
+ */
+@Category({"Benefícios", "Transferência"})
+@Enabled(false)
+@StackTrace(false)
+abstract class TransferPhaseEvent extends Event {
+
+    @Label("Origem")
+    long origemId;
+
+    @Label("Destino")
+    long destinoId;
+
+    @Label("Tentativa")
+    int tentativa;
+
+    void set(TransferTrace trace) {
+        origemId = trace.origemId;
+        destinoId = trace.destinoId;
+        tentativa = trace.tentativa;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Transferência validada e encaminhada para execução.
+ */
+@Name("com.example.backend.TransferReceived")
+@Label("Transferência recebida")
+@Description("Transferência validada e encaminhada para a estratégia")
+@Category({"Benefícios", "Transferência"})
+@Enabled(false)
+@StackTrace(false)
+public class TransferReceivedEvent extends Event {
+
+    @Label("Origem")
+    long origemId;
+
+    @Label("Destino")
+    long destinoId;
+
+    @Label("Valor")
+    String valor;
+
+    @Label("Estratégia")
+    String estrategia;
+
+    /**
+     * Emite o evento, se habilitado na gravação.
+     */
+    public static void emit(Long origemId, Long destinoId, Object valor, String estrategia) {
+        TransferReceivedEvent event = new TransferReceivedEvent();
+        if (event.isEnabled()) {
+            event.origemId = origemId;
+            event.destinoId = destinoId;
+            event.valor = String.valueOf(valor);
+            event.estrategia = estrategia;
+            event.commit();
+        }
+    }
+}
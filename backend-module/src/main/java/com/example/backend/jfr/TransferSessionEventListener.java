@@ -0,0 +1,27 @@
+package com.example.backend.jfr;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Marca flush e término de transação das sessões do Hibernate no
+ * {@link TransferTrace} da thread (sem rastreamento aberto, não faz nada).
+ *
+ * <p>Registrado para todas as sessões via {@code hibernate.session.events.auto}.</p>
+ */
+public class TransferSessionEventListener implements SessionEventListener {
+
+    @Override
+    public void flushStart() {
+        TransferTrace.flushIniciado();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        TransferTrace.flushConcluido(numberOfEntities);
+    }
+
+    @Override
+    public void transactionCompletion(boolean successful) {
+        TransferTrace.transacaoConcluida(successful);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.backend.jfr;
+
+/**
+ * Rastreamento JFR da tentativa de transferência em execução na thread.
+ *
+ * <p>Aberto pelo {@link com.example.backend.service.transfer.TransferRetryScheduler}
+ * em volta de cada tentativa ({@link #iniciar} e {@link #encerrar}); estratégias, {@code TransferSupport} e o
+ * {@link TransferSessionEventListener} marcam as fases. Com os eventos
+ * desabilitados, {@link #iniciar} não abre rastreamento e as marcações não
+ * fazem nada.</p>
+ */
+public final class TransferTrace {
+
+    private static final ThreadLocal<TransferTrace> ATUAL = new ThreadLocal<>();
+
+    final long origemId;
+    final long destinoId;
+    final int tentativa;
+
+    private final LockAcquiredEvent lock = new LockAcquiredEvent();
+    private final ValidationDoneEvent validacao = new ValidationDoneEvent();
+    private TransferFlushedEvent flush;
+    private TransferCommittedEvent commit;
+
+    private TransferTrace(long origemId, long destinoId, int tentativa) {
+        this.origemId = origemId;
+        this.destinoId = destinoId;
+        this.tentativa = tentativa;
+        lock.begin();
+        validacao.begin();
+    }
+
+    /**
+     * Abre o rastreamento da tentativa na thread corrente, se algum evento de
+     * fase estiver habilitado. Deve ser seguido de {@link #encerrar} em um
+     * {@code finally}.
+     */
+    public static void iniciar(Long origemId, Long destinoId, int tentativa) {
+        if (habilitado()) {
+            ATUAL.set(new TransferTrace(origemId, destinoId, tentativa));
+        }
+    }
+
+    /**
+     * Fecha o rastreamento da thread corrente, se houver.
+     */
+    public static void encerrar() {
+        ATUAL.remove();
+    }
+
+    /**
+     * Locks dos benefícios obtidos.
+     */
+    public static void lockAdquirido() {
+        TransferTrace trace = ATUAL.get();
+        if (trace == null) {
+            return;
+        }
+        if (trace.lock.isEnabled()) {
+            trace.lock.set(trace);
+            trace.lock.commit();
+        }
+        trace.validacao.begin();
+    }
+
+    /**
+     * Validação concluída e saldos aplicados em memória.
+     */
+    public static void validacaoConcluida() {
+        TransferTrace trace = ATUAL.get();
+        if (trace != null && trace.validacao.isEnabled()) {
+            trace.validacao.set(trace);
+            trace.validacao.commit();
+        }
+    }
+
+    static void flushIniciado() {
+        TransferTrace trace = ATUAL.get();
+        if (trace != null) {
+            trace.flush = new TransferFlushedEvent();
+            trace.flush.begin();
+        }
+    }
+
+    static void flushConcluido(int entidades) {
+        TransferTrace trace = ATUAL.get();
+        if (trace == null || trace.flush == null) {
+            return;
+        }
+        if (trace.flush.isEnabled()) {
+            trace.flush.set(trace);
+            trace.flush.entidades = entidades;
+            trace.flush.commit();
+        }
+        trace.flush = null;
+        trace.commit = new TransferCommittedEvent();
+        trace.commit.begin();
+    }
+
+    static void transacaoConcluida(boolean sucesso) {
+        TransferTrace trace = ATUAL.get();
+        if (trace == null) {
+            return;
+        }
+        if (trace.commit == null) {
+            // Rollback antes de qualquer flush
+            trace.commit = new TransferCommittedEvent();
+            trace.commit.begin();
+        }
+        if (trace.commit.isEnabled()) {
+            trace.commit.set(trace);
+            trace.commit.sucesso = sucesso;
+            trace.commit.commit();
+        }
+        trace.commit = null;
+    }
+
+    private static boolean habilitado() {
+        return new LockAcquiredEvent().isEnabled()
+                || new ValidationDoneEvent().isEnabled()
+                || new TransferFlushedEvent().isEnabled()
+                || new TransferCommittedEvent().isEnabled();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.backend.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Duração: dos locks obtidos (ou do início da tentativa, sem lock) até a
+ * validação e aplicação dos saldos em memória.
+ */
+@Name("com.example.backend.ValidationDone")
+@Label("Validação concluída")
+@Description("Dos locks obtidos até a validação e aplicação dos saldos em memória")
+class ValidationDoneEvent extends TransferPhaseEvent {
+}
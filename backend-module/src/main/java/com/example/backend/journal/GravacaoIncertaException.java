@@ -0,0 +1,13 @@
+package com.example.backend.journal;
+
+/**
+ * O lançamento foi copiado para o segmento, mas o fsync falhou: ele pode ou não
+ * estar no disco, e a recuperação decide. Quem grava não deve tratá-lo como
+ * transferência recusada.
+ */
+public class GravacaoIncertaException extends IllegalStateException {
+
+    public GravacaoIncertaException(Throwable cause) {
+        super("Gravação do lançamento no journal não confirmada pelo fsync", cause);
+    }
+}
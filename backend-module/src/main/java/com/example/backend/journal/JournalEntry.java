@@ -0,0 +1,19 @@
+package com.example.backend.journal;
+
+/**
+ * Transferência efetivada, como gravada no journal.
+ *
+ * <p>Valores e saldos em centavos; {@code saldoOrigem} e {@code saldoDestino}
+ * são os saldos resultantes, usados nos lançamentos de {@code TRANSFERENCIA}.</p>
+ *
+ * @param sequencia posição da transferência no journal (crescente, sem lacunas),
+ *                  atribuída pelo próprio journal na gravação
+ * @param timestamp instante da efetivação, em milissegundos desde a época
+ */
+public record JournalEntry(long sequencia, long origemId, long destinoId, long valor,
+                           long saldoOrigem, long saldoDestino, long timestamp) {
+
+    public JournalEntry withSequencia(long novaSequencia) {
+        return new JournalEntry(novaSequencia, origemId, destinoId, valor, saldoOrigem, saldoDestino, timestamp);
+    }
+}
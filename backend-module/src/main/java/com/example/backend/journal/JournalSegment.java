@@ -0,0 +1,185 @@
+package com.example.backend.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Segmento do journal: arquivo de tamanho fixo, pré-alocado na criação e
+ * mapeado em memória por inteiro.
+ *
+ * <p>Registros de {@value #RECORD_SIZE} bytes, big-endian:</p>
+ * <pre>
+ *  0  sequencia      8  origemId      16 destinoId     24 valor (centavos)
+ *  32 saldoOrigem    40 saldoDestino  48 timestamp     56 CRC32C dos bytes 0-55
+ *  60 reservado (zeros)
+ * </pre>
+ *
+ * <p>O nome do arquivo traz a sequência do primeiro registro; um registro é
+ * válido se o checksum confere e a sequência é a esperada para a posição.
+ * Acesso restrito a uma thread.</p>
+ */
+final class JournalSegment implements AutoCloseable {
+
+    static final int RECORD_SIZE = 64;
+    private static final int CHECKSUM_OFFSET = 56;
+    private static final String PREFIXO = "transferencias-";
+    private static final String SUFIXO = ".journal";
+
+    private final Path file;
+    private final long primeiraSequencia;
+    private final int capacidade;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final CRC32C crc = new CRC32C();
+    private int registros;
+    private int forcados;
+
+    private JournalSegment(Path file, long primeiraSequencia, int capacidade, boolean escrita) throws IOException {
+        this.file = file;
+        this.primeiraSequencia = primeiraSequencia;
+        this.capacidade = capacidade;
+        this.channel = escrita
+                ? FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ);
+        this.buffer = channel.map(escrita ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+                0, (long) capacidade * RECORD_SIZE);
+    }
+
+    /**
+     * Cria um segmento vazio; o mapeamento estende o arquivo até a capacidade.
+     */
+    static JournalSegment create(Path directory, long primeiraSequencia, int capacidade) throws IOException {
+        return new JournalSegment(directory.resolve(nome(primeiraSequencia)), primeiraSequencia, capacidade, true);
+    }
+
+    /**
+     * Abre um segmento existente e recupera seus registros válidos.
+     */
+    static JournalSegment open(Path file, boolean escrita) throws IOException {
+        int capacidade;
+        try (FileChannel size = FileChannel.open(file, StandardOpenOption.READ)) {
+            capacidade = (int) (size.size() / RECORD_SIZE);
+        }
+        JournalSegment segment = new JournalSegment(file, primeiraSequencia(file), capacidade, escrita);
+        segment.recover();
+        return segment;
+    }
+
+    static String nome(long primeiraSequencia) {
+        return String.format("%s%020d%s", PREFIXO, primeiraSequencia, SUFIXO);
+    }
+
+    static boolean isSegmento(Path file) {
+        String nome = file.getFileName().toString();
+        return nome.startsWith(PREFIXO) && nome.endsWith(SUFIXO);
+    }
+
+    static long primeiraSequencia(Path file) {
+        String nome = file.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length()));
+    }
+
+    private void recover() {
+        registros = 0;
+        while (registros < capacidade && isValido(registros)) {
+            registros++;
+        }
+        forcados = registros;
+    }
+
+    private boolean isValido(int indice) {
+        int posicao = indice * RECORD_SIZE;
+        return buffer.getLong(posicao) == primeiraSequencia + indice
+                && buffer.getInt(posicao + CHECKSUM_OFFSET) == checksum(posicao);
+    }
+
+    private int checksum(int posicao) {
+        crc.reset();
+        crc.update(buffer.slice(posicao, CHECKSUM_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Apaga o que vier depois do último registro válido (registro incompleto de
+     * uma queda, ou registros gravados fora de ordem pelo sistema antes do fsync),
+     * para que não sejam confundidos com registros futuros na próxima recuperação.
+     */
+    void descartarCauda() {
+        byte[] zeros = new byte[RECORD_SIZE];
+        boolean alterado = false;
+        for (int indice = registros; indice < capacidade; indice++) {
+            int posicao = indice * RECORD_SIZE;
+            if (buffer.getLong(posicao) != 0 || buffer.getInt(posicao + CHECKSUM_OFFSET) != 0) {
+                buffer.put(posicao, zeros);
+                alterado = true;
+            }
+        }
+        if (alterado) {
+            buffer.force();
+        }
+    }
+
+    boolean isCheio() {
+        return registros == capacidade;
+    }
+
+    long primeiraSequencia() {
+        return primeiraSequencia;
+    }
+
+    /**
+     * @return sequência do último registro, ou {@code primeiraSequencia - 1} se estiver vazio
+     */
+    long ultimaSequencia() {
+        return primeiraSequencia + registros - 1;
+    }
+
+    int registros() {
+        return registros;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    void write(JournalEntry entry) {
+        int posicao = registros * RECORD_SIZE;
+        buffer.putLong(posicao, entry.sequencia())
+                .putLong(posicao + 8, entry.origemId())
+                .putLong(posicao + 16, entry.destinoId())
+                .putLong(posicao + 24, entry.valor())
+                .putLong(posicao + 32, entry.saldoOrigem())
+                .putLong(posicao + 40, entry.saldoDestino())
+                .putLong(posicao + 48, entry.timestamp())
+                .putInt(posicao + CHECKSUM_OFFSET, checksum(posicao))
+                .putInt(posicao + 60, 0);
+        registros++;
+    }
+
+    JournalEntry read(int indice) {
+        int posicao = indice * RECORD_SIZE;
+        ByteBuffer registro = buffer.slice(posicao, RECORD_SIZE);
+        return new JournalEntry(registro.getLong(0), registro.getLong(8), registro.getLong(16),
+                registro.getLong(24), registro.getLong(32), registro.getLong(40), registro.getLong(48));
+    }
+
+    /**
+     * Faz o fsync apenas da faixa gravada desde o último.
+     */
+    void force() {
+        if (forcados < registros) {
+            buffer.force(forcados * RECORD_SIZE, (registros - forcados) * RECORD_SIZE);
+            forcados = registros;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
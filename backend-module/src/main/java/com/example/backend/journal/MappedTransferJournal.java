@@ -0,0 +1,340 @@
+package com.example.backend.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Journal de transferências em segmentos pré-alocados e mapeados em memória
+ * ({@link JournalSegment}).
+ *
+ * <p>Uma thread dedicada drena os lançamentos pendentes, atribui as sequências,
+ * copia os registros para o segmento corrente e aplica a {@link PoliticaFsync}:
+ * a escrita é uma cópia de memória, e o fsync cobre apenas a faixa gravada desde
+ * o anterior. Quando o segmento enche, ele é forçado e um novo é criado, com a
+ * próxima sequência no nome.</p>
+ *
+ * <p>Na abertura, os segmentos são lidos em ordem e o último é truncado no
+ * primeiro registro inválido (escrita interrompida por uma queda). Um registro
+ * inválido antes do último segmento indica corrupção e impede a abertura.</p>
+ *
+ * <p>Não depende do Spring: recebe a configuração pelo construtor.</p>
+ */
+public class MappedTransferJournal implements TransferJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedTransferJournal.class);
+    private static final int MAX_BATCH = 4096;
+
+    private final Path directory;
+    private final int capacidadeSegmento;
+    private final PoliticaFsync politica;
+    private final long fsyncIntervalNanos;
+    private final int fsyncRecords;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final List<Path> segmentos = new ArrayList<>();
+    private JournalSegment atual;
+    private long sequencia;
+    private int naoForcados;
+    private long ultimoFsync;
+    private Thread writer;
+    private volatile boolean running;
+
+    /**
+     * @param segmentSize tamanho de cada segmento em bytes (arredondado para baixo
+     *                    para um múltiplo de {@value JournalSegment#RECORD_SIZE})
+     * @param fsyncInterval usado com {@link PoliticaFsync#INTERVALO}
+     * @param fsyncRecords usado com {@link PoliticaFsync#REGISTROS}
+     */
+    public MappedTransferJournal(Path directory, long segmentSize, PoliticaFsync politica,
+                                 Duration fsyncInterval, int fsyncRecords) {
+        this.directory = directory;
+        this.capacidadeSegmento = (int) Math.min(Integer.MAX_VALUE / JournalSegment.RECORD_SIZE,
+                Math.max(1, segmentSize / JournalSegment.RECORD_SIZE));
+        this.politica = politica;
+        this.fsyncIntervalNanos = fsyncInterval.toNanos();
+        this.fsyncRecords = Math.max(1, fsyncRecords);
+    }
+
+    @Override
+    public long open(long sequenciaMinima) {
+        try {
+            Files.createDirectories(directory);
+            List<Path> existentes;
+            try (Stream<Path> files = Files.list(directory)) {
+                existentes = files.filter(JournalSegment::isSegmento)
+                        .sorted((a, b) -> Long.compare(JournalSegment.primeiraSequencia(a),
+                                JournalSegment.primeiraSequencia(b)))
+                        .toList();
+            }
+
+            sequencia = 0;
+            for (int i = 0; i < existentes.size(); i++) {
+                boolean ultimo = i == existentes.size() - 1;
+                JournalSegment segment = JournalSegment.open(existentes.get(i), ultimo);
+                if (i > 0 && segment.primeiraSequencia() != sequencia + 1
+                        || !ultimo && !segment.isCheio()) {
+                    segment.close();
+                    throw new IllegalStateException("Journal corrompido em " + segment.file()
+                            + ": lançamentos após a sequência " + sequencia + " estão ausentes ou inválidos");
+                }
+                sequencia = segment.ultimaSequencia();
+                segmentos.add(segment.file());
+                if (ultimo) {
+                    segment.descartarCauda();
+                    atual = segment;
+                } else {
+                    segment.close();
+                }
+            }
+
+            if (sequencia < sequenciaMinima) {
+                if (atual != null) {
+                    // Tudo o que o journal contém já é conhecido; os segmentos antigos
+                    // deixariam uma lacuna na numeração
+                    log.warn("Journal termina na sequência {}, antes da última conhecida ({}); "
+                            + "segmentos descartados e numeração continuada", sequencia, sequenciaMinima);
+                    atual.close();
+                    atual = null;
+                    for (Path file : segmentos) {
+                        Files.delete(file);
+                    }
+                    segmentos.clear();
+                }
+                sequencia = sequenciaMinima;
+                roll();
+            } else if (atual == null || atual.isCheio()) {
+                roll();
+            }
+
+            ultimoFsync = System.nanoTime();
+            running = true;
+            writer = new Thread(this::run, "transfer-journal");
+            writer.setDaemon(true);
+            writer.start();
+            log.info("Journal de transferências aberto: {} ({} segmentos, sequência {}, fsync {})",
+                    directory, segmentos.size(), sequencia, politica);
+            return sequencia;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir o journal " + directory, e);
+        }
+    }
+
+    @Override
+    public long replay(long aposSequencia, Consumer<JournalEntry> consumer) {
+        long entregues = 0;
+        List<Path> arquivos;
+        synchronized (segmentos) {
+            arquivos = List.copyOf(segmentos);
+        }
+        try {
+            for (Path file : arquivos) {
+                boolean corrente = file.equals(atual.file());
+                if (!corrente && JournalSegment.primeiraSequencia(file) + capacidadeMaxima(file) <= aposSequencia) {
+                    continue;
+                }
+                JournalSegment segment = corrente ? atual : JournalSegment.open(file, false);
+                try {
+                    for (int i = 0; i < segment.registros(); i++) {
+                        JournalEntry entry = segment.read(i);
+                        if (entry.sequencia() > aposSequencia) {
+                            consumer.accept(entry);
+                            entregues++;
+                        }
+                    }
+                } finally {
+                    if (!corrente) {
+                        segment.close();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o journal " + directory, e);
+        }
+        return entregues;
+    }
+
+    @Override
+    public CompletableFuture<JournalEntry> append(JournalEntry entry) {
+        CompletableFuture<JournalEntry> gravado = new CompletableFuture<>();
+        if (!running) {
+            gravado.completeExceptionally(new IllegalStateException("Journal fechado"));
+            return gravado;
+        }
+        queue.add(new Pending(entry, gravado));
+        return gravado;
+    }
+
+    @Override
+    public int compact(long ateSequencia) {
+        int removidos = 0;
+        synchronized (segmentos) {
+            // Um segmento está coberto quando o seguinte começa até ateSequencia + 1
+            while (segmentos.size() > 1
+                    && JournalSegment.primeiraSequencia(segmentos.get(1)) <= ateSequencia + 1) {
+                Path file = segmentos.remove(0);
+                try {
+                    Files.deleteIfExists(file);
+                    removidos++;
+                } catch (IOException e) {
+                    log.warn("Falha ao remover o segmento {} do journal", file, e);
+                }
+            }
+        }
+        return removidos;
+    }
+
+    @Override
+    public long primeiraSequencia() {
+        synchronized (segmentos) {
+            return JournalSegment.primeiraSequencia(segmentos.get(0));
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+        try {
+            atual.force();
+            atual.close();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Falha ao fechar o journal {}", directory, e);
+        }
+    }
+
+    private void run() {
+        List<Pending> lote = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending primeiro = queue.poll(esperaMaximaNanos(), TimeUnit.NANOSECONDS);
+                if (primeiro != null) {
+                    lote.add(primeiro);
+                }
+            } catch (InterruptedException e) {
+                // close(): drena o que restar na fila antes de sair
+            }
+            queue.drainTo(lote, MAX_BATCH - lote.size());
+            gravar(lote);
+            lote.clear();
+        }
+    }
+
+    /**
+     * Grava um lote. Uma falha no meio (escrita ou troca de segmento) encerra o
+     * lote ali: os lançamentos já copiados para o segmento têm sequência e serão
+     * reaplicados na recuperação, então são confirmados normalmente; só os
+     * seguintes, que não receberam sequência, falham. Se o fsync falhar, os
+     * lançamentos do lote estão no segmento mas talvez não no disco: eles
+     * falham com {@link GravacaoIncertaException}, nunca como não gravados.
+     */
+    private void gravar(List<Pending> lote) {
+        List<JournalEntry> gravados = new ArrayList<>(lote.size());
+        Exception falha = null;
+        try {
+            for (Pending pending : lote) {
+                if (atual.isCheio()) {
+                    roll();
+                }
+                JournalEntry entry = pending.entry().withSequencia(sequencia + 1);
+                atual.write(entry);
+                sequencia++;
+                gravados.add(entry);
+            }
+        } catch (IOException | RuntimeException e) {
+            falha = e;
+            log.error("Falha ao gravar o lançamento {} de um lote de {} no journal; {} já gravados serão confirmados",
+                    gravados.size() + 1, lote.size(), gravados.size(), e);
+        }
+
+        naoForcados += gravados.size();
+        GravacaoIncertaException incerta = null;
+        if (deveForcar()) {
+            try {
+                force();
+            } catch (RuntimeException e) {
+                log.error("Falha no fsync do journal; {} lançamentos com gravação incerta", gravados.size(), e);
+                incerta = new GravacaoIncertaException(e);
+            }
+        }
+
+        for (int i = 0; i < lote.size(); i++) {
+            CompletableFuture<JournalEntry> gravado = lote.get(i).gravado();
+            if (i >= gravados.size()) {
+                gravado.completeExceptionally(falha);
+            } else if (incerta != null) {
+                gravado.completeExceptionally(incerta);
+            } else {
+                gravado.complete(gravados.get(i));
+            }
+        }
+    }
+
+    private boolean deveForcar() {
+        if (naoForcados == 0) {
+            return false;
+        }
+        return switch (politica) {
+            case CADA_ESCRITA -> true;
+            case INTERVALO -> System.nanoTime() - ultimoFsync >= fsyncIntervalNanos;
+            case REGISTROS -> naoForcados >= fsyncRecords;
+        };
+    }
+
+    /**
+     * Com {@link PoliticaFsync#INTERVALO}, acorda a tempo de forçar lançamentos
+     * pendentes mesmo sem novas gravações.
+     */
+    private long esperaMaximaNanos() {
+        if (politica == PoliticaFsync.INTERVALO && naoForcados > 0) {
+            return Math.max(0, fsyncIntervalNanos - (System.nanoTime() - ultimoFsync));
+        }
+        return TimeUnit.MILLISECONDS.toNanos(100);
+    }
+
+    private void force() {
+        atual.force();
+        naoForcados = 0;
+        ultimoFsync = System.nanoTime();
+    }
+
+    private void roll() throws IOException {
+        if (atual != null) {
+            force();
+            atual.close();
+        }
+        atual = JournalSegment.create(directory, sequencia + 1, capacidadeSegmento);
+        synchronized (segmentos) {
+            segmentos.add(atual.file());
+        }
+        log.debug("Novo segmento do journal: {}", atual.file());
+    }
+
+    private static long capacidadeMaxima(Path file) throws IOException {
+        return Files.size(file) / JournalSegment.RECORD_SIZE;
+    }
+
+    private record Pending(JournalEntry entry, CompletableFuture<JournalEntry> gravado) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.backend.journal;
+
+/**
+ * Quando o {@link MappedTransferJournal} força os lançamentos para o disco.
+ *
+ * <p>Os lançamentos são escritos em arquivos mapeados em memória: depois da
+ * escrita, sobrevivem a uma queda do processo, mas só sobrevivem a uma queda do
+ * sistema operacional ou de energia depois do fsync.</p>
+ */
+public enum PoliticaFsync {
+
+    /**
+     * Fsync antes de confirmar cada lote de gravações; nenhuma transferência
+     * confirmada é perdida.
+     */
+    CADA_ESCRITA,
+
+    /**
+     * Confirma após a escrita e faz fsync a cada {@code fsync-interval}; uma queda
+     * do sistema perde no máximo esse intervalo.
+     */
+    INTERVALO,
+
+    /**
+     * Confirma após a escrita e faz fsync a cada {@code fsync-records}
+     * lançamentos; uma queda do sistema perde no máximo essa quantidade.
+     */
+    REGISTROS
+}
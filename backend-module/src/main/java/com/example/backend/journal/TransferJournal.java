@@ -0,0 +1,57 @@
+package com.example.backend.journal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Log durável de transferências efetivadas fora do banco.
+ *
+ * <p>Quem grava só deve confirmar uma transferência depois que o future de
+ * {@link #append} completa, ou seja, depois que o lançamento está no journal
+ * conforme a {@link PoliticaFsync} configurada.</p>
+ */
+public interface TransferJournal {
+
+    /**
+     * Abre o journal para escrita, recuperando os lançamentos já gravados.
+     *
+     * @param sequenciaMinima última sequência conhecida fora do journal (ex.: já
+     *                        aplicada ao banco); se o journal terminar antes dela,
+     *                        a numeração continua a partir deste valor
+     * @return sequência do último lançamento gravado, ou {@code sequenciaMinima} se for maior
+     */
+    long open(long sequenciaMinima);
+
+    /**
+     * Entrega, em ordem de sequência, os lançamentos gravados depois de
+     * {@code aposSequencia}. Deve ser chamado após {@link #open} e antes das
+     * novas gravações.
+     *
+     * @return quantidade de lançamentos entregues
+     */
+    long replay(long aposSequencia, Consumer<JournalEntry> consumer);
+
+    /**
+     * Acrescenta o lançamento ao journal, atribuindo a próxima sequência.
+     *
+     * @return future com o lançamento gravado (já com a sequência), concluído
+     *         quando ele estiver no journal
+     */
+    CompletableFuture<JournalEntry> append(JournalEntry entry);
+
+    /**
+     * Remove os segmentos cujos lançamentos são todos anteriores ou iguais a
+     * {@code ateSequencia} (já cobertos por um snapshot). O segmento corrente
+     * nunca é removido.
+     *
+     * @return quantidade de segmentos removidos
+     */
+    int compact(long ateSequencia);
+
+    /**
+     * @return sequência do primeiro lançamento ainda disponível para {@link #replay}
+     */
+    long primeiraSequencia();
+
+    void close();
+}
@@ -0,0 +1,37 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.BeneficioDTO;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * Consultas do {@link BeneficioRepository} montadas em código: a ordenação e o
+ * cursor da listagem variam por requisição.
+ */
+public interface BeneficioConsultas {
+
+    /**
+     * Projeção JPQL de {@code Beneficio b} em {@link BeneficioDTO}: o Hibernate
+     * instancia só o DTO, sem entidade, entrada no contexto de persistência nem
+     * snapshot para dirty checking.
+     */
+    String PROJECAO = "SELECT new com.example.backend.dto.BeneficioDTO("
+            + "b.id, b.nome, b.descricao, b.valor, b.ativo, b.version, b.createdAt, b.updatedAt) FROM Beneficio b";
+
+    /**
+     * Página da listagem projetada direto em {@link BeneficioDTO}, sem entidades
+     * gerenciadas: começa logo após {@code posicao} (keyset) e segue a ordem de
+     * {@code sort}, que deve terminar no ID para ser total.
+     *
+     * @param apenasAtivos {@code true} para listar só os benefícios ativos
+     * @param sort ordenação, com todas as propriedades na mesma direção
+     * @param posicao valores das propriedades de {@code sort} do último benefício
+     *                da página anterior; sem chaves, a primeira página
+     * @param limite tamanho da página
+     * @return até {@code limite} + 1 benefícios: o excedente indica que há próxima página
+     * @throws IllegalArgumentException se {@code sort} tiver propriedade desconhecida
+     */
+    List<BeneficioDTO> findPagina(boolean apenasAtivos, Sort sort, KeysetScrollPosition posicao, int limite);
+}
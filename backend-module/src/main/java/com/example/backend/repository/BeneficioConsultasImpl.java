@@ -0,0 +1,100 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.BeneficioDTO;
+import com.example.backend.entity.Beneficio;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementação de {@link BeneficioConsultas}, ligada ao repositório pelo sufixo
+ * {@code Impl}.
+ *
+ * <p>O JPQL é montado só com propriedades validadas no metamodelo da entidade;
+ * os valores do cursor entram como parâmetros. O cursor vira
+ * {@code b.p1 >= :k0 AND ((b.p1 > :k0) OR (b.p1 = :k0 AND b.p2 > :k1))}
+ * ({@code <=} e {@code <} em ordem decrescente): o limite simples na primeira
+ * propriedade dá ao banco o início da varredura de intervalo no índice
+ * {@code (p1, p2)}, que a disjunção sozinha não daria; ela só descarta as
+ * linhas empatadas em {@code p1} já lidas. A comparação de tupla
+ * {@code (b.p1, b.p2) > (:k0, :k1)} não é usada porque o Hibernate 6.3 não a
+ * aceita com parâmetros.</p>
+ */
+class BeneficioConsultasImpl implements BeneficioConsultas {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BeneficioDTO> findPagina(boolean apenasAtivos, Sort sort, KeysetScrollPosition posicao, int limite) {
+        List<Sort.Order> ordens = sort.toList();
+        for (Sort.Order ordem : ordens) {
+            // Rejeita o que não for atributo da entidade antes de entrar no JPQL
+            entityManager.getMetamodel().entity(Beneficio.class).getAttribute(ordem.getProperty());
+        }
+
+        Map<String, Object> chaves = posicao.getKeys();
+        List<String> condicoes = new ArrayList<>();
+        if (apenasAtivos) {
+            condicoes.add("b.ativo = true");
+        }
+        if (!chaves.isEmpty()) {
+            condicoes.add(aposCursor(ordens));
+        }
+
+        StringBuilder jpql = new StringBuilder(PROJECAO);
+        if (!condicoes.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", condicoes));
+        }
+        List<String> ordenacao = new ArrayList<>();
+        for (Sort.Order ordem : ordens) {
+            ordenacao.add("b." + ordem.getProperty() + (ordem.isAscending() ? " ASC" : " DESC"));
+        }
+        jpql.append(" ORDER BY ").append(String.join(", ", ordenacao));
+
+        TypedQuery<BeneficioDTO> query = entityManager.createQuery(jpql.toString(), BeneficioDTO.class);
+        if (!chaves.isEmpty()) {
+            for (int i = 0; i < ordens.size(); i++) {
+                Object valor = chaves.get(ordens.get(i).getProperty());
+                if (valor == null) {
+                    throw new IllegalArgumentException("Cursor sem valor para " + ordens.get(i).getProperty());
+                }
+                query.setParameter("k" + i, valor);
+            }
+        }
+        return query.setMaxResults(limite + 1).getResultList();
+    }
+
+    /**
+     * Predicado "depois do cursor": a expansão lexicográfica, precedida do
+     * limite da primeira propriedade quando há desempate, para que o banco
+     * tenha um predicado de intervalo simples sobre o índice.
+     */
+    private static String aposCursor(List<Sort.Order> ordens) {
+        List<String> alternativas = new ArrayList<>();
+        for (int i = 0; i < ordens.size(); i++) {
+            StringBuilder alternativa = new StringBuilder("(");
+            for (int j = 0; j < i; j++) {
+                alternativa.append("b.").append(ordens.get(j).getProperty())
+                        .append(" = :k").append(j).append(" AND ");
+            }
+            Sort.Order ordem = ordens.get(i);
+            alternativa.append("b.").append(ordem.getProperty())
+                    .append(ordem.isAscending() ? " > :k" : " < :k").append(i).append(')');
+            alternativas.add(alternativa.toString());
+        }
+        String expansao = "(" + String.join(" OR ", alternativas) + ")";
+        if (ordens.size() == 1) {
+            return expansao;
+        }
+        Sort.Order primeira = ordens.get(0);
+        return "b." + primeira.getProperty() + (primeira.isAscending() ? " >= :k0" : " <= :k0")
+                + " AND " + expansao;
+    }
+}
@@ -1,22 +1,106 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.BeneficioDTO;
 import com.example.backend.entity.Beneficio;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BeneficioRepository extends JpaRepository<Beneficio, Long> {
+public interface BeneficioRepository extends JpaRepository<Beneficio, Long>, BeneficioConsultas {
 
-    @Query("SELECT b FROM Beneficio b WHERE b.ativo = true ORDER BY b.nome")
-    List<Beneficio> findAllAtivos();
+    int EXPORT_FETCH_SIZE = 500;
+
+    /**
+     * Benefício projetado direto em {@link BeneficioDTO}: sem entidade
+     * gerenciada nem snapshot para dirty checking.
+     */
+    @Query(PROJECAO + " WHERE b.id = :id")
+    Optional<BeneficioDTO> findDtoById(Long id);
+
+    /**
+     * Todos os benefícios em ordem de ID, projetados em {@link BeneficioDTO} e
+     * lidos do cursor JDBC em lotes de {@value #EXPORT_FETCH_SIZE} linhas.
+     *
+     * <p>O stream precisa ser consumido e fechado dentro de uma transação. Sem
+     * entidades, o contexto de persistência não cresce com a tabela.</p>
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(PROJECAO + " ORDER BY b.id")
+    Stream<BeneficioDTO> streamAll();
+
+    /**
+     * Versão do benefício para a ETag, pela chave primária e sem entidade.
+     */
+    @Query("SELECT b.id AS id, b.version AS version, b.valor AS valor FROM Beneficio b WHERE b.id = :id")
+    Optional<BeneficioVersao> findVersaoById(Long id);
 
     @Query("SELECT b FROM Beneficio b WHERE b.id = :id AND b.ativo = true")
     Optional<Beneficio> findByIdAndAtivo(Long id);
 
+    /**
+     * Carrega e bloqueia (SELECT ... FOR UPDATE) os benefícios informados em ordem
+     * crescente de ID, garantindo ordem de lock determinística entre transações.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Beneficio b WHERE b.id IN :ids ORDER BY b.id")
+    List<Beneficio> findAllByIdInForUpdate(Collection<Long> ids);
+
+    /**
+     * Debita o valor em um único UPDATE condicional, sem leitura prévia.
+     * 
+     * @return 1 se o débito foi aplicado; 0 se o benefício não existe, está inativo
+     *         ou não possui saldo suficiente
+     */
+    @Modifying
+    @Query("UPDATE Beneficio b SET b.valor = b.valor - :valor, b.version = b.version + 1, "
+            + "b.updatedAt = LOCAL DATETIME WHERE b.id = :id AND b.ativo = true AND b.valor >= :valor")
+    int debitar(Long id, BigDecimal valor);
+
+    /**
+     * Credita o valor em um único UPDATE condicional, sem leitura prévia.
+     * 
+     * @return 1 se o crédito foi aplicado; 0 se o benefício não existe ou está inativo
+     */
+    @Modifying
+    @Query("UPDATE Beneficio b SET b.valor = b.valor + :valor, b.version = b.version + 1, "
+            + "b.updatedAt = LOCAL DATETIME WHERE b.id = :id AND b.ativo = true")
+    int creditar(Long id, BigDecimal valor);
+
+    /**
+     * Soma ao saldo uma variação (positiva ou negativa) já validada fora do banco,
+     * usada pelo write-behind do motor em memória.
+     */
+    @Modifying
+    @Query("UPDATE Beneficio b SET b.valor = b.valor + :variacao, b.version = b.version + 1, "
+            + "b.updatedAt = LOCAL DATETIME WHERE b.id = :id")
+    int aplicarVariacao(Long id, BigDecimal variacao);
+
+    @Query("SELECT b.id AS id, b.valor AS valor FROM Beneficio b WHERE b.id IN :ids")
+    List<BeneficioSaldo> findSaldosByIdIn(Collection<Long> ids);
+
+    /**
+     * Benefícios com saldo dividido em slots ({@code SALDO_PARCIAL}).
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT b FROM Beneficio b WHERE b.slots > 0")
+    List<Beneficio> findListrados();
+
     boolean existsByNome(String nome);
 
     @Query("SELECT COUNT(b) > 0 FROM Beneficio b WHERE b.nome = :nome AND b.id <> :id")
@@ -0,0 +1,14 @@
+package com.example.backend.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção com apenas o saldo de um benefício, usada quando não é necessário
+ * carregar a entidade completa.
+ */
+public interface BeneficioSaldo {
+
+    Long getId();
+
+    BigDecimal getValor();
+}
@@ -0,0 +1,16 @@
+package com.example.backend.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção com o necessário para a ETag de um benefício, sem carregar a
+ * entidade: a versão e, para benefícios listrados, o valor base.
+ */
+public interface BeneficioVersao {
+
+    Long getId();
+
+    Long getVersion();
+
+    BigDecimal getValor();
+}
@@ -0,0 +1,54 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.ChaveIdempotencia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ChaveIdempotenciaRepository extends JpaRepository<ChaveIdempotencia, String> {
+
+    /**
+     * Grava a resposta de uma chave reservada e estende sua validade.
+     *
+     * @return 1 se a reserva ainda existia; 0 caso contrário
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ChaveIdempotencia c SET c.resposta = :resposta, c.expiraEm = :expiraEm WHERE c.chave = :chave")
+    int concluir(String chave, String resposta, LocalDateTime expiraEm);
+
+    /**
+     * Remove uma reserva sem resposta, liberando a chave para nova tentativa.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ChaveIdempotencia c WHERE c.chave = :chave AND c.resposta IS NULL")
+    int liberar(String chave);
+
+    /**
+     * Remove uma resposta vencida. Reservas sem resposta nunca são removidas por
+     * prazo: a transferência pode ter sido efetivada (ver {@link #countPendentes}).
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ChaveIdempotencia c WHERE c.chave = :chave AND c.resposta IS NOT NULL "
+            + "AND c.expiraEm < :agora")
+    int deleteExpirada(String chave, LocalDateTime agora);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ChaveIdempotencia c WHERE c.resposta IS NOT NULL AND c.expiraEm < :agora")
+    int deleteExpiradas(LocalDateTime agora);
+
+    /**
+     * Reservas sem resposta além do prazo de processamento: o nó caiu ou não
+     * conseguiu gravar a resposta, e o resultado da transferência é desconhecido.
+     */
+    @Query("SELECT COUNT(c) FROM ChaveIdempotencia c WHERE c.resposta IS NULL AND c.expiraEm < :agora")
+    long countPendentes(LocalDateTime agora);
+}
@@ -0,0 +1,24 @@
+package com.example.backend.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projeção de uma linha do livro-razão vista por um dos benefícios envolvidos:
+ * {@code tipo} é {@code DEBITO} ou {@code CREDITO} e {@code saldo} é o saldo
+ * resultante desse benefício.
+ */
+public interface MovimentacaoView {
+
+    Long getId();
+
+    LocalDateTime getCreatedAt();
+
+    String getTipo();
+
+    Long getContraparteId();
+
+    BigDecimal getValor();
+
+    BigDecimal getSaldo();
+}
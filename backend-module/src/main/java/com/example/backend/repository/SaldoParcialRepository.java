@@ -0,0 +1,45 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.SaldoParcial;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SaldoParcialRepository extends JpaRepository<SaldoParcial, SaldoParcial.Chave> {
+
+    /**
+     * Credita um slot em um único UPDATE, bloqueando apenas a linha do slot.
+     *
+     * @return 1 se o slot existe; 0 caso contrário
+     */
+    @Modifying
+    @Query("UPDATE SaldoParcial s SET s.valor = s.valor + :valor "
+            + "WHERE s.beneficioId = :beneficioId AND s.slot = :slot")
+    int creditar(Long beneficioId, Integer slot, BigDecimal valor);
+
+    /**
+     * Carrega e bloqueia (SELECT ... FOR UPDATE) os slots do benefício em ordem de slot.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SaldoParcial s WHERE s.beneficioId = :beneficioId ORDER BY s.slot")
+    List<SaldoParcial> findByBeneficioIdForUpdate(Long beneficioId);
+
+    @Query("SELECT COALESCE(SUM(s.valor), 0) FROM SaldoParcial s WHERE s.beneficioId = :beneficioId")
+    BigDecimal somarPorBeneficio(Long beneficioId);
+
+    @Query("SELECT s.beneficioId AS id, SUM(s.valor) AS valor FROM SaldoParcial s "
+            + "WHERE s.beneficioId IN :ids GROUP BY s.beneficioId")
+    List<BeneficioSaldo> somarPorBeneficios(Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM SaldoParcial s WHERE s.beneficioId = :beneficioId")
+    int deleteByBeneficioId(Long beneficioId);
+}
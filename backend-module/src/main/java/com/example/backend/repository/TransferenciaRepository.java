@@ -0,0 +1,52 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.Transferencia;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+@Repository
+public interface TransferenciaRepository extends JpaRepository<Transferencia, Long> {
+
+    /**
+     * Movimentações de um benefício anteriores ao cursor {@code (antesDe, antesDeId)},
+     * da mais recente para a mais antiga.
+     *
+     * <p>Keyset pagination: cada metade do {@code UNION ALL} é uma varredura de
+     * intervalo no índice {@code (BENEFICIO_*_ID, CREATED_AT DESC, ID DESC)} que
+     * para após {@code limite} linhas, então o custo não depende da profundidade
+     * da página. Um {@code OR} entre origem e destino impediria o uso dos dois
+     * índices com a mesma ordenação.</p>
+     *
+     * <p>O stream precisa ser consumido e fechado dentro de uma transação.</p>
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "100"))
+    @Query(nativeQuery = true, value = """
+            SELECT m.id, m.createdAt, m.tipo, m.contraparteId, m.valor, m.saldo FROM (
+              (SELECT t.ID AS id, t.CREATED_AT AS createdAt, 'DEBITO' AS tipo,
+                      t.BENEFICIO_DESTINO_ID AS contraparteId, t.VALOR AS valor, t.SALDO_ORIGEM AS saldo
+                 FROM TRANSFERENCIA t
+                WHERE t.BENEFICIO_ORIGEM_ID = :beneficioId
+                  AND (t.CREATED_AT, t.ID) < (:antesDe, :antesDeId)
+                ORDER BY t.CREATED_AT DESC, t.ID DESC
+                LIMIT :limite)
+              UNION ALL
+              (SELECT t.ID AS id, t.CREATED_AT AS createdAt, 'CREDITO' AS tipo,
+                      t.BENEFICIO_ORIGEM_ID AS contraparteId, t.VALOR AS valor, t.SALDO_DESTINO AS saldo
+                 FROM TRANSFERENCIA t
+                WHERE t.BENEFICIO_DESTINO_ID = :beneficioId
+                  AND (t.CREATED_AT, t.ID) < (:antesDe, :antesDeId)
+                ORDER BY t.CREATED_AT DESC, t.ID DESC
+                LIMIT :limite)
+            ) m
+            ORDER BY m.createdAt DESC, m.id DESC
+            LIMIT :limite
+            """)
+    Stream<MovimentacaoView> streamMovimentacoes(Long beneficioId, LocalDateTime antesDe, Long antesDeId, int limite);
+}
@@ -0,0 +1,113 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BeneficioDTO;
+import com.example.backend.exception.BeneficioNotFoundException;
+import com.example.backend.repository.BeneficioRepository;
+import com.example.backend.service.transfer.StripedBalances;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Cache local de {@link BeneficioDTO} por ID, na frente de
+ * {@link BeneficioService#findById}.
+ *
+ * <p>Limitado por tamanho e TTL ({@code app.beneficio.cache.max-size} e
+ * {@code app.beneficio.cache.ttl}). Leituras simultâneas de um ID ausente
+ * carregam o benefício uma única vez: as demais aguardam a carga em andamento.
+ * Benefícios inexistentes não são guardados.</p>
+ *
+ * <p>Toda escrita de saldo ou cadastro (CRUD, livro-razão das transferências e
+ * write-behind do motor) invalida os IDs afetados depois do commit. Uma carga
+ * concorrente com o commit termina antes da invalidação, que a descarta, então
+ * o cache nunca fica com uma versão anterior à confirmada. Escritas feitas fora
+ * desta instância (outros nós, módulo EJB) só aparecem depois do TTL.</p>
+ *
+ * <p>Métricas {@code cache.*} com a tag {@code cache=beneficio}: acertos e
+ * faltas ({@code cache.gets}), cargas e tempo de carga ({@code cache.load},
+ * {@code cache.load.duration}) e remoções por limite ({@code cache.evictions}).</p>
+ */
+@Component
+public class BeneficioCache {
+
+    public static final String NAME = "beneficio";
+
+    private final BeneficioRepository repository;
+    private final StripedBalances stripedBalances;
+    private final LoadingCache<Long, BeneficioDTO> cache;
+
+    public BeneficioCache(BeneficioRepository repository, StripedBalances stripedBalances,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.beneficio.cache.max-size:10000}") long maxSize,
+                          @Value("${app.beneficio.cache.ttl:5m}") Duration ttl) {
+        this.repository = repository;
+        this.stripedBalances = stripedBalances;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(this::carregar);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    /**
+     * Devolve o benefício em cache ou o carrega do banco, com o valor já somado
+     * aos slots se ele for listrado.
+     *
+     * @return cópia do DTO em cache, que o chamador pode alterar
+     * @throws BeneficioNotFoundException se o benefício não existir
+     */
+    public BeneficioDTO get(Long id) {
+        return copia(cache.get(id));
+    }
+
+    /**
+     * Invalida os IDs depois do commit da transação corrente, ou imediatamente
+     * se não houver transação. Em rollback, o cache é mantido.
+     */
+    public void invalidarAposCommit(Long... ids) {
+        invalidarAposCommit(List.of(ids));
+    }
+
+    /**
+     * @see #invalidarAposCommit(Long...)
+     */
+    public void invalidarAposCommit(Collection<Long> ids) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidateAll(ids);
+            return;
+        }
+        List<Long> afetados = List.copyOf(ids);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.invalidateAll(afetados);
+            }
+        });
+    }
+
+    private BeneficioDTO carregar(Long id) {
+        BeneficioDTO dto = repository.findDtoById(id)
+                .orElseThrow(() -> new BeneficioNotFoundException(id));
+        BigDecimal slots = stripedBalances.somarSlots(List.of(id)).get(id);
+        if (slots != null) {
+            dto.setValor(dto.getValor().add(slots));
+        }
+        return dto;
+    }
+
+    private static BeneficioDTO copia(BeneficioDTO dto) {
+        return new BeneficioDTO(dto.getId(), dto.getNome(), dto.getDescricao(), dto.getValor(),
+                dto.getAtivo(), dto.getVersion(), dto.getCreatedAt(), dto.getUpdatedAt());
+    }
+}
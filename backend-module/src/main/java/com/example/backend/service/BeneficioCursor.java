@@ -0,0 +1,68 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BeneficioDTO;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Cursor das listagens de benefícios: ordenação, direção e a posição
+ * {@code (campo, ID)} do último benefício entregue, em Base64 para que o
+ * cliente o trate como opaco.
+ *
+ * <p>A ordenação faz parte do cursor: um cursor só vale para a ordenação que o
+ * gerou, e usá-lo com outra é rejeitado em vez de pular ou repetir benefícios.</p>
+ */
+final class BeneficioCursor {
+
+    private static final String SEPARADOR = "|";
+
+    private BeneficioCursor() {
+    }
+
+    static String encode(OrdenacaoBeneficio ordenacao, Sort.Direction direcao, BeneficioDTO ultimo) {
+        String posicao = ordenacao.getCampo() + SEPARADOR + direcao + SEPARADOR + ultimo.getId()
+                + SEPARADOR + ordenacao.valor(ultimo);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(posicao.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return posição logo após o benefício do cursor
+     * @throws IllegalArgumentException se o cursor for inválido ou de outra ordenação
+     */
+    static KeysetScrollPosition decode(String cursor, OrdenacaoBeneficio ordenacao, Sort.Direction direcao) {
+        String[] partes;
+        try {
+            partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARADOR, 4);
+        } catch (IllegalArgumentException e) {
+            throw invalido(cursor);
+        }
+        if (partes.length != 4) {
+            throw invalido(cursor);
+        }
+        if (!partes[0].equals(ordenacao.getCampo()) || !partes[1].equals(direcao.name())) {
+            throw new IllegalArgumentException("Cursor de paginação gerado para outra ordenação: use sort="
+                    + partes[0] + "," + partes[1].toLowerCase(Locale.ROOT));
+        }
+        try {
+            Map<String, Object> chaves = new LinkedHashMap<>();
+            chaves.put(ordenacao.getCampo(), ordenacao.converter(partes[3]));
+            chaves.put(OrdenacaoBeneficio.ID.getCampo(), Long.valueOf(partes[2]));
+            return ScrollPosition.forward(chaves);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw invalido(cursor);
+        }
+    }
+
+    private static IllegalArgumentException invalido(String cursor) {
+        return new IllegalArgumentException("Cursor de paginação inválido: " + cursor);
+    }
+}
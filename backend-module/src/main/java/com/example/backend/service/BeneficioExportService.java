@@ -0,0 +1,62 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BeneficioDTO;
+import com.example.backend.repository.BeneficioRepository;
+import com.example.backend.service.transfer.StripedBalances;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Exportação completa da tabela {@code BENEFICIO}, entregue linha a linha.
+ *
+ * <p>Os benefícios vêm de um cursor JDBC ({@link BeneficioRepository#streamAll()}),
+ * projetados direto em DTOs, sem entidades no contexto de persistência: a
+ * memória usada não depende do tamanho da tabela. Como nas demais leituras, {@code valor} é
+ * o saldo total, somando os slots dos benefícios listrados.</p>
+ */
+@Service
+public class BeneficioExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BeneficioExportService.class);
+
+    private final BeneficioRepository repository;
+    private final StripedBalances stripedBalances;
+
+    public BeneficioExportService(BeneficioRepository repository, StripedBalances stripedBalances) {
+        this.repository = repository;
+        this.stripedBalances = stripedBalances;
+    }
+
+    /**
+     * Entrega todos os benefícios, em ordem de ID, ao consumidor à medida que
+     * são lidos do banco.
+     *
+     * @param consumer recebe cada benefício
+     * @return quantidade de benefícios exportados
+     */
+    @Transactional(readOnly = true)
+    public long export(Consumer<BeneficioDTO> consumer) {
+        // Os listrados são poucos: somar os slots de todos de uma vez evita uma consulta por linha
+        Map<Long, BigDecimal> slots = stripedBalances.somarSlots(stripedBalances.getListrados().keySet());
+        long exportados = 0;
+        try (Stream<BeneficioDTO> beneficios = repository.streamAll()) {
+            for (BeneficioDTO dto : (Iterable<BeneficioDTO>) beneficios::iterator) {
+                BigDecimal soma = slots.get(dto.getId());
+                if (soma != null) {
+                    dto.setValor(dto.getValor().add(soma));
+                }
+                consumer.accept(dto);
+                exportados++;
+            }
+        }
+        log.debug("Exportação concluída: {} benefícios", exportados);
+        return exportados;
+    }
+}
@@ -4,18 +4,40 @@ import com.example.backend.dto.*;
 import com.example.backend.entity.Beneficio;
 import com.example.backend.exception.BeneficioConflictException;
 import com.example.backend.exception.BeneficioNotFoundException;
+import com.example.backend.jfr.TransferReceivedEvent;
 import com.example.backend.mapper.BeneficioMapper;
 import com.example.backend.repository.BeneficioRepository;
-import jakarta.persistence.OptimisticLockException;
+import com.example.backend.service.engine.LedgerEngine;
+import com.example.backend.service.transfer.GroupCommitStage;
+import com.example.backend.service.transfer.StripedBalances;
+import com.example.backend.service.transfer.StripedTransferStrategy;
+import com.example.backend.service.transfer.TransferBatchProcessor;
+import com.example.backend.service.transfer.TransferRetryScheduler;
+import com.example.backend.service.transfer.TransferStrategy;
+import com.example.backend.service.transfer.TransferStrategyRegistry;
+import com.example.backend.service.transfer.TransferSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 /**
@@ -33,58 +55,195 @@ import java.util.stream.Collectors;
 public class BeneficioService {
 
     private static final Logger log = LoggerFactory.getLogger(BeneficioService.class);
-    private static final int MAX_RETRY_ATTEMPTS = 10;
-    private static final long RETRY_DELAY_MS = 100;
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
 
     private final BeneficioRepository repository;
     private final BeneficioMapper mapper;
+    private final ModoLote modoLotePadrao;
+    private final TransferStrategyRegistry strategyRegistry;
+    private final TransferRetryScheduler retryScheduler;
+    private final IdempotencyService idempotencyService;
+    private final TransferBatchProcessor batchProcessor;
+    private final GroupCommitStage groupCommit;
+    private final LedgerEngine ledgerEngine;
+    private final StripedBalances stripedBalances;
+    private final BeneficioCache cache;
 
-    public BeneficioService(BeneficioRepository repository, BeneficioMapper mapper) {
+    public BeneficioService(BeneficioRepository repository, BeneficioMapper mapper,
+                            TransferStrategyRegistry strategyRegistry,
+                            TransferRetryScheduler retryScheduler,
+                            IdempotencyService idempotencyService,
+                            TransferBatchProcessor batchProcessor,
+                            GroupCommitStage groupCommit,
+                            LedgerEngine ledgerEngine,
+                            StripedBalances stripedBalances,
+                            BeneficioCache cache,
+                            @Value("${app.transfer.lote.modo-padrao:TUDO_OU_NADA}") ModoLote modoLotePadrao) {
         this.repository = repository;
         this.mapper = mapper;
+        this.strategyRegistry = strategyRegistry;
+        this.retryScheduler = retryScheduler;
+        this.idempotencyService = idempotencyService;
+        this.batchProcessor = batchProcessor;
+        this.groupCommit = groupCommit;
+        this.ledgerEngine = ledgerEngine;
+        this.stripedBalances = stripedBalances;
+        this.cache = cache;
+        this.modoLotePadrao = modoLotePadrao;
     }
 
     /**
-     * Lista todos os benefícios (ativos e inativos).
+     * Lista uma página de todos os benefícios (ativos e inativos).
      * 
-     * @return lista de DTOs com todos os benefícios
+     * @param after cursor devolvido pela página anterior; {@code null} para a primeira página
+     * @param limit tamanho da página; {@code null} usa {@link #DEFAULT_LIMIT}
+     * @param sort campo de {@link OrdenacaoBeneficio}, opcionalmente seguido de {@code ,asc}
+     *             ou {@code ,desc}; {@code null} ordena por ID
+     * @return página de DTOs e cursor da próxima
+     * @throws IllegalArgumentException se o cursor, o limite ou a ordenação forem inválidos
      */
     @Transactional(readOnly = true)
-    public List<BeneficioDTO> findAll() {
-        log.debug("Buscando todos os benefícios");
-        return repository.findAll()
-                .stream()
-                .map(mapper::toDTO)
-                .collect(Collectors.toList());
+    public Pagina findAll(String after, Integer limit, String sort) {
+        log.debug("Buscando benefícios - after: {}, limit: {}, sort: {}", after, limit, sort);
+        return listar(false, after, limit, sort);
     }
 
     /**
-     * Lista apenas os benefícios ativos.
+     * Lista uma página dos benefícios ativos.
      * 
-     * @return lista de DTOs com benefícios ativos
+     * @param sort como em {@link #findAll}; {@code null} ordena por nome
+     * @return página de DTOs e cursor da próxima
+     * @throws IllegalArgumentException se o cursor, o limite ou a ordenação forem inválidos
+     * @see #findAll(String, Integer, String)
      */
     @Transactional(readOnly = true)
-    public List<BeneficioDTO> findAllAtivos() {
-        log.debug("Buscando benefícios ativos");
-        return repository.findAllAtivos()
-                .stream()
-                .map(mapper::toDTO)
-                .collect(Collectors.toList());
+    public Pagina findAllAtivos(String after, Integer limit, String sort) {
+        log.debug("Buscando benefícios ativos - after: {}, limit: {}, sort: {}", after, limit, sort);
+        return listar(true, after, limit, sort);
+    }
+
+    /**
+     * Keyset pagination: a página começa logo após a posição do cursor, sem
+     * {@code OFFSET}, e só as linhas dela (mais uma, para saber se há próxima)
+     * são lidas, projetadas direto em DTOs.
+     */
+    private Pagina listar(boolean apenasAtivos, String after, Integer limit, String sort) {
+        Listagem listagem = listagem(apenasAtivos, after, limit, sort);
+        List<BeneficioDTO> beneficios = repository.findPagina(apenasAtivos,
+                listagem.ordenacao().sort(listagem.direcao()), listagem.posicao(), listagem.limite());
+        String proximoCursor = null;
+        if (beneficios.size() > listagem.limite()) {
+            beneficios = beneficios.subList(0, listagem.limite());
+            proximoCursor = BeneficioCursor.encode(listagem.ordenacao(), listagem.direcao(),
+                    beneficios.get(listagem.limite() - 1));
+        }
+        beneficios = comSaldoTotal(beneficios);
+        return new Pagina(beneficios, proximoCursor, etagPagina(listagem, after, beneficios, proximoCursor));
+    }
+
+    /**
+     * ETag de uma página: resumo SHA-256 da ordenação, do limite e do cursor
+     * pedidos e da ETag de cada benefício da página (ID, versão e saldo total),
+     * além do cursor da próxima. Sai da própria página, sem consulta extra; páginas
+     * com parâmetros diferentes nunca compartilham a ETag, e qualquer inclusão,
+     * exclusão ou alteração que mude a página muda a ETag.
+     */
+    private static String etagPagina(Listagem listagem, String after, List<BeneficioDTO> beneficios,
+                                     String proximoCursor) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        StringBuilder conteudo = new StringBuilder()
+                .append(listagem.ordenacao().getCampo()).append(',').append(listagem.direcao())
+                .append('|').append(listagem.limite())
+                .append('|').append(after != null ? after : "")
+                .append('|').append(proximoCursor != null ? proximoCursor : "");
+        for (BeneficioDTO beneficio : beneficios) {
+            conteudo.append('|').append(etag(beneficio));
+        }
+        byte[] resumo = digest.digest(conteudo.toString().getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(resumo, 0, 16);
     }
 
     /**
-     * Busca um benefício por ID.
+     * Valida os parâmetros de uma listagem; sem ordenação, a listagem completa
+     * ordena por ID e a de ativos por nome.
+     * 
+     * @throws IllegalArgumentException se o cursor, o limite ou a ordenação forem inválidos
+     */
+    private static Listagem listagem(boolean apenasAtivos, String after, Integer limit, String sort) {
+        int limite = limit != null ? limit : DEFAULT_LIMIT;
+        if (limite < 1 || limite > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + MAX_LIMIT);
+        }
+        OrdenacaoBeneficio ordenacao = apenasAtivos ? OrdenacaoBeneficio.NOME : OrdenacaoBeneficio.ID;
+        Sort.Direction direcao = Sort.Direction.ASC;
+        if (sort != null && !sort.isBlank()) {
+            String[] partes = sort.split(",", 2);
+            ordenacao = OrdenacaoBeneficio.of(partes[0].trim());
+            if (partes.length > 1) {
+                direcao = OrdenacaoBeneficio.direcao(partes[1].trim());
+            }
+        }
+        KeysetScrollPosition posicao = after == null || after.isBlank()
+                ? ScrollPosition.keyset()
+                : BeneficioCursor.decode(after, ordenacao, direcao);
+        return new Listagem(limite, ordenacao, direcao, posicao);
+    }
+
+    /**
+     * Busca um benefício por ID, pelo {@link BeneficioCache}.
+     * 
+     * <p>Sem transação própria: um acerto no cache não abre conexão com o banco.</p>
      * 
      * @param id ID do benefício
      * @return DTO do benefício encontrado
      * @throws BeneficioNotFoundException se o benefício não existir
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BeneficioDTO findById(Long id) {
         log.debug("Buscando benefício com ID: {}", id);
-        Beneficio entity = repository.findById(id)
-                .orElseThrow(() -> new BeneficioNotFoundException(id));
-        return mapper.toDTO(entity);
+        return cache.get(id);
+    }
+
+    /**
+     * ETag atual de um benefício, lida pela chave primária sem carregar a
+     * entidade nem o DTO completo.
+     * 
+     * @param id ID do benefício
+     * @return ETag (sem aspas), ou vazio se o benefício não existir
+     * @see #etag(BeneficioDTO)
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<String> findEtag(Long id) {
+        return repository.findVersaoById(id).map(versao -> {
+            BigDecimal valor = versao.getValor();
+            BigDecimal slots = stripedBalances.somarSlots(List.of(id)).get(id);
+            if (slots != null) {
+                valor = valor.add(slots);
+            }
+            return etag(id, versao.getVersion(), valor);
+        });
+    }
+
+    /**
+     * ETag forte de um benefício: ID, versão e saldo total. O saldo só é
+     * necessário para benefícios listrados, cujos créditos vão para os slots sem
+     * incrementar a versão da linha base.
+     * 
+     * @return ETag (sem aspas)
+     */
+    public static String etag(BeneficioDTO dto) {
+        return etag(dto.getId(), dto.getVersion(), dto.getValor());
+    }
+
+    private static String etag(Long id, Long version, BigDecimal valor) {
+        return id + "-" + version + "-" + valor.toPlainString();
     }
 
     /**
@@ -104,6 +263,7 @@ public class BeneficioService {
 
         Beneficio entity = mapper.toEntity(requestDTO);
         Beneficio saved = repository.save(entity);
+        cache.invalidarAposCommit(saved.getId());
         
         log.info("Benefício criado com sucesso. ID: {}", saved.getId());
         return mapper.toDTO(saved);
@@ -116,9 +276,11 @@ public class BeneficioService {
      * @param requestDTO novos dados do benefício
      * @return DTO do benefício atualizado
      * @throws BeneficioNotFoundException se o benefício não existir
+     * @throws BeneficioConflictException com o motor em memória ativo
      */
     public BeneficioDTO update(Long id, BeneficioRequestDTO requestDTO) {
         log.info("Atualizando benefício ID: {}", id);
+        ledgerEngine.rejeitarEscritaExterna("Atualização de benefício");
         
         Beneficio entity = repository.findById(id)
                 .orElseThrow(() -> new BeneficioNotFoundException(id));
@@ -129,8 +291,13 @@ public class BeneficioService {
             throw new BeneficioConflictException("Já existe outro benefício com o nome: " + requestDTO.getNome());
         }
 
+        if (stripedBalances.isStriped(id)) {
+            // O valor informado é o saldo total: os slots são zerados e ele fica na base
+            stripedBalances.zerarSlots(id);
+        }
         mapper.updateEntity(entity, requestDTO);
         Beneficio updated = repository.save(entity);
+        cache.invalidarAposCommit(id);
         
         log.info("Benefício atualizado com sucesso. ID: {}", id);
         return mapper.toDTO(updated);
@@ -141,9 +308,11 @@ public class BeneficioService {
      * 
      * @param id ID do benefício a excluir
      * @throws BeneficioNotFoundException se o benefício não existir
+     * @throws BeneficioConflictException com o motor em memória ativo
      */
     public void delete(Long id) {
         log.info("Excluindo benefício ID: {}", id);
+        ledgerEngine.rejeitarEscritaExterna("Exclusão de benefício");
         
         Beneficio entity = repository.findById(id)
                 .orElseThrow(() -> new BeneficioNotFoundException(id));
@@ -151,128 +320,204 @@ public class BeneficioService {
         // Soft delete: apenas marca como inativo
         entity.setAtivo(false);
         repository.save(entity);
+        cache.invalidarAposCommit(id);
         
         log.info("Benefício excluído (soft delete) com sucesso. ID: {}", id);
     }
 
     /**
-     * Realiza transferência de valor entre benefícios com optimistic locking.
-     * 
-     * <p>Implementa retry logic para lidar com conflitos de concorrência.
-     * Utiliza o campo @Version da entidade para controle de versão.</p>
+     * Realiza transferência de valor entre benefícios usando a estratégia padrão.
      * 
      * @param requestDTO dados da transferência
      * @return resposta com detalhes da transferência
      * @throws BeneficioNotFoundException se origem ou destino não existir
      * @throws BeneficioConflictException se validação falhar ou retry esgotar
+     * @see #transferAsync(TransferenciaRequestDTO, String)
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public TransferenciaResponseDTO transfer(TransferenciaRequestDTO requestDTO) {
-        log.info("Iniciando transferência: {} -> {}, valor: {}", 
+        return transfer(requestDTO, null);
+    }
+
+    /**
+     * Realiza transferência de valor entre benefícios com a estratégia informada,
+     * aguardando o resultado na thread chamadora.
+     * 
+     * @param requestDTO dados da transferência
+     * @param strategyName nome da estratégia ({@code null} usa {@code app.transfer.strategy})
+     * @return resposta com detalhes da transferência
+     * @throws BeneficioNotFoundException se origem ou destino não existir
+     * @throws BeneficioConflictException se validação falhar ou retry esgotar
+     * @throws IllegalArgumentException se a estratégia informada não existir
+     * @see #transferAsync(TransferenciaRequestDTO, String)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TransferenciaResponseDTO transfer(TransferenciaRequestDTO requestDTO, String strategyName) {
+        try {
+            return transferAsync(requestDTO, strategyName).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Inicia uma transferência de valor entre benefícios sem bloquear a thread chamadora.
+     * 
+     * <p>IDs, valor e estratégia são validados aqui, antes de qualquer acesso ao
+     * banco. As tentativas rodam no {@link TransferRetryScheduler}, cada uma em
+     * transação própria; conflitos de concorrência são reagendados com backoff
+     * exponencial com jitter, sem ocupar threads durante a espera.</p>
+     * 
+     * @param requestDTO dados da transferência
+     * @param strategyName nome da estratégia ({@code null} usa {@code app.transfer.strategy})
+     * @return future com a resposta, ou concluído com {@link BeneficioNotFoundException}
+     *         ou {@link BeneficioConflictException}
+     * @throws BeneficioConflictException se origem e destino forem iguais ou o valor não for positivo
+     * @throws IllegalArgumentException se a estratégia informada não existir
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<TransferenciaResponseDTO> transferAsync(TransferenciaRequestDTO requestDTO,
+                                                                     String strategyName) {
+        return transferAsync(requestDTO, strategyName, null);
+    }
+
+    /**
+     * Inicia uma transferência idempotente sem bloquear a thread chamadora.
+     * 
+     * <p>Com {@code idempotencyKey}, a primeira resposta de sucesso é gravada e
+     * devolvida às requisições seguintes com a mesma chave, sem nova execução;
+     * requisições simultâneas com a mesma chave aguardam a primeira.</p>
+     * 
+     * @param requestDTO dados da transferência
+     * @param strategyName nome da estratégia ({@code null} usa {@code app.transfer.strategy})
+     * @param idempotencyKey valor do header {@code Idempotency-Key} ({@code null} desativa a deduplicação)
+     * @return future com a resposta
+     * @throws IllegalArgumentException se a estratégia não existir ou a chave for reutilizada com outros dados
+     * @see IdempotencyService
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<TransferenciaResponseDTO> transferAsync(TransferenciaRequestDTO requestDTO,
+                                                                     String strategyName,
+                                                                     String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return startTransfer(requestDTO, strategyName);
+        }
+        return idempotencyService.execute(idempotencyKey, requestDTO,
+                () -> startTransfer(requestDTO, strategyName));
+    }
+
+    private CompletableFuture<TransferenciaResponseDTO> startTransfer(TransferenciaRequestDTO requestDTO,
+                                                                      String strategyName) {
+        TransferStrategy strategy = strategyRegistry.resolve(strategyName);
+        boolean listrada = stripedBalances.isStriped(requestDTO.getBeneficioOrigemId())
+                || stripedBalances.isStriped(requestDTO.getBeneficioDestinoId());
+        if (listrada) {
+            // Demais estratégias (e o group commit) ignoram os slots e bloqueariam a linha base
+            strategy = strategyRegistry.resolve(StripedTransferStrategy.NAME);
+        }
+
+        log.info("Iniciando transferência ({}): {} -> {}, valor: {}", 
+                strategy.getName(),
                 requestDTO.getBeneficioOrigemId(), 
                 requestDTO.getBeneficioDestinoId(), 
                 requestDTO.getValor());
 
-        // Validações básicas
-        if (requestDTO.getBeneficioOrigemId().equals(requestDTO.getBeneficioDestinoId())) {
-            throw new BeneficioConflictException("Origem e destino não podem ser iguais");
+        TransferSupport.validateRequest(requestDTO);
+        TransferReceivedEvent.emit(requestDTO.getBeneficioOrigemId(), requestDTO.getBeneficioDestinoId(),
+                requestDTO.getValor(), strategy.getName());
+
+        if (ledgerEngine.isEnabled()) {
+            return ledgerEngine.submit(requestDTO);
+        }
+        if (groupCommit.isEnabled() && !listrada && (strategyName == null || strategyName.isBlank())) {
+            return groupCommit.submit(requestDTO);
         }
+        return retryScheduler.submit(strategy, requestDTO);
+    }
+
+    /**
+     * Executa um lote de transferências em uma única transação.
+     * 
+     * <p>Todos os benefícios envolvidos são bloqueados de uma só vez, em ordem
+     * crescente de ID, o que evita deadlocks entre lotes concorrentes. As pernas
+     * são aplicadas sobre saldos em memória e os novos valores são gravados no
+     * commit via JDBC batching (ver {@link TransferBatchProcessor}).</p>
+     * 
+     * <p>No modo {@link ModoLote#TUDO_OU_NADA} qualquer item inválido impede a
+     * gravação de todo o lote; em {@link ModoLote#MELHOR_ESFORCO} apenas os itens
+     * válidos são efetivados e as falhas são reportadas individualmente.</p>
+     * 
+     * @param requestDTO transferências do lote e modo de aplicação
+     * @return resultado de cada transferência, na ordem da requisição
+     * @throws BeneficioConflictException com o motor em memória ativo
+     */
+    public TransferenciaLoteResponseDTO transferBatch(TransferenciaLoteRequestDTO requestDTO) {
+        ledgerEngine.rejeitarEscritaExterna("Lote de transferências");
+        List<TransferenciaRequestDTO> itens = requestDTO.getTransferencias();
+        ModoLote modo = requestDTO.getModo() != null ? requestDTO.getModo() : modoLotePadrao;
 
-        if (requestDTO.getValor().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new BeneficioConflictException("Valor deve ser maior que zero");
+        log.info("Iniciando lote de transferências: {} itens, modo: {}", itens.size(), modo);
+
+        List<TransferBatchProcessor.LegResult> pernas = batchProcessor.apply(itens, modo);
+        List<TransferenciaLoteResponseDTO.ResultadoItemDTO> resultados = new ArrayList<>(itens.size());
+        int falhas = 0;
+        for (int i = 0; i < pernas.size(); i++) {
+            TransferBatchProcessor.LegResult perna = pernas.get(i);
+            if (perna.isSucesso()) {
+                resultados.add(new TransferenciaLoteResponseDTO.ResultadoItemDTO(
+                        i, true, "Transferência realizada com sucesso", perna.transacao()));
+            } else {
+                resultados.add(new TransferenciaLoteResponseDTO.ResultadoItemDTO(
+                        i, false, perna.erro().getMessage(), null));
+                falhas++;
+            }
         }
 
-        // Implementar retry logic para optimistic locking
-        int attempts = 0;
-        Exception lastException = null;
-        
-        while (attempts < MAX_RETRY_ATTEMPTS) {
-            try {
-                return executeTransfer(requestDTO);
-            } catch (ObjectOptimisticLockingFailureException | OptimisticLockException e) {
-                lastException = e;
-                attempts++;
-                log.warn("Conflito de concorrência detectado. Tentativa {}/{}", attempts, MAX_RETRY_ATTEMPTS);
-                
-                if (attempts >= MAX_RETRY_ATTEMPTS) {
-                    log.error("Número máximo de tentativas excedido para transferência");
-                    throw new BeneficioConflictException(
-                        "Transferência falhou devido a conflito de concorrência. Tente novamente.");
-                }
-                
-                // Aguardar antes de tentar novamente com backoff exponencial
-                try {
-                    Thread.sleep(RETRY_DELAY_MS * attempts);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new BeneficioConflictException("Transferência interrompida");
+        if (falhas > 0 && modo == ModoLote.TUDO_OU_NADA) {
+            log.warn("Lote rejeitado: {} de {} itens inválidos", falhas, itens.size());
+            for (TransferenciaLoteResponseDTO.ResultadoItemDTO resultado : resultados) {
+                if (Boolean.TRUE.equals(resultado.getSucesso())) {
+                    resultado.setSucesso(false);
+                    resultado.setMensagem("Transferência não efetivada: lote contém itens inválidos");
+                    resultado.setTransacao(null);
                 }
             }
+            return new TransferenciaLoteResponseDTO(modo, false, resultados);
         }
-        
-        throw new BeneficioConflictException("Falha ao processar transferência");
+
+        log.info("Lote concluído: {} sucessos, {} falhas", itens.size() - falhas, falhas);
+        return new TransferenciaLoteResponseDTO(modo, itens.size() > falhas, resultados);
     }
 
     /**
-     * Executa a transferência efetivamente dentro de uma transação.
-     * Método separado para facilitar retry logic.
+     * Soma os slots dos benefícios listrados ao valor base dos DTOs, para que
+     * {@code valor} seja sempre o saldo total.
      */
-    @Transactional
-    private TransferenciaResponseDTO executeTransfer(TransferenciaRequestDTO requestDTO) {
-        // Buscar benefícios
-        Beneficio origem = repository.findById(requestDTO.getBeneficioOrigemId())
-                .orElseThrow(() -> new BeneficioNotFoundException("Benefício de origem não encontrado: " 
-                        + requestDTO.getBeneficioOrigemId()));
-
-        Beneficio destino = repository.findById(requestDTO.getBeneficioDestinoId())
-                .orElseThrow(() -> new BeneficioNotFoundException("Benefício de destino não encontrado: " 
-                        + requestDTO.getBeneficioDestinoId()));
-
-        // Validar se ambos estão ativos
-        if (!origem.getAtivo()) {
-            throw new BeneficioConflictException("Benefício de origem está inativo");
-        }
-        if (!destino.getAtivo()) {
-            throw new BeneficioConflictException("Benefício de destino está inativo");
+    private List<BeneficioDTO> comSaldoTotal(List<BeneficioDTO> dtos) {
+        Map<Long, BigDecimal> slots = stripedBalances.somarSlots(
+                dtos.stream().map(BeneficioDTO::getId).collect(Collectors.toList()));
+        if (!slots.isEmpty()) {
+            for (BeneficioDTO dto : dtos) {
+                BigDecimal soma = slots.get(dto.getId());
+                if (soma != null) {
+                    dto.setValor(dto.getValor().add(soma));
+                }
+            }
         }
+        return dtos;
+    }
 
-        // Validar saldo suficiente
-        if (origem.getValor().compareTo(requestDTO.getValor()) < 0) {
-            throw new BeneficioConflictException(
-                    String.format("Saldo insuficiente. Disponível: %.2f, Solicitado: %.2f",
-                            origem.getValor(), requestDTO.getValor()));
-        }
+    /**
+     * Página de uma listagem: os benefícios, o cursor da próxima página, ou
+     * {@code null} se esta foi a última, e a ETag da página.
+     */
+    public record Pagina(List<BeneficioDTO> beneficios, String proximoCursor, String etag) {
+    }
 
-        // Capturar saldos anteriores
-        BigDecimal saldoAnteriorOrigem = origem.getValor();
-        BigDecimal saldoAnteriorDestino = destino.getValor();
-
-        // Realizar transferência
-        origem.setValor(origem.getValor().subtract(requestDTO.getValor()));
-        destino.setValor(destino.getValor().add(requestDTO.getValor()));
-
-        // Salvar com optimistic locking - @Version será verificado
-        repository.save(origem);
-        repository.save(destino);
-
-        log.info("Transferência concluída com sucesso. From: {} -> {}, To: {} -> {}",
-                saldoAnteriorOrigem, origem.getValor(),
-                saldoAnteriorDestino, destino.getValor());
-
-        // Construir resposta
-        TransferenciaResponseDTO.TransacaoDTO transacao = new TransferenciaResponseDTO.TransacaoDTO(
-                requestDTO.getBeneficioOrigemId(),
-                requestDTO.getBeneficioDestinoId(),
-                requestDTO.getValor(),
-                saldoAnteriorOrigem,
-                origem.getValor(),
-                saldoAnteriorDestino,
-                destino.getValor()
-        );
-
-        return new TransferenciaResponseDTO(
-                true,
-                "Transferência realizada com sucesso",
-                transacao
-        );
+    private record Listagem(int limite, OrdenacaoBeneficio ordenacao, Sort.Direction direcao,
+                            KeysetScrollPosition posicao) {
     }
 }
@@ -0,0 +1,260 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.TransferenciaRequestDTO;
+import com.example.backend.dto.TransferenciaResponseDTO;
+import com.example.backend.entity.ChaveIdempotencia;
+import com.example.backend.exception.BeneficioConflictException;
+import com.example.backend.exception.ResultadoIncertoException;
+import com.example.backend.repository.ChaveIdempotenciaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicação de transferências pelo header {@code Idempotency-Key}.
+ *
+ * <p>A primeira resposta de sucesso associada a uma chave é devolvida às
+ * requisições seguintes com a mesma chave. As respostas ficam em um cache
+ * Caffeine limitado por tamanho e TTL, e também na tabela
+ * {@code CHAVE_IDEMPOTENCIA}, para sobreviver a reinícios e valer entre nós.</p>
+ *
+ * <p>Concorrência: requisições simultâneas com a mesma chave no mesmo nó
+ * aguardam o future da primeira. Entre nós, a chave é reservada com um
+ * {@code INSERT} antes da execução; o nó que perde a reserva responde 409
+ * enquanto a primeira execução não termina. Falhas liberam a reserva, permitindo
+ * que o cliente tente novamente com a mesma chave.</p>
+ *
+ * <p>A resposta é gravada depois do commit da transferência, em outra transação.
+ * Se o nó cair entre as duas, ou não conseguir gravar a resposta, a reserva fica
+ * sem resposta e o resultado é desconhecido: ela nunca é descartada por prazo,
+ * e a chave responde 409 até ser reconciliada (a linha de
+ * {@code CHAVE_IDEMPOTENCIA} removida, se a transferência não consta em
+ * {@code TRANSFERENCIA}, ou completada com a resposta). O mesmo vale para uma
+ * falha com {@link ResultadoIncertoException}, que não libera a reserva.
+ * Reservas além de {@code lock-timeout} são reportadas no log a cada limpeza. Uma transferência
+ * mais lenta que {@code lock-timeout} também não é repetida.</p>
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final ChaveIdempotenciaRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration lockTimeout;
+    private final Cache<String, StoredResponse> cache;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(ChaveIdempotenciaRepository repository, ObjectMapper objectMapper,
+                              @Value("${app.transfer.idempotency.max-size:10000}") long maxSize,
+                              @Value("${app.transfer.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${app.transfer.idempotency.lock-timeout:60s}") Duration lockTimeout) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.lockTimeout = lockTimeout;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Executa a transferência uma única vez por chave.
+     *
+     * @param key valor do header {@code Idempotency-Key}
+     * @param requestDTO dados da transferência, comparados com os da primeira requisição
+     * @param action inicia a transferência quando a chave ainda não tem resposta
+     * @return resposta original (replay) ou o resultado da execução
+     * @throws IllegalArgumentException se a chave for inválida ou já usada com outros dados
+     * @throws BeneficioConflictException se a chave estiver em processamento em outro nó
+     */
+    public CompletableFuture<TransferenciaResponseDTO> execute(String key, TransferenciaRequestDTO requestDTO,
+                                                               Supplier<CompletableFuture<TransferenciaResponseDTO>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Idempotency-Key deve ter entre 1 e " + MAX_KEY_LENGTH + " caracteres");
+        }
+        String fingerprint = fingerprint(requestDTO);
+
+        StoredResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            checkFingerprint(key, cached.fingerprint(), fingerprint);
+            log.debug("Idempotency-Key {} atendida pelo cache", key);
+            return CompletableFuture.completedFuture(cached.response());
+        }
+
+        InFlight claim = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(key, claim);
+        if (running != null) {
+            checkFingerprint(key, running.fingerprint(), fingerprint);
+            log.debug("Idempotency-Key {} em execução neste nó; aguardando resultado", key);
+            return running.result().thenApply(response -> response);
+        }
+
+        try {
+            Optional<TransferenciaResponseDTO> stored = reserve(key, fingerprint);
+            if (stored.isPresent()) {
+                inFlight.remove(key, claim);
+                claim.result().complete(stored.get());
+                return CompletableFuture.completedFuture(stored.get());
+            }
+        } catch (RuntimeException e) {
+            inFlight.remove(key, claim);
+            claim.result().completeExceptionally(e);
+            throw e;
+        }
+
+        CompletableFuture<TransferenciaResponseDTO> started;
+        try {
+            started = action.get();
+        } catch (RuntimeException e) {
+            release(key, claim, e);
+            throw e;
+        }
+
+        started.whenComplete((response, error) -> {
+            if (error != null) {
+                Throwable causa = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                if (causa instanceof ResultadoIncertoException) {
+                    // A transferência pode ter sido efetivada: repetir com a chave não pode reaplicá-la
+                    log.error("Idempotency-Key {} com resultado desconhecido; reserva mantida até reconciliação",
+                            key);
+                    inFlight.remove(key, claim);
+                    claim.result().completeExceptionally(error);
+                } else {
+                    release(key, claim, error);
+                }
+                return;
+            }
+            try {
+                store(key, fingerprint, response);
+            } catch (RuntimeException e) {
+                // A transferência foi efetivada; a falha só impede o replay futuro
+                log.error("Falha ao gravar resposta da Idempotency-Key {}; reserva mantida até reconciliação",
+                        key, e);
+            }
+            inFlight.remove(key, claim);
+            claim.result().complete(response);
+        });
+        return claim.result().thenApply(response -> response);
+    }
+
+    /**
+     * Remove do banco as respostas vencidas, o cache expira as suas sozinho, e
+     * reporta as reservas sem resposta além do prazo.
+     */
+    @Scheduled(fixedDelayString = "${app.transfer.idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        LocalDateTime agora = LocalDateTime.now();
+        int removidas = repository.deleteExpiradas(agora);
+        if (removidas > 0) {
+            log.info("Idempotency-Keys expiradas removidas: {}", removidas);
+        }
+        long pendentes = repository.countPendentes(agora);
+        if (pendentes > 0) {
+            log.warn("{} Idempotency-Keys sem resposta além de {}: resultado desconhecido, "
+                    + "reconciliar CHAVE_IDEMPOTENCIA com TRANSFERENCIA", pendentes, lockTimeout);
+        }
+    }
+
+    /**
+     * Reserva a chave no banco.
+     *
+     * @return resposta já gravada para a chave, se houver; vazio se a reserva foi obtida
+     */
+    private Optional<TransferenciaResponseDTO> reserve(String key, String fingerprint) {
+        LocalDateTime agora = LocalDateTime.now();
+        repository.deleteExpirada(key, agora);
+        try {
+            repository.saveAndFlush(new ChaveIdempotencia(key, fingerprint, agora.plus(lockTimeout)));
+            return Optional.empty();
+        } catch (DataIntegrityViolationException e) {
+            ChaveIdempotencia existente = repository.findById(key)
+                    .orElseThrow(() -> new BeneficioConflictException(
+                            "Requisição com a mesma Idempotency-Key em processamento. Tente novamente."));
+            checkFingerprint(key, existente.getRequisicao(), fingerprint);
+            if (!existente.isConcluida() && existente.getExpiraEm().isBefore(agora)) {
+                throw new BeneficioConflictException(
+                        "Requisição com a mesma Idempotency-Key com resultado desconhecido, "
+                                + "aguardando reconciliação. Não repita com outra chave.");
+            }
+            if (!existente.isConcluida()) {
+                throw new BeneficioConflictException(
+                        "Requisição com a mesma Idempotency-Key em processamento. Tente novamente.");
+            }
+            TransferenciaResponseDTO response = deserialize(existente.getResposta());
+            cache.put(key, new StoredResponse(fingerprint, response));
+            log.debug("Idempotency-Key {} atendida pelo banco", key);
+            return Optional.of(response);
+        }
+    }
+
+    private void store(String key, String fingerprint, TransferenciaResponseDTO response) {
+        cache.put(key, new StoredResponse(fingerprint, response));
+        repository.concluir(key, serialize(response), LocalDateTime.now().plus(ttl));
+    }
+
+    private void release(String key, InFlight claim, Throwable error) {
+        try {
+            repository.liberar(key);
+        } catch (RuntimeException e) {
+            log.error("Falha ao liberar Idempotency-Key {}", key, e);
+        }
+        inFlight.remove(key, claim);
+        claim.result().completeExceptionally(error);
+    }
+
+    private void checkFingerprint(String key, String stored, String current) {
+        if (!stored.equals(current)) {
+            throw new IllegalArgumentException(
+                    "Idempotency-Key " + key + " já foi usada com dados de transferência diferentes");
+        }
+    }
+
+    private String fingerprint(TransferenciaRequestDTO requestDTO) {
+        return requestDTO.getBeneficioOrigemId() + ":" + requestDTO.getBeneficioDestinoId() + ":"
+                + requestDTO.getValor().stripTrailingZeros().toPlainString();
+    }
+
+    private String serialize(TransferenciaResponseDTO response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar resposta de transferência", e);
+        }
+    }
+
+    private TransferenciaResponseDTO deserialize(String json) {
+        try {
+            return objectMapper.readValue(json, TransferenciaResponseDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao ler resposta de transferência gravada", e);
+        }
+    }
+
+    private record StoredResponse(String fingerprint, TransferenciaResponseDTO response) {
+    }
+
+    private record InFlight(String fingerprint, CompletableFuture<TransferenciaResponseDTO> result) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BeneficioDTO;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Campos aceitos em {@code sort} nas listagens de benefícios.
+ *
+ * <p>Cada campo tem índice próprio com o ID como desempate ({@code db/006-beneficio-listagem.sql}),
+ * para que a paginação por cursor seja uma varredura de intervalo. {@code valor}
+ * fica de fora de propósito: muda a cada transferência, e um índice nele
+ * encareceria todos os UPDATEs de saldo.</p>
+ */
+public enum OrdenacaoBeneficio {
+
+    ID("id", BeneficioDTO::getId, Long::valueOf),
+    NOME("nome", BeneficioDTO::getNome, valor -> valor),
+    CRIACAO("createdAt", BeneficioDTO::getCreatedAt, LocalDateTime::parse);
+
+    private final String campo;
+    private final Function<BeneficioDTO, Object> leitor;
+    private final Function<String, Object> conversor;
+
+    OrdenacaoBeneficio(String campo, Function<BeneficioDTO, Object> leitor, Function<String, Object> conversor) {
+        this.campo = campo;
+        this.leitor = leitor;
+        this.conversor = conversor;
+    }
+
+    public String getCampo() {
+        return campo;
+    }
+
+    /**
+     * Ordenação pelo campo, com o ID como desempate na mesma direção.
+     */
+    Sort sort(Sort.Direction direcao) {
+        return this == ID ? Sort.by(direcao, campo) : Sort.by(direcao, campo, ID.campo);
+    }
+
+    Object valor(BeneficioDTO beneficio) {
+        return leitor.apply(beneficio);
+    }
+
+    Object converter(String valor) {
+        return conversor.apply(valor);
+    }
+
+    /**
+     * @param campo nome do campo, como em {@code sort=nome}
+     * @throws IllegalArgumentException se o campo não estiver entre os aceitos
+     */
+    public static OrdenacaoBeneficio of(String campo) {
+        for (OrdenacaoBeneficio ordenacao : values()) {
+            if (ordenacao.campo.equals(campo)) {
+                return ordenacao;
+            }
+        }
+        throw new IllegalArgumentException("Ordenação inválida: " + campo + ". Campos aceitos: " + campos());
+    }
+
+    public static String campos() {
+        return Arrays.stream(values()).map(OrdenacaoBeneficio::getCampo).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * @param direcao {@code asc} ou {@code desc}, sem diferenciar maiúsculas
+     * @throws IllegalArgumentException para outro valor
+     */
+    static Sort.Direction direcao(String direcao) {
+        return switch (direcao.toLowerCase(Locale.ROOT)) {
+            case "asc" -> Sort.Direction.ASC;
+            case "desc" -> Sort.Direction.DESC;
+            default -> throw new IllegalArgumentException("Direção de ordenação inválida: " + direcao
+                    + ". Use asc ou desc");
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.MovimentacaoDTO;
+import com.example.backend.exception.BeneficioNotFoundException;
+import com.example.backend.repository.BeneficioRepository;
+import com.example.backend.repository.MovimentacaoView;
+import com.example.backend.repository.TransferenciaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Histórico de transferências de um benefício, paginado por cursor.
+ *
+ * <p>O cursor é a posição {@code (CREATED_AT, ID)} da última movimentação
+ * entregue, codificada em Base64 para que o cliente o trate como opaco. A
+ * próxima página começa estritamente antes dessa posição (keyset pagination),
+ * sem {@code OFFSET}: o banco não precisa ler e descartar as páginas anteriores.</p>
+ */
+@Service
+public class TransferHistoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferHistoryService.class);
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    /** Posição anterior a qualquer lançamento, usada na primeira página. */
+    private static final LocalDateTime INICIO = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final String SEPARADOR = "|";
+
+    private final TransferenciaRepository repository;
+    private final BeneficioRepository beneficioRepository;
+
+    public TransferHistoryService(TransferenciaRepository repository, BeneficioRepository beneficioRepository) {
+        this.repository = repository;
+        this.beneficioRepository = beneficioRepository;
+    }
+
+    /**
+     * Valida a consulta antes de a resposta começar a ser escrita, para que
+     * erros ainda possam virar 400/404.
+     *
+     * @param beneficioId ID do benefício
+     * @param after cursor devolvido pela página anterior; {@code null} para a primeira página
+     * @param limit quantidade máxima de movimentações; {@code null} usa {@link #DEFAULT_LIMIT}
+     * @return consulta pronta para {@link #stream}
+     * @throws BeneficioNotFoundException se o benefício não existir
+     * @throws IllegalArgumentException se o cursor ou o limite forem inválidos
+     */
+    @Transactional(readOnly = true)
+    public HistoryQuery prepare(Long beneficioId, String after, Integer limit) {
+        int limite = limit != null ? limit : DEFAULT_LIMIT;
+        if (limite < 1 || limite > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + MAX_LIMIT);
+        }
+        if (!beneficioRepository.existsById(beneficioId)) {
+            throw new BeneficioNotFoundException(beneficioId);
+        }
+        if (after == null || after.isBlank()) {
+            return new HistoryQuery(beneficioId, INICIO, Long.MAX_VALUE, limite);
+        }
+        return decode(beneficioId, after, limite);
+    }
+
+    /**
+     * Entrega as movimentações da página ao consumidor à medida que são lidas
+     * do banco, sem materializar a página em memória.
+     *
+     * @param query consulta obtida em {@link #prepare}
+     * @param consumer recebe cada movimentação, da mais recente para a mais antiga
+     * @return cursor da próxima página, ou {@code null} se esta foi a última
+     */
+    @Transactional(readOnly = true)
+    public String stream(HistoryQuery query, Consumer<MovimentacaoDTO> consumer) {
+        log.debug("Histórico do benefício {} antes de ({}, {}), limite {}",
+                query.beneficioId(), query.antesDe(), query.antesDeId(), query.limite());
+        int entregues = 0;
+        MovimentacaoView ultima = null;
+        try (Stream<MovimentacaoView> movimentacoes = repository.streamMovimentacoes(
+                query.beneficioId(), query.antesDe(), query.antesDeId(), query.limite())) {
+            for (MovimentacaoView view : (Iterable<MovimentacaoView>) movimentacoes::iterator) {
+                consumer.accept(toDTO(view));
+                ultima = view;
+                entregues++;
+            }
+        }
+        return entregues < query.limite() ? null : encode(ultima);
+    }
+
+    private MovimentacaoDTO toDTO(MovimentacaoView view) {
+        return new MovimentacaoDTO(view.getId(), MovimentacaoDTO.Tipo.valueOf(view.getTipo().trim()),
+                view.getContraparteId(), view.getValor(), view.getSaldo(), view.getCreatedAt());
+    }
+
+    private String encode(MovimentacaoView view) {
+        String posicao = view.getCreatedAt() + SEPARADOR + view.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(posicao.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private HistoryQuery decode(Long beneficioId, String cursor, int limite) {
+        try {
+            String posicao = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = posicao.indexOf(SEPARADOR);
+            LocalDateTime antesDe = LocalDateTime.parse(posicao.substring(0, separador));
+            long antesDeId = Long.parseLong(posicao.substring(separador + 1));
+            return new HistoryQuery(beneficioId, antesDe, antesDeId, limite);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido: " + cursor);
+        }
+    }
+
+    /**
+     * Página a consultar: movimentações anteriores a {@code (antesDe, antesDeId)}.
+     */
+    public record HistoryQuery(Long beneficioId, LocalDateTime antesDe, long antesDeId, int limite) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.backend.service.engine;
+
+/**
+ * Saldo de um benefício mantido em memória pelo {@link LedgerShard} dono da conta.
+ *
+ * <p>Acessado apenas pela thread do shard, por isso os campos não são sincronizados.
+ * O saldo fica em centavos para que as operações não aloquem {@code BigDecimal}.</p>
+ */
+final class Account {
+
+    final long id;
+    final boolean ativo;
+    long saldo;
+    long version;
+
+    Account(long id, long saldo, boolean ativo, long version) {
+        this.id = id;
+        this.saldo = saldo;
+        this.ativo = ativo;
+        this.version = version;
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.backend.service.engine;
+
+import com.example.backend.journal.JournalEntry;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Saldos e versões de todas as contas do motor em uma sequência do journal.
+ *
+ * <p>Tabela de endereçamento aberto (sondagem linear) em arrays primitivos, para
+ * que milhões de contas não custem um objeto cada. Não é thread-safe: o
+ * {@link EngineSnapshotter} serializa o acesso.</p>
+ */
+final class BalanceImage {
+
+    private static final long VAZIO = 0;
+
+    private long[] ids;
+    private long[] saldos;
+    private long[] versions;
+    private boolean[] ativos;
+    private int size;
+    private long sequencia;
+
+    BalanceImage(int capacidadeEsperada, long sequencia) {
+        int slots = Integer.highestOneBit(Math.max(16, (int) (capacidadeEsperada * 4L / 3))) << 1;
+        this.ids = new long[slots];
+        this.saldos = new long[slots];
+        this.versions = new long[slots];
+        this.ativos = new boolean[slots];
+        this.sequencia = sequencia;
+    }
+
+    private BalanceImage(BalanceImage origem) {
+        this.ids = origem.ids.clone();
+        this.saldos = origem.saldos.clone();
+        this.versions = origem.versions.clone();
+        this.ativos = origem.ativos.clone();
+        this.size = origem.size;
+        this.sequencia = origem.sequencia;
+    }
+
+    BalanceImage copy() {
+        return new BalanceImage(this);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long sequencia() {
+        return sequencia;
+    }
+
+    boolean contains(long id) {
+        return ids[slot(id)] == id;
+    }
+
+    void put(long id, long saldo, long version, boolean ativo) {
+        // Ocupação máxima de 3/4
+        if ((size + 1) * 4L > ids.length * 3L) {
+            resize();
+        }
+        int slot = slot(id);
+        if (ids[slot] == VAZIO) {
+            ids[slot] = id;
+            size++;
+        }
+        saldos[slot] = saldo;
+        versions[slot] = version;
+        ativos[slot] = ativo;
+    }
+
+    /**
+     * Aplica o lançamento, se for o seguinte ao último aplicado.
+     *
+     * @return {@code false} se o lançamento já estava aplicado
+     * @throws IllegalStateException se houver lacuna na sequência ou conta desconhecida
+     */
+    boolean apply(JournalEntry entry) {
+        if (entry.sequencia() <= sequencia) {
+            return false;
+        }
+        if (entry.sequencia() != sequencia + 1) {
+            throw new IllegalStateException("Lacuna na imagem de saldos: esperada a sequência "
+                    + (sequencia + 1) + ", recebida " + entry.sequencia());
+        }
+        int origem = existente(entry.origemId());
+        int destino = existente(entry.destinoId());
+        saldos[origem] -= entry.valor();
+        versions[origem]++;
+        saldos[destino] += entry.valor();
+        versions[destino]++;
+        sequencia = entry.sequencia();
+        return true;
+    }
+
+    /**
+     * Variante de {@link #apply} para a reaplicação do journal na inicialização:
+     * contas ausentes (criadas depois do snapshot) são informadas a
+     * {@code desconhecida} em vez de rejeitadas, e o lado conhecido é aplicado.
+     */
+    void replay(JournalEntry entry, LongConsumer desconhecida) {
+        if (entry.sequencia() <= sequencia) {
+            return;
+        }
+        if (entry.sequencia() != sequencia + 1) {
+            throw new IllegalStateException("Lacuna na imagem de saldos: esperada a sequência "
+                    + (sequencia + 1) + ", recebida " + entry.sequencia());
+        }
+        applyDelta(entry.origemId(), -entry.valor(), desconhecida);
+        applyDelta(entry.destinoId(), entry.valor(), desconhecida);
+        sequencia = entry.sequencia();
+    }
+
+    void forEach(AccountConsumer consumer) {
+        for (int slot = 0; slot < ids.length; slot++) {
+            if (ids[slot] != VAZIO) {
+                consumer.accept(ids[slot], saldos[slot], versions[slot], ativos[slot]);
+            }
+        }
+    }
+
+    private void applyDelta(long id, long delta, LongConsumer desconhecida) {
+        int slot = slot(id);
+        if (ids[slot] != id) {
+            desconhecida.accept(id);
+            return;
+        }
+        saldos[slot] += delta;
+        versions[slot]++;
+    }
+
+    private int existente(long id) {
+        int slot = slot(id);
+        if (ids[slot] != id) {
+            throw new IllegalStateException("Conta " + id + " ausente da imagem de saldos");
+        }
+        return slot;
+    }
+
+    private int slot(long id) {
+        int mask = ids.length - 1;
+        int slot = (int) (mix(id) & mask);
+        while (ids[slot] != VAZIO && ids[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] antigosIds = ids;
+        long[] antigosSaldos = saldos;
+        long[] antigasVersions = versions;
+        boolean[] antigosAtivos = ativos;
+        int slots = antigosIds.length * 2;
+        ids = new long[slots];
+        saldos = new long[slots];
+        versions = new long[slots];
+        ativos = new boolean[slots];
+        size = 0;
+        for (int i = 0; i < antigosIds.length; i++) {
+            if (antigosIds[i] != VAZIO) {
+                put(antigosIds[i], antigosSaldos[i], antigasVersions[i], antigosAtivos[i]);
+            }
+        }
+    }
+
+    private static long mix(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    @Override
+    public String toString() {
+        return "BalanceImage[contas=" + size + ", sequencia=" + sequencia + ']';
+    }
+
+    @FunctionalInterface
+    interface AccountConsumer {
+        void accept(long id, long saldo, long version, boolean ativo);
+    }
+}
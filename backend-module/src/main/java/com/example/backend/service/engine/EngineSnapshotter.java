@@ -0,0 +1,303 @@
+package com.example.backend.service.engine;
+
+import com.example.backend.journal.JournalEntry;
+import com.example.backend.journal.TransferJournal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Snapshots periódicos dos saldos do {@link LedgerEngine}, para que a
+ * inicialização não dependa do tamanho do histórico.
+ *
+ * <p>Mantém uma {@link BalanceImage} com todas as contas, avançada pelo
+ * {@link EngineWriteBehind} com os lançamentos já aplicados ao banco, em ordem de
+ * sequência. A cada {@code snapshot.interval} (e no desligamento), a imagem é
+ * gravada em um arquivo binário marcado com a sequência do journal que ela
+ * cobre; em seguida, os segmentos do journal cobertos pelo snapshot mais antigo
+ * ainda mantido são removidos. Na inicialização, o motor carrega o snapshot
+ * válido mais recente e reaplica apenas o journal posterior a ele.</p>
+ *
+ * <p>Formato ({@value #FORMATO}), big-endian: magic, formato, sequência e
+ * quantidade de contas; um registro de {@value #RECORD_SIZE} bytes por conta
+ * (id, saldo em centavos, versão, ativo); CRC32C de todo o conteúdo anterior.</p>
+ */
+@Component
+public class EngineSnapshotter {
+
+    private static final Logger log = LoggerFactory.getLogger(EngineSnapshotter.class);
+
+    private static final int MAGIC = 0x534E4150;
+    private static final int FORMATO = 1;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int RECORD_SIZE = 3 * Long.BYTES + 1;
+    private static final int BUFFER_SIZE = 1 << 20;
+    /** Snapshots mantidos: o anterior serve de reserva se o mais recente estiver corrompido. */
+    private static final int RETIDOS = 2;
+    private static final String PREFIXO = "saldos-";
+    private static final String SUFIXO = ".snapshot";
+
+    private final TransferJournal journal;
+    private final Path directory;
+    private final Duration interval;
+    private final ConcurrentLinkedQueue<Account> contasNovas = new ConcurrentLinkedQueue<>();
+    private BalanceImage imagem;
+    private boolean consistente;
+    private long ultimoSnapshot = -1;
+    private ScheduledExecutorService scheduler;
+
+    public EngineSnapshotter(TransferJournal journal,
+                             @Value("${app.transfer.engine.snapshot.dir:./data/snapshots}") Path directory,
+                             @Value("${app.transfer.engine.snapshot.interval:10m}") Duration interval) {
+        this.journal = journal;
+        this.directory = directory;
+        this.interval = interval;
+    }
+
+    /**
+     * Carrega o snapshot válido mais recente.
+     *
+     * @return imagem dos saldos na sequência do snapshot, ou {@code null} se não houver
+     */
+    BalanceImage load() {
+        List<Path> existentes = snapshots();
+        for (int i = existentes.size() - 1; i >= 0; i--) {
+            Path file = existentes.get(i);
+            try {
+                BalanceImage carregada = read(file);
+                log.info("Snapshot de saldos carregado: {} ({} contas, sequência {})",
+                        file, carregada.size(), carregada.sequencia());
+                return carregada;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Snapshot de saldos inválido, ignorado: {}", file, e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Passa a manter a imagem, já na sequência do fim do journal.
+     */
+    synchronized void init(BalanceImage inicial) {
+        this.imagem = inicial;
+        this.consistente = true;
+    }
+
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ledger-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::snapshotSafely, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Para o agendamento e grava um snapshot final (chamado após o write-behind
+     * aplicar os últimos lançamentos).
+     */
+    void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshotSafely();
+    }
+
+    /**
+     * Registra uma conta carregada do banco depois da inicialização. Chamado na
+     * thread do shard, sem bloqueio: a conta entra na imagem antes do próximo
+     * lançamento aplicado, que nunca é anterior a ela.
+     */
+    void register(Account account) {
+        contasNovas.add(new Account(account.id, account.saldo, account.ativo, account.version));
+    }
+
+    /**
+     * Avança a imagem com lançamentos já aplicados ao banco, em ordem de sequência.
+     */
+    synchronized void apply(List<JournalEntry> entries) {
+        if (imagem == null || !consistente) {
+            return;
+        }
+        try {
+            drainContasNovas();
+            for (JournalEntry entry : entries) {
+                imagem.apply(entry);
+            }
+        } catch (IllegalStateException e) {
+            // Não interrompe o write-behind: apenas deixa de gravar snapshots até o reinício
+            consistente = false;
+            log.error("Imagem de saldos inconsistente; snapshots suspensos até o reinício", e);
+        }
+    }
+
+    /**
+     * Grava o snapshot se a imagem avançou desde o último e compacta o journal.
+     */
+    synchronized void snapshot() throws IOException {
+        if (imagem == null || !consistente) {
+            return;
+        }
+        drainContasNovas();
+        if (imagem.sequencia() == ultimoSnapshot) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        Path file = write(imagem);
+        ultimoSnapshot = imagem.sequencia();
+        log.info("Snapshot de saldos gravado: {} ({} contas, {} ms)", file, imagem.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+
+        List<Path> existentes = snapshots();
+        for (int i = 0; i < existentes.size() - RETIDOS; i++) {
+            Files.deleteIfExists(existentes.get(i));
+        }
+        List<Path> retidos = snapshots();
+        int removidos = journal.compact(sequencia(retidos.get(0)));
+        if (removidos > 0) {
+            log.info("Journal compactado: {} segmentos cobertos por snapshot removidos", removidos);
+        }
+    }
+
+    private void snapshotSafely() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("Falha ao gravar o snapshot de saldos; nova tentativa no próximo ciclo", e);
+        }
+    }
+
+    private void drainContasNovas() {
+        Account account;
+        while ((account = contasNovas.poll()) != null) {
+            if (!imagem.contains(account.id)) {
+                imagem.put(account.id, account.saldo, account.version, account.ativo);
+            }
+        }
+    }
+
+    private Path write(BalanceImage origem) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(String.format("%s%020d%s", PREFIXO, origem.sequencia(), SUFIXO));
+        Path tmp = directory.resolve(file.getFileName() + ".tmp");
+        CRC32C crc = new CRC32C();
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.putInt(MAGIC).putInt(FORMATO).putLong(origem.sequencia()).putInt(origem.size());
+            try {
+                origem.forEach((id, saldo, version, ativo) -> {
+                    if (buffer.remaining() < RECORD_SIZE) {
+                        flush(channel, buffer, crc);
+                    }
+                    buffer.putLong(id).putLong(saldo).putLong(version).put((byte) (ativo ? 1 : 0));
+                });
+                flush(channel, buffer, crc);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            buffer.putInt((int) crc.getValue()).flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return file;
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer, CRC32C crc) {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    private static BalanceImage read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long tamanho = channel.size();
+            if (tamanho < HEADER_SIZE + Integer.BYTES) {
+                throw new IOException("Snapshot truncado");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMATO) {
+                throw new IOException("Formato de snapshot desconhecido");
+            }
+            long sequencia = buffer.getLong(8);
+            int contas = buffer.getInt(16);
+            if (tamanho != HEADER_SIZE + (long) contas * RECORD_SIZE + Integer.BYTES) {
+                throw new IOException("Tamanho do snapshot não corresponde às " + contas + " contas");
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(0, (int) tamanho - Integer.BYTES));
+            if ((int) crc.getValue() != buffer.getInt((int) tamanho - Integer.BYTES)) {
+                throw new IOException("Checksum do snapshot não confere");
+            }
+
+            BalanceImage carregada = new BalanceImage(contas, sequencia);
+            int posicao = HEADER_SIZE;
+            for (int i = 0; i < contas; i++, posicao += RECORD_SIZE) {
+                carregada.put(buffer.getLong(posicao), buffer.getLong(posicao + 8),
+                        buffer.getLong(posicao + 16), buffer.get(posicao + 24) != 0);
+            }
+            return carregada;
+        }
+    }
+
+    /**
+     * @return snapshots existentes, do mais antigo para o mais recente
+     */
+    private List<Path> snapshots() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String nome = file.getFileName().toString();
+                        return nome.startsWith(PREFIXO) && nome.endsWith(SUFIXO);
+                    })
+                    .sorted(Comparator.comparingLong(EngineSnapshotter::sequencia))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao listar os snapshots em " + directory, e);
+        }
+    }
+
+    private static long sequencia(Path file) {
+        String nome = file.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length()));
+    }
+}
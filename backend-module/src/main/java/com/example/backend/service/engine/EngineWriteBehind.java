@@ -0,0 +1,194 @@
+package com.example.backend.service.engine;
+
+import com.example.backend.entity.CheckpointJournal;
+import com.example.backend.entity.Transferencia;
+import com.example.backend.journal.JournalEntry;
+import com.example.backend.repository.BeneficioRepository;
+import com.example.backend.repository.CheckpointJournalRepository;
+import com.example.backend.repository.TransferenciaRepository;
+import com.example.backend.service.BeneficioCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aplica ao banco, em lotes, as transferências já confirmadas pelo {@link LedgerEngine}.
+ *
+ * <p>A cada {@code write-behind-interval}, os lançamentos acumulados viram uma
+ * única transação: um {@code UPDATE} por benefício com a variação líquida do
+ * período (em ordem crescente de ID) e os INSERTs em {@code TRANSFERENCIA} em
+ * JDBC batch. Se a transação falhar, os lançamentos são mantidos e
+ * reaplicados no próximo ciclo.</p>
+ *
+ * <p>Os lançamentos são aplicados estritamente em ordem de sequência do journal
+ * (os que chegam fora de ordem aguardam os anteriores), e a mesma transação grava
+ * a última sequência aplicada em {@code CHECKPOINT_JOURNAL}: cada lançamento é
+ * aplicado ao banco exatamente uma vez, mesmo com reaplicação do journal após
+ * uma queda. Depois do commit, os lançamentos avançam a imagem de saldos do
+ * {@link EngineSnapshotter} e os benefícios alterados saem do {@link BeneficioCache}.</p>
+ */
+@Component
+public class EngineWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(EngineWriteBehind.class);
+    private static final int MAX_BATCH = 10_000;
+
+    private final BeneficioRepository beneficioRepository;
+    private final TransferenciaRepository transferenciaRepository;
+    private final CheckpointJournalRepository checkpointRepository;
+    private final EngineSnapshotter snapshotter;
+    private final BeneficioCache cache;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration interval;
+    private final ConcurrentLinkedQueue<JournalEntry> queue = new ConcurrentLinkedQueue<>();
+    private final TreeMap<Long, JournalEntry> foraDeOrdem = new TreeMap<>();
+    private final List<JournalEntry> pendentes = new ArrayList<>();
+    private long proximaSequencia;
+    private ScheduledExecutorService scheduler;
+
+    public EngineWriteBehind(BeneficioRepository beneficioRepository,
+                             TransferenciaRepository transferenciaRepository,
+                             CheckpointJournalRepository checkpointRepository,
+                             EngineSnapshotter snapshotter,
+                             BeneficioCache cache,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.transfer.engine.write-behind-interval:200ms}") Duration interval) {
+        this.beneficioRepository = beneficioRepository;
+        this.transferenciaRepository = transferenciaRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.snapshotter = snapshotter;
+        this.cache = cache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.interval = interval;
+    }
+
+    /**
+     * @return última sequência do journal já aplicada ao banco, ou 0
+     */
+    long ultimaSequenciaAplicada() {
+        return checkpointRepository.findById(CheckpointJournal.ID_UNICO)
+                .map(CheckpointJournal::getSequencia)
+                .orElse(0L);
+    }
+
+    /**
+     * Aplica ao banco, de forma síncrona, os lançamentos reaplicados do journal
+     * (já enfileirados via {@link #enqueue}) e passa a esperar os seguintes.
+     *
+     * @param sequenciaAplicada checkpoint lido em {@link #ultimaSequenciaAplicada()}
+     * @return quantidade de lançamentos aplicados
+     */
+    synchronized long recover(long sequenciaAplicada) {
+        proximaSequencia = sequenciaAplicada + 1;
+        long total = 0;
+        int aplicados;
+        while ((aplicados = flush()) > 0) {
+            total += aplicados;
+        }
+        if (!foraDeOrdem.isEmpty()) {
+            throw new IllegalStateException("Journal sem a sequência " + proximaSequencia
+                    + " após o checkpoint " + sequenciaAplicada);
+        }
+        return total;
+    }
+
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ledger-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushSafely, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushSafely();
+    }
+
+    void enqueue(JournalEntry entry) {
+        queue.add(entry);
+    }
+
+    private synchronized void flushSafely() {
+        try {
+            while (flush() == MAX_BATCH) {
+                // Continua enquanto houver lotes cheios acumulados
+            }
+        } catch (RuntimeException e) {
+            log.error("Falha ao aplicar {} lançamentos do motor no banco; nova tentativa no próximo ciclo",
+                    pendentes.size(), e);
+        }
+    }
+
+    private int flush() {
+        JournalEntry entry;
+        while ((entry = queue.poll()) != null) {
+            foraDeOrdem.put(entry.sequencia(), entry);
+        }
+        while (pendentes.size() < MAX_BATCH && !foraDeOrdem.isEmpty()
+                && foraDeOrdem.firstKey() == proximaSequencia) {
+            pendentes.add(foraDeOrdem.pollFirstEntry().getValue());
+            proximaSequencia++;
+        }
+        if (pendentes.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Long> variacoes = new TreeMap<>();
+        List<Transferencia> lancamentos = new ArrayList<>(pendentes.size());
+        for (JournalEntry pendente : pendentes) {
+            variacoes.merge(pendente.origemId(), -pendente.valor(), Long::sum);
+            variacoes.merge(pendente.destinoId(), pendente.valor(), Long::sum);
+            lancamentos.add(toTransferencia(pendente));
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            variacoes.forEach((id, variacao) -> {
+                if (variacao != 0) {
+                    beneficioRepository.aplicarVariacao(id, LedgerEngine.toReais(variacao));
+                }
+            });
+            transferenciaRepository.saveAll(lancamentos);
+            checkpointRepository.save(new CheckpointJournal(pendentes.get(pendentes.size() - 1).sequencia()));
+            cache.invalidarAposCommit(variacoes.keySet());
+        });
+
+        snapshotter.apply(pendentes);
+        int aplicados = pendentes.size();
+        log.debug("Write-behind aplicou {} transferências em {} benefícios", aplicados, variacoes.size());
+        pendentes.clear();
+        return aplicados;
+    }
+
+    private static Transferencia toTransferencia(JournalEntry entry) {
+        return new Transferencia(entry.origemId(), entry.destinoId(), LedgerEngine.toReais(entry.valor()),
+                LedgerEngine.toReais(entry.saldoOrigem()), LedgerEngine.toReais(entry.saldoDestino()),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.timestamp()), ZoneId.systemDefault()));
+    }
+}
@@ -0,0 +1,343 @@
+package com.example.backend.service.engine;
+
+import com.example.backend.dto.TransferenciaRequestDTO;
+import com.example.backend.dto.TransferenciaResponseDTO;
+import com.example.backend.entity.Beneficio;
+import com.example.backend.exception.BeneficioConflictException;
+import com.example.backend.exception.ResultadoIncertoException;
+import com.example.backend.journal.GravacaoIncertaException;
+import com.example.backend.journal.JournalEntry;
+import com.example.backend.journal.TransferJournal;
+import com.example.backend.repository.BeneficioRepository;
+import com.example.backend.service.transfer.StripedBalances;
+import com.example.backend.service.transfer.TransferSupport;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Motor de transferências em memória, com o banco fora do caminho crítico.
+ *
+ * <p>Com {@code app.transfer.engine.enabled=true}, os saldos dos benefícios ficam
+ * em memória, particionados em {@code shards} por ID. Cada {@link LedgerShard} é
+ * dono exclusivo das suas contas e processa as mensagens do seu ring buffer em
+ * uma única thread (modelo single-writer do LMAX), sem locks nem transações.
+ * Transferências entre shards seguem um protocolo determinístico de dois passos:
+ * débito no shard da origem, crédito no shard do destino e, se o destino for
+ * rejeitado, estorno no shard da origem. Um débito sempre precede o crédito
+ * correspondente, então nenhum saldo fica negativo mesmo que o journal seja
+ * reaplicado sem os lançamentos posteriores a uma queda.</p>
+ *
+ * <p>A transferência só é confirmada ao chamador depois de gravada no
+ * {@link TransferJournal}; o {@link EngineWriteBehind} aplica os lançamentos
+ * confirmados ao banco ({@code BENEFICIO} e {@code TRANSFERENCIA}) em lotes,
+ * de forma assíncrona.</p>
+ *
+ * <p>Na inicialização, os saldos vêm do snapshot mais recente do
+ * {@link EngineSnapshotter} mais os lançamentos do journal posteriores a ele; o
+ * banco só é lido por inteiro quando não há snapshot utilizável. Os lançamentos
+ * posteriores ao checkpoint do banco são reaplicados nele antes do início.</p>
+ *
+ * <p>Com o motor ativo, ele é o único escritor dos saldos: transferências
+ * ignoram o header {@code X-Transfer-Strategy} e o group commit, e o lote, a
+ * atualização e a exclusão de benefícios são rejeitados com 409
+ * ({@link #rejeitarEscritaExterna}), já que gravariam {@code BENEFICIO} sem que
+ * o motor visse a mudança.</p>
+ */
+@Component
+public class LedgerEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerEngine.class);
+
+    private final BeneficioRepository repository;
+    private final TransferJournal journal;
+    private final EngineWriteBehind writeBehind;
+    private final EngineSnapshotter snapshotter;
+    private final StripedBalances stripedBalances;
+    private final boolean enabled;
+    private final int shardCount;
+    private final int ringSize;
+    private final List<Thread> threads = new ArrayList<>();
+    private final Set<Long> conhecidas = ConcurrentHashMap.newKeySet();
+    private LedgerShard[] shards;
+    private volatile boolean running;
+
+    public LedgerEngine(BeneficioRepository repository, TransferJournal journal, EngineWriteBehind writeBehind,
+                        EngineSnapshotter snapshotter, StripedBalances stripedBalances,
+                        @Value("${app.transfer.engine.enabled:false}") boolean enabled,
+                        @Value("${app.transfer.engine.shards:4}") int shardCount,
+                        @Value("${app.transfer.engine.ring-size:65536}") int ringSize) {
+        this.repository = repository;
+        this.journal = journal;
+        this.writeBehind = writeBehind;
+        this.snapshotter = snapshotter;
+        this.stripedBalances = stripedBalances;
+        this.enabled = enabled;
+        this.shardCount = shardCount;
+        this.ringSize = ringSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        long sequenciaAplicada = writeBehind.ultimaSequenciaAplicada();
+        long sequencia = journal.open(sequenciaAplicada);
+        BalanceImage imagem = snapshotter.load();
+        if (imagem != null && imagem.sequencia() + 1 < journal.primeiraSequencia()) {
+            log.warn("Journal não cobre o snapshot da sequência {}; saldos serão carregados do banco",
+                    imagem.sequencia());
+            imagem = null;
+        }
+
+        // Uma única leitura do journal reconstrói a imagem e completa o banco
+        long aPartirDe = imagem != null ? Math.min(imagem.sequencia(), sequenciaAplicada) : sequenciaAplicada;
+        Set<Long> desconhecidas = new HashSet<>();
+        BalanceImage replayImagem = imagem;
+        journal.replay(aPartirDe, entry -> {
+            if (replayImagem != null) {
+                replayImagem.replay(entry, desconhecidas::add);
+            }
+            if (entry.sequencia() > sequenciaAplicada) {
+                writeBehind.enqueue(entry);
+            }
+        });
+        long reaplicados = writeBehind.recover(sequenciaAplicada);
+
+        // O motor só conhece o valor base: slots de benefícios listrados vão para a base
+        if (stripedBalances.consolidarTodos() > 0 && imagem != null) {
+            log.warn("Saldos listrados consolidados fora do snapshot; saldos serão carregados do banco");
+            imagem = null;
+        }
+
+        if (imagem == null) {
+            imagem = loadImage(sequencia);
+        } else {
+            // Contas criadas depois do snapshot: o banco já está na sequência final
+            for (Long id : desconhecidas) {
+                repository.findById(id).ifPresent(beneficio -> {
+                    Account account = toAccount(beneficio);
+                    replayImagem.put(account.id, account.saldo, account.version, account.ativo);
+                });
+            }
+        }
+
+        shards = new LedgerShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new LedgerShard(i, this, ringSize);
+        }
+        imagem.forEach((id, saldo, version, ativo) -> {
+            shardOf(id).preload(new Account(id, saldo, ativo, version));
+            conhecidas.add(id);
+        });
+        int contas = imagem.size();
+        snapshotter.init(imagem);
+
+        writeBehind.start();
+        snapshotter.start();
+        running = true;
+        for (int i = 0; i < shardCount; i++) {
+            Thread thread = new Thread(shards[i], "ledger-shard-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        log.info("Motor de transferências em memória ativo em {} ms: {} shards, {} contas carregadas, "
+                        + "sequência {} ({} lançamentos do journal reaplicados no banco)",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio), shardCount, contas, sequencia,
+                reaplicados);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        for (LedgerShard shard : shards) {
+            shard.stop();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        journal.close();
+        writeBehind.stop();
+        snapshotter.stop();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Impede escritas diretas em {@code BENEFICIO} enquanto o motor estiver ativo:
+     * ele validaria as próximas transferências sobre saldos em memória
+     * desatualizados, e o write-behind somaria suas variações por cima da escrita.
+     *
+     * @param operacao descrição da operação, para a mensagem de erro
+     * @throws BeneficioConflictException com o motor ativo
+     */
+    public void rejeitarEscritaExterna(String operacao) {
+        if (enabled) {
+            throw new BeneficioConflictException(
+                    operacao + " indisponível com o motor de transferências em memória ativo");
+        }
+    }
+
+    /**
+     * Entrega a transferência ao shard da origem. Contas ainda não conhecidas pelo
+     * motor (benefícios criados depois da inicialização) são lidas do banco aqui,
+     * na thread do chamador, e seguem na mensagem: um ID inexistente custa uma
+     * consulta ao chamador, sem parar o shard.
+     *
+     * @param requestDTO dados da transferência, já validados
+     * @return future concluído após a gravação no journal, ou com o erro de validação
+     * @throws IllegalArgumentException se o valor tiver mais de duas casas decimais
+     */
+    public CompletableFuture<TransferenciaResponseDTO> submit(TransferenciaRequestDTO requestDTO) {
+        long valor = toCentavos(requestDTO.getValor());
+        long origemId = requestDTO.getBeneficioOrigemId();
+        long destinoId = requestDTO.getBeneficioDestinoId();
+        CompletableFuture<TransferenciaResponseDTO> result = new CompletableFuture<>();
+        if (!running) {
+            result.completeExceptionally(
+                    new BeneficioConflictException("Motor de transferências sobrecarregado. Tente novamente."));
+            return result;
+        }
+        ShardMessage.Transfer transfer = new ShardMessage.Transfer(requestDTO, origemId, destinoId, valor,
+                carregarSeDesconhecida(origemId), carregarSeDesconhecida(destinoId), result);
+
+        if (!shardOf(origemId).offer(transfer)) {
+            result.completeExceptionally(
+                    new BeneficioConflictException("Motor de transferências sobrecarregado. Tente novamente."));
+        }
+        return result;
+    }
+
+    LedgerShard shardOf(long beneficioId) {
+        return shards[(int) Math.floorMod(beneficioId, (long) shards.length)];
+    }
+
+    /**
+     * Lê do banco uma conta que nenhum shard registrou ainda. Uma conta fora do
+     * motor nunca foi alterada por ele, então a linha do banco está atualizada.
+     *
+     * @return a conta, ou {@code null} se já for conhecida ou não existir
+     */
+    private Account carregarSeDesconhecida(long id) {
+        if (conhecidas.contains(id)) {
+            return null;
+        }
+        return repository.findById(id).map(LedgerEngine::toAccount).orElse(null);
+    }
+
+    /**
+     * Marca como conhecida uma conta registrada por um shard a partir de uma
+     * mensagem. Chamado na thread do shard.
+     */
+    void registrar(Account account) {
+        snapshotter.register(account);
+        conhecidas.add(account.id);
+    }
+
+    /**
+     * Monta a imagem de saldos a partir do banco, que já contém todo o journal.
+     */
+    private BalanceImage loadImage(long sequencia) {
+        List<Beneficio> beneficios = repository.findAll();
+        BalanceImage imagem = new BalanceImage(beneficios.size(), sequencia);
+        for (Beneficio beneficio : beneficios) {
+            Account account = toAccount(beneficio);
+            imagem.put(account.id, account.saldo, account.version, account.ativo);
+        }
+        return imagem;
+    }
+
+    /**
+     * Grava a transferência já aplicada em memória no journal e responde ao
+     * chamador quando ela estiver durável. Chamado na thread do shard que
+     * concluiu a transferência.
+     */
+    void commit(ShardMessage.Transfer transfer, long saldoAnteriorOrigem, long saldoNovoOrigem,
+                long saldoAnteriorDestino, long saldoNovoDestino) {
+        // A sequência é atribuída pelo journal, na ordem de gravação
+        JournalEntry entry = new JournalEntry(0, transfer.origemId(),
+                transfer.destinoId(), transfer.valor(), saldoNovoOrigem, saldoNovoDestino,
+                System.currentTimeMillis());
+        TransferenciaResponseDTO response = TransferSupport.buildResponse(transfer.request(),
+                toReais(saldoAnteriorOrigem), toReais(saldoNovoOrigem),
+                toReais(saldoAnteriorDestino), toReais(saldoNovoDestino));
+
+        journal.append(entry).whenComplete((gravado, erro) -> {
+            if (erro != null) {
+                // O saldo em memória já inclui a transferência, mas ela não é durável:
+                // o motor para de aceitar transferências até ser reiniciado
+                running = false;
+                log.error("Journal indisponível; motor de transferências suspenso", erro);
+                if (erro instanceof GravacaoIncertaException) {
+                    // Está no segmento e pode ser reaplicada na recuperação: não é uma recusa
+                    complete(transfer.result(), null, new ResultadoIncertoException(
+                            "Resultado da transferência desconhecido: gravação no journal não confirmada. "
+                                    + "Consulte o extrato antes de repetir.", erro));
+                } else {
+                    complete(transfer.result(), null, new IllegalStateException(
+                            "Falha ao gravar a transferência no journal", erro));
+                }
+                return;
+            }
+            writeBehind.enqueue(gravado);
+            complete(transfer.result(), response, null);
+        });
+    }
+
+    /**
+     * Conclui o future do chamador fora das threads do motor, para que os callbacks
+     * (resposta HTTP, Idempotency-Key) não atrasem as próximas transferências.
+     */
+    void complete(CompletableFuture<TransferenciaResponseDTO> result, TransferenciaResponseDTO response,
+                  RuntimeException erro) {
+        CompletableFuture.runAsync(() -> {
+            if (erro != null) {
+                result.completeExceptionally(erro);
+            } else {
+                result.complete(response);
+            }
+        });
+    }
+
+    static long toCentavos(BigDecimal valor) {
+        try {
+            return valor.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Valor deve ter no máximo duas casas decimais: " + valor);
+        }
+    }
+
+    static BigDecimal toReais(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    private static Account toAccount(Beneficio beneficio) {
+        return new Account(beneficio.getId(), toCentavos(beneficio.getValor()),
+                Boolean.TRUE.equals(beneficio.getAtivo()),
+                beneficio.getVersion() != null ? beneficio.getVersion() : 0);
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.backend.service.engine;
+
+import com.example.backend.service.transfer.TransferSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Partição de contas do {@link LedgerEngine}, com uma única thread dona.
+ *
+ * <p>Todas as leituras e escritas de saldo de uma conta acontecem na thread do
+ * seu shard, que consome as mensagens do {@link MpscRingBuffer} em ordem; não há
+ * locks sobre as contas. Mensagens para outros shards que encontram o ring de
+ * destino cheio ficam em uma fila local e são reenviadas a cada volta, sem que o
+ * shard deixe de consumir o próprio ring (dois shards cheios enviando um ao outro
+ * não travam).</p>
+ *
+ * <p>A thread do shard não acessa o banco: contas criadas depois da
+ * inicialização chegam carregadas na própria mensagem ({@link LedgerEngine#submit}).</p>
+ */
+final class LedgerShard implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerShard.class);
+    private static final int SPINS_BEFORE_PARK = 200;
+    private static final long MIN_PARK_NANOS = 50_000;
+    private static final long MAX_PARK_NANOS = 1_000_000;
+
+    private final int index;
+    private final LedgerEngine engine;
+    private final MpscRingBuffer<ShardMessage> ring;
+    private final Map<Long, Account> accounts = new HashMap<>();
+    private final ArrayDeque<Outbound> outbound = new ArrayDeque<>();
+    private volatile boolean running = true;
+
+    LedgerShard(int index, LedgerEngine engine, int ringSize) {
+        this.index = index;
+        this.engine = engine;
+        this.ring = new MpscRingBuffer<>(ringSize);
+    }
+
+    /**
+     * Registra uma conta carregada antes do início da thread do shard.
+     */
+    void preload(Account account) {
+        accounts.put(account.id, account);
+    }
+
+
+    boolean offer(ShardMessage message) {
+        return ring.offer(message);
+    }
+
+    void stop() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        int idle = 0;
+        long park = MIN_PARK_NANOS;
+        while (running) {
+            boolean progresso = retryOutbound();
+            ShardMessage message = ring.poll();
+            if (message != null) {
+                handle(message);
+                progresso = true;
+            }
+            if (progresso) {
+                idle = 0;
+                park = MIN_PARK_NANOS;
+            } else if (++idle < SPINS_BEFORE_PARK) {
+                Thread.onSpinWait();
+            } else {
+                // Ocioso por mais tempo, cede cada vez mais CPU às demais threads
+                LockSupport.parkNanos(park);
+                park = Math.min(park * 2, MAX_PARK_NANOS);
+            }
+        }
+    }
+
+    private void handle(ShardMessage message) {
+        try {
+            if (message instanceof ShardMessage.Transfer transfer) {
+                debit(transfer);
+            } else if (message instanceof ShardMessage.Credit credit) {
+                credit(credit);
+            } else if (message instanceof ShardMessage.Refund refund) {
+                refund(refund);
+            }
+        } catch (RuntimeException e) {
+            log.error("Shard {}: falha inesperada ao processar {}", index, message, e);
+            transferOf(message).result().completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Primeiro passo, no shard da origem. Transferências dentro do mesmo shard
+     * são concluídas aqui mesmo.
+     */
+    private void debit(ShardMessage.Transfer transfer) {
+        install(transfer.origemCarregada());
+        Account origem = accounts.get(transfer.origemId());
+        if (origem == null) {
+            fail(transfer, TransferSupport.origemNaoEncontrada(transfer.origemId()));
+            return;
+        }
+
+        LedgerShard destinoShard = engine.shardOf(transfer.destinoId());
+        if (destinoShard == this) {
+            install(transfer.destinoCarregado());
+            Account destino = accounts.get(transfer.destinoId());
+            if (destino == null) {
+                fail(transfer, TransferSupport.destinoNaoEncontrado(transfer.destinoId()));
+                return;
+            }
+            RuntimeException erro = validateOrigem(origem, transfer.valor());
+            if (erro == null && !destino.ativo) {
+                erro = TransferSupport.destinoInativo();
+            }
+            if (erro != null) {
+                fail(transfer, erro);
+                return;
+            }
+            long saldoAnteriorOrigem = origem.saldo;
+            long saldoAnteriorDestino = destino.saldo;
+            apply(origem, -transfer.valor());
+            apply(destino, transfer.valor());
+            engine.commit(transfer, saldoAnteriorOrigem, origem.saldo, saldoAnteriorDestino, destino.saldo);
+            return;
+        }
+
+        RuntimeException erro = validateOrigem(origem, transfer.valor());
+        if (erro != null) {
+            fail(transfer, erro);
+            return;
+        }
+        long saldoAnteriorOrigem = origem.saldo;
+        apply(origem, -transfer.valor());
+        send(destinoShard, new ShardMessage.Credit(transfer, saldoAnteriorOrigem, origem.saldo));
+    }
+
+    /**
+     * Segundo passo, no shard do destino.
+     */
+    private void credit(ShardMessage.Credit credit) {
+        ShardMessage.Transfer transfer = credit.transfer();
+        install(transfer.destinoCarregado());
+        Account destino = accounts.get(transfer.destinoId());
+        RuntimeException erro = null;
+        if (destino == null) {
+            erro = TransferSupport.destinoNaoEncontrado(transfer.destinoId());
+        } else if (!destino.ativo) {
+            erro = TransferSupport.destinoInativo();
+        }
+        if (erro != null) {
+            send(engine.shardOf(transfer.origemId()), new ShardMessage.Refund(transfer, erro));
+            return;
+        }
+        long saldoAnteriorDestino = destino.saldo;
+        apply(destino, transfer.valor());
+        engine.commit(transfer, credit.saldoAnteriorOrigem(), credit.saldoNovoOrigem(),
+                saldoAnteriorDestino, destino.saldo);
+    }
+
+    /**
+     * Compensação, no shard da origem: devolve o valor debitado no primeiro passo.
+     */
+    private void refund(ShardMessage.Refund refund) {
+        ShardMessage.Transfer transfer = refund.transfer();
+        apply(accounts.get(transfer.origemId()), transfer.valor());
+        fail(transfer, refund.erro());
+    }
+
+    private RuntimeException validateOrigem(Account origem, long valor) {
+        if (!origem.ativo) {
+            return TransferSupport.origemInativa();
+        }
+        if (origem.saldo < valor) {
+            return TransferSupport.saldoInsuficiente(LedgerEngine.toReais(origem.saldo), LedgerEngine.toReais(valor));
+        }
+        return null;
+    }
+
+    private void apply(Account account, long delta) {
+        account.saldo += delta;
+        account.version++;
+    }
+
+    /**
+     * Registra a conta carregada pelo chamador, se o shard ainda não a conhece.
+     * Se outra mensagem já a registrou, esta cópia está desatualizada e é descartada.
+     */
+    private void install(Account carregada) {
+        if (carregada != null && !accounts.containsKey(carregada.id)) {
+            accounts.put(carregada.id, carregada);
+            engine.registrar(carregada);
+        }
+    }
+
+    private void fail(ShardMessage.Transfer transfer, RuntimeException erro) {
+        engine.complete(transfer.result(), null, erro);
+    }
+
+    private void send(LedgerShard shard, ShardMessage message) {
+        if (!outbound.isEmpty() || !shard.offer(message)) {
+            outbound.add(new Outbound(shard, message));
+        }
+    }
+
+    private boolean retryOutbound() {
+        boolean enviou = false;
+        while (!outbound.isEmpty()) {
+            Outbound pendente = outbound.peek();
+            if (!pendente.shard().offer(pendente.message())) {
+                break;
+            }
+            outbound.poll();
+            enviou = true;
+        }
+        return enviou;
+    }
+
+    private static ShardMessage.Transfer transferOf(ShardMessage message) {
+        if (message instanceof ShardMessage.Credit credit) {
+            return credit.transfer();
+        }
+        if (message instanceof ShardMessage.Refund refund) {
+            return refund.transfer();
+        }
+        return (ShardMessage.Transfer) message;
+    }
+
+    private record Outbound(LedgerShard shard, ShardMessage message) {
+    }
+}
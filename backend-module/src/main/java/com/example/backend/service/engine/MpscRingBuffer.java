@@ -0,0 +1,77 @@
+package com.example.backend.service.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fila circular limitada, sem locks, para vários produtores e um único consumidor.
+ *
+ * <p>Cada posição guarda um número de sequência que indica se está livre para a
+ * volta atual do produtor ou pronta para o consumidor (algoritmo de D. Vyukov,
+ * a mesma ideia do ring buffer do LMAX Disruptor). Produtores disputam apenas
+ * um {@code compareAndSet} no cursor de escrita; o consumidor não usa CAS.</p>
+ *
+ * @param <E> tipo dos elementos
+ */
+final class MpscRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong producerCursor = new AtomicLong();
+    private long consumerCursor;
+
+    /**
+     * @param capacity capacidade, arredondada para a próxima potência de dois
+     */
+    MpscRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Publica um elemento; seguro para várias threads.
+     *
+     * @return {@code false} se a fila estiver cheia
+     */
+    boolean offer(E element) {
+        while (true) {
+            long cursor = producerCursor.get();
+            int index = (int) (cursor & mask);
+            long diff = sequences.get(index) - cursor;
+            if (diff == 0) {
+                if (producerCursor.compareAndSet(cursor, cursor + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.set(index, cursor + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Consome o próximo elemento; deve ser chamado apenas pela thread consumidora.
+     *
+     * @return o elemento, ou {@code null} se a fila estiver vazia
+     */
+    E poll() {
+        int index = (int) (consumerCursor & mask);
+        if (sequences.get(index) != consumerCursor + 1) {
+            return null;
+        }
+        E element = elements.get(index);
+        elements.lazySet(index, null);
+        sequences.set(index, consumerCursor + mask + 1);
+        consumerCursor++;
+        return element;
+    }
+}
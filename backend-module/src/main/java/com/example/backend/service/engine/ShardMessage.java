@@ -0,0 +1,41 @@
+package com.example.backend.service.engine;
+
+import com.example.backend.dto.TransferenciaRequestDTO;
+import com.example.backend.dto.TransferenciaResponseDTO;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Mensagens trocadas entre os shards do {@link LedgerEngine}.
+ *
+ * <p>Uma transferência entre shards diferentes segue sempre os mesmos passos:
+ * {@link Transfer} no shard da origem (valida e debita), {@link Credit} no
+ * shard do destino (valida e credita) e, se o destino for rejeitado,
+ * {@link Refund} de volta ao shard da origem.</p>
+ */
+sealed interface ShardMessage {
+
+    /**
+     * Transferência recebida do chamador, entregue ao shard da origem.
+     *
+     * <p>{@code origemCarregada} e {@code destinoCarregado} trazem as contas que o
+     * motor ainda não conhecia, lidas do banco pelo chamador antes da publicação;
+     * são {@code null} para contas já conhecidas ou inexistentes.</p>
+     */
+    record Transfer(TransferenciaRequestDTO request, long origemId, long destinoId, long valor,
+                    Account origemCarregada, Account destinoCarregado,
+                    CompletableFuture<TransferenciaResponseDTO> result) implements ShardMessage {
+    }
+
+    /**
+     * Segundo passo: a origem já foi debitada; o destino deve ser creditado.
+     */
+    record Credit(Transfer transfer, long saldoAnteriorOrigem, long saldoNovoOrigem) implements ShardMessage {
+    }
+
+    /**
+     * Compensação: o destino foi rejeitado e o débito da origem deve ser desfeito.
+     */
+    record Refund(Transfer transfer, RuntimeException erro) implements ShardMessage {
+    }
+}
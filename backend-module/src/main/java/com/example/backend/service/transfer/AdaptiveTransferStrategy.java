@@ -0,0 +1,78 @@
+package com.example.backend.service.transfer;
+
+import com.example.backend.dto.TransferenciaRequestDTO;
+import com.example.backend.dto.TransferenciaResponseDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Transferência adaptativa por benefício.
+ *
+ * <p>Usa o caminho otimista por padrão e registra no {@link ContentionManager}
+ * cada conflito de versão. Se origem ou destino estiverem escalados por excesso
+ * de conflitos, a tentativa usa o caminho pessimista ordenado, evitando que
+ * benefícios muito disputados consumam as tentativas em retries fadados a
+ * falhar.</p>
+ */
+@Component
+public class AdaptiveTransferStrategy implements TransferStrategy {
+
+    public static final String NAME = "adaptive";
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveTransferStrategy.class);
+
+    private final OptimisticTransferStrategy optimistic;
+    private final PessimisticTransferStrategy pessimistic;
+    private final ContentionManager contentionManager;
+
+    public AdaptiveTransferStrategy(OptimisticTransferStrategy optimistic,
+                                    PessimisticTransferStrategy pessimistic,
+                                    ContentionManager contentionManager) {
+        this.optimistic = optimistic;
+        this.pessimistic = pessimistic;
+        this.contentionManager = contentionManager;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public TransferenciaResponseDTO execute(TransferenciaRequestDTO requestDTO) {
+        Long origemId = requestDTO.getBeneficioOrigemId();
+        Long destinoId = requestDTO.getBeneficioDestinoId();
+
+        if (contentionManager.isEscalated(origemId) || contentionManager.isEscalated(destinoId)) {
+            log.debug("Benefício escalado; usando caminho pessimista: {} -> {}", origemId, destinoId);
+            try {
+                return pessimistic.execute(requestDTO);
+            } catch (RuntimeException e) {
+                if (pessimistic.isRetryable(e)) {
+                    recordConflict(origemId, destinoId);
+                }
+                throw e;
+            }
+        }
+
+        try {
+            return optimistic.execute(requestDTO);
+        } catch (RuntimeException e) {
+            if (optimistic.isRetryable(e)) {
+                recordConflict(origemId, destinoId);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isRetryable(RuntimeException e) {
+        return optimistic.isRetryable(e) || pessimistic.isRetryable(e);
+    }
+
+    private void recordConflict(Long origemId, Long destinoId) {
+        contentionManager.recordConflict(origemId);
+        contentionManager.recordConflict(destinoId);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.backend.service.transfer;
+
+import com.example.backend.dto.TransferenciaRequestDTO;
+import com.example.backend.dto.TransferenciaResponseDTO;
+import com.example.backend.entity.Beneficio;
+import com.example.backend.repository.BeneficioRepository;
+import com.example.backend.repository.BeneficioSaldo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Transferência com dois UPDATEs condicionais, sem ler as entidades.
+ * 
+ * <p>O débito só é aplicado se a origem estiver ativa e com saldo suficiente, e o
+ * crédito só se o destino estiver ativo; o próprio UPDATE adquire o lock da linha.
+ * Os UPDATEs são emitidos em ordem crescente de ID para que transferências em
+ * sentidos opostos não entrem em deadlock. Se qualquer um não afetar linhas, a
+ * exceção correspondente desfaz a transação. Não depende de {@code @Version},
+ * portanto não há tentativas repetidas.</p>
+ */
+@Component
+public class AtomicTransferStrategy implements TransferStrategy {
+
+    public static final String NAME = "atomic";
+
+    private static final Logger log = LoggerFactory.getLogger(AtomicTransferStrategy.class);
+
+    private final BeneficioRepository repository;
+    private final TransferLedger ledger;
+    private final TransactionTemplate transactionTemplate;
+
+    public AtomicTransferStrategy(BeneficioRepository repository, TransferLedger ledger,
+                                  PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.ledger = ledger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public TransferenciaResponseDTO execute(TransferenciaRequestDTO requestDTO) {
+        Long origemId = requestDTO.getBeneficioOrigemId();
+        Long destinoId = requestDTO.getBeneficioDestinoId();
+        BigDecimal valor = requestDTO.getValor();
+
+        return transactionTemplate.execute(status -> {
+            if (origemId < destinoId) {
+                debitar(origemId, valor);
+                creditar(destinoId, valor);
+            } else {
+                creditar(destinoId, valor);
+                debitar(origemId, valor);
+            }
+
+            // As linhas já estão bloqueadas pelos UPDATEs: os saldos lidos são os recém-gravados
+            Map<Long, BigDecimal> saldos = repository.findSaldosByIdIn(List.of(origemId, destinoId))
+                    .stream()
+                    .collect(Collectors.toMap(BeneficioSaldo::getId, BeneficioSaldo::getValor));
+            BigDecimal saldoNovoOrigem = saldos.get(origemId);
+            BigDecimal saldoNovoDestino = saldos.get(destinoId);
+
+            log.info("Transferência (atômica) concluída. From: {} -> {}, To: {} -> {}",
+                    saldoNovoOrigem.add(valor), saldoNovoOrigem,
+                    saldoNovoDestino.subtract(valor), saldoNovoDestino);
+
+            TransferenciaResponseDTO response = TransferSupport.buildResponse(requestDTO,
+                    saldoNovoOrigem.add(valor), saldoNovoOrigem,
+                    saldoNovoDestino.subtract(valor), saldoNovoDestino);
+            ledger.record(response.getTransacao());
+            return response;
+        });
+    }
+
+    private void debitar(Long origemId, BigDecimal valor) {
+        if (repository.debitar(origemId, valor) == 0) {
+            Beneficio origem = repository.findById(origemId)
+                    .orElseThrow(() -> TransferSupport.origemNaoEncontrada(origemId));
+            if (!origem.getAtivo()) {
+                throw TransferSupport.origemInativa();
+            }
+            throw TransferSupport.saldoInsuficiente(origem.getValor(), valor);
+        }
+    }
+
+    private void creditar(Long destinoId, BigDecimal valor) {
+        if (repository.creditar(destinoId, valor) == 0) {
+            if (!repository.existsById(destinoId)) {
+                throw TransferSupport.destinoNaoEncontrado(destinoId);
+            }
+            throw TransferSupport.destinoInativo();
+        }
+    }
+}
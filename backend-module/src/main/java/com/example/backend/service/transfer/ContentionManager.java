@@ -0,0 +1,176 @@
+package com.example.backend.service.transfer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Acompanha a taxa de conflitos de concorrência por benefício.
+ *
+ * <p>Cada conflito otimista é contado em uma janela fixa por ID. Quando um
+ * benefício atinge {@code app.transfer.contention.threshold} conflitos dentro da
+ * janela, ele é escalado e suas transferências passam a usar o caminho pessimista.
+ * Um benefício escalado volta ao caminho otimista depois de ficar
+ * {@code app.transfer.contention.cooldown} sem novos conflitos.</p>
+ *
+ * <p>O número de benefícios acompanhados é limitado por
+ * {@code app.transfer.contention.max-tracked}; ao atingir o limite, as entradas
+ * frias são descartadas e, se ainda assim não houver espaço, o novo conflito
+ * não é registrado.</p>
+ */
+@Component
+public class ContentionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentionManager.class);
+
+    private final Map<Long, AccountContention> accounts = new ConcurrentHashMap<>();
+    private final int threshold;
+    private final long windowNanos;
+    private final long cooldownNanos;
+    private final int maxTracked;
+
+    public ContentionManager(@Value("${app.transfer.contention.threshold:5}") int threshold,
+                             @Value("${app.transfer.contention.window:10s}") Duration window,
+                             @Value("${app.transfer.contention.cooldown:30s}") Duration cooldown,
+                             @Value("${app.transfer.contention.max-tracked:10000}") int maxTracked) {
+        this.threshold = threshold;
+        this.windowNanos = window.toNanos();
+        this.cooldownNanos = cooldown.toNanos();
+        this.maxTracked = maxTracked;
+    }
+
+    /**
+     * Registra um conflito de concorrência envolvendo o benefício.
+     */
+    public void recordConflict(Long id) {
+        long now = System.nanoTime();
+        AccountContention contention = accounts.get(id);
+        if (contention == null) {
+            if (accounts.size() >= maxTracked) {
+                evictCold(now);
+                if (accounts.size() >= maxTracked) {
+                    return;
+                }
+            }
+            contention = accounts.computeIfAbsent(id, key -> new AccountContention(key, now));
+        }
+        if (contention.recordConflict(now)) {
+            log.warn("Benefício {} escalado para o caminho pessimista ({} conflitos na janela)", id, threshold);
+        }
+    }
+
+    /**
+     * Indica se as transferências envolvendo o benefício devem usar o caminho pessimista.
+     */
+    public boolean isEscalated(Long id) {
+        AccountContention contention = accounts.get(id);
+        if (contention == null) {
+            return false;
+        }
+        long now = System.nanoTime();
+        if (contention.isEscalated(now)) {
+            return true;
+        }
+        if (contention.isCold(now)) {
+            accounts.remove(id, contention);
+        }
+        return false;
+    }
+
+    /**
+     * IDs atualmente escalados para o caminho pessimista.
+     */
+    public Set<Long> getEscalated() {
+        long now = System.nanoTime();
+        Set<Long> escalated = new TreeSet<>();
+        accounts.forEach((id, contention) -> {
+            if (contention.isEscalated(now)) {
+                escalated.add(id);
+            }
+        });
+        return escalated;
+    }
+
+    /**
+     * Conflitos na janela corrente de cada benefício acompanhado.
+     */
+    public Map<Long, Integer> getConflictCounts() {
+        long now = System.nanoTime();
+        Map<Long, Integer> counts = new TreeMap<>();
+        accounts.forEach((id, contention) -> counts.put(id, contention.conflictsInWindow(now)));
+        return counts;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public int getMaxTracked() {
+        return maxTracked;
+    }
+
+    private void evictCold(long now) {
+        accounts.entrySet().removeIf(entry -> entry.getValue().isCold(now));
+    }
+
+    /**
+     * Estado de contenção de um benefício. Acesso sincronizado na própria instância.
+     */
+    private final class AccountContention {
+
+        private final Long id;
+        private long windowStart;
+        private int conflicts;
+        private long lastConflict;
+        private boolean escalated;
+
+        AccountContention(Long id, long now) {
+            this.id = id;
+            this.windowStart = now;
+            this.lastConflict = now;
+        }
+
+        /**
+         * @return {@code true} se este conflito escalou o benefício
+         */
+        synchronized boolean recordConflict(long now) {
+            if (now - windowStart > windowNanos) {
+                windowStart = now;
+                conflicts = 0;
+            }
+            conflicts++;
+            lastConflict = now;
+            if (!escalated && conflicts >= threshold) {
+                escalated = true;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized boolean isEscalated(long now) {
+            if (escalated && now - lastConflict > cooldownNanos) {
+                escalated = false;
+                conflicts = 0;
+                windowStart = now;
+                log.info("Benefício {} sem conflitos recentes; voltando ao caminho otimista", id);
+            }
+            return escalated;
+        }
+
+        synchronized int conflictsInWindow(long now) {
+            return now - windowStart > windowNanos ? 0 : conflicts;
+        }
+
+        synchronized boolean isCold(long now) {
+            return !isEscalated(now) && now - lastConflict > windowNanos;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.backend.service.transfer;
+
+import com.example.backend.dto.ModoLote;
+import com.example.backend.dto.TransferenciaRequestDTO;
+import com.example.backend.dto.TransferenciaResponseDTO;
+import com.example.backend.exception.BeneficioConflictException;
+import com.example.backend.exception.ResultadoIncertoException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.UnexpectedRollbackException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agrupa transferências concorrentes em transações compartilhadas (group commit).
+ *
+ * <p>Com {@code app.transfer.group-commit.enabled=true}, as transferências sem
+ * estratégia explícita entram em uma fila. Uma thread dedicada junta as
+ * requisições que chegam em até {@code max-wait} após a primeira, limitadas a
+ * {@code max-items}, e aplica o grupo em uma única transação pelo
+ * {@link TransferBatchProcessor} (locks em ordem crescente de ID): um commit
+ * (e um fsync no PostgreSQL) atende o grupo inteiro, em vez de um por
+ * transferência.</p>
+ *
+ * <p>Cada chamador recebe o resultado da sua própria transferência: uma perna
+ * inválida falha apenas o seu future, sem desfazer as demais. Se a transação do
+ * grupo falhar antes do commit (deadlock, timeout de lock, erro no flush), ela é
+ * desfeita e cada transferência é reenviada individualmente pela estratégia
+ * padrão, com o retry do {@link TransferRetryScheduler}; o mesmo vale para uma
+ * transação marcada como rollback-only. Uma falha durante o próprio commit (queda
+ * de conexão, por exemplo) deixa o resultado desconhecido: o grupo pode ter sido
+ * gravado, então nada é reenviado e cada chamador recebe
+ * {@link ResultadoIncertoException}, que mantém a sua {@code Idempotency-Key}
+ * reservada.</p>
+ *
+ * <p>A fila é limitada a {@code queue-capacity} transferências: com ela cheia,
+ * o future falha na hora com {@link BeneficioConflictException} (409), em vez de
+ * a espera e a memória crescerem sem limite quando as chegadas superam a vazão
+ * dos commits.</p>
+ */
+@Component
+public class GroupCommitStage {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitStage.class);
+
+    private final TransferBatchProcessor batchProcessor;
+    private final TransferStrategyRegistry strategyRegistry;
+    private final TransferRetryScheduler retryScheduler;
+    private final PlatformTransactionManager transactionManager;
+    private final boolean enabled;
+    private final int maxItems;
+    private final long maxWaitNanos;
+    private final BlockingQueue<Pending> queue;
+    private Thread flusher;
+    private volatile boolean running;
+
+    public GroupCommitStage(TransferBatchProcessor batchProcessor,
+                            TransferStrategyRegistry strategyRegistry,
+                            TransferRetryScheduler retryScheduler,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.transfer.group-commit.enabled:false}") boolean enabled,
+                            @Value("${app.transfer.group-commit.max-items:64}") int maxItems,
+                            @Value("${app.transfer.group-commit.max-wait:500us}") Duration maxWait,
+                            @Value("${app.transfer.group-commit.queue-capacity:4096}") int queueCapacity) {
+        this.batchProcessor = batchProcessor;
+        this.strategyRegistry = strategyRegistry;
+        this.retryScheduler = retryScheduler;
+        this.transactionManager = transactionManager;
+        this.enabled = enabled;
+        this.maxItems = maxItems;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::run, "transfer-group-commit");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Group commit ativo: até {} transferências ou {} µs por transação",
+                maxItems, TimeUnit.NANOSECONDS.toMicros(maxWaitNanos));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+        }
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(
+                    new BeneficioConflictException("Transferência não pôde ser agendada. Tente novamente."));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enfileira a transferência no próximo grupo.
+     *
+     * @param requestDTO dados da transferência, já validados
+     * @return future concluído com a resposta desta transferência, ou com o seu erro
+     *         ({@link BeneficioConflictException} de imediato se a fila estiver cheia)
+     */
+    public CompletableFuture<TransferenciaResponseDTO> submit(TransferenciaRequestDTO requestDTO) {
+        CompletableFuture<TransferenciaResponseDTO> result = new CompletableFuture<>();
+        if (!running) {
+            result.completeExceptionally(
+                    new BeneficioConflictException("Transferência não pôde ser agendada. Tente novamente."));
+            return result;
+        }
+        if (!queue.offer(new Pending(requestDTO, result))) {
+            result.completeExceptionally(
+                    new BeneficioConflictException("Group commit sobrecarregado. Tente novamente."));
+        }
+        return result;
+    }
+
+    private void run() {
+        List<Pending> grupo = new ArrayList<>(maxItems);
+        while (running) {
+            try {
+                grupo.add(queue.take());
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (grupo.size() < maxItems) {
+                    long restante = deadline - System.nanoTime();
+                    Pending proxima = restante > 0 ? queue.poll(restante, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (proxima == null) {
+                        break;
+                    }
+                    grupo.add(proxima);
+                }
+                flush(grupo);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                grupo.forEach(pending -> pending.result().completeExceptionally(
+                        new BeneficioConflictException("Transferência não pôde ser agendada. Tente novamente.")));
+                return;
+            } catch (RuntimeException e) {
+                log.error("Falha inesperada no group commit", e);
+            } finally {
+                grupo.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending> grupo) {
+        List<TransferenciaRequestDTO> itens = new ArrayList<>(grupo.size());
+        for (Pending pending : grupo) {
+            itens.add(pending.requestDTO());
+        }
+
+        List<TransferBatchProcessor.LegResult> resultados;
+        TransactionStatus status = transactionManager.getTransaction(TransactionDefinition.withDefaults());
+        try {
+            resultados = batchProcessor.apply(itens, ModoLote.MELHOR_ESFORCO);
+            // Erros dos UPDATEs e INSERTs surgem aqui, ainda com a transação desfazível
+            status.flush();
+        } catch (RuntimeException e) {
+            rollback(status, e);
+            reenviar(grupo, e);
+            return;
+        } catch (Error e) {
+            rollback(status, e);
+            throw e;
+        }
+
+        try {
+            transactionManager.commit(status);
+        } catch (UnexpectedRollbackException e) {
+            // Rollback-only: nada foi gravado
+            reenviar(grupo, e);
+            return;
+        } catch (RuntimeException e) {
+            log.error("Commit do grupo de {} transferências não confirmado; resultado desconhecido",
+                    grupo.size(), e);
+            for (Pending pending : grupo) {
+                pending.result().completeExceptionally(new ResultadoIncertoException(
+                        "Resultado da transferência desconhecido: commit não confirmado. "
+                                + "Consulte o extrato antes de repetir.", e));
+            }
+            return;
+        }
+
+        log.debug("Group commit de {} transferências", grupo.size());
+        // Os callbacks dos chamadores (resposta HTTP, Idempotency-Key) rodam fora
+        // desta thread, para não atrasar o próximo grupo
+        List<Pending> concluidas = List.copyOf(grupo);
+        CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < concluidas.size(); i++) {
+                TransferBatchProcessor.LegResult resultado = resultados.get(i);
+                concluidas.get(i).complete(resultado.isSucesso()
+                        ? new TransferenciaResponseDTO(true, "Transferência realizada com sucesso", resultado.transacao())
+                        : null, resultado.erro());
+            }
+        });
+    }
+
+    private void rollback(TransactionStatus status, Throwable causa) {
+        try {
+            transactionManager.rollback(status);
+        } catch (RuntimeException e) {
+            // Sem commit, o banco descarta a transação com a conexão
+            causa.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Reenvia individualmente as transferências de um grupo cuja transação foi desfeita.
+     */
+    private void reenviar(List<Pending> grupo, RuntimeException causa) {
+        log.warn("Transação do grupo de {} transferências desfeita; reenviando individualmente: {}",
+                grupo.size(), causa.getMessage());
+        TransferStrategy fallback = strategyRegistry.getDefault();
+        for (Pending pending : grupo) {
+            retryScheduler.submit(fallback, pending.requestDTO()).whenComplete(pending::complete);
+        }
+    }
+
+    private record Pending(TransferenciaRequestDTO requestDTO, CompletableFuture<TransferenciaResponseDTO> result) {
+
+        void complete(TransferenciaResponseDTO response, Throwable error) {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(response);
+            }
+        }
+    }
+}
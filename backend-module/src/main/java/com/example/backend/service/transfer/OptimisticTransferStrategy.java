@@ -0,0 +1,68 @@
+package com.example.backend.service.transfer;
+
+import com.example.backend.dto.TransferenciaRequestDTO;
+import com.example.backend.dto.TransferenciaResponseDTO;
+import com.example.backend.entity.Beneficio;
+import com.example.backend.repository.BeneficioRepository;
+import jakarta.persistence.OptimisticLockException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Transferência com optimistic locking.
+ * 
+ * <p>Lê os dois benefícios sem bloqueio, aplica a transferência em memória e
+ * confia no campo {@code @Version} para detectar escritas concorrentes no commit.
+ * Conflitos são sinalizados como repetíveis.</p>
+ */
+@Component
+public class OptimisticTransferStrategy implements TransferStrategy {
+
+    public static final String NAME = "optimistic";
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticTransferStrategy.class);
+
+    private final BeneficioRepository repository;
+    private final TransferLedger ledger;
+    private final TransactionTemplate transactionTemplate;
+
+    public OptimisticTransferStrategy(BeneficioRepository repository, TransferLedger ledger,
+                                      PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.ledger = ledger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public TransferenciaResponseDTO execute(TransferenciaRequestDTO requestDTO) {
+        return transactionTemplate.execute(status -> {
+            Beneficio origem = repository.findById(requestDTO.getBeneficioOrigemId())
+                    .orElseThrow(() -> TransferSupport.origemNaoEncontrada(requestDTO.getBeneficioOrigemId()));
+            Beneficio destino = repository.findById(requestDTO.getBeneficioDestinoId())
+                    .orElseThrow(() -> TransferSupport.destinoNaoEncontrado(requestDTO.getBeneficioDestinoId()));
+
+            // @Version será verificado no flush do commit
+            TransferenciaResponseDTO response = TransferSupport.apply(origem, destino, requestDTO);
+            ledger.record(response.getTransacao());
+
+            log.info("Transferência (otimista) concluída. From: {} -> {}, To: {} -> {}",
+                    response.getTransacao().getSaldoAnteriorOrigem(), response.getTransacao().getSaldoNovoOrigem(),
+                    response.getTransacao().getSaldoAnteriorDestino(), response.getTransacao().getSaldoNovoDestino());
+            return response;
+        });
+    }
+
+    @Override
+    public boolean isRetryable(RuntimeException e) {
+        return e instanceof ObjectOptimisticLockingFailureException || e instanceof OptimisticLockException;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.backend.service.transfer;
+
+import com.example.backend.dto.TransferenciaRequestDTO;
+import com.example.backend.dto.TransferenciaResponseDTO;
+import com.example.backend.entity.Beneficio;
+import com.example.backend.jfr.TransferTrace;
+import com.example.backend.repository.BeneficioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Transferência com pessimistic locking.
+ * 
+ * <p>Bloqueia origem e destino com um único {@code SELECT ... FOR UPDATE} ordenado
+ * por ID, de modo que transferências concorrentes sobre os mesmos benefícios
+ * sempre adquirem os locks na mesma ordem e não entram em deadlock. Apenas falhas
+ * de aquisição de lock (timeout ou deadlock detectado pelo banco) são repetíveis.</p>
+ */
+@Component
+public class PessimisticTransferStrategy implements TransferStrategy {
+
+    public static final String NAME = "pessimistic";
+
+    private static final Logger log = LoggerFactory.getLogger(PessimisticTransferStrategy.class);
+
+    private final BeneficioRepository repository;
+    private final TransferLedger ledger;
+    private final TransactionTemplate transactionTemplate;
+
+    public PessimisticTransferStrategy(BeneficioRepository repository, TransferLedger ledger,
+                                       PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.ledger = ledger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public TransferenciaResponseDTO execute(TransferenciaRequestDTO requestDTO) {
+        Long origemId = requestDTO.getBeneficioOrigemId();
+        Long destinoId = requestDTO.getBeneficioDestinoId();
+
+        return transactionTemplate.execute(status -> {
+            List<Beneficio> bloqueados = repository.findAllByIdInForUpdate(List.of(origemId, destinoId));
+            TransferTrace.lockAdquirido();
+
+            Beneficio origem = null;
+            Beneficio destino = null;
+            for (Beneficio beneficio : bloqueados) {
+                if (beneficio.getId().equals(origemId)) {
+                    origem = beneficio;
+                } else {
+                    destino = beneficio;
+                }
+            }
+            if (origem == null) {
+                throw TransferSupport.origemNaoEncontrada(origemId);
+            }
+            if (destino == null) {
+                throw TransferSupport.destinoNaoEncontrado(destinoId);
+            }
+
+            TransferenciaResponseDTO response = TransferSupport.apply(origem, destino, requestDTO);
+            ledger.record(response.getTransacao());
+
+            log.info("Transferência (pessimista) concluída. From: {} -> {}, To: {} -> {}",
+                    response.getTransacao().getSaldoAnteriorOrigem(), response.getTransacao().getSaldoNovoOrigem(),
+                    response.getTransacao().getSaldoAnteriorDestino(), response.getTransacao().getSaldoNovoDestino());
+            return response;
+        });
+    }
+
+    @Override
+    public boolean isRetryable(RuntimeException e) {
+        return e instanceof PessimisticLockingFailureException;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.backend.service.transfer;
+
+import com.example.backend.dto.TransferenciaRequestDTO;
+import com.example.backend.dto.TransferenciaResponseDTO;
+import com.example.backend.entity.Beneficio;
+import com.example.backend.repository.BeneficioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Transferência em transação {@code SERIALIZABLE}.
+ * 
+ * <p>Lê e grava os benefícios sem locks explícitos e delega ao banco a detecção
+ * de anomalias de serialização. Falhas de serialização, deadlocks e conflitos de
+ * versão são repetíveis.</p>
+ */
+@Component
+public class SerializableTransferStrategy implements TransferStrategy {
+
+    public static final String NAME = "serializable";
+
+    private static final Logger log = LoggerFactory.getLogger(SerializableTransferStrategy.class);
+
+    private final BeneficioRepository repository;
+    private final TransferLedger ledger;
+    private final TransactionTemplate transactionTemplate;
+
+    public SerializableTransferStrategy(BeneficioRepository repository, TransferLedger ledger,
+                                        PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.ledger = ledger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public TransferenciaResponseDTO execute(TransferenciaRequestDTO requestDTO) {
+        return transactionTemplate.execute(status -> {
+            Beneficio origem = repository.findById(requestDTO.getBeneficioOrigemId())
+                    .orElseThrow(() -> TransferSupport.origemNaoEncontrada(requestDTO.getBeneficioOrigemId()));
+            Beneficio destino = repository.findById(requestDTO.getBeneficioDestinoId())
+                    .orElseThrow(() -> TransferSupport.destinoNaoEncontrado(requestDTO.getBeneficioDestinoId()));
+
+            TransferenciaResponseDTO response = TransferSupport.apply(origem, destino, requestDTO);
+            ledger.record(response.getTransacao());
+
+            log.info("Transferência (serializável) concluída. From: {} -> {}, To: {} -> {}",
+                    response.getTransacao().getSaldoAnteriorOrigem(), response.getTransacao().getSaldoNovoOrigem(),
+                    response.getTransacao().getSaldoAnteriorDestino(), response.getTransacao().getSaldoNovoDestino());
+            return response;
+        });
+    }
+
+    @Override
+    public boolean isRetryable(RuntimeException e) {
+        // Cobre CannotSerializeTransactionException, deadlocks e conflitos de @Version
+        return e instanceof ConcurrencyFailureException;
+    }
+}
@@ -0,0 +1,353 @@
+package com.example.backend.service.transfer;
+
+import com.example.backend.entity.Beneficio;
+import com.example.backend.entity.SaldoParcial;
+import com.example.backend.exception.BeneficioNotFoundException;
+import com.example.backend.repository.BeneficioRepository;
+import com.example.backend.repository.BeneficioSaldo;
+import com.example.backend.repository.SaldoParcialRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Saldos listrados: benefícios cujo saldo é dividido entre o valor base
+ * ({@code BENEFICIO.VALOR}) e {@code slots} linhas de {@link SaldoParcial}.
+ *
+ * <p>Créditos vão para um slot aleatório com um único UPDATE, sem tocar a linha
+ * base; débitos consomem a base e, se ela não bastar, varrem os slots
+ * (bloqueados em ordem) até cobrir o valor. O saldo do benefício é sempre a
+ * soma da base com os slots. O merger ({@code app.transfer.striping.merge-interval})
+ * move periodicamente os slots para a base e recarrega o conjunto de
+ * benefícios listrados, mantido em memória para o roteamento das transferências.</p>
+ *
+ * <p>Os benefícios listrados vêm de {@code app.transfer.striping.beneficios}
+ * ({@code <beneficioId>:<slots>}, separados por vírgula), aplicada na
+ * inicialização: os configurados recebem a quantidade de slots e os demais têm
+ * a listragem desfeita. Todas as instâncias aplicam a mesma configuração.</p>
+ *
+ * <p>Ordem de locks: primeiro as linhas base (em ordem de ID), depois os slots,
+ * em ordem de benefício e de slot. Estratégia, lote e merger seguem a mesma
+ * ordem e não entram em deadlock entre si.</p>
+ */
+@Component
+public class StripedBalances {
+
+    public static final int MAX_SLOTS = 64;
+
+    private static final Logger log = LoggerFactory.getLogger(StripedBalances.class);
+
+    private final BeneficioRepository beneficioRepository;
+    private final SaldoParcialRepository saldoParcialRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean engineEnabled;
+    private final Map<Long, Integer> configurados;
+    private final Map<Long, Integer> listrados = new ConcurrentHashMap<>();
+
+    public StripedBalances(BeneficioRepository beneficioRepository, SaldoParcialRepository saldoParcialRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.transfer.engine.enabled:false}") boolean engineEnabled,
+                           @Value("${app.transfer.striping.beneficios:}") List<String> beneficios) {
+        this.beneficioRepository = beneficioRepository;
+        this.saldoParcialRepository = saldoParcialRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.engineEnabled = engineEnabled;
+        this.configurados = lerConfiguracao(beneficios);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        refresh();
+        aplicarConfiguracao();
+    }
+
+    /**
+     * Recarrega do banco o conjunto de benefícios listrados (inclusive os
+     * configurados por outras instâncias).
+     */
+    public void refresh() {
+        Map<Long, Integer> atuais = new HashMap<>();
+        for (Beneficio beneficio : beneficioRepository.findListrados()) {
+            atuais.put(beneficio.getId(), beneficio.getSlots());
+        }
+        listrados.keySet().retainAll(atuais.keySet());
+        listrados.putAll(atuais);
+    }
+
+    public boolean isStriped(Long beneficioId) {
+        return !listrados.isEmpty() && listrados.containsKey(beneficioId);
+    }
+
+    /**
+     * @return quantidade de slots de cada benefício listrado, por ID
+     */
+    public Map<Long, Integer> getListrados() {
+        return new TreeMap<>(listrados);
+    }
+
+    /**
+     * Soma dos slots dos benefícios listrados entre os informados, sem lock.
+     *
+     * @return soma por ID; benefícios não listrados ficam de fora
+     */
+    public Map<Long, BigDecimal> somarSlots(Collection<Long> ids) {
+        List<Long> consultados = new ArrayList<>();
+        for (Long id : ids) {
+            if (isStriped(id)) {
+                consultados.add(id);
+            }
+        }
+        if (consultados.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, BigDecimal> somas = new HashMap<>();
+        for (BeneficioSaldo soma : saldoParcialRepository.somarPorBeneficios(consultados)) {
+            somas.put(soma.getId(), soma.getValor());
+        }
+        return somas;
+    }
+
+    /**
+     * Saldo total (base mais slots) lido sem lock dos slots: sob créditos
+     * concorrentes, é uma aproximação do saldo no instante da leitura.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BigDecimal saldo(Beneficio beneficio) {
+        return beneficio.getValor().add(saldoParcialRepository.somarPorBeneficio(beneficio.getId()));
+    }
+
+    /**
+     * Credita um slot aleatório do benefício. Se ele deixou de ser listrado
+     * (slots removidos por outra transação), credita a base.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void creditar(Long beneficioId, BigDecimal valor) {
+        int slots = listrados.getOrDefault(beneficioId, 0);
+        if (slots > 0 && saldoParcialRepository.creditar(beneficioId,
+                ThreadLocalRandom.current().nextInt(slots), valor) == 1) {
+            return;
+        }
+        beneficioRepository.creditar(beneficioId, valor);
+    }
+
+    /**
+     * Debita o benefício listrado, cuja linha base já está bloqueada pela
+     * transação corrente. Usa a base primeiro; só bloqueia e varre os slots se
+     * ela não cobrir o valor.
+     *
+     * @return saldo total anterior ao débito
+     * @throws com.example.backend.exception.BeneficioConflictException se base e slots
+     *         juntos não cobrirem o valor
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BigDecimal debitar(Beneficio origem, BigDecimal valor) {
+        if (origem.getValor().compareTo(valor) >= 0) {
+            BigDecimal saldoAnterior = saldo(origem);
+            origem.setValor(origem.getValor().subtract(valor));
+            return saldoAnterior;
+        }
+
+        List<SaldoParcial> slots = saldoParcialRepository.findByBeneficioIdForUpdate(origem.getId());
+        BigDecimal saldoAnterior = origem.getValor();
+        for (SaldoParcial slot : slots) {
+            saldoAnterior = saldoAnterior.add(slot.getValor());
+        }
+        if (saldoAnterior.compareTo(valor) < 0) {
+            throw TransferSupport.saldoInsuficiente(saldoAnterior, valor);
+        }
+
+        BigDecimal restante = valor.subtract(origem.getValor());
+        origem.setValor(BigDecimal.ZERO);
+        for (SaldoParcial slot : slots) {
+            if (restante.signum() == 0) {
+                break;
+            }
+            BigDecimal parcela = slot.getValor().min(restante);
+            slot.setValor(slot.getValor().subtract(parcela));
+            restante = restante.subtract(parcela);
+        }
+        return saldoAnterior;
+    }
+
+    /**
+     * Move os slots do benefício, cuja linha base já está bloqueada pela
+     * transação corrente, para o valor base.
+     *
+     * @return valor movido para a base
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BigDecimal consolidar(Beneficio beneficio) {
+        return consolidar(beneficio, saldoParcialRepository.findByBeneficioIdForUpdate(beneficio.getId()));
+    }
+
+    /**
+     * Zera os slots do benefício, descartando os valores (o saldo passa a ser
+     * apenas a base, ex.: atualização explícita do valor).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void zerarSlots(Long beneficioId) {
+        for (SaldoParcial slot : saldoParcialRepository.findByBeneficioIdForUpdate(beneficioId)) {
+            slot.setValor(BigDecimal.ZERO);
+        }
+    }
+
+    /**
+     * Define a quantidade de slots do benefício; 0 desfaz a listragem. Os slots
+     * existentes são consolidados na base antes da mudança.
+     *
+     * @throws IllegalArgumentException se {@code slots} estiver fora de 0..{@value #MAX_SLOTS}
+     * @throws IllegalStateException com o motor em memória ativo (ele é o único escritor dos saldos)
+     * @throws BeneficioNotFoundException se o benefício não existir
+     */
+    public void configurar(Long beneficioId, int slots) {
+        if (slots < 0 || slots > MAX_SLOTS) {
+            throw new IllegalArgumentException("Quantidade de slots deve estar entre 0 e " + MAX_SLOTS);
+        }
+        if (engineEnabled) {
+            throw new IllegalStateException("Saldos listrados não são usados com o motor em memória ativo");
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Beneficio beneficio = beneficioRepository.findAllByIdInForUpdate(List.of(beneficioId)).stream()
+                    .findFirst()
+                    .orElseThrow(() -> new BeneficioNotFoundException(beneficioId));
+            List<SaldoParcial> existentes = saldoParcialRepository.findByBeneficioIdForUpdate(beneficioId);
+            consolidar(beneficio, existentes);
+            for (SaldoParcial slot : existentes) {
+                if (slot.getSlot() >= slots) {
+                    saldoParcialRepository.delete(slot);
+                }
+            }
+            for (int slot = existentes.size(); slot < slots; slot++) {
+                saldoParcialRepository.save(new SaldoParcial(beneficioId, slot, BigDecimal.ZERO));
+            }
+            beneficio.setSlots(slots);
+        });
+        if (slots > 0) {
+            listrados.put(beneficioId, slots);
+        } else {
+            listrados.remove(beneficioId);
+        }
+        log.info("Benefício {} configurado com {} slots de saldo", beneficioId, slots);
+    }
+
+    /**
+     * Lista os benefícios de {@code app.transfer.striping.beneficios} e desfaz a
+     * listragem dos que não estão nela. Benefícios inexistentes são ignorados.
+     */
+    void aplicarConfiguracao() {
+        if (engineEnabled) {
+            if (!configurados.isEmpty()) {
+                log.warn("app.transfer.striping.beneficios ignorada: motor em memória ativo");
+            }
+            return;
+        }
+        Map<Long, Integer> alvo = new TreeMap<>(configurados);
+        for (Long id : listrados.keySet()) {
+            alvo.putIfAbsent(id, 0);
+        }
+        alvo.forEach((id, slots) -> {
+            if (listrados.getOrDefault(id, 0).equals(slots)) {
+                return;
+            }
+            try {
+                configurar(id, slots);
+            } catch (BeneficioNotFoundException e) {
+                log.warn("Benefício {} de app.transfer.striping.beneficios não existe; ignorado", id);
+            }
+        });
+    }
+
+    /**
+     * Consolida os slots de todos os benefícios listrados, um por transação, e
+     * recarrega o conjunto em memória.
+     */
+    @Scheduled(fixedDelayString = "${app.transfer.striping.merge-interval:PT30S}")
+    public void merge() {
+        if (engineEnabled) {
+            return;
+        }
+        consolidarTodos();
+    }
+
+    /**
+     * Consolida os slots de todos os benefícios listrados (também usado pelo
+     * motor em memória na inicialização, para carregar o saldo inteiro na base).
+     *
+     * @return quantidade de benefícios com slots movidos para a base
+     */
+    public int consolidarTodos() {
+        refresh();
+        int consolidados = 0;
+        for (Long id : listrados.keySet()) {
+            try {
+                BigDecimal movido = transactionTemplate.execute(status ->
+                        beneficioRepository.findAllByIdInForUpdate(List.of(id)).stream()
+                                .findFirst()
+                                .map(this::consolidar)
+                                .orElse(BigDecimal.ZERO));
+                if (movido != null && movido.signum() != 0) {
+                    consolidados++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Falha ao consolidar os slots do benefício {}; nova tentativa no próximo ciclo", id, e);
+            }
+        }
+        if (consolidados > 0) {
+            log.debug("Slots consolidados em {} benefícios", consolidados);
+        }
+        return consolidados;
+    }
+
+    private static Map<Long, Integer> lerConfiguracao(List<String> beneficios) {
+        Map<Long, Integer> configurados = new TreeMap<>();
+        for (String item : beneficios) {
+            if (item.isBlank()) {
+                continue;
+            }
+            String[] partes = item.trim().split(":");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException(
+                        "app.transfer.striping.beneficios: esperado <beneficioId>:<slots>, recebido '" + item + "'");
+            }
+            int slots = Integer.parseInt(partes[1].trim());
+            if (slots < 1 || slots > MAX_SLOTS) {
+                throw new IllegalArgumentException(
+                        "app.transfer.striping.beneficios: slots deve estar entre 1 e " + MAX_SLOTS
+                                + " em '" + item + "'");
+            }
+            configurados.put(Long.valueOf(partes[0].trim()), slots);
+        }
+        return configurados;
+    }
+
+    private BigDecimal consolidar(Beneficio beneficio, List<SaldoParcial> slots) {
+        BigDecimal soma = BigDecimal.ZERO;
+        for (SaldoParcial slot : slots) {
+            if (slot.getValor().signum() != 0) {
+                soma = soma.add(slot.getValor());
+                slot.setValor(BigDecimal.ZERO);
+            }
+        }
+        if (soma.signum() != 0) {
+            beneficio.setValor(beneficio.getValor().add(soma));
+        }
+        return soma;
+    }
+}
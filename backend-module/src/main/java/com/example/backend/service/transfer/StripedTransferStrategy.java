@@ -0,0 +1,156 @@
+package com.example.backend.service.transfer;
+
+import com.example.backend.dto.TransferenciaRequestDTO;
+import com.example.backend.dto.TransferenciaResponseDTO;
+import com.example.backend.entity.Beneficio;
+import com.example.backend.jfr.TransferTrace;
+import com.example.backend.repository.BeneficioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Transferência envolvendo benefícios listrados ({@link StripedBalances}).
+ *
+ * <p>Usada automaticamente sempre que a origem ou o destino é listrado. Bloqueia
+ * com um único {@code SELECT ... FOR UPDATE} ordenado por ID a linha base da
+ * origem e, se não for listrado, a do destino. O crédito de um destino listrado
+ * vai para um slot aleatório, sem lock da linha base, que é apenas lida para
+ * validar a situação; o débito de uma origem listrada varre os slots quando a
+ * base não basta. As operações sobre slots são feitas em ordem de ID do
+ * benefício, depois de todos os locks de linha base.</p>
+ *
+ * <p>Para benefícios listrados, os saldos da resposta são a soma da base com os
+ * slots lidos sem lock: sob créditos concorrentes, são aproximados. Sem nenhum
+ * benefício listrado, equivale à estratégia pessimista.</p>
+ */
+@Component
+public class StripedTransferStrategy implements TransferStrategy {
+
+    public static final String NAME = "striped";
+
+    private static final Logger log = LoggerFactory.getLogger(StripedTransferStrategy.class);
+
+    private final BeneficioRepository repository;
+    private final StripedBalances stripedBalances;
+    private final TransferLedger ledger;
+    private final TransactionTemplate transactionTemplate;
+
+    public StripedTransferStrategy(BeneficioRepository repository, StripedBalances stripedBalances,
+                                   TransferLedger ledger, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.stripedBalances = stripedBalances;
+        this.ledger = ledger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public TransferenciaResponseDTO execute(TransferenciaRequestDTO requestDTO) {
+        Long origemId = requestDTO.getBeneficioOrigemId();
+        Long destinoId = requestDTO.getBeneficioDestinoId();
+        BigDecimal valor = requestDTO.getValor();
+
+        return transactionTemplate.execute(status -> {
+            boolean origemListrada = stripedBalances.isStriped(origemId);
+            boolean destinoListrado = stripedBalances.isStriped(destinoId);
+            List<Beneficio> bloqueados = repository.findAllByIdInForUpdate(
+                    destinoListrado ? List.of(origemId) : List.of(origemId, destinoId));
+            TransferTrace.lockAdquirido();
+
+            Beneficio origem = null;
+            Beneficio destino = null;
+            for (Beneficio beneficio : bloqueados) {
+                if (beneficio.getId().equals(origemId)) {
+                    origem = beneficio;
+                } else {
+                    destino = beneficio;
+                }
+            }
+            if (origem == null) {
+                throw TransferSupport.origemNaoEncontrada(origemId);
+            }
+            if (destinoListrado) {
+                destino = repository.findById(destinoId).orElse(null);
+            }
+            if (destino == null) {
+                throw TransferSupport.destinoNaoEncontrado(destinoId);
+            }
+
+            TransferenciaResponseDTO response;
+            if (!origemListrada && !destinoListrado) {
+                response = TransferSupport.apply(origem, destino, requestDTO);
+            } else {
+                if (!origem.getAtivo()) {
+                    throw TransferSupport.origemInativa();
+                }
+                if (!destino.getAtivo()) {
+                    throw TransferSupport.destinoInativo();
+                }
+                BigDecimal saldoAnteriorOrigem;
+                BigDecimal saldoAnteriorDestino;
+                if (origemId < destinoId) {
+                    saldoAnteriorOrigem = debitar(origem, origemListrada, valor);
+                    saldoAnteriorDestino = creditar(destino, destinoListrado, valor);
+                } else {
+                    saldoAnteriorDestino = creditar(destino, destinoListrado, valor);
+                    saldoAnteriorOrigem = debitar(origem, origemListrada, valor);
+                }
+                TransferTrace.validacaoConcluida();
+                response = TransferSupport.buildResponse(requestDTO,
+                        saldoAnteriorOrigem, saldoAnteriorOrigem.subtract(valor),
+                        saldoAnteriorDestino, saldoAnteriorDestino.add(valor));
+            }
+            ledger.record(response.getTransacao());
+
+            log.info("Transferência (listrada) concluída. From: {} -> {}, To: {} -> {}",
+                    response.getTransacao().getSaldoAnteriorOrigem(), response.getTransacao().getSaldoNovoOrigem(),
+                    response.getTransacao().getSaldoAnteriorDestino(), response.getTransacao().getSaldoNovoDestino());
+            return response;
+        });
+    }
+
+    @Override
+    public boolean isRetryable(RuntimeException e) {
+        return e instanceof PessimisticLockingFailureException;
+    }
+
+    /**
+     * @return saldo anterior da origem
+     */
+    private BigDecimal debitar(Beneficio origem, boolean listrada, BigDecimal valor) {
+        if (listrada) {
+            return stripedBalances.debitar(origem, valor);
+        }
+        BigDecimal saldoAnterior = origem.getValor();
+        if (saldoAnterior.compareTo(valor) < 0) {
+            throw TransferSupport.saldoInsuficiente(saldoAnterior, valor);
+        }
+        origem.setValor(saldoAnterior.subtract(valor));
+        return saldoAnterior;
+    }
+
+    /**
+     * @return saldo anterior do destino
+     */
+    private BigDecimal creditar(Beneficio destino, boolean listrado, BigDecimal valor) {
+        if (listrado) {
+            BigDecimal saldoAnterior = stripedBalances.saldo(destino);
+            stripedBalances.creditar(destino.getId(), valor);
+            return saldoAnterior;
+        }
+        BigDecimal saldoAnterior = destino.getValor();
+        destino.setValor(saldoAnterior.add(valor));
+        return saldoAnterior;
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.backend.service.transfer;
+
+import com.example.backend.dto.ModoLote;
+import com.example.backend.dto.TransferenciaRequestDTO;
+import com.example.backend.dto.TransferenciaResponseDTO;
+import com.example.backend.entity.Beneficio;
+import com.example.backend.exception.BeneficioConflictException;
+import com.example.backend.exception.BeneficioNotFoundException;
+import com.example.backend.repository.BeneficioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Aplica várias transferências na transação corrente.
+ *
+ * <p>Todos os benefícios envolvidos são bloqueados de uma só vez, em ordem
+ * crescente de ID, o que evita deadlocks com outros lotes e com a estratégia
+ * pessimista. As pernas são aplicadas sobre saldos em memória, na ordem
+ * recebida, e os novos valores e lançamentos são gravados no commit via JDBC
+ * batching. Usado pelo lote ({@code /transferir/lote}) e pelo
+ * {@link GroupCommitStage}.</p>
+ *
+ * <p>Benefícios listrados ({@link StripedBalances}) têm os slots consolidados na
+ * base, depois dos locks de linha base, antes da aplicação das pernas.</p>
+ */
+@Component
+public class TransferBatchProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferBatchProcessor.class);
+    private static final int LOCK_CHUNK_SIZE = 500;
+
+    private final BeneficioRepository repository;
+    private final TransferLedger ledger;
+    private final StripedBalances stripedBalances;
+
+    public TransferBatchProcessor(BeneficioRepository repository, TransferLedger ledger,
+                                  StripedBalances stripedBalances) {
+        this.repository = repository;
+        this.ledger = ledger;
+        this.stripedBalances = stripedBalances;
+    }
+
+    /**
+     * Valida e aplica as transferências.
+     *
+     * <p>Pernas inválidas (benefício inexistente ou inativo, saldo insuficiente)
+     * são reportadas no resultado sem afetar as demais. Em
+     * {@link ModoLote#TUDO_OU_NADA}, qualquer perna inválida impede a gravação de
+     * todas; em {@link ModoLote#MELHOR_ESFORCO}, as válidas são gravadas.</p>
+     *
+     * @param itens transferências, na ordem de aplicação
+     * @param modo modo de aplicação
+     * @return resultado de cada transferência, na ordem recebida
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<LegResult> apply(List<TransferenciaRequestDTO> itens, ModoLote modo) {
+        Map<Long, Beneficio> beneficios = lockBeneficios(itens);
+        Map<Long, BigDecimal> saldos = new HashMap<>();
+        List<LegResult> resultados = new ArrayList<>(itens.size());
+        List<TransferenciaResponseDTO.TransacaoDTO> efetivadas = new ArrayList<>(itens.size());
+
+        for (int i = 0; i < itens.size(); i++) {
+            try {
+                TransferenciaResponseDTO.TransacaoDTO transacao = applyLeg(itens.get(i), beneficios, saldos);
+                resultados.add(new LegResult(transacao, null));
+                efetivadas.add(transacao);
+            } catch (BeneficioNotFoundException | BeneficioConflictException e) {
+                log.debug("Item {} rejeitado: {}", i, e.getMessage());
+                resultados.add(new LegResult(null, e));
+            }
+        }
+
+        if (efetivadas.size() < itens.size() && modo == ModoLote.TUDO_OU_NADA) {
+            return resultados;
+        }
+
+        // Grava os novos saldos e os lançamentos; o flush no commit agrupa UPDATEs e INSERTs em batch
+        saldos.forEach((id, saldo) -> beneficios.get(id).setValor(saldo));
+        ledger.recordAll(efetivadas);
+        return resultados;
+    }
+
+    /**
+     * Bloqueia todos os benefícios referenciados em ordem crescente de ID,
+     * em blocos de até {@value #LOCK_CHUNK_SIZE} IDs por consulta.
+     */
+    private Map<Long, Beneficio> lockBeneficios(List<TransferenciaRequestDTO> itens) {
+        TreeSet<Long> ids = new TreeSet<>();
+        for (TransferenciaRequestDTO item : itens) {
+            ids.add(item.getBeneficioOrigemId());
+            ids.add(item.getBeneficioDestinoId());
+        }
+
+        Map<Long, Beneficio> beneficios = new HashMap<>(ids.size() * 2);
+        List<Long> chunk = new ArrayList<>(Math.min(ids.size(), LOCK_CHUNK_SIZE));
+        for (Long id : ids) {
+            chunk.add(id);
+            if (chunk.size() == LOCK_CHUNK_SIZE) {
+                repository.findAllByIdInForUpdate(chunk).forEach(b -> beneficios.put(b.getId(), b));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            repository.findAllByIdInForUpdate(chunk).forEach(b -> beneficios.put(b.getId(), b));
+        }
+
+        for (Long id : ids) {
+            Beneficio beneficio = beneficios.get(id);
+            if (beneficio != null && stripedBalances.isStriped(id)) {
+                stripedBalances.consolidar(beneficio);
+            }
+        }
+
+        log.debug("Bloqueados {} benefícios para {} transferências", beneficios.size(), itens.size());
+        return beneficios;
+    }
+
+    /**
+     * Valida e aplica uma perna sobre os saldos em memória.
+     */
+    private TransferenciaResponseDTO.TransacaoDTO applyLeg(TransferenciaRequestDTO item,
+                                                          Map<Long, Beneficio> beneficios,
+                                                          Map<Long, BigDecimal> saldos) {
+        Long origemId = item.getBeneficioOrigemId();
+        Long destinoId = item.getBeneficioDestinoId();
+
+        TransferSupport.validateRequest(item);
+
+        Beneficio origem = beneficios.get(origemId);
+        if (origem == null) {
+            throw TransferSupport.origemNaoEncontrada(origemId);
+        }
+        Beneficio destino = beneficios.get(destinoId);
+        if (destino == null) {
+            throw TransferSupport.destinoNaoEncontrado(destinoId);
+        }
+
+        BigDecimal saldoAnteriorOrigem = saldos.getOrDefault(origemId, origem.getValor());
+        BigDecimal saldoAnteriorDestino = saldos.getOrDefault(destinoId, destino.getValor());
+        TransferSupport.validateLeg(origem, destino, saldoAnteriorOrigem, item.getValor());
+
+        BigDecimal saldoNovoOrigem = saldoAnteriorOrigem.subtract(item.getValor());
+        BigDecimal saldoNovoDestino = saldoAnteriorDestino.add(item.getValor());
+        saldos.put(origemId, saldoNovoOrigem);
+        saldos.put(destinoId, saldoNovoDestino);
+
+        return new TransferenciaResponseDTO.TransacaoDTO(
+                origemId,
+                destinoId,
+                item.getValor(),
+                saldoAnteriorOrigem,
+                saldoNovoOrigem,
+                saldoAnteriorDestino,
+                saldoNovoDestino
+        );
+    }
+
+    /**
+     * Resultado de uma perna: a transação aplicada ou o erro de validação.
+     */
+    public record LegResult(TransferenciaResponseDTO.TransacaoDTO transacao, RuntimeException erro) {
+
+        public boolean isSucesso() {
+            return erro == null;
+        }
+    }
+}
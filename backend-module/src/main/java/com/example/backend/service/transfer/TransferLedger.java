@@ -0,0 +1,59 @@
+package com.example.backend.service.transfer;
+
+import com.example.backend.dto.TransferenciaResponseDTO;
+import com.example.backend.entity.Transferencia;
+import com.example.backend.repository.TransferenciaRepository;
+import com.example.backend.service.BeneficioCache;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Grava os lançamentos do livro-razão {@code TRANSFERENCIA}.
+ *
+ * <p>Deve ser chamado dentro da transação da transferência: o lançamento é
+ * persistido sem flush e vai ao banco no commit, junto com os UPDATEs de saldo,
+ * em JDBC batch. Os benefícios envolvidos saem do {@link BeneficioCache} depois
+ * do commit.</p>
+ */
+@Component
+public class TransferLedger {
+
+    private final TransferenciaRepository repository;
+    private final BeneficioCache cache;
+
+    public TransferLedger(TransferenciaRepository repository, BeneficioCache cache) {
+        this.repository = repository;
+        this.cache = cache;
+    }
+
+    public void record(TransferenciaResponseDTO.TransacaoDTO transacao) {
+        repository.save(toEntity(transacao));
+        cache.invalidarAposCommit(transacao.getBeneficioOrigemId(), transacao.getBeneficioDestinoId());
+    }
+
+    public void recordAll(List<TransferenciaResponseDTO.TransacaoDTO> transacoes) {
+        List<Transferencia> lancamentos = new ArrayList<>(transacoes.size());
+        Set<Long> afetados = new LinkedHashSet<>();
+        for (TransferenciaResponseDTO.TransacaoDTO transacao : transacoes) {
+            lancamentos.add(toEntity(transacao));
+            afetados.add(transacao.getBeneficioOrigemId());
+            afetados.add(transacao.getBeneficioDestinoId());
+        }
+        repository.saveAll(lancamentos);
+        cache.invalidarAposCommit(afetados);
+    }
+
+    private Transferencia toEntity(TransferenciaResponseDTO.TransacaoDTO transacao) {
+        return new Transferencia(
+                transacao.getBeneficioOrigemId(),
+                transacao.getBeneficioDestinoId(),
+                transacao.getValorTransferido(),
+                transacao.getSaldoNovoOrigem(),
+                transacao.getSaldoNovoDestino(),
+                transacao.getTimestamp());
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.backend.service.transfer;
+
+import com.example.backend.dto.TransferenciaRequestDTO;
+import com.example.backend.dto.TransferenciaResponseDTO;
+import com.example.backend.exception.BeneficioConflictException;
+import com.example.backend.jfr.TransferTrace;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa transferências fora da thread da requisição, com retry agendado.
+ *
+ * <p>Cada tentativa roda em uma thread do pool {@code transfer-*} e em transação
+ * própria (aberta pela estratégia). Quando a estratégia classifica a falha como
+ * conflito, a próxima tentativa é agendada com backoff exponencial com jitter
+ * ("full jitter": atraso sorteado entre zero e {@code base * 2^(n-1)}, limitado
+ * a {@code max-delay}); nenhuma thread fica parada durante a espera.</p>
+ */
+@Component
+public class TransferRetryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferRetryScheduler.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    public TransferRetryScheduler(@Value("${app.transfer.async.pool-size:8}") int poolSize,
+                                  @Value("${app.transfer.retry.max-attempts:10}") int maxAttempts,
+                                  @Value("${app.transfer.retry.base-delay:50ms}") Duration baseDelay,
+                                  @Value("${app.transfer.retry.max-delay:2s}") Duration maxDelay) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "transfer-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        this.scheduler = executor;
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelay.toMillis();
+        this.maxDelayMillis = maxDelay.toMillis();
+    }
+
+    /**
+     * Agenda a primeira tentativa da transferência.
+     *
+     * @param strategy estratégia que executa cada tentativa
+     * @param requestDTO dados da transferência, já validados
+     * @return future concluído com a resposta, ou com a exceção da última tentativa
+     */
+    public CompletableFuture<TransferenciaResponseDTO> submit(TransferStrategy strategy,
+                                                              TransferenciaRequestDTO requestDTO) {
+        CompletableFuture<TransferenciaResponseDTO> result = new CompletableFuture<>();
+        schedule(strategy, requestDTO, result, 1, 0);
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void schedule(TransferStrategy strategy, TransferenciaRequestDTO requestDTO,
+                          CompletableFuture<TransferenciaResponseDTO> result, int attempt, long delayMillis) {
+        try {
+            scheduler.schedule(() -> attempt(strategy, requestDTO, result, attempt),
+                    delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(
+                    new BeneficioConflictException("Transferência não pôde ser agendada. Tente novamente.", e));
+        }
+    }
+
+    private void attempt(TransferStrategy strategy, TransferenciaRequestDTO requestDTO,
+                         CompletableFuture<TransferenciaResponseDTO> result, int attempt) {
+        try {
+            TransferenciaResponseDTO response;
+            TransferTrace.iniciar(requestDTO.getBeneficioOrigemId(), requestDTO.getBeneficioDestinoId(), attempt);
+            try {
+                response = strategy.execute(requestDTO);
+            } finally {
+                TransferTrace.encerrar();
+            }
+            result.complete(response);
+        } catch (RuntimeException e) {
+            if (!strategy.isRetryable(e)) {
+                result.completeExceptionally(e);
+                return;
+            }
+            log.warn("Conflito de concorrência detectado. Tentativa {}/{}", attempt, maxAttempts);
+
+            if (attempt >= maxAttempts) {
+                log.error("Número máximo de tentativas excedido para transferência");
+                result.completeExceptionally(new BeneficioConflictException(
+                        "Transferência falhou devido a conflito de concorrência. Tente novamente.", e));
+                return;
+            }
+            schedule(strategy, requestDTO, result, attempt + 1, backoff(attempt));
+        } catch (Error e) {
+            result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private long backoff(int attempt) {
+        long ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
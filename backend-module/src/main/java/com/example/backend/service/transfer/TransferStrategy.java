@@ -0,0 +1,40 @@
+package com.example.backend.service.transfer;
+
+import com.example.backend.dto.TransferenciaRequestDTO;
+import com.example.backend.dto.TransferenciaResponseDTO;
+
+/**
+ * Estratégia de execução de uma transferência entre benefícios.
+ * 
+ * <p>Cada implementação define como os saldos são lidos, bloqueados e gravados.
+ * Uma chamada a {@link #execute(TransferenciaRequestDTO)} corresponde a uma única
+ * tentativa executada em transação própria; a repetição de tentativas que
+ * falharam por concorrência fica a cargo do chamador, orientada por
+ * {@link #isRetryable(RuntimeException)}.</p>
+ * 
+ * <p>A estratégia padrão é definida por {@code app.transfer.strategy} e pode ser
+ * substituída por requisição através do header {@code X-Transfer-Strategy}.</p>
+ */
+public interface TransferStrategy {
+
+    /**
+     * Nome usado em {@code app.transfer.strategy} e no header {@code X-Transfer-Strategy}.
+     */
+    String getName();
+
+    /**
+     * Executa uma tentativa de transferência em uma nova transação.
+     * 
+     * @param requestDTO dados da transferência, já validados quanto a IDs e valor
+     * @return resposta com os saldos anteriores e novos
+     */
+    TransferenciaResponseDTO execute(TransferenciaRequestDTO requestDTO);
+
+    /**
+     * Indica se a falha é transitória (conflito de concorrência) e a tentativa
+     * pode ser repetida.
+     */
+    default boolean isRetryable(RuntimeException e) {
+        return false;
+    }
+}
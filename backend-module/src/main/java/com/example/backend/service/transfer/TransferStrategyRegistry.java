@@ -0,0 +1,62 @@
+package com.example.backend.service.transfer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Registro das estratégias de transferência disponíveis.
+ * 
+ * <p>A estratégia padrão vem de {@code app.transfer.strategy} e é validada na
+ * inicialização; uma requisição pode escolher outra pelo nome.</p>
+ */
+@Component
+public class TransferStrategyRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferStrategyRegistry.class);
+
+    private final Map<String, TransferStrategy> strategies = new TreeMap<>();
+    private final TransferStrategy defaultStrategy;
+
+    public TransferStrategyRegistry(List<TransferStrategy> strategies,
+                                    @Value("${app.transfer.strategy:" + OptimisticTransferStrategy.NAME + "}")
+                                    String defaultStrategyName) {
+        for (TransferStrategy strategy : strategies) {
+            this.strategies.put(strategy.getName(), strategy);
+        }
+        this.defaultStrategy = lookup(defaultStrategyName);
+        log.info("Estratégia de transferência padrão: {} (disponíveis: {})",
+                defaultStrategy.getName(), this.strategies.keySet());
+    }
+
+    /**
+     * Resolve a estratégia pelo nome.
+     * 
+     * @param name nome da estratégia; {@code null} ou vazio retorna a padrão
+     * @throws IllegalArgumentException se não houver estratégia com o nome informado
+     */
+    public TransferStrategy resolve(String name) {
+        if (name == null || name.isBlank()) {
+            return defaultStrategy;
+        }
+        return lookup(name);
+    }
+
+    public TransferStrategy getDefault() {
+        return defaultStrategy;
+    }
+
+    private TransferStrategy lookup(String name) {
+        TransferStrategy strategy = strategies.get(name.trim().toLowerCase());
+        if (strategy == null) {
+            throw new IllegalArgumentException(
+                    "Estratégia de transferência desconhecida: " + name + ". Disponíveis: " + strategies.keySet());
+        }
+        return strategy;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.backend.service.transfer;
+
+import com.example.backend.dto.TransferenciaRequestDTO;
+import com.example.backend.dto.TransferenciaResponseDTO;
+import com.example.backend.entity.Beneficio;
+import com.example.backend.exception.BeneficioConflictException;
+import com.example.backend.exception.BeneficioNotFoundException;
+import com.example.backend.jfr.TransferTrace;
+
+import java.math.BigDecimal;
+
+/**
+ * Regras de negócio compartilhadas pelas estratégias de transferência.
+ * 
+ * <p>Centraliza as validações e mensagens de erro para que todas as estratégias
+ * (e o lote) respondam da mesma forma aos mesmos cenários.</p>
+ */
+public final class TransferSupport {
+
+    private TransferSupport() {
+    }
+
+    public static BeneficioNotFoundException origemNaoEncontrada(Long id) {
+        return new BeneficioNotFoundException("Benefício de origem não encontrado: " + id);
+    }
+
+    public static BeneficioNotFoundException destinoNaoEncontrado(Long id) {
+        return new BeneficioNotFoundException("Benefício de destino não encontrado: " + id);
+    }
+
+    public static BeneficioConflictException origemInativa() {
+        return new BeneficioConflictException("Benefício de origem está inativo");
+    }
+
+    public static BeneficioConflictException destinoInativo() {
+        return new BeneficioConflictException("Benefício de destino está inativo");
+    }
+
+    public static BeneficioConflictException saldoInsuficiente(BigDecimal disponivel, BigDecimal solicitado) {
+        return new BeneficioConflictException(
+                String.format("Saldo insuficiente. Disponível: %.2f, Solicitado: %.2f",
+                        disponivel, solicitado));
+    }
+
+    /**
+     * Valida os dados da requisição que independem do estado dos benefícios.
+     * 
+     * @throws BeneficioConflictException se origem e destino forem iguais ou o valor não for positivo
+     */
+    public static void validateRequest(TransferenciaRequestDTO requestDTO) {
+        if (requestDTO.getBeneficioOrigemId().equals(requestDTO.getBeneficioDestinoId())) {
+            throw new BeneficioConflictException("Origem e destino não podem ser iguais");
+        }
+
+        if (requestDTO.getValor().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new BeneficioConflictException("Valor deve ser maior que zero");
+        }
+    }
+
+    /**
+     * Valida se origem e destino estão ativos e se o saldo disponível da origem
+     * cobre o valor solicitado.
+     * 
+     * @param saldoOrigem saldo a considerar para a origem (pode diferir do valor da
+     *                    entidade quando pernas anteriores já foram aplicadas em memória)
+     */
+    public static void validateLeg(Beneficio origem, Beneficio destino, BigDecimal saldoOrigem, BigDecimal valor) {
+        if (!origem.getAtivo()) {
+            throw origemInativa();
+        }
+        if (!destino.getAtivo()) {
+            throw destinoInativo();
+        }
+        if (saldoOrigem.compareTo(valor) < 0) {
+            throw saldoInsuficiente(saldoOrigem, valor);
+        }
+    }
+
+    /**
+     * Debita a origem e credita o destino nas entidades gerenciadas, após validação.
+     * 
+     * @return resposta com os saldos anteriores e novos
+     */
+    public static TransferenciaResponseDTO apply(Beneficio origem, Beneficio destino,
+                                                 TransferenciaRequestDTO requestDTO) {
+        validateLeg(origem, destino, origem.getValor(), requestDTO.getValor());
+
+        BigDecimal saldoAnteriorOrigem = origem.getValor();
+        BigDecimal saldoAnteriorDestino = destino.getValor();
+
+        origem.setValor(saldoAnteriorOrigem.subtract(requestDTO.getValor()));
+        destino.setValor(saldoAnteriorDestino.add(requestDTO.getValor()));
+        TransferTrace.validacaoConcluida();
+
+        return buildResponse(requestDTO,
+                saldoAnteriorOrigem, origem.getValor(),
+                saldoAnteriorDestino, destino.getValor());
+    }
+
+    public static TransferenciaResponseDTO buildResponse(TransferenciaRequestDTO requestDTO,
+                                                         BigDecimal saldoAnteriorOrigem,
+                                                         BigDecimal saldoNovoOrigem,
+                                                         BigDecimal saldoAnteriorDestino,
+                                                         BigDecimal saldoNovoDestino) {
+        TransferenciaResponseDTO.TransacaoDTO transacao = new TransferenciaResponseDTO.TransacaoDTO(
+                requestDTO.getBeneficioOrigemId(),
+                requestDTO.getBeneficioDestinoId(),
+                requestDTO.getValor(),
+                saldoAnteriorOrigem,
+                saldoNovoOrigem,
+                saldoAnteriorDestino,
+                saldoNovoDestino
+        );
+
+        return new TransferenciaResponseDTO(
+                true,
+                "Transferência realizada com sucesso",
+                transacao
+        );
+    }
+}
@@ -3,10 +3,20 @@ package com.example.backend.controller;
 import com.example.backend.dto.BeneficioDTO;
 import com.example.backend.dto.BeneficioRequestDTO;
 import com.example.backend.dto.ErrorResponse;
+import com.example.backend.dto.ModoLote;
+import com.example.backend.dto.TransferenciaLoteRequestDTO;
+import com.example.backend.dto.TransferenciaLoteResponseDTO;
 import com.example.backend.dto.TransferenciaRequestDTO;
 import com.example.backend.dto.TransferenciaResponseDTO;
 import com.example.backend.entity.Beneficio;
+import com.example.backend.entity.ChaveIdempotencia;
 import com.example.backend.repository.BeneficioRepository;
+import com.example.backend.repository.ChaveIdempotenciaRepository;
+import com.example.backend.repository.TransferenciaRepository;
+import com.example.backend.service.BeneficioCache;
+import com.example.backend.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,11 +25,20 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.*;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -37,6 +56,18 @@ class BeneficioControllerIntegrationTest {
     @Autowired
     private BeneficioRepository beneficioRepository;
 
+    @Autowired
+    private TransferenciaRepository transferenciaRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     private String baseUrl;
 
     @BeforeEach
@@ -499,6 +530,99 @@ class BeneficioControllerIntegrationTest {
         assertThat(response.getBody()).isEmpty();
     }
 
+    @Test
+    @DisplayName("GET /api/beneficios - Deve percorrer todas as páginas pelo cursor, na ordenação pedida")
+    void testListagemPaginadaPorCursor() {
+        List<String> nomes = List.of("Vale Delta", "Vale Alfa", "Vale Echo", "Vale Charlie", "Vale Bravo");
+        for (String nome : nomes) {
+            beneficioRepository.save(new Beneficio(nome, "Paginação", new BigDecimal("10.00")));
+        }
+        beneficioRepository.save(new Beneficio("Vale Alfa", "Nome repetido", new BigDecimal("20.00")));
+        Beneficio inativo = new Beneficio("Vale Zulu", "Inativo", new BigDecimal("30.00"));
+        inativo.setAtivo(false);
+        beneficioRepository.save(inativo);
+
+        List<BeneficioDTO> porNome = percorrer(baseUrl + "?limit=2&sort=nome");
+        assertThat(porNome).extracting(BeneficioDTO::getNome).containsExactly(
+                "Vale Alfa", "Vale Alfa", "Vale Bravo", "Vale Charlie", "Vale Delta", "Vale Echo", "Vale Zulu");
+        assertThat(porNome.get(0).getId()).isLessThan(porNome.get(1).getId());
+
+        List<BeneficioDTO> porNomeDesc = percorrer(baseUrl + "?limit=2&sort=nome,desc");
+        assertThat(porNomeDesc).extracting(BeneficioDTO::getNome).containsExactly(
+                "Vale Zulu", "Vale Echo", "Vale Delta", "Vale Charlie", "Vale Bravo", "Vale Alfa", "Vale Alfa");
+        assertThat(porNomeDesc.get(5).getId()).isGreaterThan(porNomeDesc.get(6).getId());
+
+        // Direções mistas (fora da API): o limite vale só para a primeira propriedade
+        Sort misto = Sort.by(Sort.Order.asc("nome"), Sort.Order.desc("id"));
+        List<BeneficioDTO> primeira = beneficioRepository.findPagina(false, misto, ScrollPosition.keyset(), 1);
+        BeneficioDTO alfaMaisNovo = primeira.get(0);
+        assertThat(alfaMaisNovo.getNome()).isEqualTo("Vale Alfa");
+        List<BeneficioDTO> seguinte = beneficioRepository.findPagina(false, misto,
+                ScrollPosition.forward(Map.of("nome", alfaMaisNovo.getNome(), "id", alfaMaisNovo.getId())), 1);
+        assertThat(seguinte).extracting(BeneficioDTO::getNome).containsExactly("Vale Alfa", "Vale Bravo");
+        assertThat(seguinte.get(0).getId()).isLessThan(alfaMaisNovo.getId());
+
+        List<BeneficioDTO> porIdDesc = percorrer(baseUrl + "?limit=3&sort=id,desc");
+        assertThat(porIdDesc).extracting(BeneficioDTO::getId)
+                .hasSize(7)
+                .isSortedAccordingTo(Comparator.reverseOrder());
+
+        List<BeneficioDTO> ativos = percorrer(baseUrl + "/ativos?limit=4&sort=createdAt");
+        assertThat(ativos).hasSize(6).extracting(BeneficioDTO::getAtivo).containsOnly(true);
+
+        // Cursor de outra ordenação e campo fora da lista são rejeitados
+        String cursor = restTemplate.getForEntity(baseUrl + "?limit=2&sort=nome", String.class)
+                .getHeaders().getFirst(BeneficioController.NEXT_CURSOR_HEADER);
+        assertThat(restTemplate.getForEntity(baseUrl + "?limit=2&sort=id&after=" + cursor, String.class)
+                .getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        ResponseEntity<String> invalida = restTemplate.getForEntity(baseUrl + "?sort=valor", String.class);
+        assertThat(invalida.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(invalida.getBody()).contains("id, nome, createdAt");
+    }
+
+    @Test
+    @DisplayName("GET /api/beneficios/export - Deve exportar a tabela inteira em NDJSON, em ordem de ID")
+    void testExportNdjson() throws Exception {
+        int quantidade = BeneficioRepository.EXPORT_FETCH_SIZE * 2 + 7;
+        beneficioRepository.saveAll(IntStream.range(0, quantidade)
+                .mapToObj(i -> new Beneficio("Exportado " + i, "Exportação", new BigDecimal("1.00")))
+                .toList());
+
+        ResponseEntity<String> response = restTemplate.getForEntity(baseUrl + "/export", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().toString()).startsWith("application/x-ndjson");
+        List<String> linhas = response.getBody().lines().toList();
+        assertThat(linhas).hasSize(quantidade);
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+        List<Long> ids = new ArrayList<>();
+        for (String linha : linhas) {
+            ids.add(mapper.readValue(linha, BeneficioDTO.class).getId());
+        }
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(mapper.readValue(linhas.get(0), BeneficioDTO.class).getNome()).isEqualTo("Exportado 0");
+    }
+
+    /**
+     * Segue {@code Link rel="next"} até a última página.
+     */
+    private List<BeneficioDTO> percorrer(String url) {
+        List<BeneficioDTO> todos = new ArrayList<>();
+        String proxima = url;
+        int paginas = 0;
+        while (proxima != null) {
+            ResponseEntity<List<BeneficioDTO>> response = restTemplate.exchange(
+                    URI.create(proxima), HttpMethod.GET, null,
+                    new ParameterizedTypeReference<List<BeneficioDTO>>() {});
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            todos.addAll(response.getBody());
+            String link = response.getHeaders().getFirst(HttpHeaders.LINK);
+            proxima = link == null ? null : link.substring(1, link.indexOf('>'));
+            assertThat(++paginas).isLessThan(10);
+        }
+        return todos;
+    }
+
     @Test
     @DisplayName("Deve impedir transferência de/para benefício inativo")
     void testTransferenciaComBeneficioInativo() {
@@ -686,4 +810,334 @@ class BeneficioControllerIntegrationTest {
         assertThat(response.getBody().getStatus()).isEqualTo(409);
         assertThat(response.getBody().getMessage()).containsIgnoringCase("Benefício 1");
     }
+
+    @Test
+    @DisplayName("Deve aplicar lote de transferências em modo tudo-ou-nada")
+    void testTransferenciaLoteTudoOuNada() {
+        Beneficio a = beneficioRepository.save(new Beneficio("Lote A", "Origem", new BigDecimal("1000.00")));
+        Beneficio b = beneficioRepository.save(new Beneficio("Lote B", "Intermediário", new BigDecimal("100.00")));
+        Beneficio c = beneficioRepository.save(new Beneficio("Lote C", "Destino", new BigDecimal("0.00")));
+
+        // O segundo item só é válido porque o primeiro já creditou B no mesmo lote
+        TransferenciaLoteRequestDTO request = new TransferenciaLoteRequestDTO(List.of(
+                new TransferenciaRequestDTO(a.getId(), b.getId(), new BigDecimal("400.00")),
+                new TransferenciaRequestDTO(b.getId(), c.getId(), new BigDecimal("450.00"))
+        ), ModoLote.TUDO_OU_NADA);
+
+        ResponseEntity<TransferenciaLoteResponseDTO> response = restTemplate.postForEntity(
+                baseUrl + "/transferir/lote",
+                request,
+                TransferenciaLoteResponseDTO.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getAplicado()).isTrue();
+        assertThat(response.getBody().getSucessos()).isEqualTo(2);
+        assertThat(response.getBody().getResultados().get(1).getTransacao().getSaldoAnteriorOrigem())
+                .isEqualByComparingTo(new BigDecimal("500.00"));
+
+        assertThat(beneficioRepository.findById(a.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("600.00"));
+        assertThat(beneficioRepository.findById(b.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("50.00"));
+        assertThat(beneficioRepository.findById(c.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("450.00"));
+    }
+
+    @Test
+    @DisplayName("Lote tudo-ou-nada com item inválido não deve alterar saldos")
+    void testTransferenciaLoteTudoOuNadaComFalha() {
+        Beneficio a = beneficioRepository.save(new Beneficio("Lote A", "Origem", new BigDecimal("1000.00")));
+        Beneficio b = beneficioRepository.save(new Beneficio("Lote B", "Destino", new BigDecimal("100.00")));
+
+        TransferenciaLoteRequestDTO request = new TransferenciaLoteRequestDTO(List.of(
+                new TransferenciaRequestDTO(a.getId(), b.getId(), new BigDecimal("100.00")),
+                new TransferenciaRequestDTO(b.getId(), a.getId(), new BigDecimal("5000.00")),
+                new TransferenciaRequestDTO(a.getId(), 999999L, new BigDecimal("10.00"))
+        ), ModoLote.TUDO_OU_NADA);
+
+        ResponseEntity<TransferenciaLoteResponseDTO> response = restTemplate.postForEntity(
+                baseUrl + "/transferir/lote",
+                request,
+                TransferenciaLoteResponseDTO.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getAplicado()).isFalse();
+        assertThat(response.getBody().getSucessos()).isZero();
+        assertThat(response.getBody().getResultados().get(1).getMensagem()).contains("Saldo insuficiente");
+        assertThat(response.getBody().getResultados().get(2).getMensagem()).contains("não encontrado");
+
+        assertThat(beneficioRepository.findById(a.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("1000.00"));
+        assertThat(beneficioRepository.findById(b.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("100.00"));
+    }
+
+    @Test
+    @DisplayName("Lote em melhor esforço deve aplicar itens válidos e reportar falhas")
+    void testTransferenciaLoteMelhorEsforco() {
+        Beneficio a = beneficioRepository.save(new Beneficio("Lote A", "Origem", new BigDecimal("1000.00")));
+        Beneficio b = beneficioRepository.save(new Beneficio("Lote B", "Destino", new BigDecimal("100.00")));
+
+        TransferenciaLoteRequestDTO request = new TransferenciaLoteRequestDTO(List.of(
+                new TransferenciaRequestDTO(a.getId(), b.getId(), new BigDecimal("100.00")),
+                new TransferenciaRequestDTO(b.getId(), a.getId(), new BigDecimal("5000.00")),
+                new TransferenciaRequestDTO(b.getId(), a.getId(), new BigDecimal("50.00"))
+        ), ModoLote.MELHOR_ESFORCO);
+
+        ResponseEntity<TransferenciaLoteResponseDTO> response = restTemplate.postForEntity(
+                baseUrl + "/transferir/lote",
+                request,
+                TransferenciaLoteResponseDTO.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getAplicado()).isTrue();
+        assertThat(response.getBody().getSucessos()).isEqualTo(2);
+        assertThat(response.getBody().getFalhas()).isEqualTo(1);
+        assertThat(response.getBody().getResultados().get(1).getSucesso()).isFalse();
+
+        assertThat(beneficioRepository.findById(a.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("950.00"));
+        assertThat(beneficioRepository.findById(b.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("150.00"));
+
+        // Um lançamento por item efetivado
+        assertThat(transferenciaRepository.findAll())
+                .filteredOn(t -> t.getBeneficioOrigemId().equals(a.getId()) || t.getBeneficioOrigemId().equals(b.getId()))
+                .hasSize(2);
+    }
+
+    private <T> ResponseEntity<T> transferirComChave(String chave, TransferenciaRequestDTO request,
+                                                     Class<T> responseType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(BeneficioController.IDEMPOTENCY_KEY_HEADER, chave);
+        return restTemplate.postForEntity(baseUrl + "/transferir", new HttpEntity<>(request, headers), responseType);
+    }
+
+    @Test
+    @DisplayName("Repetição com a mesma Idempotency-Key deve devolver a primeira resposta sem novo débito")
+    void testTransferenciaIdempotente() {
+        Beneficio origem = beneficioRepository.save(new Beneficio("Idem Origem", "Origem", new BigDecimal("1000.00")));
+        Beneficio destino = beneficioRepository.save(new Beneficio("Idem Destino", "Destino", new BigDecimal("0.00")));
+        String chave = "idem-" + origem.getId();
+        TransferenciaRequestDTO request = new TransferenciaRequestDTO(origem.getId(), destino.getId(), new BigDecimal("100.00"));
+
+        ResponseEntity<TransferenciaResponseDTO> primeira =
+                transferirComChave(chave, request, TransferenciaResponseDTO.class);
+        ResponseEntity<TransferenciaResponseDTO> repeticao =
+                transferirComChave(chave, request, TransferenciaResponseDTO.class);
+
+        assertThat(primeira.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(repeticao.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(repeticao.getBody().getTransacao().getTimestamp())
+                .isEqualTo(primeira.getBody().getTransacao().getTimestamp());
+        assertThat(repeticao.getBody().getTransacao().getSaldoNovoOrigem())
+                .isEqualByComparingTo(new BigDecimal("900.00"));
+        assertThat(beneficioRepository.findById(origem.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("900.00"));
+
+        // Mesma chave com outros dados é rejeitada
+        TransferenciaRequestDTO outra = new TransferenciaRequestDTO(origem.getId(), destino.getId(), new BigDecimal("50.00"));
+        ResponseEntity<ErrorResponse> conflito = transferirComChave(chave, outra, ErrorResponse.class);
+        assertThat(conflito.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(conflito.getBody().getMessage()).contains("Idempotency-Key");
+    }
+
+    @Test
+    @DisplayName("Reserva sem resposta além do prazo não deve ser descartada nem reexecutada")
+    void testTransferenciaIdempotenteReservaPendente() {
+        Beneficio origem = beneficioRepository.save(new Beneficio("Idem Pend Origem", "Origem", new BigDecimal("1000.00")));
+        Beneficio destino = beneficioRepository.save(new Beneficio("Idem Pend Destino", "Destino", new BigDecimal("0.00")));
+        String chave = "idem-pend-" + origem.getId();
+        TransferenciaRequestDTO request = new TransferenciaRequestDTO(origem.getId(), destino.getId(), new BigDecimal("100.00"));
+        // Nó que caiu entre o commit da transferência e a gravação da resposta
+        chaveIdempotenciaRepository.saveAndFlush(new ChaveIdempotencia(chave,
+                origem.getId() + ":" + destino.getId() + ":100", LocalDateTime.now().minusMinutes(5)));
+
+        ResponseEntity<ErrorResponse> pendente = transferirComChave(chave, request, ErrorResponse.class);
+        idempotencyService.purgeExpired();
+        ResponseEntity<ErrorResponse> repeticao = transferirComChave(chave, request, ErrorResponse.class);
+
+        assertThat(pendente.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(pendente.getBody().getMessage()).contains("reconciliação");
+        assertThat(repeticao.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(chaveIdempotenciaRepository.findById(chave)).isPresent();
+        assertThat(beneficioRepository.findById(origem.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("1000.00"));
+    }
+
+    @Test
+    @DisplayName("Requisições simultâneas com a mesma Idempotency-Key devem debitar uma única vez")
+    void testTransferenciaIdempotenteConcorrente() {
+        Beneficio origem = beneficioRepository.save(new Beneficio("Idem Conc Origem", "Origem", new BigDecimal("1000.00")));
+        Beneficio destino = beneficioRepository.save(new Beneficio("Idem Conc Destino", "Destino", new BigDecimal("0.00")));
+        String chave = "idem-conc-" + origem.getId();
+        TransferenciaRequestDTO request = new TransferenciaRequestDTO(origem.getId(), destino.getId(), new BigDecimal("100.00"));
+
+        List<CompletableFuture<ResponseEntity<TransferenciaResponseDTO>>> respostas = IntStream.range(0, 10)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() ->
+                        transferirComChave(chave, request, TransferenciaResponseDTO.class)))
+                .toList();
+
+        respostas.forEach(f -> assertThat(f.join().getStatusCode()).isEqualTo(HttpStatus.OK));
+        assertThat(beneficioRepository.findById(origem.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("900.00"));
+        assertThat(beneficioRepository.findById(destino.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("100.00"));
+    }
+
+    @Test
+    @DisplayName("Histórico de transferências deve paginar por cursor da mais recente para a mais antiga")
+    @SuppressWarnings("unchecked")
+    void testHistoricoTransferencias() {
+        Beneficio a = beneficioRepository.save(new Beneficio("Hist A", "Consultado", new BigDecimal("1000.00")));
+        Beneficio b = beneficioRepository.save(new Beneficio("Hist B", "Contraparte", new BigDecimal("1000.00")));
+        Beneficio c = beneficioRepository.save(new Beneficio("Hist C", "Contraparte", new BigDecimal("1000.00")));
+
+        restTemplate.postForEntity(baseUrl + "/transferir",
+                new TransferenciaRequestDTO(a.getId(), b.getId(), new BigDecimal("10.00")), TransferenciaResponseDTO.class);
+        restTemplate.postForEntity(baseUrl + "/transferir",
+                new TransferenciaRequestDTO(b.getId(), a.getId(), new BigDecimal("5.00")), TransferenciaResponseDTO.class);
+        restTemplate.postForEntity(baseUrl + "/transferir",
+                new TransferenciaRequestDTO(a.getId(), c.getId(), new BigDecimal("20.00")), TransferenciaResponseDTO.class);
+        restTemplate.postForEntity(baseUrl + "/transferir",
+                new TransferenciaRequestDTO(b.getId(), c.getId(), new BigDecimal("1.00")), TransferenciaResponseDTO.class);
+
+        ResponseEntity<Map> primeira = restTemplate.getForEntity(
+                baseUrl + "/" + a.getId() + "/transferencias?limit=2", Map.class);
+
+        assertThat(primeira.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<Map<String, Object>> movimentacoes = (List<Map<String, Object>>) primeira.getBody().get("movimentacoes");
+        assertThat(movimentacoes).extracting(m -> m.get("tipo")).containsExactly("DEBITO", "CREDITO");
+        assertThat(movimentacoes.get(0).get("contraparteId")).isEqualTo(c.getId().intValue());
+        assertThat(new BigDecimal(movimentacoes.get(0).get("saldo").toString())).isEqualByComparingTo("975.00");
+        assertThat(movimentacoes.get(1).get("contraparteId")).isEqualTo(b.getId().intValue());
+        String cursor = (String) primeira.getBody().get("proximoCursor");
+        assertThat(cursor).isNotBlank();
+
+        ResponseEntity<Map> segunda = restTemplate.getForEntity(
+                baseUrl + "/" + a.getId() + "/transferencias?limit=2&after=" + cursor, Map.class);
+
+        assertThat(segunda.getStatusCode()).isEqualTo(HttpStatus.OK);
+        movimentacoes = (List<Map<String, Object>>) segunda.getBody().get("movimentacoes");
+        assertThat(movimentacoes).hasSize(1);
+        assertThat(movimentacoes.get(0).get("tipo")).isEqualTo("DEBITO");
+        assertThat(new BigDecimal(movimentacoes.get(0).get("valor").toString())).isEqualByComparingTo("10.00");
+        assertThat(segunda.getBody().get("proximoCursor")).isNull();
+
+        ResponseEntity<ErrorResponse> cursorInvalido = restTemplate.getForEntity(
+                baseUrl + "/" + a.getId() + "/transferencias?after=invalido", ErrorResponse.class);
+        assertThat(cursorInvalido.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private double metrica(String nome, String resultado) {
+        return meterRegistry.get(nome).tags("cache", BeneficioCache.NAME, "result", resultado)
+                .functionCounter().count();
+    }
+
+    @Test
+    @DisplayName("Busca por ID deve usar o cache, carregar uma vez em leituras simultâneas e ver escritas confirmadas")
+    void testCacheBuscaPorId() {
+        Beneficio a = beneficioRepository.save(new Beneficio("Cache A", "Consultado", new BigDecimal("100.00")));
+        Beneficio b = beneficioRepository.save(new Beneficio("Cache B", "Contraparte", new BigDecimal("50.00")));
+        String url = baseUrl + "/" + a.getId();
+
+        double cargas = metrica("cache.load", "success");
+        double acertos = metrica("cache.gets", "hit");
+        List<CompletableFuture<ResponseEntity<BeneficioDTO>>> leituras = IntStream.range(0, 16)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> restTemplate.getForEntity(url, BeneficioDTO.class)))
+                .toList();
+        leituras.forEach(leitura -> assertThat(leitura.join().getBody().getValor())
+                .isEqualByComparingTo(new BigDecimal("100.00")));
+        assertThat(metrica("cache.load", "success")).isEqualTo(cargas + 1);
+        assertThat(metrica("cache.gets", "hit")).isEqualTo(acertos + 15);
+
+        restTemplate.postForEntity(baseUrl + "/transferir",
+                new TransferenciaRequestDTO(a.getId(), b.getId(), new BigDecimal("30.00")), TransferenciaResponseDTO.class);
+        assertThat(restTemplate.getForObject(url, BeneficioDTO.class).getValor())
+                .isEqualByComparingTo(new BigDecimal("70.00"));
+        assertThat(restTemplate.getForObject(baseUrl + "/" + b.getId(), BeneficioDTO.class).getValor())
+                .isEqualByComparingTo(new BigDecimal("80.00"));
+
+        BeneficioRequestDTO updateRequest = new BeneficioRequestDTO();
+        updateRequest.setNome("Cache A Atualizado");
+        updateRequest.setDescricao("Consultado");
+        updateRequest.setValor(new BigDecimal("70.00"));
+        updateRequest.setAtivo(true);
+        restTemplate.put(url, updateRequest);
+        assertThat(restTemplate.getForObject(url, BeneficioDTO.class).getNome()).isEqualTo("Cache A Atualizado");
+
+        restTemplate.delete(url);
+        assertThat(restTemplate.getForObject(url, BeneficioDTO.class).getAtivo()).isFalse();
+
+        // Benefício inexistente não fica no cache
+        double falhas = metrica("cache.load", "failure");
+        for (int i = 0; i < 2; i++) {
+            assertThat(restTemplate.getForEntity(baseUrl + "/999999", ErrorResponse.class).getStatusCode())
+                    .isEqualTo(HttpStatus.NOT_FOUND);
+        }
+        assertThat(metrica("cache.load", "failure")).isEqualTo(falhas + 2);
+    }
+
+    private ResponseEntity<String> getCondicional(String url, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    @Test
+    @DisplayName("GETs condicionais devem responder 304 até uma escrita mudar a ETag")
+    void testETagCondicional() {
+        Beneficio a = beneficioRepository.save(new Beneficio("ETag A", "Consultado", new BigDecimal("100.00")));
+        Beneficio b = beneficioRepository.save(new Beneficio("ETag B", "Contraparte", new BigDecimal("50.00")));
+        String url = baseUrl + "/" + a.getId();
+
+        String etag = restTemplate.getForEntity(url, BeneficioDTO.class).getHeaders().getETag();
+        String etagListagem = restTemplate.getForEntity(baseUrl, String.class).getHeaders().getETag();
+        String etagAtivos = restTemplate.getForEntity(baseUrl + "/ativos?limit=1", String.class).getHeaders().getETag();
+        assertThat(etag).isEqualTo("\"" + a.getId() + "-" + a.getVersion() + "-100.00\"");
+        assertThat(etagListagem).isNotBlank();
+
+        ResponseEntity<String> naoModificado = getCondicional(url, etag);
+        assertThat(naoModificado.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(naoModificado.getBody()).isNull();
+        assertThat(getCondicional(baseUrl, etagListagem).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(getCondicional(baseUrl + "/ativos?limit=1", etagAtivos).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        // Parâmetros são validados antes do 304; cada página e ordenação tem a sua ETag
+        assertThat(getCondicional(baseUrl + "?sort=valor", etagListagem).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(getCondicional(baseUrl + "?limit=0", etagListagem).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(getCondicional(baseUrl + "?sort=nome", etagListagem).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(getCondicional(baseUrl + "?limit=1", etagListagem).getStatusCode()).isEqualTo(HttpStatus.OK);
+        String cursor = restTemplate.getForEntity(baseUrl + "/ativos?limit=1", String.class)
+                .getHeaders().getFirst(BeneficioController.NEXT_CURSOR_HEADER);
+        ResponseEntity<String> segunda = getCondicional(baseUrl + "/ativos?limit=1&after=" + cursor, etagAtivos);
+        assertThat(segunda.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(segunda.getHeaders().getETag()).isNotNull().isNotEqualTo(etagAtivos);
+        assertThat(getCondicional(baseUrl + "/ativos?limit=1&after=" + cursor, segunda.getHeaders().getETag())
+                .getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        restTemplate.postForEntity(baseUrl + "/transferir",
+                new TransferenciaRequestDTO(a.getId(), b.getId(), new BigDecimal("30.00")), TransferenciaResponseDTO.class);
+
+        ResponseEntity<String> modificado = getCondicional(url, etag);
+        assertThat(modificado.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(modificado.getHeaders().getETag()).isNotEqualTo(etag);
+        assertThat(modificado.getBody()).contains("70.00");
+        assertThat(getCondicional(url, modificado.getHeaders().getETag()).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(getCondicional(baseUrl, etagListagem).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(getCondicional(baseUrl + "/ativos?limit=1", etagAtivos).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(getCondicional(baseUrl + "/999999", "*").getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
 }
@@ -2,12 +2,18 @@ package com.example.backend.controller;
 
 import com.example.backend.dto.BeneficioDTO;
 import com.example.backend.dto.BeneficioRequestDTO;
+import com.example.backend.dto.ModoLote;
+import com.example.backend.dto.MovimentacaoDTO;
+import com.example.backend.dto.TransferenciaLoteRequestDTO;
+import com.example.backend.dto.TransferenciaLoteResponseDTO;
 import com.example.backend.dto.TransferenciaRequestDTO;
 import com.example.backend.dto.TransferenciaResponseDTO;
 import com.example.backend.exception.BeneficioConflictException;
 import com.example.backend.exception.BeneficioNotFoundException;
 import com.example.backend.repository.BeneficioRepository;
+import com.example.backend.service.BeneficioExportService;
 import com.example.backend.service.BeneficioService;
+import com.example.backend.service.TransferHistoryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,11 +28,15 @@ import org.springframework.context.annotation.FilterType;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -49,6 +59,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @DisplayName("BeneficioController - Testes Unitários")
 class BeneficioControllerTest {
 
+    private static final String ETAG_LISTAGEM = "5d41402abc4b2a76b9719d911017c592";
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -58,6 +70,12 @@ class BeneficioControllerTest {
     @MockBean
     private BeneficioService beneficioService;
 
+    @MockBean
+    private TransferHistoryService historyService;
+
+    @MockBean
+    private BeneficioExportService exportService;
+
     private BeneficioDTO beneficioDTO;
     private BeneficioRequestDTO beneficioRequestDTO;
 
@@ -83,7 +101,7 @@ class BeneficioControllerTest {
     @Test
     @DisplayName("GET /api/beneficios - Deve retornar lista vazia com status 200")
     void testFindAll_EmptyList() throws Exception {
-        when(beneficioService.findAll()).thenReturn(List.of());
+        when(beneficioService.findAll(null, null, null)).thenReturn(new BeneficioService.Pagina(List.of(), null, ETAG_LISTAGEM));
 
         mockMvc.perform(get("/api/beneficios")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -91,7 +109,7 @@ class BeneficioControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        verify(beneficioService, times(1)).findAll();
+        verify(beneficioService, times(1)).findAll(null, null, null);
     }
 
     @Test
@@ -105,7 +123,7 @@ class BeneficioControllerTest {
         beneficio2.setAtivo(true);
 
         List<BeneficioDTO> beneficios = Arrays.asList(beneficioDTO, beneficio2);
-        when(beneficioService.findAll()).thenReturn(beneficios);
+        when(beneficioService.findAll(null, null, null)).thenReturn(new BeneficioService.Pagina(beneficios, null, ETAG_LISTAGEM));
 
         mockMvc.perform(get("/api/beneficios"))
                 .andExpect(status().isOk())
@@ -117,13 +135,61 @@ class BeneficioControllerTest {
                 .andExpect(jsonPath("$[1].nome", is("Vale Transporte")))
                 .andExpect(jsonPath("$[1].valor", is(500.00)));
 
-        verify(beneficioService, times(1)).findAll();
+        verify(beneficioService, times(1)).findAll(null, null, null);
+    }
+
+    @Test
+    @DisplayName("GET /api/beneficios - Deve devolver o cursor da próxima página nos headers")
+    void testFindAll_ProximaPagina() throws Exception {
+        when(beneficioService.findAll(null, 1, "nome,desc"))
+                .thenReturn(new BeneficioService.Pagina(List.of(beneficioDTO), "bm9tZXxERVNDfDF8VmFsZQ", ETAG_LISTAGEM));
+
+        mockMvc.perform(get("/api/beneficios?limit=1&sort=nome,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string(BeneficioController.NEXT_CURSOR_HEADER, "bm9tZXxERVNDfDF8VmFsZQ"))
+                .andExpect(header().string("Link", allOf(
+                        containsString("after=bm9tZXxERVNDfDF8VmFsZQ"),
+                        containsString("limit=1"),
+                        containsString("rel=\"next\""))))
+                .andExpect(header().string("ETag", "\"" + ETAG_LISTAGEM + "\""));
+    }
+
+    @Test
+    @DisplayName("GET /api/beneficios - If-None-Match com a ETag atual deve retornar 304 sem corpo")
+    void testFindAll_NaoModificado() throws Exception {
+        when(beneficioService.findAll(null, 10, null))
+                .thenReturn(new BeneficioService.Pagina(List.of(beneficioDTO), null, ETAG_LISTAGEM));
+
+        mockMvc.perform(get("/api/beneficios?limit=10")
+                        .header("If-None-Match", "\"outra\", W/\"" + ETAG_LISTAGEM + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"" + ETAG_LISTAGEM + "\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /api/beneficios - Última página não deve ter cursor; ordenação inválida deve retornar 400")
+    void testFindAll_UltimaPaginaEOrdenacaoInvalida() throws Exception {
+        when(beneficioService.findAll(null, null, null)).thenReturn(new BeneficioService.Pagina(List.of(), null, ETAG_LISTAGEM));
+        when(beneficioService.findAll(null, null, "valor"))
+                .thenThrow(new IllegalArgumentException("Ordenação inválida: valor"));
+
+        mockMvc.perform(get("/api/beneficios"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(BeneficioController.NEXT_CURSOR_HEADER))
+                .andExpect(header().doesNotExist("Link"));
+
+        mockMvc.perform(get("/api/beneficios").param("sort", "valor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Ordenação inválida")));
     }
 
     @Test
     @DisplayName("GET /api/beneficios/ativos - Deve retornar lista vazia quando não há ativos")
     void testFindAllAtivos_EmptyList() throws Exception {
-        when(beneficioService.findAllAtivos()).thenReturn(List.of());
+        when(beneficioService.findAllAtivos(null, null, null))
+                .thenReturn(new BeneficioService.Pagina(List.of(), null, ETAG_LISTAGEM));
 
         mockMvc.perform(get("/api/beneficios/ativos")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -131,7 +197,7 @@ class BeneficioControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        verify(beneficioService, times(1)).findAllAtivos();
+        verify(beneficioService, times(1)).findAllAtivos(null, null, null);
     }
 
     @Test
@@ -152,7 +218,8 @@ class BeneficioControllerTest {
         beneficioAtivo2.setAtivo(true);
 
         List<BeneficioDTO> beneficiosAtivos = Arrays.asList(beneficioAtivo1, beneficioAtivo2);
-        when(beneficioService.findAllAtivos()).thenReturn(beneficiosAtivos);
+        when(beneficioService.findAllAtivos(null, null, null))
+                .thenReturn(new BeneficioService.Pagina(beneficiosAtivos, null, ETAG_LISTAGEM));
 
         mockMvc.perform(get("/api/beneficios/ativos"))
                 .andExpect(status().isOk())
@@ -164,7 +231,7 @@ class BeneficioControllerTest {
                 .andExpect(jsonPath("$[1].nome", is("Vale Transporte")))
                 .andExpect(jsonPath("$[1].ativo", is(true)));
 
-        verify(beneficioService, times(1)).findAllAtivos();
+        verify(beneficioService, times(1)).findAllAtivos(null, null, null);
     }
 
     @Test
@@ -177,14 +244,15 @@ class BeneficioControllerTest {
         beneficioAtivo.setValor(new BigDecimal("800.00"));
         beneficioAtivo.setAtivo(true);
 
-        when(beneficioService.findAllAtivos()).thenReturn(Arrays.asList(beneficioAtivo));
+        when(beneficioService.findAllAtivos(null, null, null))
+                .thenReturn(new BeneficioService.Pagina(Arrays.asList(beneficioAtivo), null, ETAG_LISTAGEM));
 
         mockMvc.perform(get("/api/beneficios/ativos"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].ativo", is(true)));
 
-        verify(beneficioService, times(1)).findAllAtivos();
+        verify(beneficioService, times(1)).findAllAtivos(null, null, null);
     }
 
     @Test
@@ -203,6 +271,28 @@ class BeneficioControllerTest {
         verify(beneficioService, times(1)).findById(1L);
     }
 
+    @Test
+    @DisplayName("GET /api/beneficios/{id} - Deve devolver ETag e responder 304 sem carregar o benefício")
+    void testFindById_ETag() throws Exception {
+        when(beneficioService.findById(1L)).thenReturn(beneficioDTO);
+        when(beneficioService.findEtag(1L)).thenReturn(Optional.of("1-1-1000.00"));
+
+        mockMvc.perform(get("/api/beneficios/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-1-1000.00\""));
+
+        mockMvc.perform(get("/api/beneficios/{id}", 1L).header("If-None-Match", "\"1-1-1000.00\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1-1-1000.00\""))
+                .andExpect(content().string(""));
+        verify(beneficioService, times(1)).findById(1L);
+
+        mockMvc.perform(get("/api/beneficios/{id}", 1L).header("If-None-Match", "\"1-0-900.00\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)));
+        verify(beneficioService, times(2)).findById(1L);
+    }
+
     @Test
     @DisplayName("GET /api/beneficios/{id} - Deve retornar 404 quando benefício não existe")
     void testFindById_NotFound() throws Exception {
@@ -386,6 +476,86 @@ class BeneficioControllerTest {
         verify(beneficioService, times(1)).delete(999L);
     }
 
+    @Test
+    @DisplayName("GET /api/beneficios/{id}/transferencias - Deve escrever movimentações e próximo cursor")
+    @SuppressWarnings("unchecked")
+    void testFindTransferencias_Success() throws Exception {
+        TransferHistoryService.HistoryQuery query =
+                new TransferHistoryService.HistoryQuery(1L, LocalDateTime.now(), Long.MAX_VALUE, 1);
+        when(historyService.prepare(1L, "abc", 1)).thenReturn(query);
+        when(historyService.stream(eq(query), any())).thenAnswer(invocation -> {
+            Consumer<MovimentacaoDTO> consumer = invocation.getArgument(1);
+            consumer.accept(new MovimentacaoDTO(10L, MovimentacaoDTO.Tipo.DEBITO, 2L,
+                    new BigDecimal("300.00"), new BigDecimal("700.00"), LocalDateTime.now()));
+            return "proximo";
+        });
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/beneficios/{id}/transferencias", 1L)
+                        .param("after", "abc")
+                        .param("limit", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.movimentacoes", hasSize(1)))
+                .andExpect(jsonPath("$.movimentacoes[0].id", is(10)))
+                .andExpect(jsonPath("$.movimentacoes[0].tipo", is("DEBITO")))
+                .andExpect(jsonPath("$.movimentacoes[0].contraparteId", is(2)))
+                .andExpect(jsonPath("$.movimentacoes[0].saldo", is(700.00)))
+                .andExpect(jsonPath("$.proximoCursor", is("proximo")));
+    }
+
+    @Test
+    @DisplayName("GET /api/beneficios/{id}/transferencias - Deve retornar 404 quando benefício não existe")
+    void testFindTransferencias_NotFound() throws Exception {
+        when(historyService.prepare(999L, null, null)).thenThrow(new BeneficioNotFoundException(999L));
+
+        mockMvc.perform(get("/api/beneficios/{id}/transferencias", 999L))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status", is(404)));
+
+        verify(historyService, never()).stream(any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/beneficios/export - Deve escrever CSV com cabeçalho e campos escapados")
+    @SuppressWarnings("unchecked")
+    void testExport_Csv() throws Exception {
+        BeneficioDTO comVirgula = new BeneficioDTO(2L, "Vale \"Plus\"", "Mercado, farmácia",
+                new BigDecimal("50.50"), false, 3L);
+        when(exportService.export(any())).thenAnswer(invocation -> {
+            Consumer<BeneficioDTO> consumer = invocation.getArgument(0);
+            consumer.accept(beneficioDTO);
+            consumer.accept(comVirgula);
+            return 2L;
+        });
+
+        String inicio = "id,nome,descricao,valor,ativo,version,createdAt,updatedAt\r\n"
+                + "1,Vale Refeição,Benefício para alimentação,1000.00,true,";
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/beneficios/export").param("formato", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", containsString("beneficios.csv")))
+                .andExpect(content().string(org.hamcrest.Matchers.startsWith(inicio)))
+                .andExpect(content().string(containsString(
+                        "2,\"Vale \"\"Plus\"\"\",\"Mercado, farmácia\",50.50,false,3,,\r\n")));
+    }
+
+    @Test
+    @DisplayName("GET /api/beneficios/export - Deve retornar 400 para formato desconhecido")
+    void testExport_FormatoInvalido() throws Exception {
+        mockMvc.perform(get("/api/beneficios/export").param("formato", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verify(exportService, never()).export(any());
+    }
+
     @Test
     @DisplayName("POST /api/beneficios/transferir - Deve transferir valor com status 200")
     void testTransfer_Success() throws Exception {
@@ -410,12 +580,16 @@ class BeneficioControllerTest {
 
         responseDTO.setTransacao(transacao);
 
-        when(beneficioService.transfer(any(TransferenciaRequestDTO.class)))
-                .thenReturn(responseDTO);
+        when(beneficioService.transferAsync(any(TransferenciaRequestDTO.class), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(responseDTO));
 
-        mockMvc.perform(post("/api/beneficios/transferir")
+        MvcResult mvcResult = mockMvc.perform(post("/api/beneficios/transferir")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.sucesso", is(true)))
                 .andExpect(jsonPath("$.mensagem", is("Transferência realizada com sucesso")))
@@ -425,7 +599,7 @@ class BeneficioControllerTest {
                 .andExpect(jsonPath("$.transacao.saldoNovoOrigem", is(700.00)))
                 .andExpect(jsonPath("$.transacao.saldoNovoDestino", is(800.00)));
 
-        verify(beneficioService, times(1)).transfer(any(TransferenciaRequestDTO.class));
+        verify(beneficioService, times(1)).transferAsync(any(TransferenciaRequestDTO.class), any(), any());
     }
 
     @Test
@@ -440,7 +614,7 @@ class BeneficioControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.status", is(400)));
 
-        verify(beneficioService, never()).transfer(any());
+        verify(beneficioService, never()).transferAsync(any(), any(), any());
     }
 
     @Test
@@ -457,7 +631,7 @@ class BeneficioControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.status", is(400)));
 
-        verify(beneficioService, never()).transfer(any());
+        verify(beneficioService, never()).transferAsync(any(), any(), any());
     }
 
     @Test
@@ -468,17 +642,21 @@ class BeneficioControllerTest {
         requestDTO.setBeneficioDestinoId(2L);
         requestDTO.setValor(new BigDecimal("300.00"));
 
-        when(beneficioService.transfer(any(TransferenciaRequestDTO.class)))
-                .thenThrow(new BeneficioNotFoundException(999L));
+        when(beneficioService.transferAsync(any(TransferenciaRequestDTO.class), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new BeneficioNotFoundException(999L)));
 
-        mockMvc.perform(post("/api/beneficios/transferir")
+        MvcResult mvcResult = mockMvc.perform(post("/api/beneficios/transferir")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.status", is(404)))
                 .andExpect(jsonPath("$.message", containsString("999")));
 
-        verify(beneficioService, times(1)).transfer(any(TransferenciaRequestDTO.class));
+        verify(beneficioService, times(1)).transferAsync(any(TransferenciaRequestDTO.class), any(), any());
     }
 
     @Test
@@ -489,18 +667,23 @@ class BeneficioControllerTest {
         requestDTO.setBeneficioDestinoId(2L);
         requestDTO.setValor(new BigDecimal("2000.00"));
 
-        when(beneficioService.transfer(any(TransferenciaRequestDTO.class)))
-                .thenThrow(new BeneficioConflictException("Saldo insuficiente no benefício de origem"));
+        when(beneficioService.transferAsync(any(TransferenciaRequestDTO.class), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new BeneficioConflictException("Saldo insuficiente no benefício de origem")));
 
-        mockMvc.perform(post("/api/beneficios/transferir")
+        MvcResult mvcResult = mockMvc.perform(post("/api/beneficios/transferir")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isConflict())
                 .andExpect(jsonPath("$.status", is(409)))
                 .andExpect(jsonPath("$.error", is("Conflict")))
                 .andExpect(jsonPath("$.message", containsString("Saldo insuficiente")));
 
-        verify(beneficioService, times(1)).transfer(any(TransferenciaRequestDTO.class));
+        verify(beneficioService, times(1)).transferAsync(any(TransferenciaRequestDTO.class), any(), any());
     }
 
     @Test
@@ -511,7 +694,7 @@ class BeneficioControllerTest {
         requestDTO.setBeneficioDestinoId(1L);
         requestDTO.setValor(new BigDecimal("300.00"));
 
-        when(beneficioService.transfer(any(TransferenciaRequestDTO.class)))
+        when(beneficioService.transferAsync(any(TransferenciaRequestDTO.class), any(), any()))
                 .thenThrow(new BeneficioConflictException("Benefício de origem e destino não podem ser iguais"));
 
         mockMvc.perform(post("/api/beneficios/transferir")
@@ -521,6 +704,90 @@ class BeneficioControllerTest {
                 .andExpect(jsonPath("$.status", is(409)))
                 .andExpect(jsonPath("$.message", containsString("iguais")));
 
-        verify(beneficioService, times(1)).transfer(any(TransferenciaRequestDTO.class));
+        verify(beneficioService, times(1)).transferAsync(any(TransferenciaRequestDTO.class), any(), any());
+    }
+
+    @Test
+    @DisplayName("POST /api/beneficios/transferir - Deve repassar a estratégia do header X-Transfer-Strategy")
+    void testTransfer_StrategyHeader() throws Exception {
+        TransferenciaRequestDTO requestDTO = new TransferenciaRequestDTO(1L, 2L, new BigDecimal("300.00"));
+
+        when(beneficioService.transferAsync(any(TransferenciaRequestDTO.class), eq("pessimistic"), any()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new TransferenciaResponseDTO(true, "Transferência realizada com sucesso", null)));
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/beneficios/transferir")
+                        .header("X-Transfer-Strategy", "pessimistic")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sucesso", is(true)));
+
+        verify(beneficioService, times(1)).transferAsync(any(TransferenciaRequestDTO.class), eq("pessimistic"), any());
+    }
+
+    @Test
+    @DisplayName("POST /api/beneficios/transferir - Deve retornar 400 com estratégia desconhecida")
+    void testTransfer_StrategyDesconhecida() throws Exception {
+        TransferenciaRequestDTO requestDTO = new TransferenciaRequestDTO(1L, 2L, new BigDecimal("300.00"));
+
+        when(beneficioService.transferAsync(any(TransferenciaRequestDTO.class), eq("turbo"), any()))
+                .thenThrow(new IllegalArgumentException("Estratégia de transferência desconhecida: turbo"));
+
+        mockMvc.perform(post("/api/beneficios/transferir")
+                        .header("X-Transfer-Strategy", "turbo")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("turbo")));
+    }
+
+    @Test
+    @DisplayName("POST /api/beneficios/transferir/lote - Deve processar lote com status 200")
+    void testTransferBatch_Success() throws Exception {
+        TransferenciaLoteRequestDTO requestDTO = new TransferenciaLoteRequestDTO(List.of(
+                new TransferenciaRequestDTO(1L, 2L, new BigDecimal("100.00")),
+                new TransferenciaRequestDTO(2L, 3L, new BigDecimal("9999.00"))
+        ), ModoLote.MELHOR_ESFORCO);
+
+        TransferenciaLoteResponseDTO responseDTO = new TransferenciaLoteResponseDTO(ModoLote.MELHOR_ESFORCO, true, List.of(
+                new TransferenciaLoteResponseDTO.ResultadoItemDTO(0, true, "Transferência realizada com sucesso", null),
+                new TransferenciaLoteResponseDTO.ResultadoItemDTO(1, false, "Saldo insuficiente", null)
+        ));
+
+        when(beneficioService.transferBatch(any(TransferenciaLoteRequestDTO.class)))
+                .thenReturn(responseDTO);
+
+        mockMvc.perform(post("/api/beneficios/transferir/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.modo", is("MELHOR_ESFORCO")))
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.sucessos", is(1)))
+                .andExpect(jsonPath("$.falhas", is(1)))
+                .andExpect(jsonPath("$.resultados[1].mensagem", containsString("Saldo insuficiente")));
+
+        verify(beneficioService, times(1)).transferBatch(any(TransferenciaLoteRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("POST /api/beneficios/transferir/lote - Deve retornar 400 com item inválido")
+    void testTransferBatch_ValidationError() throws Exception {
+        TransferenciaLoteRequestDTO requestDTO = new TransferenciaLoteRequestDTO(List.of(
+                new TransferenciaRequestDTO(1L, null, BigDecimal.ZERO)
+        ), ModoLote.TUDO_OU_NADA);
+
+        mockMvc.perform(post("/api/beneficios/transferir/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)));
+
+        verify(beneficioService, never()).transferBatch(any());
     }
 }
@@ -0,0 +1,99 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.TransferenciaRequestDTO;
+import com.example.backend.entity.Beneficio;
+import com.example.backend.repository.BeneficioRepository;
+import com.example.backend.repository.TransferenciaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // Banco próprio: o contexto recria o schema e não pode afetar o dos outros testes
+        "spring.datasource.url=jdbc:h2:mem:groupcommitdb;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "app.transfer.group-commit.enabled=true",
+        "app.transfer.group-commit.max-items=16",
+        "app.transfer.group-commit.max-wait=20ms"
+})
+@ActiveProfiles("test")
+@DisplayName("Group commit de transferências - Testes de Integração")
+class GroupCommitIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private BeneficioRepository beneficioRepository;
+
+    @Autowired
+    private TransferenciaRepository transferenciaRepository;
+
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/api/beneficios";
+        beneficioRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Transferência isolada deve ser efetivada pelo group commit")
+    void testTransferenciaUnica() {
+        Beneficio origem = beneficioRepository.save(new Beneficio("GC Origem", "Origem", new BigDecimal("100.00")));
+        Beneficio destino = beneficioRepository.save(new Beneficio("GC Destino", "Destino", new BigDecimal("0.00")));
+
+        ResponseEntity<String> response = restTemplate.postForEntity(baseUrl + "/transferir",
+                new TransferenciaRequestDTO(origem.getId(), destino.getId(), new BigDecimal("40.00")), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(beneficioRepository.findById(origem.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("60.00"));
+        assertThat(beneficioRepository.findById(destino.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("40.00"));
+    }
+
+    @Test
+    @DisplayName("Falha de uma transferência do grupo deve afetar apenas o seu chamador")
+    void testTransferenciasConcorrentesAgrupadas() {
+        Beneficio origem = beneficioRepository.save(new Beneficio("GC Conc Origem", "Origem", new BigDecimal("200.00")));
+        Beneficio destino = beneficioRepository.save(new Beneficio("GC Conc Destino", "Destino", new BigDecimal("0.00")));
+
+        List<CompletableFuture<ResponseEntity<String>>> respostas = IntStream.range(0, 30)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> restTemplate.postForEntity(baseUrl + "/transferir",
+                        new TransferenciaRequestDTO(origem.getId(), destino.getId(), new BigDecimal("10.00")),
+                        String.class)))
+                .toList();
+
+        List<ResponseEntity<String>> resultados = respostas.stream().map(CompletableFuture::join).toList();
+
+        // Saldo para exatamente 20 transferências; as demais falham por saldo, sem desfazer as outras
+        assertThat(resultados).filteredOn(r -> r.getStatusCode() == HttpStatus.OK).hasSize(20);
+        assertThat(resultados).filteredOn(r -> r.getStatusCode() == HttpStatus.CONFLICT)
+                .hasSize(10)
+                .allSatisfy(r -> assertThat(r.getBody()).contains("Saldo insuficiente"));
+        assertThat(beneficioRepository.findById(origem.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(beneficioRepository.findById(destino.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("200.00"));
+        assertThat(transferenciaRepository.findAll())
+                .filteredOn(t -> t.getBeneficioOrigemId().equals(origem.getId()))
+                .hasSize(20);
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.BeneficioRequestDTO;
+import com.example.backend.dto.ErrorResponse;
+import com.example.backend.dto.ModoLote;
+import com.example.backend.dto.TransferenciaLoteRequestDTO;
+import com.example.backend.dto.TransferenciaRequestDTO;
+import com.example.backend.dto.TransferenciaResponseDTO;
+import com.example.backend.entity.Beneficio;
+import com.example.backend.repository.BeneficioRepository;
+import com.example.backend.repository.TransferenciaRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // Banco próprio: o contexto recria o schema e não pode afetar o dos outros testes
+        "spring.datasource.url=jdbc:h2:mem:enginedb;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "app.transfer.engine.enabled=true",
+        "app.transfer.engine.shards=4",
+        "app.transfer.engine.write-behind-interval=20ms"
+})
+@ActiveProfiles("test")
+@DisplayName("Motor de transferências em memória - Testes de Integração")
+class LedgerEngineIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private BeneficioRepository beneficioRepository;
+
+    @Autowired
+    private TransferenciaRepository transferenciaRepository;
+
+    @DynamicPropertySource
+    static void journalDir(DynamicPropertyRegistry registry) throws IOException {
+        String dir = Files.createTempDirectory("journal-test").toString();
+        registry.add("app.transfer.engine.journal.dir", () -> dir);
+        String snapshots = Files.createTempDirectory("snapshot-test").toString();
+        registry.add("app.transfer.engine.snapshot.dir", () -> snapshots);
+    }
+
+    private <T> ResponseEntity<T> transferir(Long origemId, Long destinoId, String valor, Class<T> responseType) {
+        return restTemplate.postForEntity("http://localhost:" + port + "/api/beneficios/transferir",
+                new TransferenciaRequestDTO(origemId, destinoId, new BigDecimal(valor)), responseType);
+    }
+
+    private BigDecimal saldo(Beneficio beneficio) {
+        return beneficioRepository.findById(beneficio.getId()).orElseThrow().getValor();
+    }
+
+    private void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 10_000;
+        while (!condicao.getAsBoolean() && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+        assertThat(condicao.getAsBoolean()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Transferência deve ser confirmada pelo motor e gravada no banco em write-behind")
+    void testTransferenciaWriteBehind() throws InterruptedException {
+        Beneficio origem = beneficioRepository.save(new Beneficio("Motor Origem", "Origem", new BigDecimal("1000.00")));
+        Beneficio destino = beneficioRepository.save(new Beneficio("Motor Destino", "Destino", new BigDecimal("500.00")));
+
+        ResponseEntity<TransferenciaResponseDTO> response =
+                transferir(origem.getId(), destino.getId(), "300.00", TransferenciaResponseDTO.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        TransferenciaResponseDTO.TransacaoDTO transacao = response.getBody().getTransacao();
+        assertThat(transacao.getSaldoNovoOrigem()).isEqualByComparingTo("700.00");
+        assertThat(transacao.getSaldoNovoDestino()).isEqualByComparingTo("800.00");
+
+        aguardar(() -> saldo(origem).compareTo(new BigDecimal("700.00")) == 0);
+        assertThat(saldo(destino)).isEqualByComparingTo("800.00");
+        aguardar(() -> transferenciaRepository.findAll().stream()
+                .anyMatch(t -> t.getBeneficioOrigemId().equals(origem.getId())));
+    }
+
+    @Test
+    @DisplayName("Destino inexistente em outro shard deve estornar o débito da origem")
+    void testEstornoEntreShards() {
+        Beneficio origem = beneficioRepository.save(new Beneficio("Motor Estorno", "Origem", new BigDecimal("100.00")));
+        // Shard = ID mod 4: o destino inexistente fica em outro shard
+        long destinoInexistente = origem.getId() + 4_000_001L;
+
+        ResponseEntity<ErrorResponse> inexistente =
+                transferir(origem.getId(), destinoInexistente, "100.00", ErrorResponse.class);
+        assertThat(inexistente.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+        ResponseEntity<ErrorResponse> insuficiente =
+                transferir(origem.getId(), destinoInexistente, "100.01", ErrorResponse.class);
+        assertThat(insuficiente.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(insuficiente.getBody().getMessage()).contains("Saldo insuficiente");
+
+        assertThat(transferir(destinoInexistente, origem.getId(), "1.00", ErrorResponse.class).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+
+        Beneficio destino = beneficioRepository.save(new Beneficio("Motor Estorno Destino", "Destino", BigDecimal.ZERO));
+        ResponseEntity<TransferenciaResponseDTO> total =
+                transferir(origem.getId(), destino.getId(), "100.00", TransferenciaResponseDTO.class);
+        assertThat(total.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    @DisplayName("Transferências concorrentes entre shards devem preservar o saldo total")
+    void testTransferenciasConcorrentesEntreShards() throws InterruptedException {
+        List<Beneficio> contas = IntStream.range(0, 6)
+                .mapToObj(i -> beneficioRepository.save(
+                        new Beneficio("Motor Conc " + i, "Conta", new BigDecimal("100.00"))))
+                .toList();
+
+        List<CompletableFuture<ResponseEntity<String>>> respostas = IntStream.range(0, 200)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    Beneficio origem = contas.get(random.nextInt(contas.size()));
+                    Beneficio destino = contas.get((contas.indexOf(origem) + 1 + random.nextInt(contas.size() - 1))
+                            % contas.size());
+                    return transferir(origem.getId(), destino.getId(), "7.00", String.class);
+                }))
+                .toList();
+
+        long sucessos = respostas.stream()
+                .map(CompletableFuture::join)
+                .peek(r -> assertThat(r.getStatusCode()).isIn(HttpStatus.OK, HttpStatus.CONFLICT))
+                .filter(r -> r.getStatusCode() == HttpStatus.OK)
+                .count();
+
+        assertThat(sucessos).isPositive();
+        aguardar(() -> transferenciaRepository.findAll().stream()
+                .filter(t -> contas.stream().anyMatch(c -> c.getId().equals(t.getBeneficioOrigemId())))
+                .count() == sucessos);
+        BigDecimal total = contas.stream().map(this::saldo).reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertThat(total).isEqualByComparingTo("600.00");
+        contas.forEach(c -> assertThat(saldo(c)).isGreaterThanOrEqualTo(BigDecimal.ZERO));
+    }
+
+    @Test
+    @DisplayName("Lote, atualização e exclusão devem ser rejeitados com 409 sem alterar os saldos do motor")
+    void testEscritasForaDoMotorRejeitadas() throws InterruptedException {
+        Beneficio origem = beneficioRepository.save(new Beneficio("Motor Lote Origem", "Origem", new BigDecimal("100.00")));
+        Beneficio destino = beneficioRepository.save(new Beneficio("Motor Lote Destino", "Destino", BigDecimal.ZERO));
+        String url = "http://localhost:" + port + "/api/beneficios";
+
+        TransferenciaLoteRequestDTO lote = new TransferenciaLoteRequestDTO();
+        lote.setModo(ModoLote.TUDO_OU_NADA);
+        lote.setTransferencias(List.of(
+                new TransferenciaRequestDTO(origem.getId(), destino.getId(), new BigDecimal("80.00"))));
+        ResponseEntity<ErrorResponse> loteResponse =
+                restTemplate.postForEntity(url + "/transferir/lote", lote, ErrorResponse.class);
+        assertThat(loteResponse.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(loteResponse.getBody().getMessage()).contains("motor de transferências");
+
+        BeneficioRequestDTO update = new BeneficioRequestDTO();
+        update.setNome("Motor Lote Origem");
+        update.setDescricao("Origem");
+        update.setValor(new BigDecimal("1000.00"));
+        update.setAtivo(true);
+        assertThat(restTemplate.exchange(url + "/" + origem.getId(), HttpMethod.PUT, new HttpEntity<>(update),
+                ErrorResponse.class).getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(restTemplate.exchange(url + "/" + destino.getId(), HttpMethod.DELETE, null,
+                ErrorResponse.class).getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+
+        // O motor continua com o saldo original: 100,00 e não 20,00 ou 1000,00
+        assertThat(transferir(origem.getId(), destino.getId(), "100.01", ErrorResponse.class).getStatusCode())
+                .isEqualTo(HttpStatus.CONFLICT);
+        assertThat(transferir(origem.getId(), destino.getId(), "100.00", TransferenciaResponseDTO.class)
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+        aguardar(() -> saldo(destino).compareTo(new BigDecimal("100.00")) == 0);
+        assertThat(saldo(origem)).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+}
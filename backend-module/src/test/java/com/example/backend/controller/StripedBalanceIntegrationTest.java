@@ -0,0 +1,200 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.BeneficioDTO;
+import com.example.backend.dto.TransferenciaRequestDTO;
+import com.example.backend.dto.TransferenciaResponseDTO;
+import com.example.backend.entity.Beneficio;
+import com.example.backend.entity.SaldoParcial;
+import com.example.backend.repository.BeneficioRepository;
+import com.example.backend.repository.SaldoParcialRepository;
+import com.example.backend.service.transfer.StripedBalances;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // Banco próprio: o contexto recria o schema e não pode afetar o dos outros testes
+        "spring.datasource.url=jdbc:h2:mem:stripingdb;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        // Consolidação apenas quando o teste pede
+        "app.transfer.striping.merge-interval=PT1H"
+})
+@ActiveProfiles("test")
+@DisplayName("Saldos listrados - Testes de Integração")
+class StripedBalanceIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private BeneficioRepository beneficioRepository;
+
+    @Autowired
+    private SaldoParcialRepository saldoParcialRepository;
+
+    @Autowired
+    private StripedBalances stripedBalances;
+
+    private String baseUrl;
+    private Beneficio origem;
+    private Beneficio listrado;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port;
+        saldoParcialRepository.deleteAll();
+        beneficioRepository.deleteAll();
+        stripedBalances.refresh();
+        origem = beneficioRepository.save(new Beneficio("Listrado Origem", "Origem", new BigDecimal("1000.00")));
+        listrado = beneficioRepository.save(new Beneficio("Listrado Corporativo", "Destino", new BigDecimal("10.00")));
+    }
+
+    private void configurar(Long beneficioId, int slots) {
+        stripedBalances.configurar(beneficioId, slots);
+    }
+
+    private <T> ResponseEntity<T> transferir(Long origemId, Long destinoId, String valor, Class<T> responseType) {
+        return restTemplate.postForEntity(baseUrl + "/api/beneficios/transferir",
+                new TransferenciaRequestDTO(origemId, destinoId, new BigDecimal(valor)), responseType);
+    }
+
+    private BigDecimal valor(Long id) {
+        return restTemplate.getForObject(baseUrl + "/api/beneficios/" + id, BeneficioDTO.class).getValor();
+    }
+
+    private List<SaldoParcial> slots(Long id) {
+        return saldoParcialRepository.findAll().stream()
+                .filter(slot -> slot.getBeneficioId().equals(id))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Créditos concorrentes devem ir para os slots, sem alterar a base, e ser somados no valor")
+    void testCreditosDistribuidos() {
+        configurar(listrado.getId(), 4);
+
+        List<CompletableFuture<ResponseEntity<String>>> respostas = IntStream.range(0, 40)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() ->
+                        transferir(origem.getId(), listrado.getId(), "10.00", String.class)))
+                .toList();
+        respostas.forEach(r -> assertThat(r.join().getStatusCode()).isEqualTo(HttpStatus.OK));
+
+        Beneficio base = beneficioRepository.findById(listrado.getId()).orElseThrow();
+        assertThat(base.getValor()).isEqualByComparingTo(new BigDecimal("10.00"));
+        assertThat(base.getVersion()).isEqualTo(listrado.getVersion() + 1);
+        assertThat(slots(listrado.getId())).hasSize(4)
+                .filteredOn(slot -> slot.getValor().signum() > 0)
+                .hasSizeGreaterThan(1);
+        assertThat(valor(listrado.getId())).isEqualByComparingTo(new BigDecimal("410.00"));
+        assertThat(valor(origem.getId())).isEqualByComparingTo(new BigDecimal("600.00"));
+    }
+
+    @Test
+    @DisplayName("Débito deve varrer os slots quando a base não cobre o valor")
+    void testDebitoVarreSlots() {
+        configurar(listrado.getId(), 4);
+        for (int i = 0; i < 3; i++) {
+            assertThat(transferir(origem.getId(), listrado.getId(), "30.00", String.class).getStatusCode())
+                    .isEqualTo(HttpStatus.OK);
+        }
+
+        ResponseEntity<TransferenciaResponseDTO> debito =
+                transferir(listrado.getId(), origem.getId(), "80.00", TransferenciaResponseDTO.class);
+
+        assertThat(debito.getStatusCode()).isEqualTo(HttpStatus.OK);
+        TransferenciaResponseDTO.TransacaoDTO transacao = debito.getBody().getTransacao();
+        assertThat(transacao.getSaldoAnteriorOrigem()).isEqualByComparingTo(new BigDecimal("100.00"));
+        assertThat(transacao.getSaldoNovoOrigem()).isEqualByComparingTo(new BigDecimal("20.00"));
+        assertThat(beneficioRepository.findById(listrado.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(valor(listrado.getId())).isEqualByComparingTo(new BigDecimal("20.00"));
+
+        ResponseEntity<String> insuficiente = transferir(listrado.getId(), origem.getId(), "50.00", String.class);
+        assertThat(insuficiente.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(insuficiente.getBody()).contains("Saldo insuficiente");
+        assertThat(valor(listrado.getId())).isEqualByComparingTo(new BigDecimal("20.00"));
+    }
+
+    @Test
+    @DisplayName("Merger deve mover os slots para a base sem alterar o saldo total")
+    void testMerge() {
+        configurar(listrado.getId(), 2);
+        transferir(origem.getId(), listrado.getId(), "25.00", String.class);
+        transferir(origem.getId(), listrado.getId(), "15.00", String.class);
+
+        stripedBalances.merge();
+
+        assertThat(beneficioRepository.findById(listrado.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("50.00"));
+        assertThat(slots(listrado.getId())).allSatisfy(slot ->
+                assertThat(slot.getValor()).isEqualByComparingTo(BigDecimal.ZERO));
+        assertThat(valor(listrado.getId())).isEqualByComparingTo(new BigDecimal("50.00"));
+    }
+
+    @Test
+    @DisplayName("Desfazer a listragem deve consolidar e remover os slots")
+    void testDesfazerListragem() {
+        configurar(listrado.getId(), 3);
+        transferir(origem.getId(), listrado.getId(), "40.00", String.class);
+        assertThat(restTemplate.getForObject(baseUrl + "/actuator/striping", String.class))
+                .contains("\"" + listrado.getId() + "\":3");
+
+        // O endpoint é somente leitura
+        assertThat(restTemplate.postForEntity(baseUrl + "/actuator/striping",
+                Map.of("beneficioId", listrado.getId(), "slots", 0), String.class).getStatusCode().is2xxSuccessful())
+                .isFalse();
+        assertThat(stripedBalances.isStriped(listrado.getId())).isTrue();
+
+        configurar(listrado.getId(), 0);
+
+        assertThat(stripedBalances.isStriped(listrado.getId())).isFalse();
+        assertThat(slots(listrado.getId())).isEmpty();
+        assertThat(beneficioRepository.findById(listrado.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("50.00"));
+    }
+
+    @Test
+    @DisplayName("Crédito em slot deve mudar a ETag, mesmo sem alterar a versão da base")
+    void testETagComCreditoEmSlot() {
+        configurar(listrado.getId(), 2);
+        String url = baseUrl + "/api/beneficios/" + listrado.getId();
+        String etag = restTemplate.getForEntity(url, String.class).getHeaders().getETag();
+        String etagListagem = restTemplate.getForEntity(baseUrl + "/api/beneficios", String.class)
+                .getHeaders().getETag();
+        Long version = beneficioRepository.findById(listrado.getId()).orElseThrow().getVersion();
+
+        transferir(origem.getId(), listrado.getId(), "5.00", String.class);
+
+        assertThat(beneficioRepository.findById(listrado.getId()).orElseThrow().getVersion()).isEqualTo(version);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers),
+                String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"" + listrado.getId() + "-" + version + "-15.00\"");
+
+        headers.setIfNoneMatch(etagListagem);
+        assertThat(restTemplate.exchange(baseUrl + "/api/beneficios", HttpMethod.GET, new HttpEntity<>(headers),
+                String.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+}
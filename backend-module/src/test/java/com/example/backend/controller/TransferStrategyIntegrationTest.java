@@ -0,0 +1,247 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.ErrorResponse;
+import com.example.backend.dto.TransferenciaRequestDTO;
+import com.example.backend.dto.TransferenciaResponseDTO;
+import com.example.backend.entity.Beneficio;
+import com.example.backend.entity.Transferencia;
+import com.example.backend.repository.BeneficioRepository;
+import com.example.backend.repository.TransferenciaRepository;
+import com.example.backend.service.transfer.ContentionManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("Estratégias de transferência - Testes de Integração")
+class TransferStrategyIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private BeneficioRepository beneficioRepository;
+
+    @Autowired
+    private TransferenciaRepository transferenciaRepository;
+
+    @Autowired
+    private ContentionManager contentionManager;
+
+    private String baseUrl;
+    private Beneficio origem;
+    private Beneficio destino;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/api/beneficios";
+        beneficioRepository.deleteAll();
+        origem = beneficioRepository.save(new Beneficio("Origem Estratégia", "Origem", new BigDecimal("1000.00")));
+        destino = beneficioRepository.save(new Beneficio("Destino Estratégia", "Destino", new BigDecimal("500.00")));
+    }
+
+    private <T> ResponseEntity<T> transferir(String strategy, Long origemId, Long destinoId,
+                                             String valor, Class<T> responseType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(BeneficioController.TRANSFER_STRATEGY_HEADER, strategy);
+        HttpEntity<TransferenciaRequestDTO> entity = new HttpEntity<>(
+                new TransferenciaRequestDTO(origemId, destinoId, new BigDecimal(valor)), headers);
+        return restTemplate.postForEntity(baseUrl + "/transferir", entity, responseType);
+    }
+
+    @ParameterizedTest(name = "estratégia {0}")
+    @ValueSource(strings = {"optimistic", "pessimistic", "atomic", "serializable", "adaptive", "striped"})
+    @DisplayName("Todas as estratégias devem transferir e reportar os mesmos saldos")
+    void testTransferenciaSuccess(String strategy) {
+        ResponseEntity<TransferenciaResponseDTO> response =
+                transferir(strategy, origem.getId(), destino.getId(), "300.00", TransferenciaResponseDTO.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        TransferenciaResponseDTO.TransacaoDTO transacao = response.getBody().getTransacao();
+        assertThat(transacao.getSaldoAnteriorOrigem()).isEqualByComparingTo(new BigDecimal("1000.00"));
+        assertThat(transacao.getSaldoNovoOrigem()).isEqualByComparingTo(new BigDecimal("700.00"));
+        assertThat(transacao.getSaldoAnteriorDestino()).isEqualByComparingTo(new BigDecimal("500.00"));
+        assertThat(transacao.getSaldoNovoDestino()).isEqualByComparingTo(new BigDecimal("800.00"));
+
+        Beneficio origemAtualizada = beneficioRepository.findById(origem.getId()).orElseThrow();
+        assertThat(origemAtualizada.getValor()).isEqualByComparingTo(new BigDecimal("700.00"));
+        assertThat(origemAtualizada.getVersion()).isEqualTo(origem.getVersion() + 1);
+        assertThat(beneficioRepository.findById(destino.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("800.00"));
+
+        List<Transferencia> lancamentos = lancamentosDe(origem.getId());
+        assertThat(lancamentos).hasSize(1);
+        assertThat(lancamentos.get(0).getBeneficioDestinoId()).isEqualTo(destino.getId());
+        assertThat(lancamentos.get(0).getValor()).isEqualByComparingTo(new BigDecimal("300.00"));
+        assertThat(lancamentos.get(0).getSaldoOrigem()).isEqualByComparingTo(new BigDecimal("700.00"));
+        assertThat(lancamentos.get(0).getSaldoDestino()).isEqualByComparingTo(new BigDecimal("800.00"));
+    }
+
+    @ParameterizedTest(name = "estratégia {0}")
+    @ValueSource(strings = {"optimistic", "pessimistic", "atomic", "serializable", "adaptive", "striped"})
+    @DisplayName("Saldo insuficiente deve retornar 409 sem alterar saldos")
+    void testTransferenciaSaldoInsuficiente(String strategy) {
+        // Destino com ID menor: na estratégia atomic o crédito é emitido antes do débito
+        ResponseEntity<ErrorResponse> response =
+                transferir(strategy, destino.getId(), origem.getId(), "600.00", ErrorResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getMessage()).contains("Saldo insuficiente");
+        assertThat(beneficioRepository.findById(origem.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("1000.00"));
+        assertThat(beneficioRepository.findById(destino.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("500.00"));
+        assertThat(lancamentosDe(destino.getId())).isEmpty();
+    }
+
+    @ParameterizedTest(name = "estratégia {0}")
+    @ValueSource(strings = {"optimistic", "pessimistic", "atomic", "serializable", "adaptive", "striped"})
+    @DisplayName("Destino inativo ou inexistente deve mapear para 409 e 404")
+    void testTransferenciaDestinoInvalido(String strategy) {
+        destino.setAtivo(false);
+        beneficioRepository.save(destino);
+
+        ResponseEntity<ErrorResponse> inativo =
+                transferir(strategy, origem.getId(), destino.getId(), "10.00", ErrorResponse.class);
+        assertThat(inativo.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(inativo.getBody().getMessage()).contains("destino está inativo");
+
+        ResponseEntity<ErrorResponse> inexistente =
+                transferir(strategy, origem.getId(), 999999L, "10.00", ErrorResponse.class);
+        assertThat(inexistente.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+        assertThat(beneficioRepository.findById(origem.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("1000.00"));
+    }
+
+    @Test
+    @DisplayName("Estratégia desconhecida no header deve retornar 400")
+    void testEstrategiaDesconhecida() {
+        ResponseEntity<ErrorResponse> response =
+                transferir("turbo", origem.getId(), destino.getId(), "10.00", ErrorResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().getMessage()).contains("turbo");
+    }
+
+    @Test
+    @DisplayName("Benefício com muitos conflitos deve ser escalado e exposto no actuator")
+    @SuppressWarnings("unchecked")
+    void testAdaptiveEscalation() {
+        for (int i = 0; i < contentionManager.getThreshold(); i++) {
+            contentionManager.recordConflict(origem.getId());
+        }
+        assertThat(contentionManager.isEscalated(origem.getId())).isTrue();
+        assertThat(contentionManager.isEscalated(destino.getId())).isFalse();
+
+        ResponseEntity<Map> actuator = restTemplate.getForEntity(
+                "http://localhost:" + port + "/actuator/contention", Map.class);
+        assertThat(actuator.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat((List<Number>) actuator.getBody().get("escalated"))
+                .extracting(Number::longValue)
+                .contains(origem.getId());
+
+        // Benefício escalado segue pelo caminho pessimista, com o mesmo resultado
+        ResponseEntity<TransferenciaResponseDTO> response =
+                transferir("adaptive", origem.getId(), destino.getId(), "100.00", TransferenciaResponseDTO.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(beneficioRepository.findById(origem.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("900.00"));
+    }
+
+    @Test
+    @DisplayName("Transferências concorrentes com retry assíncrono devem preservar o saldo total")
+    void testTransferenciasConcorrentes() {
+        int requisicoes = 20;
+        List<CompletableFuture<ResponseEntity<String>>> respostas = IntStream.range(0, requisicoes)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() ->
+                        transferir("optimistic", origem.getId(), destino.getId(), "10.00", String.class)))
+                .toList();
+
+        long sucessos = respostas.stream()
+                .map(CompletableFuture::join)
+                .filter(r -> r.getStatusCode() == HttpStatus.OK)
+                .count();
+
+        BigDecimal transferido = new BigDecimal("10.00").multiply(BigDecimal.valueOf(sucessos));
+        assertThat(sucessos).isPositive();
+        assertThat(beneficioRepository.findById(origem.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("1000.00").subtract(transferido));
+        assertThat(beneficioRepository.findById(destino.getId()).orElseThrow().getValor())
+                .isEqualByComparingTo(new BigDecimal("500.00").add(transferido));
+        assertThat(lancamentosDe(origem.getId())).hasSize((int) sucessos);
+    }
+
+    @Test
+    @DisplayName("Com o perfil jfr/transferencias.jfc, a transferência deve emitir os eventos do ciclo de vida")
+    void testEventosJfr() throws Exception {
+        Path arquivo = Files.createTempFile("transferencias", ".jfr");
+        try (Recording recording = new Recording(Configuration.create(Path.of("../jfr/transferencias.jfc")))) {
+            recording.start();
+            ResponseEntity<String> response = transferir("pessimistic", origem.getId(), destino.getId(), "10.00",
+                    String.class);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            recording.stop();
+            recording.dump(arquivo);
+
+            List<RecordedEvent> eventos = RecordingFile.readAllEvents(arquivo).stream()
+                    .filter(e -> e.getEventType().getName().startsWith("com.example.backend."))
+                    .filter(e -> e.getLong("origemId") == origem.getId())
+                    .toList();
+            assertThat(eventos).extracting(e -> e.getEventType().getName()).contains(
+                    "com.example.backend.TransferReceived",
+                    "com.example.backend.LockAcquired",
+                    "com.example.backend.ValidationDone",
+                    "com.example.backend.TransferFlushed",
+                    "com.example.backend.TransferCommitted");
+            assertThat(eventos).filteredOn(e -> e.getEventType().getName().endsWith("TransferCommitted"))
+                    .allSatisfy(e -> {
+                        assertThat(e.getBoolean("sucesso")).isTrue();
+                        assertThat(e.getInt("tentativa")).isEqualTo(1);
+                        assertThat(e.getLong("destinoId")).isEqualTo(destino.getId());
+                    });
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    private List<Transferencia> lancamentosDe(Long origemId) {
+        return transferenciaRepository.findAll().stream()
+                .filter(t -> t.getBeneficioOrigemId().equals(origemId))
+                .toList();
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.backend.journal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MappedTransferJournal - Testes Unitários")
+class MappedTransferJournalTest {
+
+    // Quatro registros por segmento, para exercitar a troca de segmentos
+    private static final long SEGMENT_SIZE = 4L * JournalSegment.RECORD_SIZE;
+
+    @TempDir
+    Path dir;
+
+    private MappedTransferJournal journal;
+
+    @AfterEach
+    void tearDown() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private MappedTransferJournal abrir(PoliticaFsync politica) {
+        journal = new MappedTransferJournal(dir, SEGMENT_SIZE, politica, Duration.ofMillis(5), 3);
+        return journal;
+    }
+
+    private List<JournalEntry> gravar(int quantidade) {
+        List<CompletableFuture<JournalEntry>> futures = IntStream.rangeClosed(1, quantidade)
+                .mapToObj(i -> journal.append(new JournalEntry(0, i, i + 1, i * 100L, 1000L - i, i, 1_700_000_000_000L + i)))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private List<JournalEntry> reaplicar(long aposSequencia) {
+        List<JournalEntry> entregues = new ArrayList<>();
+        journal.replay(aposSequencia, entregues::add);
+        return entregues;
+    }
+
+    private List<Path> segmentos() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().toList();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve atribuir sequências em ordem e reaplicar os segmentos após reabrir")
+    void testGravarEReaplicar() throws IOException {
+        assertThat(abrir(PoliticaFsync.CADA_ESCRITA).open(0)).isZero();
+        List<JournalEntry> gravados = gravar(10);
+        assertThat(gravados).extracting(JournalEntry::sequencia).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        journal.close();
+
+        assertThat(segmentos()).hasSize(3);
+        assertThat(abrir(PoliticaFsync.CADA_ESCRITA).open(0)).isEqualTo(10);
+        List<JournalEntry> reaplicados = reaplicar(3);
+        assertThat(reaplicados).extracting(JournalEntry::sequencia).containsExactly(4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        assertThat(reaplicados.get(0)).isEqualTo(gravados.get(3));
+
+        assertThat(gravar(1)).extracting(JournalEntry::sequencia).containsExactly(11L);
+    }
+
+    @Test
+    @DisplayName("Deve descartar o registro corrompido no fim do último segmento")
+    void testRegistroIncompleto() throws IOException {
+        abrir(PoliticaFsync.REGISTROS).open(0);
+        gravar(6);
+        journal.close();
+
+        // Simula uma escrita interrompida no último registro (sequência 6)
+        Path ultimo = segmentos().get(1);
+        try (RandomAccessFile file = new RandomAccessFile(ultimo.toFile(), "rw")) {
+            file.seek(JournalSegment.RECORD_SIZE + 20);
+            file.write(0x7F);
+        }
+
+        assertThat(abrir(PoliticaFsync.REGISTROS).open(0)).isEqualTo(5);
+        assertThat(reaplicar(0)).hasSize(5);
+        assertThat(gravar(1)).extracting(JournalEntry::sequencia).containsExactly(6L);
+    }
+
+    @Test
+    @DisplayName("Deve recusar a abertura com lacuna antes do último segmento")
+    void testSegmentoIntermediarioCorrompido() throws IOException {
+        abrir(PoliticaFsync.INTERVALO).open(0);
+        gravar(6);
+        journal.close();
+
+        try (RandomAccessFile file = new RandomAccessFile(segmentos().get(0).toFile(), "rw")) {
+            file.seek(2L * JournalSegment.RECORD_SIZE + 8);
+            file.write(0x7F);
+        }
+
+        assertThatThrownBy(() -> abrir(PoliticaFsync.INTERVALO).open(0))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Journal corrompido");
+        journal = null;
+    }
+
+    @Test
+    @DisplayName("Deve continuar a numeração a partir da sequência mínima informada")
+    void testSequenciaMinima() throws IOException {
+        abrir(PoliticaFsync.CADA_ESCRITA).open(0);
+        gravar(2);
+        journal.close();
+
+        assertThat(abrir(PoliticaFsync.CADA_ESCRITA).open(100)).isEqualTo(100);
+        assertThat(reaplicar(0)).isEmpty();
+        assertThat(gravar(1)).extracting(JournalEntry::sequencia).containsExactly(101L);
+        assertThat(segmentos()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Falha no meio de um lote deve confirmar os lançamentos já gravados e falhar só os seguintes")
+    void testFalhaNoMeioDoLote() throws IOException {
+        abrir(PoliticaFsync.CADA_ESCRITA).open(0);
+        // O segundo segmento (a partir da sequência 5) não pode ser criado
+        Path bloqueio = Files.createDirectory(dir.resolve(JournalSegment.nome(5)));
+
+        List<CompletableFuture<JournalEntry>> futures = IntStream.rangeClosed(1, 6)
+                .mapToObj(i -> journal.append(new JournalEntry(0, i, i + 1, i * 100L, 0, 0, i)))
+                .toList();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+
+        assertThat(futures.subList(0, 4)).allMatch(future -> !future.isCompletedExceptionally());
+        assertThat(futures.subList(0, 4)).extracting(future -> future.join().sequencia())
+                .containsExactly(1L, 2L, 3L, 4L);
+        assertThat(futures.subList(4, 6)).allMatch(CompletableFuture::isCompletedExceptionally);
+        journal.close();
+
+        // A recuperação traz exatamente o que foi confirmado
+        Files.delete(bloqueio);
+        assertThat(abrir(PoliticaFsync.CADA_ESCRITA).open(0)).isEqualTo(4);
+        assertThat(reaplicar(0)).extracting(JournalEntry::valor).containsExactly(100L, 200L, 300L, 400L);
+        assertThat(gravar(1)).extracting(JournalEntry::sequencia).containsExactly(5L);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.BeneficioDTO;
+import com.example.backend.entity.Beneficio;
+import com.example.backend.mapper.BeneficioMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        // Banco próprio: a contagem de linhas não pode depender dos outros testes
+        "spring.datasource.url=jdbc:h2:mem:projectiondb;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+@DisplayName("Projeções de Beneficio - Benchmark de alocação")
+class BeneficioProjectionBenchmarkTest {
+
+    private static final int LINHAS = 5_000;
+    private static final int RODADAS = 5;
+
+    @Autowired
+    private BeneficioRepository repository;
+
+    @Autowired
+    private BeneficioMapper mapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        if (repository.count() != LINHAS) {
+            repository.deleteAll();
+            repository.saveAll(IntStream.range(0, LINHAS)
+                    .mapToObj(i -> new Beneficio("Benchmark " + i, "Projeção", new BigDecimal("10.00")))
+                    .toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Projeção em DTO deve alocar menos por linha que entidade + mapper")
+    void testAlocacaoPorLinha() {
+        TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        TransactionTemplate escrita = new TransactionTemplate(transactionManager);
+
+        // Antes: entidades gerenciadas copiadas pelo mapper (com e sem snapshot de dirty checking)
+        Supplier<List<BeneficioDTO>> entidades = () -> repository.findAll(Sort.by("id")).stream()
+                .map(mapper::toDTO)
+                .toList();
+        // Depois: constructor expression, sem entidades
+        Supplier<List<BeneficioDTO>> projecao = () ->
+                repository.findPagina(false, Sort.by("id"), ScrollPosition.keyset(), LINHAS);
+
+        long entidadesEscrita = bytesPorLinha(escrita, entidades);
+        long entidadesLeitura = bytesPorLinha(leitura, entidades);
+        long projecaoLeitura = bytesPorLinha(leitura, projecao);
+
+        System.out.println("=== ALOCAÇÃO POR LINHA (" + LINHAS + " benefícios) ===");
+        System.out.println("Entidade + mapper, transação read-write: " + entidadesEscrita + " bytes/linha");
+        System.out.println("Entidade + mapper, transação read-only:  " + entidadesLeitura + " bytes/linha");
+        System.out.println("Projeção em DTO, transação read-only:    " + projecaoLeitura + " bytes/linha");
+
+        assertThat(projecaoLeitura).isLessThan(entidadesLeitura);
+        assertThat(entidadesLeitura).isLessThanOrEqualTo(entidadesEscrita);
+    }
+
+    @Test
+    @DisplayName("Projeção deve devolver os mesmos dados que entidade + mapper")
+    void testProjecaoEquivalente() {
+        TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        List<BeneficioDTO> entidades = leitura.execute(status -> repository.findAll(Sort.by("id")).stream()
+                .map(mapper::toDTO)
+                .toList());
+        List<BeneficioDTO> projecao = leitura.execute(status ->
+                repository.findPagina(false, Sort.by("id"), ScrollPosition.keyset(), LINHAS));
+
+        assertThat(projecao).usingRecursiveFieldByFieldElementComparator().isEqualTo(entidades);
+        assertThat(repository.findDtoById(entidades.get(0).getId())).get()
+                .usingRecursiveComparison().isEqualTo(entidades.get(0));
+    }
+
+    /**
+     * Média de bytes alocados pela thread por linha lida, após aquecimento.
+     */
+    private long bytesPorLinha(TransactionTemplate transacao, Supplier<List<BeneficioDTO>> leitura) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < RODADAS; i++) {
+            List<BeneficioDTO> beneficios = transacao.execute(status -> leitura.get());
+            assertThat(beneficios).hasSize(LINHAS);
+        }
+        long antes = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < RODADAS; i++) {
+            transacao.execute(status -> leitura.get());
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - antes) / ((long) RODADAS * LINHAS);
+    }
+}
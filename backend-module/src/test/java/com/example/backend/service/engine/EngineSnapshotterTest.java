@@ -0,0 +1,158 @@
+package com.example.backend.service.engine;
+
+import com.example.backend.journal.JournalEntry;
+import com.example.backend.journal.MappedTransferJournal;
+import com.example.backend.journal.PoliticaFsync;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("EngineSnapshotter - Testes Unitários")
+class EngineSnapshotterTest {
+
+    @TempDir
+    Path dir;
+
+    private MappedTransferJournal journal;
+    private Path snapshots;
+
+    @BeforeEach
+    void setUp() {
+        // Quatro lançamentos por segmento do journal
+        journal = new MappedTransferJournal(dir.resolve("journal"), 4L * 64, PoliticaFsync.CADA_ESCRITA,
+                Duration.ofMillis(10), 1);
+        journal.open(0);
+        snapshots = dir.resolve("snapshots");
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    private EngineSnapshotter novoSnapshotter() {
+        return new EngineSnapshotter(journal, snapshots, Duration.ofHours(1));
+    }
+
+    private BalanceImage imagemInicial() {
+        BalanceImage imagem = new BalanceImage(3, 0);
+        imagem.put(1, 100_00, 0, true);
+        imagem.put(2, 50_00, 0, true);
+        imagem.put(3, 0, 0, false);
+        return imagem;
+    }
+
+    /**
+     * Transferências de R$ 1,00 alternando 1 -> 2 e 2 -> 1.
+     */
+    private List<JournalEntry> gravar(int quantidade) {
+        List<CompletableFuture<JournalEntry>> futures = IntStream.range(0, quantidade)
+                .mapToObj(i -> journal.append(new JournalEntry(0, i % 2 == 0 ? 1 : 2, i % 2 == 0 ? 2 : 1,
+                        100, 0, 0, System.currentTimeMillis())))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private Map<Long, Long> saldos(BalanceImage imagem) {
+        Map<Long, Long> saldos = new HashMap<>();
+        imagem.forEach((id, saldo, version, ativo) -> saldos.put(id, saldo));
+        return saldos;
+    }
+
+    private List<Path> arquivos(Path diretorio) throws IOException {
+        try (Stream<Path> files = Files.list(diretorio)) {
+            return files.sorted().toList();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gravar o snapshot na sequência aplicada e compactar o journal coberto")
+    void testSnapshotECompactacao() throws IOException {
+        EngineSnapshotter snapshotter = novoSnapshotter();
+        snapshotter.init(imagemInicial());
+        List<JournalEntry> entries = gravar(10);
+        assertThat(arquivos(dir.resolve("journal"))).hasSize(3);
+
+        snapshotter.apply(entries.subList(0, 9));
+        snapshotter.snapshot();
+
+        assertThat(arquivos(snapshots)).extracting(p -> p.getFileName().toString())
+                .containsExactly("saldos-00000000000000000009.snapshot");
+        // Segmentos 1-4 e 5-8 cobertos; 9-12 contém o corrente
+        assertThat(arquivos(dir.resolve("journal"))).hasSize(1);
+        assertThat(journal.primeiraSequencia()).isEqualTo(9);
+
+        BalanceImage carregada = novoSnapshotter().load();
+        assertThat(carregada.sequencia()).isEqualTo(9);
+        assertThat(saldos(carregada)).containsEntry(1L, 99_00L).containsEntry(2L, 51_00L).containsEntry(3L, 0L);
+    }
+
+    @Test
+    @DisplayName("Deve usar o snapshot anterior quando o mais recente estiver corrompido")
+    void testSnapshotCorrompido() throws IOException {
+        EngineSnapshotter snapshotter = novoSnapshotter();
+        snapshotter.init(imagemInicial());
+        List<JournalEntry> entries = gravar(4);
+
+        snapshotter.apply(entries.subList(0, 3));
+        snapshotter.snapshot();
+        snapshotter.apply(entries.subList(3, 4));
+        snapshotter.snapshot();
+
+        Path maisRecente = arquivos(snapshots).get(1);
+        try (RandomAccessFile file = new RandomAccessFile(maisRecente.toFile(), "rw")) {
+            file.seek(30);
+            file.write(0x7F);
+        }
+
+        BalanceImage carregada = novoSnapshotter().load();
+        assertThat(carregada.sequencia()).isEqualTo(3);
+        assertThat(saldos(carregada)).containsEntry(1L, 99_00L).containsEntry(2L, 51_00L);
+    }
+
+    @Test
+    @DisplayName("Conta carregada depois da inicialização deve entrar na imagem antes dos seus lançamentos")
+    void testContaRegistrada() throws IOException {
+        EngineSnapshotter snapshotter = novoSnapshotter();
+        snapshotter.init(imagemInicial());
+        snapshotter.register(new Account(4, 10_00, true, 3));
+        JournalEntry entry = journal.append(new JournalEntry(0, 4, 1, 2_50, 7_50, 102_50,
+                System.currentTimeMillis())).join();
+
+        snapshotter.apply(List.of(entry));
+        snapshotter.snapshot();
+
+        BalanceImage carregada = novoSnapshotter().load();
+        assertThat(saldos(carregada)).containsEntry(4L, 7_50L).containsEntry(1L, 102_50L);
+    }
+
+    @Test
+    @DisplayName("Reaplicação deve informar contas ausentes do snapshot")
+    void testReplayContaDesconhecida() {
+        BalanceImage imagem = imagemInicial();
+        List<Long> desconhecidas = new ArrayList<>();
+
+        imagem.replay(new JournalEntry(1, 1, 99, 10_00, 0, 0, 0), desconhecidas::add);
+
+        assertThat(desconhecidas).containsExactly(99L);
+        assertThat(imagem.sequencia()).isEqualTo(1);
+        assertThat(saldos(imagem)).containsEntry(1L, 90_00L);
+    }
+}
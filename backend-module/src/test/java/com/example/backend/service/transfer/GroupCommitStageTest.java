@@ -0,0 +1,125 @@
+package com.example.backend.service.transfer;
+
+import com.example.backend.dto.ModoLote;
+import com.example.backend.dto.TransferenciaRequestDTO;
+import com.example.backend.dto.TransferenciaResponseDTO;
+import com.example.backend.exception.BeneficioConflictException;
+import com.example.backend.exception.ResultadoIncertoException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("GroupCommitStage - Testes Unitários")
+class GroupCommitStageTest {
+
+    private final TransferBatchProcessor batchProcessor = mock(TransferBatchProcessor.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final TransferStrategyRegistry strategyRegistry = mock(TransferStrategyRegistry.class);
+    private final TransferRetryScheduler retryScheduler = mock(TransferRetryScheduler.class);
+    private GroupCommitStage stage;
+
+    @AfterEach
+    void tearDown() {
+        if (stage != null) {
+            stage.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Fila cheia deve falhar o future com BeneficioConflictException, sem enfileirar")
+    void testFilaCheia() throws Exception {
+        CountDownLatch aplicando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(batchProcessor.apply(anyList(), eq(ModoLote.MELHOR_ESFORCO))).thenAnswer(invocation -> {
+            aplicando.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            List<TransferenciaRequestDTO> itens = invocation.getArgument(0);
+            return itens.stream().map(item -> new TransferBatchProcessor.LegResult(null, null)).toList();
+        });
+
+        // Um item por grupo e uma vaga na fila
+        stage = new GroupCommitStage(batchProcessor, null, null, transactionManager,
+                true, 1, Duration.ZERO, 1);
+        stage.start();
+
+        CompletableFuture<TransferenciaResponseDTO> emCommit = stage.submit(transferencia());
+        assertThat(aplicando.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<TransferenciaResponseDTO> naFila = stage.submit(transferencia());
+        CompletableFuture<TransferenciaResponseDTO> recusada = stage.submit(transferencia());
+
+        assertThat(recusada).isCompletedExceptionally();
+        assertThat(recusada.handle((r, e) -> e).get()).isInstanceOf(BeneficioConflictException.class);
+        assertThat(naFila).isNotDone();
+
+        liberar.countDown();
+        emCommit.get(5, TimeUnit.SECONDS);
+        naFila.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Falha antes do commit deve desfazer o grupo e reenviar individualmente")
+    void testFalhaAntesDoCommit() throws Exception {
+        TransactionStatus status = new SimpleTransactionStatus();
+        TransferStrategy padrao = mock(TransferStrategy.class);
+        TransferenciaResponseDTO resposta = new TransferenciaResponseDTO(true, "ok", null);
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+        when(batchProcessor.apply(anyList(), eq(ModoLote.MELHOR_ESFORCO)))
+                .thenThrow(new CannotAcquireLockException("deadlock"));
+        when(strategyRegistry.getDefault()).thenReturn(padrao);
+        when(retryScheduler.submit(eq(padrao), any())).thenReturn(CompletableFuture.completedFuture(resposta));
+
+        stage = new GroupCommitStage(batchProcessor, strategyRegistry, retryScheduler, transactionManager,
+                true, 1, Duration.ZERO, 16);
+        stage.start();
+
+        assertThat(stage.submit(transferencia()).get(5, TimeUnit.SECONDS)).isSameAs(resposta);
+        verify(transactionManager).rollback(status);
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    @DisplayName("Falha no commit deve deixar o resultado incerto, sem reenviar a transferência")
+    void testFalhaNoCommit() throws Exception {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(batchProcessor.apply(anyList(), eq(ModoLote.MELHOR_ESFORCO)))
+                .thenReturn(List.of(new TransferBatchProcessor.LegResult(null, null)));
+        doThrow(new TransactionSystemException("conexão perdida no commit")).when(transactionManager).commit(any());
+
+        stage = new GroupCommitStage(batchProcessor, strategyRegistry, retryScheduler, transactionManager,
+                true, 1, Duration.ZERO, 16);
+        stage.start();
+
+        CompletableFuture<TransferenciaResponseDTO> result = stage.submit(transferencia());
+
+        assertThat(result.handle((r, e) -> e).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ResultadoIncertoException.class);
+        verify(retryScheduler, never()).submit(any(), any());
+    }
+
+    private static TransferenciaRequestDTO transferencia() {
+        return new TransferenciaRequestDTO(1L, 2L, new BigDecimal("10.00"));
+    }
+}
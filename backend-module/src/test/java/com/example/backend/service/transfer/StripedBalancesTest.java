@@ -0,0 +1,96 @@
+package com.example.backend.service.transfer;
+
+import com.example.backend.entity.Beneficio;
+import com.example.backend.entity.SaldoParcial;
+import com.example.backend.repository.BeneficioRepository;
+import com.example.backend.repository.SaldoParcialRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("StripedBalances - Testes Unitários")
+class StripedBalancesTest {
+
+    private final BeneficioRepository beneficioRepository = mock(BeneficioRepository.class);
+    private final SaldoParcialRepository saldoParcialRepository = mock(SaldoParcialRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    @DisplayName("Inicialização deve listrar os configurados e desfazer a listragem dos demais")
+    void testAplicarConfiguracao() {
+        Beneficio novo = beneficio(5L, 0);
+        Beneficio antigo = beneficio(7L, 2);
+        List<SaldoParcial> slotsAntigo = new ArrayList<>(List.of(
+                new SaldoParcial(7L, 0, new BigDecimal("3.00")),
+                new SaldoParcial(7L, 1, new BigDecimal("4.00"))));
+        when(beneficioRepository.findListrados()).thenReturn(List.of(antigo));
+        when(beneficioRepository.findAllByIdInForUpdate(List.of(5L))).thenReturn(List.of(novo));
+        when(beneficioRepository.findAllByIdInForUpdate(List.of(7L))).thenReturn(List.of(antigo));
+        when(beneficioRepository.findAllByIdInForUpdate(List.of(9L))).thenReturn(List.of());
+        when(saldoParcialRepository.findByBeneficioIdForUpdate(5L)).thenReturn(List.of());
+        when(saldoParcialRepository.findByBeneficioIdForUpdate(7L)).thenReturn(slotsAntigo);
+
+        StripedBalances stripedBalances = new StripedBalances(beneficioRepository, saldoParcialRepository,
+                transactionManager, false, List.of("5:4", " 9:2 "));
+        stripedBalances.iniciar();
+
+        assertThat(stripedBalances.getListrados()).isEqualTo(Map.of(5L, 4));
+        assertThat(novo.getSlots()).isEqualTo(4);
+        verify(saldoParcialRepository, times(4)).save(any(SaldoParcial.class));
+        assertThat(antigo.getSlots()).isZero();
+        assertThat(antigo.getValor()).isEqualByComparingTo(new BigDecimal("17.00"));
+        verify(saldoParcialRepository, times(2)).delete(any(SaldoParcial.class));
+    }
+
+    @Test
+    @DisplayName("Com o motor em memória ativo, a configuração não deve ser aplicada")
+    void testConfiguracaoComMotor() {
+        when(beneficioRepository.findListrados()).thenReturn(List.of());
+
+        StripedBalances stripedBalances = new StripedBalances(beneficioRepository, saldoParcialRepository,
+                transactionManager, true, List.of("5:4"));
+        stripedBalances.iniciar();
+
+        assertThat(stripedBalances.getListrados()).isEmpty();
+        verify(beneficioRepository, never()).findAllByIdInForUpdate(any());
+    }
+
+    @Test
+    @DisplayName("Configuração malformada ou fora do limite de slots deve falhar na criação")
+    void testConfiguracaoInvalida() {
+        assertThatThrownBy(() -> new StripedBalances(beneficioRepository, saldoParcialRepository,
+                transactionManager, false, List.of("5")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new StripedBalances(beneficioRepository, saldoParcialRepository,
+                transactionManager, false, List.of("5:" + (StripedBalances.MAX_SLOTS + 1))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Beneficio beneficio(Long id, int slots) {
+        Beneficio beneficio = new Beneficio("Benefício " + id, "Teste", new BigDecimal("10.00"));
+        beneficio.setId(id);
+        beneficio.setSlots(slots);
+        return beneficio;
+    }
+}
@@ -0,0 +1,40 @@
+-- Livro-razão de transferências (append-only), particionado por mês de CREATED_AT.
+--
+-- O ID vem de TRANSFERENCIA_SEQ com INCREMENT BY 50, igual ao allocationSize da
+-- entidade: o Hibernate reserva blocos de IDs e mantém os INSERTs em JDBC batch.
+-- A chave primária inclui CREATED_AT porque o PostgreSQL exige a coluna de
+-- particionamento em toda constraint única de tabela particionada.
+
+CREATE SEQUENCE TRANSFERENCIA_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE TRANSFERENCIA (
+  ID BIGINT NOT NULL,
+  BENEFICIO_ORIGEM_ID BIGINT NOT NULL,
+  BENEFICIO_DESTINO_ID BIGINT NOT NULL,
+  VALOR DECIMAL(15,2) NOT NULL,
+  SALDO_ORIGEM DECIMAL(15,2) NOT NULL,
+  SALDO_DESTINO DECIMAL(15,2) NOT NULL,
+  CREATED_AT TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (CREATED_AT, ID)
+) PARTITION BY RANGE (CREATED_AT);
+
+-- Cria (se ainda não existir) a partição mensal que contém a data informada.
+-- Deve ser agendada (ex.: pg_cron) para criar as partições dos meses seguintes.
+CREATE OR REPLACE FUNCTION CRIAR_PARTICAO_TRANSFERENCIA(MES DATE) RETURNS VOID AS $$
+DECLARE
+  INICIO DATE := DATE_TRUNC('month', MES);
+  FIM DATE := INICIO + INTERVAL '1 month';
+  NOME TEXT := 'transferencia_' || TO_CHAR(INICIO, 'YYYY_MM');
+BEGIN
+  EXECUTE FORMAT(
+    'CREATE TABLE IF NOT EXISTS %I PARTITION OF TRANSFERENCIA FOR VALUES FROM (%L) TO (%L)',
+    NOME, INICIO, FIM);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Mês corrente e os próximos 12 meses
+SELECT CRIAR_PARTICAO_TRANSFERENCIA((CURRENT_DATE + (N || ' month')::INTERVAL)::DATE)
+FROM GENERATE_SERIES(0, 12) AS N;
+
+-- Recebe lançamentos fora das partições criadas até que a próxima seja adicionada
+CREATE TABLE TRANSFERENCIA_DEFAULT PARTITION OF TRANSFERENCIA DEFAULT;
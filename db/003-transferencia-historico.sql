@@ -0,0 +1,16 @@
+-- Índices de cobertura do histórico de transferências por benefício
+-- (GET /api/beneficios/{id}/transferencias).
+--
+-- A consulta une duas varreduras de intervalo, uma por lado da transferência,
+-- ordenadas por (CREATED_AT DESC, ID DESC) e limitadas ao tamanho da página; o
+-- cursor (keyset) vira a condição (CREATED_AT, ID) < (:antesDe, :antesDeId).
+-- O INCLUDE traz as demais colunas lidas, permitindo index-only scan. Criados na
+-- tabela particionada, os índices são replicados em cada partição mensal.
+
+CREATE INDEX IDX_TRANSFERENCIA_ORIGEM_HIST
+  ON TRANSFERENCIA (BENEFICIO_ORIGEM_ID, CREATED_AT DESC, ID DESC)
+  INCLUDE (BENEFICIO_DESTINO_ID, VALOR, SALDO_ORIGEM);
+
+CREATE INDEX IDX_TRANSFERENCIA_DESTINO_HIST
+  ON TRANSFERENCIA (BENEFICIO_DESTINO_ID, CREATED_AT DESC, ID DESC)
+  INCLUDE (BENEFICIO_ORIGEM_ID, VALOR, SALDO_DESTINO);
@@ -0,0 +1,11 @@
+-- Última sequência do journal do motor em memória já aplicada ao banco.
+--
+-- Linha única (ID = 1), atualizada na mesma transação do write-behind que
+-- grava BENEFICIO e TRANSFERENCIA; na inicialização, o motor reaplica apenas
+-- os lançamentos do journal posteriores a SEQUENCIA.
+
+CREATE TABLE CHECKPOINT_JOURNAL (
+  ID BIGINT PRIMARY KEY,
+  SEQUENCIA BIGINT NOT NULL,
+  UPDATED_AT TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,16 @@
+-- Saldos parciais (slots) de benefícios "listrados".
+--
+-- Um benefício com SLOTS > 0 tem o saldo dividido entre BENEFICIO.VALOR (base)
+-- e SLOTS linhas em SALDO_PARCIAL: créditos vão para um slot aleatório, débitos
+-- consomem a base e, se ela não bastar, os slots. O saldo é a soma de tudo; um
+-- merger periódico move os slots para a base. A contenção de lock dos créditos
+-- se distribui entre as linhas de slot em vez de concentrar-se em BENEFICIO.
+
+ALTER TABLE BENEFICIO ADD COLUMN SLOTS INTEGER NOT NULL DEFAULT 0;
+
+CREATE TABLE SALDO_PARCIAL (
+  BENEFICIO_ID BIGINT NOT NULL REFERENCES BENEFICIO (ID),
+  SLOT INTEGER NOT NULL,
+  VALOR DECIMAL(15,2) NOT NULL DEFAULT 0,
+  PRIMARY KEY (BENEFICIO_ID, SLOT)
+);
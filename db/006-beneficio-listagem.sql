@@ -0,0 +1,16 @@
+-- Índices da paginação por cursor das listagens de benefícios
+-- (GET /api/beneficios e /api/beneficios/ativos).
+--
+-- Cada campo aceito em sort tem um índice com o ID como desempate: o cursor
+-- (keyset) vira a condição (campo, ID) > (:campo, :id), uma varredura de
+-- intervalo que para no tamanho da página, em qualquer profundidade. A ordem
+-- descendente usa o mesmo índice, percorrido de trás para frente. A ordenação
+-- por ID usa a chave primária. Os índices parciais atendem a listagem de
+-- ativos sem ler as linhas inativas.
+
+CREATE INDEX IDX_BENEFICIO_NOME ON BENEFICIO (NOME, ID);
+CREATE INDEX IDX_BENEFICIO_CREATED_AT ON BENEFICIO (CREATED_AT, ID);
+
+CREATE INDEX IDX_BENEFICIO_ATIVO_ID ON BENEFICIO (ID) WHERE ATIVO;
+CREATE INDEX IDX_BENEFICIO_ATIVO_NOME ON BENEFICIO (NOME, ID) WHERE ATIVO;
+CREATE INDEX IDX_BENEFICIO_ATIVO_CREATED_AT ON BENEFICIO (CREATED_AT, ID) WHERE ATIVO;
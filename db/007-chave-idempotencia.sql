@@ -0,0 +1,16 @@
+-- Respostas de transferências por Idempotency-Key (POST /api/beneficios/transferir).
+--
+-- A chave é reservada com RESPOSTA nula antes da execução e completada depois
+-- do commit da transferência. EXPIRA_EM é o prazo da reserva ou, com a
+-- resposta gravada, o fim do TTL; o índice atende a limpeza periódica das
+-- respostas vencidas e a contagem das reservas pendentes.
+
+CREATE TABLE CHAVE_IDEMPOTENCIA (
+  CHAVE VARCHAR(128) PRIMARY KEY,
+  REQUISICAO VARCHAR(100) NOT NULL,
+  RESPOSTA VARCHAR(4000),
+  CREATED_AT TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  EXPIRA_EM TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IDX_CHAVE_IDEMPOTENCIA_EXPIRA_EM ON CHAVE_IDEMPOTENCIA (EXPIRA_EM);
@@ -1,17 +1,37 @@
 package com.example.ejb;
 
 import com.example.ejb.entity.Beneficio;
+import com.example.ejb.entity.Transferencia;
 import com.example.ejb.exception.*;
+import com.example.ejb.jfr.LockAcquiredEvent;
+import com.example.ejb.jfr.TransferFlushedEvent;
+import com.example.ejb.jfr.TransferReceivedEvent;
+import com.example.ejb.jfr.ValidationDoneEvent;
+import jakarta.annotation.Resource;
+import jakarta.ejb.EJB;
+import jakarta.ejb.SessionContext;
 import jakarta.ejb.Stateless;
 import jakarta.ejb.TransactionAttribute;
 import jakarta.ejb.TransactionAttributeType;
+import jakarta.interceptor.Interceptors;
+import jakarta.persistence.CacheRetrieveMode;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.LockTimeoutException;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PessimisticLockException;
+import jakarta.persistence.TypedQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Future;
 
 /**
  * Serviço EJB para operações transacionais de Benefícios.
@@ -41,13 +61,45 @@ import java.math.BigDecimal;
  */
 @Stateless
 @TransactionAttribute(TransactionAttributeType.REQUIRED)
+@Interceptors(TransferTimingInterceptor.class)
 public class BeneficioEjbService {
     
     private static final Logger logger = LoggerFactory.getLogger(BeneficioEjbService.class);
     
+    /**
+     * Log de cada chamada bem-sucedida (início, locks, conclusão). Desligado por
+     * padrão: custa mais que a própria transferência sob carga; latências ficam
+     * nas métricas do {@link TransferMetrics}. Ligado com
+     * {@code -Dbeneficio.ejb.log-chamadas=true}. Recusas e falhas são sempre logadas.
+     */
+    static final boolean LOG_CHAMADAS = Boolean.getBoolean("beneficio.ejb.log-chamadas");
+    
+    static final String LOCK_TIMEOUT_HINT = "jakarta.persistence.lock.timeout";
+    static final String CACHE_RETRIEVE_MODE_HINT = "jakarta.persistence.cache.retrieveMode";
+    
     @PersistenceContext(unitName = "beneficioPU")
     private EntityManager em;
     
+    @EJB
+    private TransferMetrics metrics;
+    
+    @EJB
+    private TransferExecutor transferExecutor;
+    
+    @Resource
+    private SessionContext context;
+    
+    /**
+     * Transfere valor entre dois benefícios, esperando pelo lock o tempo padrão
+     * do {@code persistence.xml}.
+     * 
+     * @see #transfer(Long, Long, BigDecimal, EsperaLock)
+     */
+    public void transfer(Long fromId, Long toId, BigDecimal amount) 
+            throws BeneficioException {
+        transfer(fromId, toId, amount, EsperaLock.PADRAO);
+    }
+    
     /**
      * Transfere valor entre dois benefícios com garantias de atomicidade e consistência.
      * 
@@ -61,36 +113,59 @@ public class BeneficioEjbService {
      * </ul>
      * 
      * <p><b>Estratégia de Locking:</b><br>
-     * Usa pessimistic write lock na ordem crescente de IDs para:
+     * Usa pessimistic write lock, adquirido para os dois benefícios em uma única
+     * consulta ordenada por ID, para:
      * <ul>
      *   <li>Prevenir lost updates (dois threads modificando a mesma entity)</li>
      *   <li>Prevenir deadlocks (sempre adquire locks na mesma ordem)</li>
      *   <li>Garantir serialização de acessos concorrentes</li>
      * </ul>
      * 
+     * <p><b>Espera pelo lock:</b><br>
+     * {@code espera} limita quanto a chamada aguarda um benefício bloqueado por
+     * outra transação ({@link EsperaLock#NOWAIT}, {@link EsperaLock#millis(int)}
+     * ou {@link EsperaLock#PADRAO}). Chamadores com SLO de latência podem falhar
+     * em milissegundos e tentar novamente com backoff, em vez de enfileirar atrás
+     * de um benefício muito disputado.
+     * 
      * @param fromId ID do benefício origem (débito)
      * @param toId ID do benefício destino (crédito)
      * @param amount Valor a transferir (deve ser positivo)
+     * @param espera espera máxima pelo lock ({@code null} equivale a {@link EsperaLock#PADRAO})
+     * @throws BeneficioOcupadoException se o lock não for obtido dentro da espera
      * @throws BeneficioException se houver qualquer violação de regra de negócio
      */
-    public void transfer(Long fromId, Long toId, BigDecimal amount) 
+    public void transfer(Long fromId, Long toId, BigDecimal amount, EsperaLock espera) 
             throws BeneficioException {
         
-        logger.info("Iniciando transferência: {} -> {} valor: {}", fromId, toId, amount);
+        if (LOG_CHAMADAS) {
+            logger.info("Iniciando transferência: {} -> {} valor: {}", fromId, toId, amount);
+        }
         
         // 1. Validações de entrada
         validateTransferInputs(fromId, toId, amount);
+        new TransferReceivedEvent().commit(fromId, toId);
         
-        // 2. Adquire locks na ordem crescente de IDs (previne deadlock)
+        // 2. Adquire os locks em uma única consulta, na ordem crescente de IDs (previne deadlock)
         Long firstId = Math.min(fromId, toId);
         Long secondId = Math.max(fromId, toId);
         
-        logger.debug("Adquirindo locks: primeiro={}, segundo={}", firstId, secondId);
-        
-        Beneficio first = em.find(Beneficio.class, firstId, LockModeType.PESSIMISTIC_WRITE);
-        Beneficio second = em.find(Beneficio.class, secondId, LockModeType.PESSIMISTIC_WRITE);
+        Beneficio from = null;
+        Beneficio to = null;
+        LockAcquiredEvent lockEvent = new LockAcquiredEvent();
+        lockEvent.begin();
+        for (Beneficio beneficio : lockOrdered(List.of(firstId, secondId), espera)) {
+            if (beneficio.getId().equals(fromId)) {
+                from = beneficio;
+            } else {
+                to = beneficio;
+            }
+        }
+        lockEvent.commit(fromId, toId);
         
-        // 3. Validações de existência
+        // 3. Validações de existência (na ordem dos locks)
+        Beneficio first = fromId.equals(firstId) ? from : to;
+        Beneficio second = fromId.equals(firstId) ? to : from;
         if (first == null) {
             logger.warn("Benefício não encontrado: {}", firstId);
             throw new BeneficioNaoEncontradoException(firstId);
@@ -100,33 +175,216 @@ public class BeneficioEjbService {
             throw new BeneficioNaoEncontradoException(secondId);
         }
         
-        // 4. Identifica origem e destino
-        Beneficio from = fromId.equals(firstId) ? first : second;
-        Beneficio to = fromId.equals(firstId) ? second : first;
+        // 4-6. Validações de negócio, débito/crédito e lançamento
+        BigDecimal saldoAntigoFrom = from.getValor();
+        BigDecimal saldoAntigoTo = to.getValor();
+        ValidationDoneEvent validationEvent = new ValidationDoneEvent();
+        validationEvent.begin();
+        aplicar(from, to, amount);
+        validationEvent.commit(fromId, toId);
         
-        logger.debug("Benefício origem: {}", from);
-        logger.debug("Benefício destino: {}", to);
+        // 7. Com o perfil JFR ativo, flush explícito para separar o tempo dos UPDATEs do commit
+        TransferFlushedEvent flushEvent = new TransferFlushedEvent();
+        if (flushEvent.isEnabled()) {
+            flushEvent.begin();
+            em.flush();
+            flushEvent.commit(fromId, toId);
+        }
         
-        // 5. Validações de negócio
-        validateBeneficioAtivo(from, "origem", fromId);
-        validateBeneficioAtivo(to, "destino", toId);
-        validateSaldoSuficiente(from, amount);
+        if (LOG_CHAMADAS) {
+            logger.info("Transferência concluída com sucesso. From: {} -> {}, To: {} -> {}", 
+                saldoAntigoFrom, from.getValor(), saldoAntigoTo, to.getValor());
+        }
+    }
+    
+    /**
+     * Executa várias transferências em uma única transação JTA, pagando uma vez
+     * a transação do container e a cadeia de interceptors.
+     * 
+     * @see #transferBatch(List, boolean)
+     */
+    public List<TransferResult> transferBatch(List<TransferCommand> commands) 
+            throws BeneficioException {
+        return transferBatch(commands, false);
+    }
+    
+    /**
+     * Executa várias transferências em uma única transação JTA.
+     * 
+     * <p>Os IDs distintos de todos os comandos são bloqueados de uma vez, em
+     * ordem crescente, com a mesma consulta {@code FOR UPDATE} de
+     * {@link #transfer}; cada comando é então validado e aplicado em memória, na
+     * ordem da lista (um comando enxerga os saldos deixados pelos anteriores). Os
+     * UPDATEs e os lançamentos saem no flush do commit, agrupados por
+     * {@code hibernate.jdbc.batch_size}.
+     * 
+     * <p>Sem {@code estrito}, um comando recusado (validação, benefício ausente ou
+     * inativo, saldo insuficiente) vira um resultado de falha e os demais seguem.
+     * Com {@code estrito}, a primeira recusa é lançada e a transação inteira é
+     * desfeita. Lock não obtido ({@link BeneficioOcupadoException}) sempre aborta
+     * o lote.
+     * 
+     * @param commands transferências, na ordem de aplicação
+     * @param estrito se qualquer recusa deve abortar o lote inteiro
+     * @return um resultado por comando, na ordem de {@code commands}
+     * @throws BeneficioException no modo estrito, a primeira recusa; em qualquer
+     *         modo, {@link BeneficioOcupadoException}
+     */
+    public List<TransferResult> transferBatch(List<TransferCommand> commands, boolean estrito) 
+            throws BeneficioException {
         
-        // 6. Executa transferência
-        BigDecimal saldoAntigoFrom = from.getValor();
-        BigDecimal saldoAntigoTo = to.getValor();
+        if (commands == null) {
+            throw new IllegalArgumentException("Lista de transferências não pode ser nula");
+        }
+        if (LOG_CHAMADAS) {
+            logger.info("Iniciando lote de {} transferências (estrito: {})", commands.size(), estrito);
+        }
+        
+        // 1. Bloqueia todos os benefícios envolvidos de uma vez, em ordem crescente de ID
+        Set<Long> ids = new TreeSet<>();
+        for (TransferCommand command : commands) {
+            if (command != null && command.getFromId() != null) {
+                ids.add(command.getFromId());
+            }
+            if (command != null && command.getToId() != null) {
+                ids.add(command.getToId());
+            }
+        }
+        Map<Long, Beneficio> bloqueados = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Beneficio beneficio : lockOrdered(new ArrayList<>(ids), EsperaLock.PADRAO)) {
+                bloqueados.put(beneficio.getId(), beneficio);
+            }
+        }
         
-        BigDecimal novoSaldoFrom = saldoAntigoFrom.subtract(amount);
-        BigDecimal novoSaldoTo = saldoAntigoTo.add(amount);
+        // 2. Valida e aplica cada comando em memória
+        List<TransferResult> results = new ArrayList<>(commands.size());
+        int falhas = 0;
+        for (int i = 0; i < commands.size(); i++) {
+            TransferCommand command = commands.get(i);
+            try {
+                if (command == null) {
+                    throw new IllegalArgumentException("Transferência não pode ser nula");
+                }
+                validateTransferInputs(command.getFromId(), command.getToId(), command.getAmount());
+                Beneficio from = bloqueados.get(command.getFromId());
+                if (from == null) {
+                    throw new BeneficioNaoEncontradoException(command.getFromId());
+                }
+                Beneficio to = bloqueados.get(command.getToId());
+                if (to == null) {
+                    throw new BeneficioNaoEncontradoException(command.getToId());
+                }
+                
+                Transferencia transferencia = aplicar(from, to, command.getAmount());
+                results.add(TransferResult.sucesso(command, transferencia.getId(),
+                    from.getValor(), to.getValor()));
+            } catch (IllegalArgumentException | BeneficioException e) {
+                if (estrito) {
+                    logger.warn("Lote abortado no comando {}: {}", i, e.getMessage());
+                    throw e;
+                }
+                logger.debug("Comando {} recusado: {}", i, e.getMessage());
+                results.add(TransferResult.falha(command, e.getMessage()));
+                falhas++;
+            }
+        }
+        
+        if (LOG_CHAMADAS || falhas > 0) {
+            logger.info("Lote concluído: {} transferências aplicadas, {} recusadas", 
+                commands.size() - falhas, falhas);
+        }
+        return results;
+    }
+    
+    /**
+     * Variante assíncrona de {@link #transfer}: enfileira a transferência no
+     * {@link TransferExecutor} e retorna sem esperar lock nem commit. Um front end
+     * pode disparar muitas transferências e reunir os resultados sem manter uma
+     * thread por transferência em andamento.
+     * 
+     * <p>Cada transferência roda em sua própria transação, fora da do chamador.
+     * Recusas de negócio chegam como {@link TransferResult} de falha; lock não
+     * obtido, como {@link java.util.concurrent.ExecutionException} com causa
+     * {@link BeneficioOcupadoException}.
+     * 
+     * @return resultado da transferência, disponível após o commit
+     * @throws TransferenciaRejeitadaException se a fila do executor estiver cheia
+     */
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public Future<TransferResult> transferAsync(Long fromId, Long toId, BigDecimal amount) 
+            throws TransferenciaRejeitadaException {
         
+        // Pelo proxy do EJB, para que a transferência abra a sua transação
+        BeneficioEjbService self = context.getBusinessObject(BeneficioEjbService.class);
+        TransferCommand command = new TransferCommand(fromId, toId, amount);
+        return transferExecutor.submit(() -> self.transferBatch(List.of(command)).get(0));
+    }
+    
+    /**
+     * Valida e aplica a transferência entre benefícios já bloqueados pela
+     * transação corrente, registrando o lançamento no livro-razão.
+     * 
+     * @return lançamento persistido (INSERT em batch no commit)
+     * @throws BeneficioException se a transferência violar alguma regra de negócio
+     */
+    private Transferencia aplicar(Beneficio from, Beneficio to, BigDecimal amount) 
+            throws BeneficioException {
+        
+        // Validações de negócio
+        validateBeneficioAtivo(from, "origem", from.getId());
+        validateBeneficioAtivo(to, "destino", to.getId());
+        validateSaldoSuficiente(from, amount);
+        
+        // Entidades gerenciadas: os UPDATEs saem no flush do commit, sem merge
+        BigDecimal novoSaldoFrom = from.getValor().subtract(amount);
+        BigDecimal novoSaldoTo = to.getValor().add(amount);
         from.setValor(novoSaldoFrom);
         to.setValor(novoSaldoTo);
         
-        em.merge(from);
-        em.merge(to);
-        
-        logger.info("Transferência concluída com sucesso. From: {} -> {}, To: {} -> {}", 
-            saldoAntigoFrom, novoSaldoFrom, saldoAntigoTo, novoSaldoTo);
+        Transferencia transferencia = new Transferencia(from.getId(), to.getId(), amount, 
+            novoSaldoFrom, novoSaldoTo);
+        em.persist(transferencia);
+        return transferencia;
+    }
+    
+    /**
+     * Carrega e bloqueia os benefícios com um único {@code SELECT ... FOR UPDATE}
+     * ordenado por ID: um round trip ao banco, e transações concorrentes adquirem
+     * os locks sempre na mesma ordem. Ignora o cache de segundo nível: o saldo
+     * usado na transferência é sempre o da linha bloqueada. Uma espera diferente
+     * da padrão vai como hint e, onde o dialeto não a traduz, como ajuste da
+     * sessão ({@link EsperaLockSql}).
+     * 
+     * @param ids IDs dos benefícios
+     * @param espera espera máxima pelo lock
+     * @return benefícios encontrados, em ordem crescente de ID (ausentes ficam de fora)
+     * @throws BeneficioOcupadoException se o lock não for obtido dentro da espera
+     */
+    private List<Beneficio> lockOrdered(List<Long> ids, EsperaLock espera) throws BeneficioOcupadoException {
+        TypedQuery<Beneficio> query = em.createNamedQuery(Beneficio.BLOQUEAR_POR_IDS, Beneficio.class)
+            .setParameter("ids", ids)
+            .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+            .setHint(CACHE_RETRIEVE_MODE_HINT, CacheRetrieveMode.BYPASS);
+        EsperaLockSql.Restauracao restauracao = EsperaLockSql.Restauracao.NENHUMA;
+        if (espera != null && !espera.isPadrao()) {
+            query.setHint(LOCK_TIMEOUT_HINT, espera.getTimeoutMs());
+            restauracao = EsperaLockSql.de(em).aplicar(em, espera.getTimeoutMs());
+        }
+        long inicio = System.nanoTime();
+        boolean obtido = false;
+        try {
+            List<Beneficio> bloqueados = query.getResultList();
+            obtido = true;
+            metrics.registrarLockObtido(System.nanoTime() - inicio);
+            return bloqueados;
+        } catch (LockTimeoutException | PessimisticLockException e) {
+            metrics.registrarLockTimeout(System.nanoTime() - inicio);
+            logger.warn("Lock não obtido para {} (espera: {})", ids, espera);
+            throw new BeneficioOcupadoException(ids, String.valueOf(espera), e);
+        } finally {
+            restauracao.restaurar(obtido);
+        }
     }
     
     /**
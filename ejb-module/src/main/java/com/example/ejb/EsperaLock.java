@@ -0,0 +1,76 @@
+package com.example.ejb;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Espera máxima pelo lock pessimista dos benefícios em uma transferência.
+ * 
+ * <p>Aplicada como o hint {@code jakarta.persistence.lock.timeout} da consulta
+ * de lock e, no H2 e no PostgreSQL, cujos dialetos não traduzem o hint, como
+ * espera da sessão do banco ({@link EsperaLockSql}):
+ * <ul>
+ *   <li>{@link #PADRAO}: sem hint, vale o {@code persistence.xml}</li>
+ *   <li>{@link #NOWAIT}: falha imediatamente se algum benefício estiver bloqueado</li>
+ *   <li>{@link #millis(int)}: espera até o tempo informado</li>
+ * </ul>
+ * Esgotada a espera, a transferência falha com
+ * {@link com.example.ejb.exception.BeneficioOcupadoException}.
+ * 
+ * @author Sistema de Benefícios
+ */
+public final class EsperaLock implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public static final EsperaLock PADRAO = new EsperaLock(null);
+    public static final EsperaLock NOWAIT = new EsperaLock(0);
+    
+    private final Integer timeoutMs;
+    
+    private EsperaLock(Integer timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+    
+    /**
+     * @param timeoutMs espera máxima em milissegundos (0 equivale a {@link #NOWAIT})
+     * @throws IllegalArgumentException se o tempo for negativo
+     */
+    public static EsperaLock millis(int timeoutMs) {
+        if (timeoutMs < 0) {
+            throw new IllegalArgumentException("Espera pelo lock não pode ser negativa: " + timeoutMs);
+        }
+        return timeoutMs == 0 ? NOWAIT : new EsperaLock(timeoutMs);
+    }
+    
+    /**
+     * @return espera em milissegundos, ou {@code null} para o padrão do {@code persistence.xml}
+     */
+    public Integer getTimeoutMs() {
+        return timeoutMs;
+    }
+    
+    public boolean isPadrao() {
+        return timeoutMs == null;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return Objects.equals(timeoutMs, ((EsperaLock) o).timeoutMs);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(timeoutMs);
+    }
+    
+    @Override
+    public String toString() {
+        if (timeoutMs == null) {
+            return "PADRAO";
+        }
+        return timeoutMs == 0 ? "NOWAIT" : timeoutMs + "ms";
+    }
+}
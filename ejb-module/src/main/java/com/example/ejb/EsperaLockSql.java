@@ -0,0 +1,106 @@
+package com.example.ejb;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import java.util.Locale;
+
+/**
+ * Aplica a espera de um {@link EsperaLock} na sessão do banco, em volta da
+ * consulta de lock de {@link BeneficioEjbService}.
+ *
+ * <p>O hint {@code jakarta.persistence.lock.timeout} depende do dialeto: o
+ * {@code H2Dialect} gera um {@code FOR UPDATE} simples e o
+ * {@code PostgreSQLDialect} só traduz o NOWAIT. Nesses bancos a espera é
+ * ajustada por comando antes da consulta e o valor anterior é restaurado
+ * depois:
+ * <ul>
+ *   <li>H2: {@code SET LOCK_TIMEOUT}, da sessão, restaurado mesmo se o lock falhar
+ *       (NOWAIT é aplicado como 1 ms)</li>
+ *   <li>PostgreSQL: {@code lock_timeout} local à transação; NOWAIT fica com o
+ *       {@code FOR UPDATE NOWAIT} do hint, já que {@code lock_timeout = 0}
+ *       desliga o limite. Em timeout a transação é abortada e o valor volta
+ *       no rollback</li>
+ * </ul>
+ * Nos demais bancos vale só o hint.
+ *
+ * @author Sistema de Benefícios
+ */
+enum EsperaLockSql {
+
+    H2 {
+        @Override
+        Restauracao aplicar(EntityManager em, int timeoutMs) {
+            Object anterior = em.createNativeQuery("SELECT LOCK_TIMEOUT()").getSingleResult();
+            // LOCK_TIMEOUT 0 volta ao padrão do H2 (~2 s); NOWAIT vira 1 ms
+            em.createNativeQuery("SET LOCK_TIMEOUT " + Math.max(timeoutMs, 1)).executeUpdate();
+            return obtido -> em.createNativeQuery("SET LOCK_TIMEOUT " + Integer.parseInt(anterior.toString().trim()))
+                .executeUpdate();
+        }
+    },
+
+    POSTGRESQL {
+        @Override
+        Restauracao aplicar(EntityManager em, int timeoutMs) {
+            if (timeoutMs == 0) {
+                return Restauracao.NENHUMA;
+            }
+            Object anterior = em.createNativeQuery("SELECT current_setting('lock_timeout')").getSingleResult();
+            definir(em, timeoutMs + "ms");
+            return obtido -> {
+                if (obtido) {
+                    definir(em, anterior.toString());
+                }
+            };
+        }
+
+        private void definir(EntityManager em, String valor) {
+            em.createNativeQuery("SELECT set_config('lock_timeout', ?1, true)")
+                .setParameter(1, valor)
+                .getSingleResult();
+        }
+    },
+
+    OUTRO {
+        @Override
+        Restauracao aplicar(EntityManager em, int timeoutMs) {
+            return Restauracao.NENHUMA;
+        }
+    };
+
+    static final String DIALECT_PROPERTY = "hibernate.dialect";
+
+    /**
+     * Ajusta a espera pelo lock da sessão.
+     *
+     * @return ação que restaura a espera anterior depois da consulta
+     */
+    abstract Restauracao aplicar(EntityManager em, int timeoutMs);
+
+    /**
+     * Identifica o banco pelo dialeto configurado na unidade de persistência.
+     */
+    static EsperaLockSql de(EntityManager em) {
+        EntityManagerFactory emf = em.getEntityManagerFactory();
+        Object dialeto = emf == null ? null : emf.getProperties().get(DIALECT_PROPERTY);
+        String nome = dialeto == null ? "" : dialeto.toString().toLowerCase(Locale.ROOT);
+        if (nome.contains("h2")) {
+            return H2;
+        }
+        if (nome.contains("postgres")) {
+            return POSTGRESQL;
+        }
+        return OUTRO;
+    }
+
+    @FunctionalInterface
+    interface Restauracao {
+
+        Restauracao NENHUMA = obtido -> { };
+
+        /**
+         * @param obtido se a consulta de lock concluiu
+         */
+        void restaurar(boolean obtido);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.ejb;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Uma transferência de um lote ({@link BeneficioEjbService#transferBatch}).
+ * 
+ * @author Sistema de Benefícios
+ */
+public final class TransferCommand implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final Long fromId;
+    private final Long toId;
+    private final BigDecimal amount;
+    
+    public TransferCommand(Long fromId, Long toId, BigDecimal amount) {
+        this.fromId = fromId;
+        this.toId = toId;
+        this.amount = amount;
+    }
+    
+    public Long getFromId() {
+        return fromId;
+    }
+    
+    public Long getToId() {
+        return toId;
+    }
+    
+    public BigDecimal getAmount() {
+        return amount;
+    }
+    
+    @Override
+    public String toString() {
+        return "TransferCommand{" + fromId + " -> " + toId + ", valor=" + amount + '}';
+    }
+}
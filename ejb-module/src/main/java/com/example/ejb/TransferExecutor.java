@@ -0,0 +1,96 @@
+package com.example.ejb;
+
+import com.example.ejb.exception.TransferenciaRejeitadaException;
+import jakarta.annotation.Resource;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Singleton;
+import jakarta.enterprise.concurrent.ManagedExecutorDefinition;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Executor dedicado às transferências assíncronas
+ * ({@link BeneficioEjbService#transferAsync}).
+ * 
+ * <p>Usa um {@link ManagedExecutorService} próprio, limitado a
+ * {@value #MAX_ASYNC} transferências simultâneas, para que a espera por locks
+ * não ocupe o pool assíncrono compartilhado do container. A fila é limitada:
+ * com {@value #MAX_ASYNC} em execução e {@value #CAPACIDADE_FILA} aguardando, novas
+ * transferências são recusadas na thread do chamador com
+ * {@link TransferenciaRejeitadaException}.
+ * 
+ * @author Sistema de Benefícios
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@ManagedExecutorDefinition(name = TransferExecutor.JNDI_NAME, maxAsync = TransferExecutor.MAX_ASYNC)
+public class TransferExecutor {
+    
+    public static final String JNDI_NAME = "java:app/concurrent/TransferExecutor";
+    
+    static final int MAX_ASYNC = 8;
+    static final int CAPACIDADE_FILA = 256;
+    
+    @Resource(lookup = JNDI_NAME, type = ManagedExecutorService.class)
+    private ExecutorService executor;
+    
+    @EJB
+    private TransferMetrics metrics;
+    
+    private final Semaphore vagas;
+    private final int capacidade;
+    
+    public TransferExecutor() {
+        this.capacidade = MAX_ASYNC + CAPACIDADE_FILA;
+        this.vagas = new Semaphore(capacidade);
+    }
+    
+    /**
+     * Construtor para testes, fora do container.
+     */
+    TransferExecutor(ExecutorService executor, TransferMetrics metrics, int capacidade) {
+        this.capacidade = capacidade;
+        this.vagas = new Semaphore(capacidade);
+        this.executor = executor;
+        this.metrics = metrics;
+    }
+    
+    /**
+     * Enfileira a tarefa, ou a recusa se a fila estiver cheia.
+     * 
+     * @throws TransferenciaRejeitadaException se não houver vaga na fila
+     */
+    public <T> Future<T> submit(Callable<T> task) throws TransferenciaRejeitadaException {
+        if (!vagas.tryAcquire()) {
+            metrics.registrarRejeicao();
+            throw new TransferenciaRejeitadaException(capacidade);
+        }
+        try {
+            return executor.submit(() -> {
+                try {
+                    return task.call();
+                } finally {
+                    vagas.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            vagas.release();
+            metrics.registrarRejeicao();
+            throw new TransferenciaRejeitadaException(capacidade);
+        }
+    }
+    
+    /**
+     * @return transferências em execução ou aguardando na fila
+     */
+    public int getPendentes() {
+        return capacidade - vagas.availablePermits();
+    }
+}
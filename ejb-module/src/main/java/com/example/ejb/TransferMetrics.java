@@ -0,0 +1,160 @@
+package com.example.ejb;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas das transferências do {@link BeneficioEjbService}, compartilhadas
+ * por todas as instâncias do pool.
+ * 
+ * <p>Publicadas no {@link Metrics#globalRegistry} do Micrometer (a aplicação
+ * registra nele o backend de exportação: Prometheus, JMX, etc.):
+ * <ul>
+ *   <li>{@value #CHAMADAS}: latência de cada método de negócio, por
+ *       {@code metodo} e {@code resultado} ({@link TransferTimingInterceptor})</li>
+ *   <li>{@value #ESPERA_LOCK}: tempo de aquisição do lock pessimista, por
+ *       {@code resultado} ({@code obtido} ou {@code timeout})</li>
+ *   <li>{@value #COMMIT}: flush e commit da transação, por {@code resultado}
+ *       ({@code commit} ou {@code rollback})</li>
+ *   <li>{@value #REJEITADAS}: transferências assíncronas recusadas por fila cheia</li>
+ * </ul>
+ * Os contadores também ficam disponíveis via JMX em {@value #OBJECT_NAME}.
+ * 
+ * <p>Sem sincronização do container: os medidores do Micrometer são thread-safe.
+ * 
+ * @author Sistema de Benefícios
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class TransferMetrics implements TransferMetricsMBean {
+    
+    public static final String OBJECT_NAME = "com.example.ejb:type=TransferMetrics";
+    
+    public static final String CHAMADAS = "beneficio.ejb.chamadas";
+    public static final String ESPERA_LOCK = "beneficio.ejb.lock.espera";
+    public static final String COMMIT = "beneficio.ejb.commit";
+    public static final String REJEITADAS = "beneficio.ejb.async.rejeitadas";
+    
+    private static final Logger logger = LoggerFactory.getLogger(TransferMetrics.class);
+    
+    private final MeterRegistry registry;
+    private final Timer lockObtido;
+    private final Timer lockTimeout;
+    private final Timer commit;
+    private final Timer rollback;
+    private final Counter rejeitadas;
+    
+    public TransferMetrics() {
+        // Registry local para os contadores do MBean, mais o global para exportação
+        this(new CompositeMeterRegistry().add(new SimpleMeterRegistry()).add(Metrics.globalRegistry));
+    }
+    
+    TransferMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.lockObtido = esperaLock(registry, "obtido");
+        this.lockTimeout = esperaLock(registry, "timeout");
+        this.commit = conclusao(registry, "commit");
+        this.rollback = conclusao(registry, "rollback");
+        this.rejeitadas = Counter.builder(REJEITADAS)
+            .description("Transferências assíncronas recusadas por fila cheia")
+            .register(registry);
+    }
+    
+    private static Timer esperaLock(MeterRegistry registry, String resultado) {
+        return Timer.builder(ESPERA_LOCK)
+            .description("Tempo de aquisição do lock pessimista dos benefícios")
+            .tag("resultado", resultado)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+    
+    private static Timer conclusao(MeterRegistry registry, String resultado) {
+        return Timer.builder(COMMIT)
+            .description("Flush e commit das transações do BeneficioEjbService")
+            .tag("resultado", resultado)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+    
+    @PostConstruct
+    void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (JMException e) {
+            logger.warn("Falha ao publicar {} via JMX", OBJECT_NAME, e);
+        }
+    }
+    
+    @PreDestroy
+    void unregister() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            logger.debug("MBean {} já removido", OBJECT_NAME);
+        }
+    }
+    
+    /**
+     * Registra a duração de uma chamada a um método de negócio.
+     * 
+     * @param resultado {@code sucesso} ou o nome simples da exceção lançada
+     */
+    public void registrarChamada(String metodo, String resultado, long nanos) {
+        Timer.builder(CHAMADAS)
+            .description("Latência dos métodos de negócio do BeneficioEjbService")
+            .tag("metodo", metodo)
+            .tag("resultado", resultado)
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+    
+    public void registrarLockObtido(long nanos) {
+        lockObtido.record(nanos, TimeUnit.NANOSECONDS);
+    }
+    
+    public void registrarLockTimeout(long nanos) {
+        lockTimeout.record(nanos, TimeUnit.NANOSECONDS);
+    }
+    
+    public void registrarCommit(boolean confirmada, long nanos) {
+        (confirmada ? commit : rollback).record(nanos, TimeUnit.NANOSECONDS);
+    }
+    
+    public void registrarRejeicao() {
+        rejeitadas.increment();
+    }
+    
+    @Override
+    public long getLockTimeouts() {
+        return lockTimeout.count();
+    }
+    
+    @Override
+    public long getTransferenciasRejeitadas() {
+        return (long) rejeitadas.count();
+    }
+}
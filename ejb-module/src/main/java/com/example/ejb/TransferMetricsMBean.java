@@ -0,0 +1,17 @@
+package com.example.ejb;
+
+/**
+ * Interface JMX de {@link TransferMetrics}.
+ */
+public interface TransferMetricsMBean {
+    
+    /**
+     * @return transferências que falharam por esgotar a espera pelo lock
+     */
+    long getLockTimeouts();
+    
+    /**
+     * @return transferências assíncronas recusadas por fila cheia
+     */
+    long getTransferenciasRejeitadas();
+}
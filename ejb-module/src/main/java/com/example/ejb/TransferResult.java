@@ -0,0 +1,73 @@
+package com.example.ejb;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Resultado de uma transferência de lote: os saldos resultantes e o ID do
+ * lançamento, ou o motivo da recusa.
+ * 
+ * @author Sistema de Benefícios
+ */
+public final class TransferResult implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final TransferCommand command;
+    private final Long transferenciaId;
+    private final BigDecimal novoSaldoOrigem;
+    private final BigDecimal novoSaldoDestino;
+    private final String erro;
+    
+    private TransferResult(TransferCommand command, Long transferenciaId,
+                           BigDecimal novoSaldoOrigem, BigDecimal novoSaldoDestino, String erro) {
+        this.command = command;
+        this.transferenciaId = transferenciaId;
+        this.novoSaldoOrigem = novoSaldoOrigem;
+        this.novoSaldoDestino = novoSaldoDestino;
+        this.erro = erro;
+    }
+    
+    public static TransferResult sucesso(TransferCommand command, Long transferenciaId,
+                                         BigDecimal novoSaldoOrigem, BigDecimal novoSaldoDestino) {
+        return new TransferResult(command, transferenciaId, novoSaldoOrigem, novoSaldoDestino, null);
+    }
+    
+    public static TransferResult falha(TransferCommand command, String erro) {
+        return new TransferResult(command, null, null, null, erro);
+    }
+    
+    public TransferCommand getCommand() {
+        return command;
+    }
+    
+    public boolean isSucesso() {
+        return erro == null;
+    }
+    
+    public Long getTransferenciaId() {
+        return transferenciaId;
+    }
+    
+    public BigDecimal getNovoSaldoOrigem() {
+        return novoSaldoOrigem;
+    }
+    
+    public BigDecimal getNovoSaldoDestino() {
+        return novoSaldoDestino;
+    }
+    
+    /**
+     * @return mensagem da exceção que recusou a transferência, ou {@code null} se concluída
+     */
+    public String getErro() {
+        return erro;
+    }
+    
+    @Override
+    public String toString() {
+        return isSucesso()
+            ? "TransferResult{sucesso, transferencia=" + transferenciaId + '}'
+            : "TransferResult{falha: " + erro + '}';
+    }
+}
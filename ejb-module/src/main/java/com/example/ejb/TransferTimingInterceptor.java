@@ -0,0 +1,102 @@
+package com.example.ejb;
+
+import com.example.ejb.jfr.TransferCommittedEvent;
+import jakarta.annotation.Resource;
+import jakarta.ejb.EJB;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.InvocationContext;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Mede a latência dos métodos de negócio do {@link BeneficioEjbService}, por
+ * método e resultado ({@value TransferMetrics#CHAMADAS}).
+ * 
+ * <p>Envolve a chamada dentro da transação do container: o tempo inclui locks
+ * e validações, mas não o flush e o commit, que acontecem depois do retorno.
+ * Esses são medidos à parte ({@value TransferMetrics#COMMIT}) por uma
+ * {@link Synchronization} registrada uma vez por transação, que também emite o
+ * evento JFR {@code com.example.ejb.TransferCommitted}.
+ * 
+ * @author Sistema de Benefícios
+ */
+public class TransferTimingInterceptor {
+    
+    static final String SUCESSO = "sucesso";
+    
+    private static final Object CHAVE_SYNC = TransferTimingInterceptor.class;
+    
+    @EJB
+    private TransferMetrics metrics;
+    
+    @Resource
+    private TransactionSynchronizationRegistry transacoes;
+    
+    public TransferTimingInterceptor() {
+    }
+    
+    /**
+     * Construtor para testes, fora do container.
+     */
+    TransferTimingInterceptor(TransferMetrics metrics, TransactionSynchronizationRegistry transacoes) {
+        this.metrics = metrics;
+        this.transacoes = transacoes;
+    }
+    
+    @AroundInvoke
+    public Object medir(InvocationContext context) throws Exception {
+        medirCommit(context.getParameters());
+        long inicio = System.nanoTime();
+        String resultado = SUCESSO;
+        try {
+            return context.proceed();
+        } catch (Exception e) {
+            resultado = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            metrics.registrarChamada(context.getMethod().getName(), resultado, System.nanoTime() - inicio);
+        }
+    }
+    
+    /**
+     * Registra, na primeira chamada dentro da transação, a medição do tempo entre
+     * o início do commit (flush incluído) e o seu término. Os benefícios do evento
+     * JFR são os da chamada que abriu a transação, quando ela os recebe.
+     */
+    private void medirCommit(Object[] parametros) {
+        if (transacoes == null || transacoes.getTransactionKey() == null
+                || transacoes.getResource(CHAVE_SYNC) != null) {
+            return;
+        }
+        transacoes.putResource(CHAVE_SYNC, Boolean.TRUE);
+        Long origemId = id(parametros, 0);
+        Long destinoId = id(parametros, 1);
+        transacoes.registerInterposedSynchronization(new Synchronization() {
+            private long inicio;
+            private final TransferCommittedEvent evento = new TransferCommittedEvent();
+            
+            @Override
+            public void beforeCompletion() {
+                evento.begin();
+                inicio = System.nanoTime();
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                // Rollback sem beforeCompletion: nada a medir
+                if (inicio != 0) {
+                    boolean sucesso = status == Status.STATUS_COMMITTED;
+                    metrics.registrarCommit(sucesso, System.nanoTime() - inicio);
+                    evento.sucesso = sucesso;
+                    evento.commit(origemId, destinoId);
+                }
+            }
+        });
+    }
+    
+    private static Long id(Object[] parametros, int indice) {
+        return parametros != null && parametros.length > indice && parametros[indice] instanceof Long id
+                ? id : null;
+    }
+}
@@ -13,17 +13,29 @@ import java.math.BigDecimal;
  *   <li>Optimistic Locking via campo VERSION</li>
  *   <li>Validações Bean Validation</li>
  *   <li>Soft delete via campo ATIVO</li>
+ *   <li>Cache de segundo nível read-write (leituras sem lock; consultas com
+ *       lock pessimista vão sempre ao banco)</li>
  * </ul>
  * 
  * @author Sistema de Benefícios
  * @version 1.0
  */
 @Entity
+@Cacheable
 @Table(name = "BENEFICIO")
+@NamedQuery(name = Beneficio.BLOQUEAR_POR_IDS,
+        query = "SELECT b FROM Beneficio b WHERE b.id IN :ids ORDER BY b.id")
 public class Beneficio implements Serializable {
     
     private static final long serialVersionUID = 1L;
     
+    /**
+     * Carrega os benefícios informados (parâmetro {@code ids}) em ordem crescente
+     * de ID; com {@code PESSIMISTIC_WRITE}, bloqueia todos em uma única consulta
+     * ({@code SELECT ... ORDER BY ID FOR UPDATE}).
+     */
+    public static final String BLOQUEAR_POR_IDS = "Beneficio.bloquearPorIds";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "ID")
@@ -0,0 +1,132 @@
+package com.example.ejb.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entity representando um lançamento do livro-razão de transferências.
+ * 
+ * <p>Features:
+ * <ul>
+ *   <li>Append-only: nenhuma coluna é atualizável</li>
+ *   <li>ID via sequence com alocação em blocos (mantém o JDBC batching)</li>
+ *   <li>Saldos resultantes de origem e destino, para reconstrução do histórico</li>
+ * </ul>
+ * 
+ * <p>Mesma tabela usada pelo backend Spring Boot (ver {@code db/002-transferencia.sql}).
+ * 
+ * @author Sistema de Benefícios
+ * @version 1.0
+ */
+@Entity
+@Table(name = "TRANSFERENCIA")
+public class Transferencia implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transferenciaSeq")
+    @SequenceGenerator(name = "transferenciaSeq", sequenceName = "TRANSFERENCIA_SEQ", allocationSize = 50)
+    @Column(name = "ID")
+    private Long id;
+    
+    @Column(name = "BENEFICIO_ORIGEM_ID", nullable = false, updatable = false)
+    private Long beneficioOrigemId;
+    
+    @Column(name = "BENEFICIO_DESTINO_ID", nullable = false, updatable = false)
+    private Long beneficioDestinoId;
+    
+    @Column(name = "VALOR", nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal valor;
+    
+    @Column(name = "SALDO_ORIGEM", nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal saldoOrigem;
+    
+    @Column(name = "SALDO_DESTINO", nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal saldoDestino;
+    
+    @Column(name = "CREATED_AT", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    // ========== Constructors ==========
+    
+    public Transferencia() {
+    }
+    
+    public Transferencia(Long beneficioOrigemId, Long beneficioDestinoId, BigDecimal valor,
+                         BigDecimal saldoOrigem, BigDecimal saldoDestino) {
+        this.beneficioOrigemId = beneficioOrigemId;
+        this.beneficioDestinoId = beneficioDestinoId;
+        this.valor = valor;
+        this.saldoOrigem = saldoOrigem;
+        this.saldoDestino = saldoDestino;
+    }
+    
+    // ========== Getters ==========
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public Long getBeneficioOrigemId() {
+        return beneficioOrigemId;
+    }
+    
+    public Long getBeneficioDestinoId() {
+        return beneficioDestinoId;
+    }
+    
+    public BigDecimal getValor() {
+        return valor;
+    }
+    
+    public BigDecimal getSaldoOrigem() {
+        return saldoOrigem;
+    }
+    
+    public BigDecimal getSaldoDestino() {
+        return saldoDestino;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    // ========== Lifecycle Callbacks ==========
+    
+    @PrePersist
+    private void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+    
+    // ========== Object Methods ==========
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Transferencia that = (Transferencia) o;
+        return id != null && Objects.equals(id, that.id);
+    }
+    
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+    
+    @Override
+    public String toString() {
+        return "Transferencia{" +
+                "id=" + id +
+                ", origem=" + beneficioOrigemId +
+                ", destino=" + beneficioDestinoId +
+                ", valor=" + valor +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
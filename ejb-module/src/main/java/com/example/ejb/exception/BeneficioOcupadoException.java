@@ -0,0 +1,28 @@
+package com.example.ejb.exception;
+
+import java.util.List;
+
+/**
+ * Exception lançada quando o lock dos benefícios não é obtido dentro da espera
+ * permitida ({@link com.example.ejb.EsperaLock}).
+ * 
+ * <p>Indica contenção, não erro de negócio: nenhum saldo foi alterado e o
+ * chamador pode tentar novamente após um backoff.
+ * 
+ * @author Sistema de Benefícios
+ */
+public class BeneficioOcupadoException extends BeneficioException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final List<Long> beneficioIds;
+    
+    public BeneficioOcupadoException(List<Long> beneficioIds, String espera, Throwable cause) {
+        super("Benefício ocupado: lock de " + beneficioIds + " não obtido (espera: " + espera + ")", cause);
+        this.beneficioIds = List.copyOf(beneficioIds);
+    }
+    
+    public List<Long> getBeneficioIds() {
+        return beneficioIds;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.ejb.exception;
+
+/**
+ * Exception lançada quando a fila de transferências assíncronas está cheia
+ * ({@link com.example.ejb.TransferExecutor}).
+ * 
+ * <p>Lançada na thread do chamador, antes de qualquer lock ou transação:
+ * nenhum saldo foi alterado e o chamador pode reduzir o ritmo e tentar de novo.
+ * 
+ * @author Sistema de Benefícios
+ */
+public class TransferenciaRejeitadaException extends BeneficioException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final int capacidade;
+    
+    public TransferenciaRejeitadaException(int capacidade) {
+        super("Fila de transferências assíncronas cheia (capacidade: " + capacidade + ")");
+        this.capacidade = capacidade;
+    }
+    
+    public int getCapacidade() {
+        return capacidade;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.ejb.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Consulta FOR UPDATE dos benefícios, até os locks serem obtidos.
+ * 
+ * @author Sistema de Benefícios
+ */
+@Name("com.example.ejb.LockAcquired")
+@Label("Lock obtido")
+@Description("Consulta FOR UPDATE dos benefícios, até os locks serem obtidos")
+public class LockAcquiredEvent extends TransferPhaseEvent {
+}
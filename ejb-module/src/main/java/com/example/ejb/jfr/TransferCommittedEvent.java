@@ -0,0 +1,19 @@
+package com.example.ejb.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Conclusão (commit ou rollback) da transação JTA.
+ * 
+ * @author Sistema de Benefícios
+ */
+@Name("com.example.ejb.TransferCommitted")
+@Label("Commit")
+@Description("Conclusão (commit ou rollback) da transação JTA")
+public class TransferCommittedEvent extends TransferPhaseEvent {
+    
+    @Label("Sucesso")
+    public boolean sucesso;
+}
@@ -0,0 +1,16 @@
+package com.example.ejb.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flush explícito do EntityManager (UPDATEs e lançamento).
+ * 
+ * @author Sistema de Benefícios
+ */
+@Name("com.example.ejb.TransferFlushed")
+@Label("Flush")
+@Description("Flush explícito do EntityManager (UPDATEs e lançamento)")
+public class TransferFlushedEvent extends TransferPhaseEvent {
+}
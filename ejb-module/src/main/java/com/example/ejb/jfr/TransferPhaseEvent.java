@@ -0,0 +1,46 @@
+package com.example.ejb.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base dos eventos JFR de uma transferência do
+ * {@link com.example.ejb.BeneficioEjbService}: benefícios e número da tentativa.
+ * A duração do evento é a da fase.
+ * 
+ * <p>Desabilitados por padrão ({@link Enabled}): sem o perfil
+ * {@code jfr/transferencias.jfc}, não custam nada.
+ * 
+ * @author Sistema de Benefícios
+ */
+@Category({"Benefícios", "Transferência (EJB)"})
+@Enabled(false)
+@StackTrace(false)
+public abstract class TransferPhaseEvent extends Event {
+    
+    @Label("Origem")
+    long origemId;
+    
+    @Label("Destino")
+    long destinoId;
+    
+    /**
+     * O EJB não repete transferências: sempre 1 (quem repete é o chamador).
+     */
+    @Label("Tentativa")
+    int tentativa = 1;
+    
+    /**
+     * Preenche os benefícios e grava o evento, se habilitado.
+     */
+    public void commit(Long origemId, Long destinoId) {
+        if (isEnabled()) {
+            this.origemId = origemId != null ? origemId : 0;
+            this.destinoId = destinoId != null ? destinoId : 0;
+            commit();
+        }
+    }
+}
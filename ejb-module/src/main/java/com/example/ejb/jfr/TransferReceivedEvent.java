@@ -0,0 +1,16 @@
+package com.example.ejb.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Transferência com parâmetros válidos recebida pelo EJB.
+ * 
+ * @author Sistema de Benefícios
+ */
+@Name("com.example.ejb.TransferReceived")
+@Label("Transferência recebida")
+@Description("Transferência com parâmetros válidos recebida pelo EJB")
+public class TransferReceivedEvent extends TransferPhaseEvent {
+}
@@ -0,0 +1,16 @@
+package com.example.ejb.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Validações de negócio e aplicação dos saldos em memória.
+ * 
+ * @author Sistema de Benefícios
+ */
+@Name("com.example.ejb.ValidationDone")
+@Label("Validação concluída")
+@Description("Validações de negócio e aplicação dos saldos em memória")
+public class ValidationDoneEvent extends TransferPhaseEvent {
+}
@@ -1,14 +1,26 @@
 package com.example.ejb;
 
 import com.example.ejb.entity.Beneficio;
+import com.example.ejb.entity.Transferencia;
 import com.example.ejb.exception.*;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.Persistence;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -33,6 +45,7 @@ class BeneficioEjbServiceIT {
     private EntityManager em;
     private EntityTransaction tx;
     private BeneficioEjbService service;
+    private final TransferMetrics metrics = new TransferMetrics();
     
     private Long beneficioAId;
     private Long beneficioBId;
@@ -106,6 +119,7 @@ class BeneficioEjbServiceIT {
             EntityTransaction cleanupTx = em.getTransaction();
             try {
                 cleanupTx.begin();
+                em.createQuery("DELETE FROM Transferencia").executeUpdate();
                 em.createQuery("DELETE FROM Beneficio").executeUpdate();
                 cleanupTx.commit();
             } catch (Exception e) {
@@ -119,13 +133,17 @@ class BeneficioEjbServiceIT {
     }
     
     /**
-     * Injeta EntityManager no service via reflection (simula @PersistenceContext).
+     * Injeta EntityManager e métricas no service via reflection (simula
+     * @PersistenceContext e @EJB).
      */
     private void injectEntityManager(BeneficioEjbService service, EntityManager em) {
         try {
             var field = BeneficioEjbService.class.getDeclaredField("em");
             field.setAccessible(true);
             field.set(service, em);
+            var metricsField = BeneficioEjbService.class.getDeclaredField("metrics");
+            metricsField.setAccessible(true);
+            metricsField.set(service, metrics);
         } catch (Exception e) {
             throw new RuntimeException("Falha ao injetar EntityManager", e);
         }
@@ -157,6 +175,16 @@ class BeneficioEjbServiceIT {
         // Verifica que VERSION foi incrementado (optimistic locking)
         assertNotNull(a.getVersion());
         assertNotNull(b.getVersion());
+        
+        // Verifica o lançamento no livro-razão
+        List<Transferencia> lancamentos = em.createQuery(
+                "SELECT t FROM Transferencia t WHERE t.beneficioOrigemId = :origem", Transferencia.class)
+            .setParameter("origem", beneficioAId)
+            .getResultList();
+        assertEquals(1, lancamentos.size(), "Deve haver um lançamento para a transferência");
+        assertEquals(beneficioBId, lancamentos.get(0).getBeneficioDestinoId());
+        assertEquals(0, new BigDecimal("300.00").compareTo(lancamentos.get(0).getValor()));
+        assertEquals(0, new BigDecimal("700.00").compareTo(lancamentos.get(0).getSaldoOrigem()));
     }
     
     @Test
@@ -392,4 +420,220 @@ class BeneficioEjbServiceIT {
         assertEquals(new BigDecimal("600.00"), b.getValor(), 
             "B: 500 + (10 * 10) = 600");
     }
+    
+    @Test
+    @Order(6)
+    @DisplayName("IT: NOWAIT deve falhar rápido com BeneficioOcupadoException quando o benefício está bloqueado")
+    void testTransferNowaitBeneficioBloqueado() throws Exception {
+        // Arrange - outra transação segura o lock de A
+        EntityManager emBloqueio = emf.createEntityManager();
+        EntityTransaction txBloqueio = emBloqueio.getTransaction();
+        txBloqueio.begin();
+        emBloqueio.find(Beneficio.class, beneficioAId, jakarta.persistence.LockModeType.PESSIMISTIC_WRITE);
+        
+        try {
+            // Act
+            long inicio = System.currentTimeMillis();
+            tx.begin();
+            BeneficioOcupadoException exception = assertThrows(
+                BeneficioOcupadoException.class,
+                () -> service.transfer(beneficioAId, beneficioBId, new BigDecimal("100.00"), EsperaLock.NOWAIT)
+            );
+            long duracao = System.currentTimeMillis() - inicio;
+            tx.rollback();
+            
+            // Assert - não esperou nem o timeout padrão nem o da sessão do H2
+            assertTrue(duracao < 200, "NOWAIT deve falhar sem esperar o lock (atual: " + duracao + " ms)");
+            assertTrue(exception.getBeneficioIds().contains(beneficioAId));
+            assertEquals(1, metrics.getLockTimeouts());
+            
+            // Espera explícita: falha depois do tempo pedido, não antes
+            inicio = System.currentTimeMillis();
+            tx.begin();
+            assertThrows(
+                BeneficioOcupadoException.class,
+                () -> service.transfer(beneficioAId, beneficioBId, new BigDecimal("100.00"), EsperaLock.millis(300))
+            );
+            duracao = System.currentTimeMillis() - inicio;
+            tx.rollback();
+            assertTrue(duracao >= 250 && duracao < 1500,
+                "millis(300) deve esperar ~300 ms pelo lock (atual: " + duracao + " ms)");
+            assertEquals(2, metrics.getLockTimeouts());
+        } finally {
+            if (txBloqueio.isActive()) {
+                txBloqueio.rollback();
+            }
+            emBloqueio.close();
+        }
+        
+        // Lock liberado durante a espera: millis(3000) aguarda e conclui
+        EntityManager emEspera = emf.createEntityManager();
+        EntityTransaction txEspera = emEspera.getTransaction();
+        txEspera.begin();
+        emEspera.find(Beneficio.class, beneficioAId, jakarta.persistence.LockModeType.PESSIMISTIC_WRITE);
+        ScheduledExecutorService liberador = Executors.newSingleThreadScheduledExecutor();
+        try {
+            liberador.schedule(txEspera::rollback, 500, TimeUnit.MILLISECONDS);
+            long inicio = System.currentTimeMillis();
+            tx.begin();
+            Object esperaSessao = lockTimeoutSessao();
+            service.transfer(beneficioAId, beneficioBId, new BigDecimal("50.00"), EsperaLock.millis(3000));
+            long duracao = System.currentTimeMillis() - inicio;
+            // A espera da sessão volta ao valor anterior depois da consulta de lock
+            assertEquals(esperaSessao, lockTimeoutSessao());
+            tx.commit();
+            assertTrue(duracao >= 400, "millis(3000) deve aguardar a liberação do lock (atual: " + duracao + " ms)");
+        } finally {
+            liberador.shutdown();
+            assertTrue(liberador.awaitTermination(5, TimeUnit.SECONDS));
+            emEspera.close();
+        }
+        
+        // Liberado o lock, a mesma chamada conclui
+        tx.begin();
+        service.transfer(beneficioAId, beneficioBId, new BigDecimal("100.00"), EsperaLock.NOWAIT);
+        tx.commit();
+        
+        em.clear();
+        assertEquals(new BigDecimal("850.00"), em.find(Beneficio.class, beneficioAId).getValor());
+    }
+    
+    private Object lockTimeoutSessao() {
+        return em.createNativeQuery("SELECT LOCK_TIMEOUT()").getSingleResult();
+    }
+    
+    @Test
+    @Order(7)
+    @DisplayName("IT: Lote deve aplicar os comandos válidos em uma transação e reportar os recusados")
+    void testTransferBatchIntegration() throws BeneficioException {
+        // Act
+        tx.begin();
+        List<TransferResult> results = service.transferBatch(List.of(
+            new TransferCommand(beneficioAId, beneficioBId, new BigDecimal("100.00")),
+            new TransferCommand(beneficioCId, beneficioAId, new BigDecimal("999.00")),
+            new TransferCommand(beneficioBId, beneficioCId, new BigDecimal("50.00")),
+            new TransferCommand(beneficioCId, beneficioAId, new BigDecimal("250.00"))));
+        tx.commit();
+        
+        // Assert
+        assertTrue(results.get(0).isSucesso());
+        assertFalse(results.get(1).isSucesso(), "C não tem saldo para 999.00");
+        assertTrue(results.get(2).isSucesso());
+        assertTrue(results.get(3).isSucesso(), "C: 200 + 50 = 250 cobre a transferência");
+        
+        em.clear();
+        assertEquals(new BigDecimal("1150.00"), em.find(Beneficio.class, beneficioAId).getValor());
+        assertEquals(new BigDecimal("550.00"), em.find(Beneficio.class, beneficioBId).getValor());
+        assertEquals(new BigDecimal("0.00"), em.find(Beneficio.class, beneficioCId).getValor());
+        
+        Long lancamentos = em.createQuery("SELECT COUNT(t) FROM Transferencia t", Long.class)
+            .getSingleResult();
+        assertEquals(3L, lancamentos);
+    }
+    
+    @Test
+    @Order(8)
+    @DisplayName("IT: Cache de segundo nível deve refletir a transferência feita com lock pessimista")
+    void testCacheSegundoNivelConsistente() throws BeneficioException {
+        // Arrange - leitura sem lock popula o cache
+        EntityManager leitor = emf.createEntityManager();
+        assertEquals(new BigDecimal("1000.00"), leitor.find(Beneficio.class, beneficioAId).getValor());
+        leitor.close();
+        assertTrue(emf.getCache().contains(Beneficio.class, beneficioAId));
+        
+        // Act - a transferência lê a linha bloqueada, não o cache
+        tx.begin();
+        service.transfer(beneficioAId, beneficioBId, new BigDecimal("400.00"));
+        tx.commit();
+        
+        // Assert - nova leitura sem lock (outro EntityManager) vê o saldo novo
+        leitor = emf.createEntityManager();
+        try {
+            assertEquals(new BigDecimal("600.00"), leitor.find(Beneficio.class, beneficioAId).getValor());
+            assertEquals(new BigDecimal("900.00"), leitor.find(Beneficio.class, beneficioBId).getValor());
+        } finally {
+            leitor.close();
+        }
+    }
+    
+    @Test
+    @Order(9)
+    @DisplayName("IT: Performance - Leituras sem lock devem ser servidas pelo cache de segundo nível")
+    void testPerformanceLeituraCache() {
+        final int leituras = 2000;
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<Long> ids = List.of(beneficioAId, beneficioBId, beneficioCId);
+        
+        // Aquecimento (JIT e cache)
+        lerBeneficios(ids, leituras, false);
+        lerBeneficios(ids, leituras, true);
+        
+        // Act
+        long semCache = lerBeneficios(ids, leituras, false);
+        statistics.clear();
+        long comCache = lerBeneficios(ids, leituras, true);
+        
+        // Assert
+        CacheRegionStatistics regiao = statistics.getDomainDataRegionStatistics(Beneficio.class.getName());
+        System.out.println("=== MÉTRICAS DE CACHE (Beneficio) ===");
+        System.out.println(leituras + " leituras sem cache: " + String.format("%.1f", semCache / 1000.0 / leituras) + " µs/leitura");
+        System.out.println(leituras + " leituras com cache: " + String.format("%.1f", comCache / 1000.0 / leituras) + " µs/leitura");
+        System.out.println("Hits: " + regiao.getHitCount() + ", misses: " + regiao.getMissCount());
+        
+        assertEquals(leituras, regiao.getHitCount(), "Toda leitura sem lock deve ser um hit");
+        assertEquals(0, statistics.getEntityLoadCount(), "Nenhuma leitura deve ir ao banco");
+    }
+    
+    @Test
+    @Order(10)
+    @DisplayName("IT: Perfil JFR deve registrar as fases da transferência com os benefícios")
+    void testEventosJfr() throws Exception {
+        Path arquivo = Files.createTempFile("transferencias", ".jfr");
+        try (Recording recording = new Recording(Configuration.create(Path.of("../jfr/transferencias.jfc")))) {
+            recording.start();
+            tx.begin();
+            service.transfer(beneficioAId, beneficioBId, new BigDecimal("100.00"));
+            tx.commit();
+            recording.stop();
+            recording.dump(arquivo);
+            
+            List<RecordedEvent> eventos = RecordingFile.readAllEvents(arquivo).stream()
+                .filter(e -> e.getEventType().getName().startsWith("com.example.ejb."))
+                .toList();
+            
+            // Commit é emitido pelo interceptor, fora deste teste sem container
+            assertEquals(List.of("com.example.ejb.TransferReceived", "com.example.ejb.LockAcquired",
+                    "com.example.ejb.ValidationDone", "com.example.ejb.TransferFlushed"),
+                eventos.stream().map(e -> e.getEventType().getName()).toList());
+            for (RecordedEvent evento : eventos) {
+                assertEquals(beneficioAId.longValue(), evento.getLong("origemId"));
+                assertEquals(beneficioBId.longValue(), evento.getLong("destinoId"));
+                assertEquals(1, evento.getInt("tentativa"));
+            }
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+    
+    /**
+     * Lê os benefícios {@code leituras} vezes, cada uma em um EntityManager novo
+     * (sem cache de primeiro nível).
+     * 
+     * @return duração total em nanossegundos
+     */
+    private long lerBeneficios(List<Long> ids, int leituras, boolean usarCache) {
+        Map<String, Object> hints = Map.of("jakarta.persistence.cache.retrieveMode",
+            usarCache ? jakarta.persistence.CacheRetrieveMode.USE : jakarta.persistence.CacheRetrieveMode.BYPASS);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < leituras; i++) {
+            EntityManager leitor = emf.createEntityManager();
+            try {
+                assertNotNull(leitor.find(Beneficio.class, ids.get(i % ids.size()), hints));
+            } finally {
+                leitor.close();
+            }
+        }
+        return System.nanoTime() - inicio;
+    }
 }
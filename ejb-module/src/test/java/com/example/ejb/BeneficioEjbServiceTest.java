@@ -1,17 +1,31 @@
 package com.example.ejb;
 
 import com.example.ejb.entity.Beneficio;
+import com.example.ejb.entity.Transferencia;
 import com.example.ejb.exception.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ejb.SessionContext;
+import jakarta.persistence.CacheRetrieveMode;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -37,6 +51,23 @@ class BeneficioEjbServiceTest {
     @Mock
     private EntityManager entityManager;
     
+    @Mock
+    private TypedQuery<Beneficio> lockQuery;
+    
+    @Mock
+    private SessionContext context;
+    
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    
+    @Spy
+    private TransferMetrics metrics = new TransferMetrics(registry);
+    
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    
+    // Capacidade 1: uma transferência em execução, nenhuma na fila
+    @Spy
+    private TransferExecutor transferExecutor = new TransferExecutor(executor, new TransferMetrics(), 1);
+    
     @InjectMocks
     private BeneficioEjbService service;
     
@@ -62,6 +93,23 @@ class BeneficioEjbServiceTest {
         beneficioDestino.setAtivo(true);
     }
     
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    /**
+     * Simula o {@code SELECT ... FOR UPDATE} ordenado por ID, que devolve apenas
+     * os benefícios existentes.
+     */
+    private void stubLock(Beneficio... encontrados) {
+        when(entityManager.createNamedQuery(Beneficio.BLOQUEAR_POR_IDS, Beneficio.class)).thenReturn(lockQuery);
+        when(lockQuery.setParameter(eq("ids"), any())).thenReturn(lockQuery);
+        when(lockQuery.setLockMode(LockModeType.PESSIMISTIC_WRITE)).thenReturn(lockQuery);
+        when(lockQuery.setHint(anyString(), any())).thenReturn(lockQuery);
+        when(lockQuery.getResultList()).thenReturn(List.of(encontrados));
+    }
+    
     @Test
     @DisplayName("Deve transferir valor com sucesso entre benefícios ativos com saldo suficiente")
     void testTransferSuccess() {
@@ -70,10 +118,7 @@ class BeneficioEjbServiceTest {
         Long toId = 2L;
         BigDecimal amount = new BigDecimal("250.00");
         
-        when(entityManager.find(eq(Beneficio.class), eq(1L), eq(LockModeType.PESSIMISTIC_WRITE)))
-            .thenReturn(beneficioOrigem);
-        when(entityManager.find(eq(Beneficio.class), eq(2L), eq(LockModeType.PESSIMISTIC_WRITE)))
-            .thenReturn(beneficioDestino);
+        stubLock(beneficioOrigem, beneficioDestino);
         
         // Act
         assertDoesNotThrow(() -> service.transfer(fromId, toId, amount));
@@ -84,10 +129,14 @@ class BeneficioEjbServiceTest {
         assertEquals(new BigDecimal("750.00"), beneficioDestino.getValor(), 
             "Saldo destino deve ser 500 + 250 = 750");
         
-        verify(entityManager).find(eq(Beneficio.class), eq(1L), eq(LockModeType.PESSIMISTIC_WRITE));
-        verify(entityManager).find(eq(Beneficio.class), eq(2L), eq(LockModeType.PESSIMISTIC_WRITE));
-        verify(entityManager).merge(beneficioOrigem);
-        verify(entityManager).merge(beneficioDestino);
+        // Um único SELECT ... FOR UPDATE para os dois benefícios; entidades gerenciadas, sem merge
+        verify(entityManager).createNamedQuery(Beneficio.BLOQUEAR_POR_IDS, Beneficio.class);
+        verify(lockQuery).setLockMode(LockModeType.PESSIMISTIC_WRITE);
+        verify(lockQuery).setHint(BeneficioEjbService.CACHE_RETRIEVE_MODE_HINT, CacheRetrieveMode.BYPASS);
+        verify(lockQuery).getResultList();
+        verify(entityManager, never()).find(any(Class.class), any(), any(LockModeType.class));
+        verify(entityManager, never()).merge(any());
+        verify(entityManager).persist(any(Transferencia.class));
     }
     
     @Test
@@ -98,10 +147,7 @@ class BeneficioEjbServiceTest {
         Long toId = 2L;
         BigDecimal amount = new BigDecimal("1500.00"); // Maior que saldo de 1000
         
-        when(entityManager.find(eq(Beneficio.class), eq(1L), eq(LockModeType.PESSIMISTIC_WRITE)))
-            .thenReturn(beneficioOrigem);
-        when(entityManager.find(eq(Beneficio.class), eq(2L), eq(LockModeType.PESSIMISTIC_WRITE)))
-            .thenReturn(beneficioDestino);
+        stubLock(beneficioOrigem, beneficioDestino);
         
         // Act & Assert
         SaldoInsuficienteException exception = assertThrows(
@@ -125,10 +171,7 @@ class BeneficioEjbServiceTest {
         Long toId = 2L;
         BigDecimal amount = new BigDecimal("100.00");
         
-        when(entityManager.find(eq(Beneficio.class), eq(2L), eq(LockModeType.PESSIMISTIC_WRITE)))
-            .thenReturn(beneficioDestino);
-        when(entityManager.find(eq(Beneficio.class), eq(999L), eq(LockModeType.PESSIMISTIC_WRITE)))
-            .thenReturn(null); // Não encontrado
+        stubLock(beneficioDestino);
         
         // Act & Assert
         BeneficioNaoEncontradoException exception = assertThrows(
@@ -150,10 +193,7 @@ class BeneficioEjbServiceTest {
         Long toId = 999L; // Não existe
         BigDecimal amount = new BigDecimal("100.00");
         
-        when(entityManager.find(eq(Beneficio.class), eq(1L), eq(LockModeType.PESSIMISTIC_WRITE)))
-            .thenReturn(beneficioOrigem);
-        when(entityManager.find(eq(Beneficio.class), eq(999L), eq(LockModeType.PESSIMISTIC_WRITE)))
-            .thenReturn(null); // Não encontrado
+        stubLock(beneficioOrigem);
         
         // Act & Assert
         BeneficioNaoEncontradoException exception = assertThrows(
@@ -177,10 +217,7 @@ class BeneficioEjbServiceTest {
         
         beneficioOrigem.setAtivo(false); // Inativo
         
-        when(entityManager.find(eq(Beneficio.class), eq(1L), eq(LockModeType.PESSIMISTIC_WRITE)))
-            .thenReturn(beneficioOrigem);
-        when(entityManager.find(eq(Beneficio.class), eq(2L), eq(LockModeType.PESSIMISTIC_WRITE)))
-            .thenReturn(beneficioDestino);
+        stubLock(beneficioOrigem, beneficioDestino);
         
         // Act & Assert
         BeneficioInativoException exception = assertThrows(
@@ -205,10 +242,7 @@ class BeneficioEjbServiceTest {
         
         beneficioDestino.setAtivo(false); // Inativo
         
-        when(entityManager.find(eq(Beneficio.class), eq(1L), eq(LockModeType.PESSIMISTIC_WRITE)))
-            .thenReturn(beneficioOrigem);
-        when(entityManager.find(eq(Beneficio.class), eq(2L), eq(LockModeType.PESSIMISTIC_WRITE)))
-            .thenReturn(beneficioDestino);
+        stubLock(beneficioOrigem, beneficioDestino);
         
         // Act & Assert
         BeneficioInativoException exception = assertThrows(
@@ -240,7 +274,7 @@ class BeneficioEjbServiceTest {
         
         assertTrue(exception.getMessage().contains("positivo"));
         
-        verify(entityManager, never()).find(any(Class.class), any(), any(LockModeType.class));
+        verify(entityManager, never()).createNamedQuery(anyString(), any());
         verify(entityManager, never()).merge(any());
     }
     
@@ -261,7 +295,7 @@ class BeneficioEjbServiceTest {
         
         assertTrue(exception.getMessage().contains("positivo"));
         
-        verify(entityManager, never()).find(any(Class.class), any(), any(LockModeType.class));
+        verify(entityManager, never()).createNamedQuery(anyString(), any());
         verify(entityManager, never()).merge(any());
     }
     
@@ -282,7 +316,7 @@ class BeneficioEjbServiceTest {
         
         assertTrue(exception.getMessage().contains("não podem ser iguais"));
         
-        verify(entityManager, never()).find(any(Class.class), any(), any(LockModeType.class));
+        verify(entityManager, never()).createNamedQuery(anyString(), any());
         verify(entityManager, never()).merge(any());
     }
     
@@ -298,24 +332,143 @@ class BeneficioEjbServiceTest {
         beneficioOrigem.setId(2L);
         beneficioDestino.setId(1L);
         
-        when(entityManager.find(eq(Beneficio.class), eq(1L), eq(LockModeType.PESSIMISTIC_WRITE)))
-            .thenReturn(beneficioDestino);
-        when(entityManager.find(eq(Beneficio.class), eq(2L), eq(LockModeType.PESSIMISTIC_WRITE)))
-            .thenReturn(beneficioOrigem);
+        stubLock(beneficioDestino, beneficioOrigem);
         
         // Act
         assertDoesNotThrow(() -> service.transfer(fromId, toId, amount));
         
-        // Assert - Verifica que lock foi adquirido na ordem: ID 1 primeiro, ID 2 depois
-        var inOrder = inOrder(entityManager);
-        inOrder.verify(entityManager).find(eq(Beneficio.class), eq(1L), eq(LockModeType.PESSIMISTIC_WRITE));
-        inOrder.verify(entityManager).find(eq(Beneficio.class), eq(2L), eq(LockModeType.PESSIMISTIC_WRITE));
+        // Assert - Verifica que os locks foram pedidos na ordem: ID 1 primeiro, ID 2 depois
+        verify(lockQuery).setParameter("ids", List.of(1L, 2L));
         
         // Verifica que a transferência funcionou corretamente mesmo com IDs invertidos
         assertEquals(new BigDecimal("900.00"), beneficioOrigem.getValor());
         assertEquals(new BigDecimal("600.00"), beneficioDestino.getValor());
     }
     
+    @Test
+    @DisplayName("Deve aplicar a espera pelo lock pedida pelo chamador")
+    void testTransferEsperaLock() {
+        stubLock(beneficioOrigem, beneficioDestino);
+        
+        assertDoesNotThrow(() -> service.transfer(1L, 2L, new BigDecimal("10.00"), EsperaLock.NOWAIT));
+        assertDoesNotThrow(() -> service.transfer(1L, 2L, new BigDecimal("10.00"), EsperaLock.millis(50)));
+        assertDoesNotThrow(() -> service.transfer(1L, 2L, new BigDecimal("10.00")));
+        
+        // Espera padrão não sobrescreve o timeout do persistence.xml
+        verify(lockQuery).setHint(BeneficioEjbService.LOCK_TIMEOUT_HINT, 0);
+        verify(lockQuery).setHint(BeneficioEjbService.LOCK_TIMEOUT_HINT, 50);
+        verify(lockQuery, times(2)).setHint(eq(BeneficioEjbService.LOCK_TIMEOUT_HINT), any());
+        
+        // Tempo de aquisição do lock medido em cada transferência
+        assertEquals(3, registry.get(TransferMetrics.ESPERA_LOCK).tag("resultado", "obtido").timer().count());
+    }
+    
+    @Test
+    @DisplayName("Deve lançar BeneficioOcupadoException e contar o timeout quando o lock não é obtido")
+    void testTransferLockTimeout() {
+        stubLock();
+        when(lockQuery.getResultList()).thenThrow(new LockTimeoutException("lock timeout"));
+        
+        BeneficioOcupadoException exception = assertThrows(
+            BeneficioOcupadoException.class,
+            () -> service.transfer(2L, 1L, new BigDecimal("100.00"), EsperaLock.NOWAIT)
+        );
+        
+        assertEquals(List.of(1L, 2L), exception.getBeneficioIds());
+        assertTrue(exception.getMessage().contains("NOWAIT"));
+        assertEquals(1, metrics.getLockTimeouts());
+        assertEquals(0, registry.get(TransferMetrics.ESPERA_LOCK).tag("resultado", "obtido").timer().count());
+        verify(entityManager, never()).persist(any());
+        
+        assertThrows(IllegalArgumentException.class, () -> EsperaLock.millis(-1));
+    }
+    
+    @Test
+    @DisplayName("Lote deve bloquear os IDs distintos em uma única consulta e aplicar os comandos em ordem")
+    void testTransferBatch() throws BeneficioException {
+        Beneficio terceiro = new Beneficio();
+        terceiro.setId(3L);
+        terceiro.setValor(new BigDecimal("0.00"));
+        terceiro.setAtivo(true);
+        stubLock(beneficioOrigem, beneficioDestino, terceiro);
+        
+        List<TransferResult> results = service.transferBatch(List.of(
+            new TransferCommand(3L, 1L, new BigDecimal("10.00")),   // saldo insuficiente
+            new TransferCommand(1L, 3L, new BigDecimal("100.00")),
+            new TransferCommand(3L, 2L, new BigDecimal("60.00")),   // usa o crédito anterior
+            new TransferCommand(2L, 9L, new BigDecimal("1.00")),    // destino inexistente
+            new TransferCommand(2L, 2L, new BigDecimal("1.00"))));  // origem = destino
+        
+        verify(entityManager, times(1)).createNamedQuery(Beneficio.BLOQUEAR_POR_IDS, Beneficio.class);
+        verify(lockQuery).setParameter("ids", List.of(1L, 2L, 3L, 9L));
+        
+        assertEquals(5, results.size());
+        assertFalse(results.get(0).isSucesso());
+        assertTrue(results.get(0).getErro().contains("Saldo insuficiente"));
+        assertTrue(results.get(1).isSucesso());
+        assertTrue(results.get(2).isSucesso());
+        assertEquals(new BigDecimal("40.00"), results.get(2).getNovoSaldoOrigem());
+        assertEquals(new BigDecimal("560.00"), results.get(2).getNovoSaldoDestino());
+        assertFalse(results.get(3).isSucesso());
+        assertFalse(results.get(4).isSucesso());
+        
+        assertEquals(new BigDecimal("900.00"), beneficioOrigem.getValor());
+        assertEquals(new BigDecimal("560.00"), beneficioDestino.getValor());
+        assertEquals(new BigDecimal("40.00"), terceiro.getValor());
+        verify(entityManager, times(2)).persist(any(Transferencia.class));
+    }
+    
+    @Test
+    @DisplayName("Lote estrito deve lançar a primeira recusa")
+    void testTransferBatchEstrito() {
+        stubLock(beneficioOrigem, beneficioDestino);
+        
+        assertThrows(
+            SaldoInsuficienteException.class,
+            () -> service.transferBatch(List.of(
+                new TransferCommand(1L, 2L, new BigDecimal("100.00")),
+                new TransferCommand(2L, 1L, new BigDecimal("5000.00")),
+                new TransferCommand(1L, 2L, new BigDecimal("100.00"))), true)
+        );
+        
+        // O primeiro comando foi aplicado em memória; o rollback do container o desfaz
+        verify(entityManager, times(1)).persist(any(Transferencia.class));
+    }
+    
+    @Test
+    @DisplayName("Transferência assíncrona deve rodar pelo proxy do EJB e devolver o resultado no Future")
+    void testTransferAsync() throws Exception {
+        stubLock(beneficioOrigem, beneficioDestino);
+        when(context.getBusinessObject(BeneficioEjbService.class)).thenReturn(service);
+        
+        Future<TransferResult> future = service.transferAsync(1L, 2L, new BigDecimal("250.00"));
+        TransferResult result = future.get(5, TimeUnit.SECONDS);
+        
+        assertTrue(result.isSucesso());
+        assertEquals(new BigDecimal("750.00"), result.getNovoSaldoOrigem());
+        assertEquals(new BigDecimal("750.00"), result.getNovoSaldoDestino());
+        assertEquals(0, transferExecutor.getPendentes());
+    }
+    
+    @Test
+    @DisplayName("Transferência assíncrona deve ser recusada na thread do chamador com a fila cheia")
+    void testTransferAsyncFilaCheia() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        Future<Boolean> ocupando = transferExecutor.submit(() -> liberar.await(5, TimeUnit.SECONDS));
+        
+        TransferenciaRejeitadaException exception = assertThrows(
+            TransferenciaRejeitadaException.class,
+            () -> service.transferAsync(1L, 2L, new BigDecimal("100.00"))
+        );
+        
+        assertEquals(1, exception.getCapacidade());
+        verify(entityManager, never()).createNamedQuery(anyString(), any());
+        
+        liberar.countDown();
+        assertTrue(ocupando.get(5, TimeUnit.SECONDS));
+        assertEquals(0, transferExecutor.getPendentes());
+    }
+    
     @Test
     @DisplayName("Deve lançar IllegalArgumentException quando fromId é nulo")
     void testTransferNullFromId() {
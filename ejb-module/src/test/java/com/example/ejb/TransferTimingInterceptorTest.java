@@ -0,0 +1,80 @@
+package com.example.ejb;
+
+import com.example.ejb.exception.SaldoInsuficienteException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.interceptor.InvocationContext;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para TransferTimingInterceptor.
+ * 
+ * @author Sistema de Benefícios
+ */
+@DisplayName("TransferTimingInterceptor - Testes Unitários")
+class TransferTimingInterceptorTest {
+    
+    private SimpleMeterRegistry registry;
+    private TransactionSynchronizationRegistry transacoes;
+    private TransferTimingInterceptor interceptor;
+    private InvocationContext context;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        registry = new SimpleMeterRegistry();
+        transacoes = mock(TransactionSynchronizationRegistry.class);
+        interceptor = new TransferTimingInterceptor(new TransferMetrics(registry), transacoes);
+        context = mock(InvocationContext.class);
+        when(context.getMethod()).thenReturn(BeneficioEjbService.class.getMethod(
+            "transfer", Long.class, Long.class, BigDecimal.class));
+    }
+    
+    private long chamadas(String resultado) {
+        return registry.get(TransferMetrics.CHAMADAS)
+            .tag("metodo", "transfer")
+            .tag("resultado", resultado)
+            .timer().count();
+    }
+    
+    @Test
+    @DisplayName("Deve registrar a latência por método e resultado")
+    void testRegistraPorResultado() throws Exception {
+        when(context.proceed()).thenReturn(null)
+            .thenThrow(new SaldoInsuficienteException(BigDecimal.ONE, BigDecimal.TEN));
+        
+        interceptor.medir(context);
+        assertThrows(SaldoInsuficienteException.class, () -> interceptor.medir(context));
+        
+        assertEquals(1, chamadas(TransferTimingInterceptor.SUCESSO));
+        assertEquals(1, chamadas("SaldoInsuficienteException"));
+    }
+    
+    @Test
+    @DisplayName("Deve medir o commit uma única vez por transação")
+    void testMedeCommit() throws Exception {
+        when(transacoes.getTransactionKey()).thenReturn("tx-1");
+        when(transacoes.getResource(any())).thenReturn(null, Boolean.TRUE);
+        
+        interceptor.medir(context);
+        interceptor.medir(context);
+        
+        ArgumentCaptor<Synchronization> sync = ArgumentCaptor.forClass(Synchronization.class);
+        verify(transacoes, times(1)).registerInterposedSynchronization(sync.capture());
+        
+        sync.getValue().beforeCompletion();
+        sync.getValue().afterCompletion(Status.STATUS_COMMITTED);
+        assertEquals(1, registry.get(TransferMetrics.COMMIT).tag("resultado", "commit").timer().count());
+        assertEquals(2, chamadas(TransferTimingInterceptor.SUCESSO));
+    }
+}